@@ -17,6 +17,10 @@
 
 package bisq.common;
 
+import bisq.common.jfr.UserThreadTaskEvent;
+import bisq.common.metrics.Histogram;
+import bisq.common.metrics.Metrics;
+
 import com.google.common.util.concurrent.MoreExecutors;
 
 import java.time.Duration;
@@ -24,6 +28,7 @@ import java.time.Duration;
 import java.util.Random;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import java.lang.reflect.InvocationTargetException;
 
@@ -31,6 +36,10 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
+import javax.annotation.Nullable;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
 
 /**
  * Defines which thread is used as user thread. The user thread is the the main thread in the single threaded context.
@@ -43,6 +52,12 @@ import lombok.extern.slf4j.Slf4j;
  */
 @Slf4j
 public class UserThread {
+    private static final AtomicInteger numPendingTasks = new AtomicInteger();
+    private static final Histogram queueLatency = Metrics.histogram("user_thread_queue_latency_seconds",
+            "Time between submitting a task to the user thread and its start");
+    private static final Histogram taskDuration = Metrics.histogram("user_thread_task_duration_seconds",
+            "Run duration of tasks executed on the user thread");
+
     private static Class<? extends Timer> timerClass;
     @Getter
     @Setter
@@ -56,10 +71,49 @@ public class UserThread {
         // If not defined we use same thread as caller thread
         executor = MoreExecutors.directExecutor();
         timerClass = FrameRateTimer.class;
+
+        Metrics.gauge("user_thread_pending_tasks", "Number of tasks waiting for execution at the user thread",
+                numPendingTasks::get);
     }
 
     public static void execute(Runnable command) {
-        UserThread.executor.execute(command);
+        execute(command, null);
+    }
+
+    /**
+     * @param command           The task to execute
+     * @param explicitOrigin    Origin of the task used by the UserThreadInstrumentation, e.g. the class of the handled
+     *                          message. If null the origin is the caller.
+     */
+    public static void execute(Runnable command, @Nullable String explicitOrigin) {
+        checkNotNull(command, "command must not be null");
+        long enqueueTs = System.nanoTime();
+        String origin = UserThreadInstrumentation.isEnabled() ?
+                UserThreadInstrumentation.getOrigin(explicitOrigin) :
+                null;
+        numPendingTasks.incrementAndGet();
+        UserThread.executor.execute(() -> {
+            numPendingTasks.decrementAndGet();
+            long startTs = System.nanoTime();
+            queueLatency.observeNanos(startTs - enqueueTs);
+            UserThreadTaskEvent event = new UserThreadTaskEvent();
+            event.begin();
+            try {
+                if (origin != null) {
+                    UserThreadInstrumentation.run(command, origin, startTs - enqueueTs);
+                } else {
+                    command.run();
+                }
+            } finally {
+                taskDuration.observeNanos(System.nanoTime() - startTs);
+                event.end();
+                if (event.shouldCommit()) {
+                    event.taskClass = command.getClass().getName();
+                    event.queueLatency = startTs - enqueueTs;
+                    event.commit();
+                }
+            }
+        });
     }
 
     // Prefer FxTimer if a delay is needed in a JavaFx class (gui module)
@@ -77,7 +131,11 @@ public class UserThread {
     }
 
     public static Timer runAfter(Runnable runnable, long delay, TimeUnit timeUnit) {
-        return getTimer().runLater(Duration.ofMillis(timeUnit.toMillis(delay)), runnable);
+        return runAfter(runnable, delay, timeUnit, null);
+    }
+
+    public static Timer runAfter(Runnable runnable, long delay, TimeUnit timeUnit, @Nullable String explicitOrigin) {
+        return getTimer().runLater(Duration.ofMillis(timeUnit.toMillis(delay)), maybeInstrument(runnable, explicitOrigin));
     }
 
     public static Timer runPeriodically(Runnable runnable, long intervalInSec) {
@@ -85,7 +143,25 @@ public class UserThread {
     }
 
     public static Timer runPeriodically(Runnable runnable, long interval, TimeUnit timeUnit) {
-        return getTimer().runPeriodically(Duration.ofMillis(timeUnit.toMillis(interval)), runnable);
+        return runPeriodically(runnable, interval, timeUnit, null);
+    }
+
+    public static Timer runPeriodically(Runnable runnable,
+                                        long interval,
+                                        TimeUnit timeUnit,
+                                        @Nullable String explicitOrigin) {
+        return getTimer().runPeriodically(Duration.ofMillis(timeUnit.toMillis(interval)),
+                maybeInstrument(runnable, explicitOrigin));
+    }
+
+    // Timer tasks have no queue latency but we want to know their origin and duration
+    private static Runnable maybeInstrument(Runnable runnable, @Nullable String explicitOrigin) {
+        if (!UserThreadInstrumentation.isEnabled()) {
+            return runnable;
+        }
+
+        String origin = UserThreadInstrumentation.getOrigin(explicitOrigin);
+        return () -> UserThreadInstrumentation.run(runnable, origin, -1);
     }
 
     private static Timer getTimer() {
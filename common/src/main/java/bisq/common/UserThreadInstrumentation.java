@@ -0,0 +1,177 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common;
+
+import bisq.common.metrics.Counter;
+import bisq.common.metrics.Histogram;
+import bisq.common.metrics.Metrics;
+import bisq.common.util.Utilities;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nullable;
+
+/**
+ * Optional instrumentation of the tasks executed on the user thread. If enabled we record for each task the origin
+ * (the class and method which submitted it or an explicit origin like the message class), the time it waited in the queue and its run duration. Tasks running
+ * longer than the threshold get logged together with the stack trace of the user thread taken by a watchdog while the
+ * task is still running, so we see where it is blocked.
+ *
+ * Resolving the origin requires a stack walk at each submit, so it is not enabled by default.
+ */
+@Slf4j
+public class UserThreadInstrumentation {
+    private static final Set<String> IGNORED_CLASSES = Set.of(UserThread.class.getName(),
+            UserThreadInstrumentation.class.getName());
+
+    private static final Histogram queueLatency = Metrics.histogram("user_thread_origin_queue_latency_seconds",
+            "Time between submitting a task to the user thread and its start by origin of the task", "origin");
+    private static final Histogram taskDuration = Metrics.histogram("user_thread_origin_task_duration_seconds",
+            "Run duration of tasks executed on the user thread by origin of the task", "origin");
+    private static final Counter slowTasks = Metrics.counter("user_thread_slow_tasks_total",
+            "Number of user thread tasks which exceeded the threshold by origin of the task", "origin");
+
+    private static class RunningTask {
+        private final String origin;
+        private final long startTs;
+        private final Thread thread;
+        private volatile boolean reported;
+
+        private RunningTask(String origin, long startTs, Thread thread) {
+            this.origin = origin;
+            this.startTs = startTs;
+            this.thread = thread;
+        }
+    }
+
+    private static volatile boolean enabled;
+    private static long thresholdNs;
+    @Nullable
+    private static volatile RunningTask runningTask;
+    @Nullable
+    private static ScheduledExecutorService watchdog;
+
+    public static synchronized void enable(long slowTaskThresholdMs) {
+        if (enabled) {
+            return;
+        }
+
+        thresholdNs = TimeUnit.MILLISECONDS.toNanos(slowTaskThresholdMs);
+        long checkInterval = Math.max(10, slowTaskThresholdMs / 2);
+        watchdog = Utilities.getScheduledThreadPoolExecutor("UserThreadWatchdog", 1, 1, 10);
+        watchdog.scheduleWithFixedDelay(UserThreadInstrumentation::checkRunningTask,
+                checkInterval, checkInterval, TimeUnit.MILLISECONDS);
+        enabled = true;
+        log.info("User thread instrumentation enabled. Tasks running longer than {} ms will be logged",
+                slowTaskThresholdMs);
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param explicitOrigin    Origin passed by the caller, e.g. the class of a handled message
+     * @return The explicit origin if set, otherwise the class and method which submitted the task.
+     */
+    static String getOrigin(@Nullable String explicitOrigin) {
+        return explicitOrigin != null ? explicitOrigin : getOrigin();
+    }
+
+    /**
+     * @return The class and method which submitted the task. Frames of UserThread itself are skipped. Tasks which are
+     * submitted for many different purposes from the same place (e.g. the message dispatch of a connection) should
+     * pass an explicit origin instead.
+     */
+    static String getOrigin() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> !IGNORED_CLASSES.contains(frame.getClassName()))
+                .findFirst()
+                .map(frame -> {
+                    String className = frame.getClassName();
+                    return className.substring(className.lastIndexOf('.') + 1) + "." + frame.getMethodName();
+                })
+                .orElse("unknown"));
+    }
+
+    /**
+     * @param queueLatencyNs    Time the task waited in the queue or -1 if not applicable (timer tasks)
+     */
+    static void run(Runnable task, String origin, long queueLatencyNs) {
+        if (queueLatencyNs >= 0) {
+            queueLatency.labels(origin).observeNanos(queueLatencyNs);
+        }
+
+        // Timer tasks are executed inside the task of the MasterTimer, so we support nested tasks and restore the
+        // outer task once the inner has completed.
+        RunningTask outerTask = runningTask;
+        RunningTask running = new RunningTask(origin, System.nanoTime(), Thread.currentThread());
+        runningTask = running;
+        try {
+            task.run();
+        } finally {
+            runningTask = outerTask;
+            long duration = System.nanoTime() - running.startTs;
+            taskDuration.labels(origin).observeNanos(duration);
+            if (duration > thresholdNs) {
+                slowTasks.labels(origin).inc();
+                log.warn("User thread task from {} took {} ms. Queue latency was {} ms.",
+                        origin, TimeUnit.NANOSECONDS.toMillis(duration),
+                        queueLatencyNs >= 0 ? TimeUnit.NANOSECONDS.toMillis(queueLatencyNs) : "n/a");
+            }
+        }
+    }
+
+    @VisibleForTesting
+    @Nullable
+    static String getRunningTaskOrigin() {
+        RunningTask task = runningTask;
+        return task != null ? task.origin : null;
+    }
+
+    @VisibleForTesting
+    static boolean isRunningTaskReported() {
+        RunningTask task = runningTask;
+        return task != null && task.reported;
+    }
+
+    private static void checkRunningTask() {
+        RunningTask task = runningTask;
+        if (task == null || task.reported) {
+            return;
+        }
+
+        long duration = System.nanoTime() - task.startTs;
+        if (duration > thresholdNs) {
+            task.reported = true;
+            String stackTrace = Arrays.stream(task.thread.getStackTrace())
+                    .map(element -> "\tat " + element)
+                    .collect(Collectors.joining("\n"));
+            log.warn("User thread task from {} is running since {} ms. Stack trace of {}:\n{}",
+                    task.origin, TimeUnit.NANOSECONDS.toMillis(duration), task.thread.getName(), stackTrace);
+        }
+    }
+}
@@ -111,6 +111,7 @@ public class Config {
     public static final String RPC_BLOCK_NOTIFICATION_HOST = "rpcBlockNotificationHost";
     public static final String DUMP_BLOCKCHAIN_DATA = "dumpBlockchainData";
     public static final String FULL_DAO_NODE = "fullDaoNode";
+    public static final String DAO_RAW_BLOCK_CACHE_BLOCKS = "daoRawBlockCacheBlocks";
     public static final String GENESIS_TX_ID = "genesisTxId";
     public static final String GENESIS_BLOCK_HEIGHT = "genesisBlockHeight";
     public static final String GENESIS_TOTAL_SUPPLY = "genesisTotalSupply";
@@ -124,6 +125,11 @@ public class Config {
     public static final String BTC_TX_FEE = "btcTxFee";
     public static final String BTC_MIN_TX_FEE = "btcMinTxFee";
     public static final String BTC_FEES_TS = "bitcoinFeesTs";
+    public static final String METRICS_PORT = "metricsPort";
+    public static final String JFR_RECORDING = "jfrRecording";
+    public static final String INSTRUMENT_USER_THREAD = "instrumentUserThread";
+    public static final String SLOW_USER_THREAD_TASK_THRESHOLD = "slowUserThreadTaskThreshold";
+    public static final String COMPRESS_NETWORK_STORES = "compressNetworkStores";
 
     // Default values for certain options
     public static final int UNSPECIFIED_PORT = -1;
@@ -203,6 +209,7 @@ public class Config {
     public final boolean dumpBlockchainData;
     public final boolean fullDaoNode;
     public final boolean fullDaoNodeOptionSetExplicitly;
+    public final int daoRawBlockCacheBlocks;
     public final String genesisTxId;
     public final int genesisBlockHeight;
     public final long genesisTotalSupply;
@@ -212,6 +219,11 @@ public class Config {
     public final int apiPort;
     public final boolean preventPeriodicShutdownAtSeedNode;
     public final boolean republishMailboxEntries;
+    public final int metricsPort;
+    public final boolean jfrRecording;
+    public final boolean instrumentUserThread;
+    public final int slowUserThreadTaskThreshold;
+    public final boolean compressNetworkStores;
 
     // Properties derived from options but not exposed as options themselves
     public final File torDir;
@@ -598,6 +610,14 @@ public class Config {
                         .ofType(Boolean.class)
                         .defaultsTo(DEFAULT_FULL_DAO_NODE);
 
+        ArgumentAcceptingOptionSpec<Integer> daoRawBlockCacheBlocksOpt =
+                parser.accepts(DAO_RAW_BLOCK_CACHE_BLOCKS, "Number of the most recent blocks a full DAO node keeps " +
+                        "in a local cache for rebuilding the DAO state without requesting the blocks from Bitcoin " +
+                        "Core again. A cached block takes about 1 MB on disk. 0 disables the cache.")
+                        .withRequiredArg()
+                        .ofType(int.class)
+                        .defaultsTo(0);
+
         ArgumentAcceptingOptionSpec<String> genesisTxIdOpt =
                 parser.accepts(GENESIS_TX_ID, "Genesis transaction ID when not using the hard coded one")
                         .withRequiredArg()
@@ -660,6 +680,42 @@ public class Config {
                         .ofType(boolean.class)
                         .defaultsTo(false);
 
+        ArgumentAcceptingOptionSpec<Integer> metricsPortOpt =
+                parser.accepts(METRICS_PORT, "Port of the local HTTP endpoint exposing node metrics " +
+                        "in Prometheus format (disabled if not set)")
+                        .withRequiredArg()
+                        .ofType(Integer.class)
+                        .defaultsTo(UNSPECIFIED_PORT);
+
+        ArgumentAcceptingOptionSpec<Boolean> jfrRecordingOpt =
+                parser.accepts(JFR_RECORDING, "Start a continuous Java Flight Recorder recording " +
+                        "which gets written to the jfr directory at shutdown")
+                        .withRequiredArg()
+                        .ofType(boolean.class)
+                        .defaultsTo(false);
+
+        ArgumentAcceptingOptionSpec<Boolean> instrumentUserThreadOpt =
+                parser.accepts(INSTRUMENT_USER_THREAD, "Record queue latency and run duration of user thread " +
+                        "tasks by their origin and log tasks exceeding the slowUserThreadTaskThreshold")
+                        .withRequiredArg()
+                        .ofType(boolean.class)
+                        .defaultsTo(false);
+
+        ArgumentAcceptingOptionSpec<Integer> slowUserThreadTaskThresholdOpt =
+                parser.accepts(SLOW_USER_THREAD_TASK_THRESHOLD, "Run duration in ms after which a user thread " +
+                        "task gets logged with its stack trace (requires instrumentUserThread)")
+                        .withRequiredArg()
+                        .ofType(Integer.class)
+                        .defaultsTo(500);
+
+        ArgumentAcceptingOptionSpec<Boolean> compressNetworkStoresOpt =
+                parser.accepts(COMPRESS_NETWORK_STORES, "Write the data stores received from the network " +
+                        "compressed. Versions without support for the compressed format cannot read those files " +
+                        "and will rebuild them from the network.")
+                        .withRequiredArg()
+                        .ofType(boolean.class)
+                        .defaultsTo(false);
+
         try {
             CompositeOptionSet options = new CompositeOptionSet();
 
@@ -767,6 +823,7 @@ public class Config {
             this.dumpBlockchainData = options.valueOf(dumpBlockchainDataOpt);
             this.fullDaoNode = options.valueOf(fullDaoNodeOpt);
             this.fullDaoNodeOptionSetExplicitly = options.has(fullDaoNodeOpt);
+            this.daoRawBlockCacheBlocks = options.valueOf(daoRawBlockCacheBlocksOpt);
             this.genesisTxId = options.valueOf(genesisTxIdOpt);
             this.genesisBlockHeight = options.valueOf(genesisBlockHeightOpt);
             this.genesisTotalSupply = options.valueOf(genesisTotalSupplyOpt);
@@ -777,6 +834,11 @@ public class Config {
             this.apiPort = options.valueOf(apiPortOpt);
             this.preventPeriodicShutdownAtSeedNode = options.valueOf(preventPeriodicShutdownAtSeedNodeOpt);
             this.republishMailboxEntries = options.valueOf(republishMailboxEntriesOpt);
+            this.metricsPort = options.valueOf(metricsPortOpt);
+            this.jfrRecording = options.valueOf(jfrRecordingOpt);
+            this.instrumentUserThread = options.valueOf(instrumentUserThreadOpt);
+            this.slowUserThreadTaskThreshold = options.valueOf(slowUserThreadTaskThresholdOpt);
+            this.compressNetworkStores = options.valueOf(compressNetworkStoresOpt);
         } catch (OptionException ex) {
             throw new ConfigException("problem parsing option '%s': %s",
                     ex.options().get(0),
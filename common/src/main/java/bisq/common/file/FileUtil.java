@@ -24,6 +24,7 @@ import com.google.common.io.Files;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
@@ -44,6 +45,17 @@ import javax.annotation.Nullable;
 @Slf4j
 public class FileUtil {
     public static void rollingBackup(File dir, String fileName, int numMaxBackupFiles) {
+        rollingBackup(dir, fileName, numMaxBackupFiles, false);
+    }
+
+    /**
+     * @param useHardLink If true the backup is created as a hard link to the file instead of a copy, so no file data
+     *                    gets written. Only safe for files which are never modified in place but always replaced by
+     *                    renaming a new file to it, as otherwise the backup would change as well. If the file
+     *                    system does not support hard links we fall back to a copy.
+     * @return true if a backup was created
+     */
+    public static boolean rollingBackup(File dir, String fileName, int numMaxBackupFiles, boolean useHardLink) {
         if (dir.exists()) {
             File backupDir = new File(Paths.get(dir.getAbsolutePath(), "backup").toString());
             if (!backupDir.exists())
@@ -63,15 +75,32 @@ public class FileUtil {
                 File backupFile = new File(Paths.get(backupFileDir.getAbsolutePath(), new Date().getTime() + "_" + fileName).toString());
 
                 try {
-                    Files.copy(origFile, backupFile);
+                    if (useHardLink)
+                        linkOrCopy(origFile, backupFile);
+                    else
+                        Files.copy(origFile, backupFile);
 
                     pruneBackup(backupFileDir, numMaxBackupFiles);
+                    return true;
                 } catch (IOException e) {
                     log.error("Backup key failed: " + e.getMessage());
                     e.printStackTrace();
                 }
             }
         }
+        return false;
+    }
+
+    private static void linkOrCopy(File origFile, File backupFile) throws IOException {
+        try {
+            java.nio.file.Files.createLink(backupFile.toPath(), origFile.toPath());
+        } catch (FileAlreadyExistsException e) {
+            // Two backups within the same millisecond, the existing one is good enough
+            log.debug("Backup file {} exists already", backupFile);
+        } catch (UnsupportedOperationException | IOException e) {
+            log.debug("Hard link for {} failed, we copy the file. {}", origFile, e.toString());
+            Files.copy(origFile, backupFile);
+        }
     }
 
     private static void pruneBackup(File backupDir, int numMaxBackupFiles) {
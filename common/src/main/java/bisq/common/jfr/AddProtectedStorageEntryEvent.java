@@ -0,0 +1,39 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("bisq.AddProtectedStorageEntry")
+@Label("Add Protected Storage Entry")
+@Category({"Bisq", "P2P", "Storage"})
+@Description("Validation and add of a ProtectedStorageEntry to the P2P data storage")
+@StackTrace(false)
+public class AddProtectedStorageEntryEvent extends Event {
+    @Label("Payload Type")
+    public String payloadType;
+
+    @Label("Added")
+    @Description("False if the entry was rejected or is already known")
+    public boolean added;
+}
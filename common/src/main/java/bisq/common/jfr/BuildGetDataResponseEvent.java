@@ -0,0 +1,42 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("bisq.BuildGetDataResponse")
+@Label("Build GetData Response")
+@Category({"Bisq", "P2P", "Storage"})
+@Description("Building the response for a GetData request of a peer")
+public class BuildGetDataResponseEvent extends Event {
+    @Label("Request Type")
+    public String requestType;
+
+    @Label("Persistable Network Payloads")
+    public int numPersistableNetworkPayloads;
+
+    @Label("Protected Storage Entries")
+    public int numProtectedStorageEntries;
+
+    @Label("Truncated")
+    public boolean truncated;
+}
@@ -0,0 +1,47 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Emitted for each network message read from a connection. The event duration covers decoding, validation and
+ * dispatching to the user thread but not the blocking wait for data on the socket.
+ */
+@Name("bisq.ConnectionRead")
+@Label("Connection Read")
+@Category({"Bisq", "P2P"})
+@Description("Network message read from a peer")
+@StackTrace(false)
+public class ConnectionReadEvent extends Event {
+    @Label("Peer")
+    public String peer;
+
+    @Label("Message Type")
+    public String messageType;
+
+    @Label("Size")
+    @DataAmount
+    public long size;
+}
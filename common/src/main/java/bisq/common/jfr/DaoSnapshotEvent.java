@@ -0,0 +1,39 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Emitted at DaoStateSnapshotService.maybeCreateSnapshot if a snapshot height was reached, so if the snapshot
+ * candidate got persisted and a new one got cloned.
+ */
+@Name("bisq.DaoSnapshot")
+@Label("DAO Snapshot")
+@Category({"Bisq", "DAO"})
+@Description("Persisting the snapshot candidate and cloning the DAO state for the next snapshot")
+@StackTrace(false)
+public class DaoSnapshotEvent extends Event {
+    @Label("Height")
+    public int height;
+}
@@ -0,0 +1,95 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import java.io.File;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import lombok.extern.slf4j.Slf4j;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Starts a continuous Java Flight Recorder recording with the JDK default settings plus the settings of our own events
+ * defined in bisq.jfc. The recording keeps the last hours in a disk repository and gets dumped to the jfr directory in
+ * the app data dir at shutdown. For an analysis of a running node use `jcmd <pid> JFR.dump name=bisq`.
+ */
+@Slf4j
+public class FlightRecording {
+    public static final String NAME = "bisq";
+    private static final String SETTINGS_RESOURCE = "/bisq.jfc";
+    private static final Duration MAX_AGE = Duration.ofHours(6);
+    private static final long MAX_SIZE = 250 * 1024 * 1024;
+
+    private static Recording recording;
+
+    public static void start(File appDataDir) {
+        if (recording != null) {
+            log.warn("Flight recording was already started");
+            return;
+        }
+
+        try {
+            Map<String, String> settings = new HashMap<>(Configuration.getConfiguration("default").getSettings());
+            settings.putAll(getBisqSettings());
+
+            File dir = new File(appDataDir, "jfr");
+            if (!dir.exists() && !dir.mkdirs()) {
+                log.warn("Could not create directory {}", dir);
+            }
+            String fileName = NAME + "_" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")) + ".jfr";
+            Path destination = new File(dir, fileName).toPath();
+
+            recording = new Recording(settings);
+            recording.setName(NAME);
+            recording.setToDisk(true);
+            recording.setMaxAge(MAX_AGE);
+            recording.setMaxSize(MAX_SIZE);
+            recording.setDumpOnExit(true);
+            recording.setDestination(destination);
+            recording.start();
+            log.info("Started continuous flight recording. Recording will be written to {} at shutdown", destination);
+        } catch (Throwable t) {
+            log.error("Starting flight recording failed", t);
+            recording = null;
+        }
+    }
+
+    private static Map<String, String> getBisqSettings() throws Exception {
+        try (InputStream inputStream = checkNotNull(FlightRecording.class.getResourceAsStream(SETTINGS_RESOURCE),
+                "Missing resource " + SETTINGS_RESOURCE);
+             Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
+            return Configuration.create(reader).getSettings();
+        }
+    }
+}
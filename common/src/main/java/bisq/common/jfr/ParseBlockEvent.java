@@ -15,18 +15,27 @@
  * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
  */
 
-package bisq.core.trade.txproof.xmr;
+package bisq.common.jfr;
 
-import bisq.core.trade.txproof.AssetTxProofHttpClient;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
 
-import bisq.network.Socks5ProxyProvider;
-import bisq.network.http.HttpClientImpl;
+@Name("bisq.ParseBlock")
+@Label("Parse Block")
+@Category({"Bisq", "DAO"})
+@Description("Parsing of a block for BSQ transactions")
+@StackTrace(false)
+public class ParseBlockEvent extends Event {
+    @Label("Height")
+    public int height;
 
-import lombok.extern.slf4j.Slf4j;
+    @Label("Transactions")
+    public int numTxs;
 
-@Slf4j
-class XmrTxProofHttpClient extends HttpClientImpl implements AssetTxProofHttpClient {
-    XmrTxProofHttpClient(Socks5ProxyProvider socks5ProxyProvider) {
-        super(socks5ProxyProvider);
-    }
+    @Label("BSQ Transactions")
+    public int numBsqTxs;
 }
@@ -0,0 +1,44 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Emitted for tasks executed on the user thread. The event duration is the run duration of the task.
+ */
+@Name("bisq.UserThreadTask")
+@Label("User Thread Task")
+@Category({"Bisq", "Threading"})
+@Description("Task executed on the user thread")
+@StackTrace(false)
+public class UserThreadTaskEvent extends Event {
+    @Label("Task Class")
+    public String taskClass;
+
+    @Label("Queue Latency")
+    @Description("Time between submitting the task and its start")
+    @Timespan(Timespan.NANOSECONDS)
+    public long queueLatency;
+}
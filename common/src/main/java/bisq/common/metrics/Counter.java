@@ -0,0 +1,76 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonically increasing counter, e.g. number of processed messages or decrypted mailbox entries.
+ */
+public class Counter extends Metric<Counter.Child> {
+    public static class Child {
+        private final LongAdder value = new LongAdder();
+
+        public void inc() {
+            value.increment();
+        }
+
+        public void inc(long amount) {
+            value.add(amount);
+        }
+
+        public long get() {
+            return value.sum();
+        }
+    }
+
+    Counter(String name, String help, String... labelNames) {
+        super(name, help, labelNames);
+    }
+
+    public void inc() {
+        noLabelsChild().inc();
+    }
+
+    public void inc(long amount) {
+        noLabelsChild().inc(amount);
+    }
+
+    public long get() {
+        return noLabelsChild().get();
+    }
+
+    @Override
+    protected Child newChild() {
+        return new Child();
+    }
+
+    @Override
+    protected String getType() {
+        return "counter";
+    }
+
+    @Override
+    protected void writeSamples(StringBuilder sb) {
+        children.forEach((labelValues, child) -> sb.append(name)
+                .append(formatLabels(labelValues, null, null))
+                .append(' ')
+                .append(child.get())
+                .append('\n'));
+    }
+}
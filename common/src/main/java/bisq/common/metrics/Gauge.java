@@ -0,0 +1,51 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.metrics;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * Gauge which reads its value lazily at scrape time, e.g. the number of tasks queued at the user thread.
+ */
+public class Gauge extends Metric<Void> {
+    private final DoubleSupplier supplier;
+
+    Gauge(String name, String help, DoubleSupplier supplier) {
+        super(name, help);
+        this.supplier = supplier;
+    }
+
+    public double get() {
+        return supplier.getAsDouble();
+    }
+
+    @Override
+    protected Void newChild() {
+        return null;
+    }
+
+    @Override
+    protected String getType() {
+        return "gauge";
+    }
+
+    @Override
+    protected void writeSamples(StringBuilder sb) {
+        sb.append(name).append(' ').append(formatValue(get())).append('\n');
+    }
+}
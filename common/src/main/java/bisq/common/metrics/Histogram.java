@@ -0,0 +1,121 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram with fixed bucket boundaries. Values are recorded in seconds as recommended for Prometheus, but we offer
+ * convenience methods for millisecond and nanosecond durations as those are what our code measures.
+ */
+public class Histogram extends Metric<Histogram.Child> {
+    // From 1 ms to 30 sec. Covers message handling on the user thread as well as large file writes.
+    static final double[] DEFAULT_BUCKETS = {.001, .0025, .005, .01, .025, .05, .1, .25, .5, 1, 2.5, 5, 10, 30};
+
+    public class Child {
+        // Counts are not cumulative here, we sum them up at scrape time.
+        private final LongAdder[] bucketCounts = new LongAdder[buckets.length + 1];
+        private final DoubleAdder sum = new DoubleAdder();
+        private final LongAdder count = new LongAdder();
+
+        private Child() {
+            for (int i = 0; i < bucketCounts.length; i++) {
+                bucketCounts[i] = new LongAdder();
+            }
+        }
+
+        public void observe(double value) {
+            int index = Arrays.binarySearch(buckets, value);
+            if (index < 0) {
+                index = -index - 1;
+            }
+            bucketCounts[index].increment();
+            sum.add(value);
+            count.increment();
+        }
+
+        public void observeMillis(long durationMs) {
+            observe(durationMs / 1000d);
+        }
+
+        public void observeNanos(long durationNs) {
+            observe(durationNs / (double) TimeUnit.SECONDS.toNanos(1));
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public double getSum() {
+            return sum.sum();
+        }
+    }
+
+    private final double[] buckets;
+
+    Histogram(String name, String help, double[] buckets, String... labelNames) {
+        super(name, help, labelNames);
+        this.buckets = buckets;
+    }
+
+    public void observe(double value) {
+        noLabelsChild().observe(value);
+    }
+
+    public void observeMillis(long durationMs) {
+        noLabelsChild().observeMillis(durationMs);
+    }
+
+    public void observeNanos(long durationNs) {
+        noLabelsChild().observeNanos(durationNs);
+    }
+
+    public long getCount() {
+        return noLabelsChild().getCount();
+    }
+
+    @Override
+    protected Child newChild() {
+        return new Child();
+    }
+
+    @Override
+    protected String getType() {
+        return "histogram";
+    }
+
+    @Override
+    protected void writeSamples(StringBuilder sb) {
+        children.forEach((labelValues, child) -> {
+            long cumulative = 0;
+            for (int i = 0; i <= buckets.length; i++) {
+                cumulative += child.bucketCounts[i].sum();
+                String le = i < buckets.length ? formatValue(buckets[i]) : "+Inf";
+                sb.append(name).append("_bucket")
+                        .append(formatLabels(labelValues, "le", le))
+                        .append(' ').append(cumulative).append('\n');
+            }
+            String labels = formatLabels(labelValues, null, null);
+            sb.append(name).append("_sum").append(labels).append(' ').append(formatValue(child.getSum())).append('\n');
+            sb.append(name).append("_count").append(labels).append(' ').append(child.getCount()).append('\n');
+        });
+    }
+}
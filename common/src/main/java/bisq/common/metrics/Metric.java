@@ -0,0 +1,110 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.metrics;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Base class for a named metric family. A family can have label names (e.g. the message type or the file name) and
+ * holds one child per distinct combination of label values.
+ *
+ * @param <C>   The type of the child holding the actual values
+ */
+public abstract class Metric<C> {
+    protected final String name;
+    protected final String help;
+    protected final String[] labelNames;
+    protected final Map<List<String>, C> children = new ConcurrentHashMap<>();
+
+    protected Metric(String name, String help, String... labelNames) {
+        this.name = name;
+        this.help = help;
+        this.labelNames = labelNames;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public C labels(String... labelValues) {
+        if (labelValues.length != labelNames.length) {
+            throw new IllegalArgumentException("Metric " + name + " requires " + labelNames.length +
+                    " label values but got " + labelValues.length);
+        }
+        return children.computeIfAbsent(List.of(labelValues), e -> newChild());
+    }
+
+    protected C noLabelsChild() {
+        if (labelNames.length != 0) {
+            throw new IllegalStateException("Metric " + name + " has labels, use labels(...) to access values");
+        }
+        return children.computeIfAbsent(List.of(), e -> newChild());
+    }
+
+    protected abstract C newChild();
+
+    protected abstract String getType();
+
+    protected abstract void writeSamples(StringBuilder sb);
+
+    void write(StringBuilder sb) {
+        sb.append("# HELP ").append(name).append(' ').append(escapeHelp(help)).append('\n');
+        sb.append("# TYPE ").append(name).append(' ').append(getType()).append('\n');
+        writeSamples(sb);
+    }
+
+    protected String formatLabels(List<String> labelValues, String extraName, String extraValue) {
+        if (labelValues.isEmpty() && extraName == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < labelValues.size(); i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(labelNames[i]).append("=\"").append(escapeLabelValue(labelValues.get(i))).append('"');
+        }
+        if (extraName != null) {
+            if (!labelValues.isEmpty()) {
+                sb.append(',');
+            }
+            sb.append(extraName).append("=\"").append(extraValue).append('"');
+        }
+        return sb.append('}').toString();
+    }
+
+    protected static String formatValue(double value) {
+        if (value == Double.POSITIVE_INFINITY) {
+            return "+Inf";
+        }
+        if (value == (long) value) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+
+    private static String escapeHelp(String help) {
+        return help.replace("\\", "\\\\").replace("\n", "\\n");
+    }
+
+    private static String escapeLabelValue(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.DoubleSupplier;
+
+/**
+ * In-process registry for counters, gauges and histograms of hot code paths (message handling, persistence, user
+ * thread, DAO parsing,...). It is static as most of the instrumented code like UserThread or PersistenceManager has no
+ * access to the injector. Registering is idempotent, so callers can keep the metric in a static field and multiple
+ * instances of a class share the same metric.
+ *
+ * The registry only collects data. To expose it to Prometheus the {@link MetricsServer} needs to be started.
+ */
+public class Metrics {
+    public static final String PREFIX = "bisq_";
+
+    private static final Map<String, Metric<?>> METRICS = new ConcurrentSkipListMap<>();
+
+    public static Counter counter(String name, String help, String... labelNames) {
+        return register(new Counter(PREFIX + name, help, labelNames), Counter.class);
+    }
+
+    public static Histogram histogram(String name, String help, String... labelNames) {
+        return histogram(name, help, Histogram.DEFAULT_BUCKETS, labelNames);
+    }
+
+    public static Histogram histogram(String name, String help, double[] buckets, String... labelNames) {
+        return register(new Histogram(PREFIX + name, help, buckets, labelNames), Histogram.class);
+    }
+
+    public static Gauge gauge(String name, String help, DoubleSupplier supplier) {
+        return register(new Gauge(PREFIX + name, help, supplier), Gauge.class);
+    }
+
+    /**
+     * @return All registered metrics in the Prometheus text exposition format (version 0.0.4).
+     */
+    public static String scrape() {
+        StringBuilder sb = new StringBuilder();
+        METRICS.values().forEach(metric -> metric.write(sb));
+        return sb.toString();
+    }
+
+    // Only used by tests
+    static void clear() {
+        METRICS.clear();
+    }
+
+    private static <T extends Metric<?>> T register(T metric, Class<T> type) {
+        Metric<?> existing = METRICS.putIfAbsent(metric.getName(), metric);
+        if (existing == null) {
+            return metric;
+        }
+        if (!type.isInstance(existing)) {
+            throw new IllegalArgumentException("Metric " + metric.getName() + " is already registered as " +
+                    existing.getClass().getSimpleName());
+        }
+        return type.cast(existing);
+    }
+}
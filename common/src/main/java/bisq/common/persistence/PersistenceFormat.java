@@ -0,0 +1,154 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.common.persistence;
+
+import bisq.common.proto.persistable.PersistableEnvelope;
+import bisq.common.proto.persistable.PersistenceProtoResolver;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.WireFormat;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import java.util.Arrays;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * File format of the persisted data. Data is either written as plain delimited protobuf or, if compression is used,
+ * as a header followed by the delimited protobuf compressed with Deflater.
+ *
+ * The header starts with a zero byte. In the plain format that would be the length of an empty envelope, which we
+ * never write, so both formats are detected when reading. Files written by previous versions and the resource files
+ * we ship stay readable.
+ */
+final class PersistenceFormat {
+    private static final byte[] MAGIC = {0, 'B', 'Q', 'Z'};
+    private static final byte VERSION = 1;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // Max. length of the varints of the envelope length and of the tag of its field
+    private static final int PEEK_SIZE = 10;
+
+    private PersistenceFormat() {
+    }
+
+    static void write(protobuf.PersistableEnvelope envelope,
+                      OutputStream outputStream,
+                      boolean compressed) throws IOException {
+        if (!compressed) {
+            envelope.writeDelimitedTo(outputStream);
+            return;
+        }
+
+        outputStream.write(MAGIC);
+        outputStream.write(VERSION);
+        // Stores get written frequently, so we favor speed over size. The redundancy in our data (ids, hashes
+        // repeated in inputs and outputs) is caught well already at the fastest level.
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            DeflaterOutputStream deflaterOutputStream = new DeflaterOutputStream(outputStream, deflater, BUFFER_SIZE);
+            envelope.writeDelimitedTo(deflaterOutputStream);
+            // We must not close it as the caller still needs to sync the underlying file
+            deflaterOutputStream.finish();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * @return A stream delivering the delimited protobuf data, independent of the format of the file. Closing it
+     * closes the given stream.
+     */
+    static BufferedInputStream newInputStream(InputStream inputStream) throws IOException {
+        BufferedInputStream bufferedInputStream = new BufferedInputStream(inputStream, BUFFER_SIZE);
+        bufferedInputStream.mark(MAGIC.length + 1);
+        byte[] header = bufferedInputStream.readNBytes(MAGIC.length + 1);
+        if (header.length < MAGIC.length + 1 || !Arrays.equals(MAGIC, Arrays.copyOf(header, MAGIC.length))) {
+            bufferedInputStream.reset();
+            return bufferedInputStream;
+        }
+
+        if (header[MAGIC.length] != VERSION) {
+            throw new IOException("Unsupported version of compressed file format: " + header[MAGIC.length]);
+        }
+        return new BufferedInputStream(new InflaterInputStream(bufferedInputStream, new Inflater(), BUFFER_SIZE) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    inf.end();
+                }
+            }
+        }, BUFFER_SIZE);
+    }
+
+    /**
+     * Reads the persistable from the delimited protobuf data. If the resolver supports it for the type of the
+     * envelope, the data is decoded entry by entry, otherwise we parse the complete protobuf message first.
+     *
+     * @param inputStream Stream as returned by {@link #newInputStream}
+     */
+    static PersistableEnvelope read(BufferedInputStream inputStream,
+                                    PersistenceProtoResolver persistenceProtoResolver) throws IOException {
+        PersistenceProtoResolver.StreamDecoder streamDecoder = persistenceProtoResolver.getStreamDecoder(
+                peekMessageCase(inputStream));
+        if (streamDecoder == null) {
+            return persistenceProtoResolver.fromProto(protobuf.PersistableEnvelope.parseDelimitedFrom(inputStream));
+        }
+
+        CodedInputStream input = CodedInputStream.newInstance(inputStream, BUFFER_SIZE);
+        input.setSizeLimit(Integer.MAX_VALUE);
+        input.pushLimit(input.readRawVarint32());
+        int tag = input.readTag();
+        if (WireFormat.getTagWireType(tag) != WireFormat.WIRETYPE_LENGTH_DELIMITED) {
+            throw new IOException("Unexpected wire type of envelope content: " + tag);
+        }
+        input.pushLimit(input.readRawVarint32());
+        return streamDecoder.decode(input);
+    }
+
+    // The delimited data starts with the length of the envelope followed by the tag of its only field
+    private static protobuf.PersistableEnvelope.MessageCase peekMessageCase(BufferedInputStream inputStream)
+            throws IOException {
+        inputStream.mark(PEEK_SIZE);
+        byte[] head = inputStream.readNBytes(PEEK_SIZE);
+        inputStream.reset();
+        try {
+            CodedInputStream input = CodedInputStream.newInstance(head);
+            input.readRawVarint32();
+            protobuf.PersistableEnvelope.MessageCase messageCase = protobuf.PersistableEnvelope.MessageCase.forNumber(
+                    WireFormat.getTagFieldNumber(input.readTag()));
+            return messageCase != null ? messageCase : protobuf.PersistableEnvelope.MessageCase.MESSAGE_NOT_SET;
+        } catch (InvalidProtocolBufferException e) {
+            // Parsing the complete message will report the problem
+            return protobuf.PersistableEnvelope.MessageCase.MESSAGE_NOT_SET;
+        }
+    }
+
+    static protobuf.PersistableEnvelope read(InputStream inputStream) throws IOException {
+        try (InputStream protoInputStream = newInputStream(inputStream)) {
+            return protobuf.PersistableEnvelope.parseDelimitedFrom(protoInputStream);
+        }
+    }
+}
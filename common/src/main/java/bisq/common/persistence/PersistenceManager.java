@@ -24,16 +24,23 @@ import bisq.common.config.Config;
 import bisq.common.file.CorruptedStorageFileHandler;
 import bisq.common.file.FileUtil;
 import bisq.common.handlers.ResultHandler;
+import bisq.common.jfr.PersistEvent;
+import bisq.common.jfr.WriteToDiskEvent;
+import bisq.common.metrics.Histogram;
+import bisq.common.metrics.Metrics;
 import bisq.common.proto.persistable.PersistableEnvelope;
 import bisq.common.proto.persistable.PersistenceProtoResolver;
 import bisq.common.util.Utilities;
 
 import com.google.inject.Inject;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 import javax.inject.Named;
 
 import java.nio.file.Path;
 
+import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -43,6 +50,8 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -82,7 +91,37 @@ public class PersistenceManager<T extends PersistableEnvelope> {
 
     public static final Map<String, PersistenceManager<?>> ALL_PERSISTENCE_MANAGERS = new HashMap<>();
     private static boolean flushAtShutdownCalled;
+    // Older versions cannot read compressed files, so compression is only used if enabled by the user
+    private static volatile boolean compressionEnabled;
     private static final AtomicBoolean allServicesInitialized = new AtomicBoolean(false);
+    private static final Histogram serializeDuration = Metrics.histogram("persistence_serialize_seconds",
+            "Time for serializing the persistable object to protobuf", "file");
+    private static final Histogram writeDuration = Metrics.histogram("persistence_write_seconds",
+            "Time for writing the serialized data to disk including the backup", "file");
+    private static final Histogram readDuration = Metrics.histogram("persistence_read_seconds",
+            "Time for reading the data from disk and creating the persistable object", "file");
+
+    // Reads happen mostly at startup where all persisted data is requested at once. We use a bounded pool instead of
+    // a thread per file. Tasks are executed in the order of the readPersisted calls, so hosts which get read first
+    // are not slowed down by later ones.
+    private static final int NUM_READ_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+    private static final ExecutorService READ_EXECUTOR = createReadExecutor();
+
+    private static ExecutorService createReadExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(NUM_READ_THREADS, NUM_READ_THREADS,
+                30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                new ThreadFactoryBuilder()
+                        .setNameFormat("PersistenceManager-read-%d")
+                        .setDaemon(true)
+                        .build());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    public static void setCompressionEnabled(boolean compressionEnabled) {
+        PersistenceManager.compressionEnabled = compressionEnabled;
+    }
 
     public static void onAllServicesInitialized() {
         allServicesInitialized.set(true);
@@ -179,13 +218,15 @@ public class PersistenceManager<T extends PersistableEnvelope> {
 
     public enum Source {
         // For data stores we received from the network and which could be rebuilt. We store only for avoiding too much network traffic.
-        NETWORK(1, TimeUnit.MINUTES.toMillis(5), false),
+        // A backup per hour is sufficient as the data can be rebuilt anyway. Those stores are large and redundant, so we
+        // write them compressed if compression is enabled.
+        NETWORK(1, TimeUnit.MINUTES.toMillis(5), false, TimeUnit.HOURS.toMillis(1), true),
 
         // For data stores which are created from private local data. This data could only be rebuilt from backup files.
-        PRIVATE(10, 200, true),
+        PRIVATE(10, 200, true, 0, false),
 
         // For data stores which are created from private local data. Loss of that data would not have critical consequences.
-        PRIVATE_LOW_PRIO(4, TimeUnit.MINUTES.toMillis(1), false);
+        PRIVATE_LOW_PRIO(4, TimeUnit.MINUTES.toMillis(1), false, 0, false);
 
 
         @Getter
@@ -194,11 +235,24 @@ public class PersistenceManager<T extends PersistableEnvelope> {
         private final long delay;
         @Getter
         private final boolean flushAtShutDown;
+        // Writes within that interval after the last backup do not create a new backup
+        @Getter
+        private final long minBackupInterval;
+        // Files get written in the compressed format if compression is enabled. Reading detects the format, so it can
+        // be changed any time.
+        @Getter
+        private final boolean compressed;
 
-        Source(int numMaxBackupFiles, long delay, boolean flushAtShutDown) {
+        Source(int numMaxBackupFiles,
+               long delay,
+               boolean flushAtShutDown,
+               long minBackupInterval,
+               boolean compressed) {
             this.numMaxBackupFiles = numMaxBackupFiles;
             this.delay = delay;
             this.flushAtShutDown = flushAtShutDown;
+            this.minBackupInterval = minBackupInterval;
+            this.compressed = compressed;
         }
     }
 
@@ -216,6 +270,7 @@ public class PersistenceManager<T extends PersistableEnvelope> {
     private Source source = Source.PRIVATE_LOW_PRIO;
     private Path usedTempFilePath;
     private volatile boolean persistenceRequested;
+    private long lastBackupTs;
     @Nullable
     private Timer timer;
     private ExecutorService writeToDiskExecutor;
@@ -311,19 +366,33 @@ public class PersistenceManager<T extends PersistableEnvelope> {
      * @param orElse            Called if no file exists or reading of file failed.
      */
     public void readPersisted(String fileName, Consumer<T> resultHandler, Runnable orElse) {
+        readPersistedInBackground(fileName,
+                persisted -> UserThread.execute(() -> resultHandler.accept(persisted)),
+                () -> UserThread.execute(orElse));
+    }
+
+    /**
+     * Read persisted file in a thread. Handlers are called on the read thread. Can be used for expensive
+     * processing of the read data which should not block the UserThread.
+     *
+     * @param fileName          File name of our persisted data.
+     * @param resultHandler     Consumer of persisted data once it was read from disk.
+     * @param orElse            Called if no file exists or reading of file failed.
+     */
+    public void readPersistedInBackground(String fileName, Consumer<T> resultHandler, Runnable orElse) {
         if (flushAtShutdownCalled) {
             log.warn("We have started the shut down routine already. We ignore that readPersisted call.");
             return;
         }
 
-        new Thread(() -> {
+        READ_EXECUTOR.execute(() -> {
             T persisted = getPersisted(fileName);
             if (persisted != null) {
-                UserThread.execute(() -> resultHandler.accept(persisted));
+                resultHandler.accept(persisted);
             } else {
-                UserThread.execute(orElse);
+                orElse.run();
             }
-        }, "PersistenceManager-read-" + fileName).start();
+        });
     }
 
     // API for synchronous reading of data. Not recommended to be used in application code.
@@ -348,11 +417,14 @@ public class PersistenceManager<T extends PersistableEnvelope> {
         }
 
         long ts = System.currentTimeMillis();
-        try (FileInputStream fileInputStream = new FileInputStream(storageFile)) {
-            protobuf.PersistableEnvelope proto = protobuf.PersistableEnvelope.parseDelimitedFrom(fileInputStream);
+        try (BufferedInputStream inputStream = PersistenceFormat.newInputStream(new FileInputStream(storageFile))) {
+            // Reading and creating the persistable are interleaved if the store gets decoded entry by entry, so we
+            // only measure the total time
             //noinspection unchecked
-            T persistableEnvelope = (T) persistenceProtoResolver.fromProto(proto);
-            log.info("Reading {} completed in {} ms", fileName, System.currentTimeMillis() - ts);
+            T persistableEnvelope = (T) PersistenceFormat.read(inputStream, persistenceProtoResolver);
+            long duration = System.currentTimeMillis() - ts;
+            readDuration.labels(fileName).observeMillis(duration);
+            log.info("Reading {} completed in {} ms", fileName, duration);
             return persistableEnvelope;
         } catch (Throwable t) {
             log.error("Reading {} failed with {}.", fileName, t.getMessage());
@@ -407,6 +479,8 @@ public class PersistenceManager<T extends PersistableEnvelope> {
 
     public void persistNow(@Nullable Runnable completeHandler) {
         long ts = System.currentTimeMillis();
+        PersistEvent event = new PersistEvent();
+        event.begin();
         try {
             // The serialisation is done on the user thread to avoid threading issue with potential mutations of the
             // persistable object. Keeping it on the user thread we are in a synchronize model.
@@ -418,6 +492,12 @@ public class PersistenceManager<T extends PersistableEnvelope> {
             getWriteToDiskExecutor().execute(() -> writeToDisk(serialized, completeHandler));
 
             long duration = System.currentTimeMillis() - ts;
+            serializeDuration.labels(fileName).observeMillis(duration);
+            event.end();
+            if (event.shouldCommit()) {
+                event.fileName = fileName;
+                event.commit();
+            }
             if (duration > 100) {
                 log.info("Serializing {} took {} msec", fileName, duration);
             }
@@ -438,10 +518,16 @@ public class PersistenceManager<T extends PersistableEnvelope> {
         long ts = System.currentTimeMillis();
         File tempFile = null;
         FileOutputStream fileOutputStream = null;
+        WriteToDiskEvent event = new WriteToDiskEvent();
+        event.begin();
 
         try {
-            // Before we write we backup existing file
-            FileUtil.rollingBackup(dir, fileName, source.getNumMaxBackupFiles());
+            // Before we write we backup existing file. As we never modify the storage file in place but replace it by
+            // renaming the temp file, a hard link is sufficient and saves us copying the whole file at each write.
+            if (ts - lastBackupTs >= source.getMinBackupInterval() &&
+                    FileUtil.rollingBackup(dir, fileName, source.getNumMaxBackupFiles(), true)) {
+                lastBackupTs = ts;
+            }
 
             if (!dir.exists() && !dir.mkdir())
                 log.warn("make dir failed {}", fileName);
@@ -454,7 +540,7 @@ public class PersistenceManager<T extends PersistableEnvelope> {
 
             fileOutputStream = new FileOutputStream(tempFile);
 
-            serialized.writeDelimitedTo(fileOutputStream);
+            PersistenceFormat.write(serialized, fileOutputStream, compressionEnabled && source.isCompressed());
 
             // Attempt to force the bits to hit the disk. In reality the OS or hard disk itself may still decide
             // to not write through to physical media for at least a few seconds, but this is the best we can do.
@@ -467,6 +553,7 @@ public class PersistenceManager<T extends PersistableEnvelope> {
 
             FileUtil.renameFile(tempFile, storageFile);
             usedTempFilePath = tempFile.toPath();
+            event.success = true;
         } catch (Throwable t) {
             // If an error occurred, don't attempt to reuse this path again, in case temp file cleanup fails.
             usedTempFilePath = null;
@@ -489,8 +576,16 @@ public class PersistenceManager<T extends PersistableEnvelope> {
                 log.error("Cannot close resources." + e.getMessage());
             }
             long duration = System.currentTimeMillis() - ts;
+            writeDuration.labels(fileName).observeMillis(duration);
+            event.end();
+            if (event.shouldCommit()) {
+                event.fileName = fileName;
+                event.size = serialized.getSerializedSize();
+                event.commit();
+            }
             if (duration > 100) {
-                log.info("Writing the serialized {} completed in {} msec", fileName, duration);
+                log.info("Writing the serialized {} completed in {} msec. File size: {} bytes",
+                        fileName, duration, storageFile.length());
             }
             persistenceRequested = false;
             if (completeHandler != null) {
@@ -21,17 +21,25 @@ import bisq.common.Proto;
 import bisq.common.util.CollectionUtils;
 
 import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.ExtensionRegistryLite;
 import com.google.protobuf.Message;
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.Parser;
 import com.google.protobuf.ProtocolStringList;
+import com.google.protobuf.WireFormat;
 
 import com.google.common.base.Enums;
 
+import java.io.IOException;
+
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -109,4 +117,24 @@ public class ProtoUtil {
     public static Set<String> protocolStringListToSet(ProtocolStringList protocolStringList) {
         return CollectionUtils.isEmpty(protocolStringList) ? new HashSet<>() : new HashSet<>(protocolStringList);
     }
+
+    /**
+     * Reads the entries of a repeated message field from the stream until its end or limit and passes each to the
+     * consumer. Other fields are skipped. Used for decoding large stores entry by entry, so the protobuf object of
+     * an entry can be dropped once it got converted.
+     */
+    public static <T extends MessageLite> void readRepeated(CodedInputStream input,
+                                                            int fieldNumber,
+                                                            Parser<T> parser,
+                                                            Consumer<T> consumer) throws IOException {
+        int tag;
+        while ((tag = input.readTag()) != 0) {
+            if (WireFormat.getTagFieldNumber(tag) == fieldNumber &&
+                    WireFormat.getTagWireType(tag) == WireFormat.WIRETYPE_LENGTH_DELIMITED) {
+                consumer.accept(input.readMessage(parser, ExtensionRegistryLite.getEmptyRegistry()));
+            } else if (!input.skipField(tag)) {
+                return;
+            }
+        }
+    }
 }
@@ -19,7 +19,28 @@ package bisq.common.proto.persistable;
 
 import bisq.common.proto.ProtoResolver;
 
+import com.google.protobuf.CodedInputStream;
+
+import java.io.IOException;
+
+import javax.annotation.Nullable;
+
 
 public interface PersistenceProtoResolver extends ProtoResolver {
     PersistableEnvelope fromProto(protobuf.PersistableEnvelope persistable);
+
+    /**
+     * Returns a decoder which creates the persistable entry by entry from the protobuf data in the stream, so for
+     * large stores we do not hold the complete protobuf object graph in memory together with the persistable.
+     * If null is returned the complete protobuf message gets parsed and passed to {@link #fromProto}.
+     */
+    @Nullable
+    default StreamDecoder getStreamDecoder(protobuf.PersistableEnvelope.MessageCase messageCase) {
+        return null;
+    }
+
+    interface StreamDecoder {
+        // The input is limited to the content of the message which is set at the envelope
+        PersistableEnvelope decode(CodedInputStream input) throws IOException;
+    }
 }
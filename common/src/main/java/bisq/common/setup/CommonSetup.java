@@ -18,11 +18,14 @@
 package bisq.common.setup;
 
 import bisq.common.UserThread;
+import bisq.common.UserThreadInstrumentation;
 import bisq.common.app.AsciiLogo;
 import bisq.common.app.DevEnv;
 import bisq.common.app.Log;
 import bisq.common.app.Version;
 import bisq.common.config.Config;
+import bisq.common.jfr.FlightRecording;
+import bisq.common.persistence.PersistenceManager;
 import bisq.common.util.Profiler;
 import bisq.common.util.Utilities;
 
@@ -59,6 +62,15 @@ public class CommonSetup {
         setupSigIntHandlers(gracefulShutDownHandler);
 
         DevEnv.setup(config);
+        PersistenceManager.setCompressionEnabled(config.compressNetworkStores);
+
+        if (config.jfrRecording) {
+            FlightRecording.start(config.appDataDir);
+        }
+
+        if (config.instrumentUserThread) {
+            UserThreadInstrumentation.enable(config.slowUserThreadTaskThreshold);
+        }
     }
 
     public static void printSystemLoadPeriodically(int delayMin) {
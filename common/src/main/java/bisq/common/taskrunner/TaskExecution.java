@@ -0,0 +1,45 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.taskrunner;
+
+import lombok.Value;
+
+/**
+ * Entry of the execution trace of a TaskRunner. The duration is the time from starting the task until it completed
+ * or failed, so it includes the time waiting for asynchronous operations like wallet operations or broadcasts.
+ */
+@Value
+public class TaskExecution {
+    public enum Result {
+        COMPLETED,
+        FAILED
+    }
+
+    String taskName;
+    long durationNanos;
+    Result result;
+
+    public long getDurationMs() {
+        return durationNanos / 1_000_000;
+    }
+
+    @Override
+    public String toString() {
+        return taskName + " (" + getDurationMs() + " ms" + (result == Result.FAILED ? ", failed" : "") + ")";
+    }
+}
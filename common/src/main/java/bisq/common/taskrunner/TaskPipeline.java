@@ -0,0 +1,118 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.taskrunner;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import lombok.Getter;
+
+import javax.annotation.Nullable;
+
+/**
+ * Immutable sequence of tasks with their factories resolved. The constructors of the task classes are looked up once
+ * per task class and model class and are invoked as method handles, so running a pipeline does not need any
+ * reflective lookups. Pipelines are cached by their task classes, as the protocols create the same sequences again
+ * for each trade.
+ */
+public final class TaskPipeline<T extends Model> {
+    private static final MethodType FACTORY_TYPE = MethodType.methodType(Task.class, TaskRunner.class, Model.class);
+
+    private static final Map<List<Class<?>>, TaskPipeline<?>> PIPELINES = new ConcurrentHashMap<>();
+    private static final Map<List<Class<?>>, Factory<?>> FACTORIES = new ConcurrentHashMap<>();
+
+    @Getter
+    private final List<Factory<T>> factories;
+
+    @SafeVarargs
+    public static <T extends Model> TaskPipeline<T> of(Class<T> modelClass, Class<? extends Task<T>>... taskClasses) {
+        // The model class is part of the key as the constructor is resolved for it
+        List<Class<?>> key = new ArrayList<>(taskClasses.length + 1);
+        key.add(modelClass);
+        key.addAll(Arrays.asList(taskClasses));
+        //noinspection unchecked
+        return (TaskPipeline<T>) PIPELINES.computeIfAbsent(key, k -> new TaskPipeline<>(Arrays.stream(taskClasses)
+                .map(taskClass -> getFactory(taskClass, modelClass))
+                .collect(Collectors.toList())));
+    }
+
+    private TaskPipeline(List<Factory<T>> factories) {
+        this.factories = Collections.unmodifiableList(factories);
+    }
+
+    public int size() {
+        return factories.size();
+    }
+
+    private static <T extends Model> Factory<T> getFactory(Class<? extends Task<T>> taskClass, Class<T> modelClass) {
+        //noinspection unchecked
+        return (Factory<T>) FACTORIES.computeIfAbsent(List.of(taskClass, modelClass),
+                k -> new Factory<>(taskClass, modelClass));
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Factory
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    public static final class Factory<T extends Model> {
+        @Getter
+        private final Class<? extends Task<T>> taskClass;
+        @Getter
+        private final String taskName;
+        // Null if the constructor could not be resolved. We report that at create as the TaskRunner did before.
+        @Nullable
+        private final MethodHandle constructor;
+        @Nullable
+        private final String resolveError;
+
+        private Factory(Class<? extends Task<T>> taskClass, Class<T> modelClass) {
+            this.taskClass = taskClass;
+            this.taskName = taskClass.getSimpleName();
+            MethodHandle constructor = null;
+            String resolveError = null;
+            try {
+                constructor = MethodHandles.lookup()
+                        .unreflectConstructor(taskClass.getDeclaredConstructor(TaskRunner.class, modelClass))
+                        .asType(FACTORY_TYPE);
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                resolveError = e.toString();
+            }
+            this.constructor = constructor;
+            this.resolveError = resolveError;
+        }
+
+        Task<T> create(TaskRunner<T> taskRunner, T model) throws Throwable {
+            if (constructor == null) {
+                throw new IllegalStateException("Cannot create task " + taskName + ": " + resolveError);
+            }
+            //noinspection unchecked
+            Task<T> task = (Task) constructor.invokeExact(taskRunner, (Model) model);
+            return task;
+        }
+    }
+}
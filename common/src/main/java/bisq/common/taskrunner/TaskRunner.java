@@ -19,24 +19,35 @@ package bisq.common.taskrunner;
 
 import bisq.common.handlers.ErrorMessageHandler;
 import bisq.common.handlers.ResultHandler;
+import bisq.common.metrics.Histogram;
+import bisq.common.metrics.Metrics;
 
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class TaskRunner<T extends Model> {
-    private final Queue<Class<? extends Task<T>>> tasks = new LinkedBlockingQueue<>();
+    private static final Histogram TASK_DURATION = Metrics.histogram("task_duration_seconds",
+            "Time from starting a task until it completed or failed", "task", "result");
+
+    private final Queue<TaskPipeline.Factory<T>> tasks = new LinkedBlockingQueue<>();
     private final T sharedModel;
     private final Class<T> sharedModelClass;
     private final ResultHandler resultHandler;
     private final ErrorMessageHandler errorMessageHandler;
+    private final List<TaskExecution> executionTrace = new ArrayList<>();
     private boolean failed = false;
     private boolean isCanceled;
 
-    private Class<? extends Task<T>> currentTask;
+    private TaskPipeline.Factory<T> currentTask;
+    private long currentTaskStartTs;
+    private boolean currentTaskRecorded;
 
 
     public TaskRunner(T sharedModel, ResultHandler resultHandler, ErrorMessageHandler errorMessageHandler) {
@@ -53,25 +64,39 @@ public class TaskRunner<T extends Model> {
 
     @SafeVarargs
     public final void addTasks(Class<? extends Task<T>>... items) {
-        tasks.addAll(Arrays.asList(items));
+        addTasks(TaskPipeline.of(sharedModelClass, items));
+    }
+
+    public void addTasks(TaskPipeline<T> pipeline) {
+        tasks.addAll(pipeline.getFactories());
     }
 
     public void run() {
         next();
     }
 
+    /**
+     * @return The tasks executed so far in the order of execution. A task still running is not contained.
+     */
+    public List<TaskExecution> getExecutionTrace() {
+        return Collections.unmodifiableList(new ArrayList<>(executionTrace));
+    }
+
     private void next() {
         if (!failed && !isCanceled) {
             if (tasks.size() > 0) {
                 try {
                     currentTask = tasks.poll();
-                    log.info("Run task: " + currentTask.getSimpleName());
-                    currentTask.getDeclaredConstructor(TaskRunner.class, sharedModelClass).newInstance(this, sharedModel).run();
+                    currentTaskStartTs = System.nanoTime();
+                    currentTaskRecorded = false;
+                    log.debug("Run task: " + currentTask.getTaskName());
+                    currentTask.create(this, sharedModel).run();
                 } catch (Throwable throwable) {
                     throwable.printStackTrace();
                     handleErrorMessage("Error at taskRunner: " + throwable.getMessage());
                 }
             } else {
+                log.info("Completed tasks: {}", getExecutionTraceAsString());
                 resultHandler.handleResult();
             }
         }
@@ -82,12 +107,32 @@ public class TaskRunner<T extends Model> {
     }
 
     void handleComplete() {
+        recordCurrentTask(TaskExecution.Result.COMPLETED);
         next();
     }
 
     void handleErrorMessage(String errorMessage) {
-        log.error("Task failed: " + currentTask.getSimpleName() + " / errorMessage: " + errorMessage);
+        recordCurrentTask(TaskExecution.Result.FAILED);
+        log.error("Task failed: " + currentTask.getTaskName() + " / errorMessage: " + errorMessage +
+                " / executed tasks: " + getExecutionTraceAsString());
         failed = true;
         errorMessageHandler.handleErrorMessage(errorMessage);
     }
+
+    private void recordCurrentTask(TaskExecution.Result result) {
+        if (currentTask == null || currentTaskRecorded) {
+            return;
+        }
+
+        currentTaskRecorded = true;
+        long durationNanos = System.nanoTime() - currentTaskStartTs;
+        TASK_DURATION.labels(currentTask.getTaskName(), result.name()).observeNanos(durationNanos);
+        executionTrace.add(new TaskExecution(currentTask.getTaskName(), durationNanos, result));
+    }
+
+    private String getExecutionTraceAsString() {
+        return executionTrace.stream()
+                .map(TaskExecution::toString)
+                .collect(Collectors.joining(", "));
+    }
 }
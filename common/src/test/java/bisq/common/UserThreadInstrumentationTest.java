@@ -0,0 +1,106 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class UserThreadInstrumentationTest {
+    private static final long SLOW_TASK_THRESHOLD_MS = 50;
+
+    @BeforeClass
+    public static void setup() {
+        // The instrumentation can only be enabled once per JVM and stays enabled
+        UserThreadInstrumentation.enable(SLOW_TASK_THRESHOLD_MS);
+    }
+
+    @Test
+    public void testOriginIsCaller() {
+        assertEquals("UserThreadInstrumentationTest.testOriginIsCaller", UserThreadInstrumentation.getOrigin());
+        assertEquals("UserThreadInstrumentationTest.testOriginIsCaller", UserThreadInstrumentation.getOrigin(null));
+    }
+
+    @Test
+    public void testExplicitOrigin() {
+        assertEquals("Connection.onMessage:Ping", UserThreadInstrumentation.getOrigin("Connection.onMessage:Ping"));
+    }
+
+    @Test
+    public void testOriginOfExecutedTask() {
+        // The default executor of the UserThread runs the task on the caller thread
+        AtomicReference<String> origin = new AtomicReference<>();
+        UserThread.execute(() -> origin.set(UserThreadInstrumentation.getRunningTaskOrigin()));
+        assertEquals("UserThreadInstrumentationTest.testOriginOfExecutedTask", origin.get());
+
+        UserThread.execute(() -> origin.set(UserThreadInstrumentation.getRunningTaskOrigin()),
+                "Connection.onMessage:Ping");
+        assertEquals("Connection.onMessage:Ping", origin.get());
+        assertNull(UserThreadInstrumentation.getRunningTaskOrigin());
+    }
+
+    @Test
+    public void testWatchdogReportsSlowTask() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread thread = new Thread(() -> {
+            try {
+                UserThread.execute(() -> {
+                    started.countDown();
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        failure.set(e);
+                    }
+                }, "SlowTask");
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        thread.start();
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        // The watchdog checks at half of the threshold, so it reports the blocked task shortly after the threshold
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (!UserThreadInstrumentation.isRunningTaskReported() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(UserThreadInstrumentation.isRunningTaskReported());
+
+        release.countDown();
+        thread.join(TimeUnit.SECONDS.toMillis(10));
+        assertNull(failure.get());
+        assertFalse(UserThreadInstrumentation.isRunningTaskReported());
+    }
+
+    @Test
+    public void testWatchdogIgnoresFastTask() throws Exception {
+        AtomicReference<Boolean> reported = new AtomicReference<>();
+        UserThread.execute(() -> reported.set(UserThreadInstrumentation.isRunningTaskReported()), "FastTask");
+        assertFalse(reported.get());
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.common.file;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import java.io.File;
+import java.io.IOException;
+
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Compares the cost of the rolling backup done before each write of the PersistenceManager when copying the
+ * previous file versus hard linking it. Not run as part of the tests, start it with the main method.
+ *
+ * Args: [file size in MB, default 20] [number of flushes, default 50]
+ */
+public class BackupBenchmark {
+    private static final String FILE_NAME = "BenchmarkStore";
+
+    public static void main(String[] args) throws IOException {
+        int fileSizeMb = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int numFlushes = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        byte[] data = new byte[fileSizeMb * 1024 * 1024];
+        new Random(1).nextBytes(data);
+
+        // Warm up
+        run(data, 3, false);
+        run(data, 3, true);
+
+        Result copy = run(data, numFlushes, false);
+        Result link = run(data, numFlushes, true);
+        System.out.printf("File size %d MB, %d flushes%n", fileSizeMb, numFlushes);
+        System.out.printf("Copy:      %.2f ms backup time per flush, %.2f MB written for backups per flush%n",
+                copy.backupNanos / 1e6 / numFlushes, copy.bytesWritten / 1024d / 1024d / numFlushes);
+        System.out.printf("Hard link: %.2f ms backup time per flush, %.2f MB written for backups per flush%n",
+                link.backupNanos / 1e6 / numFlushes, link.bytesWritten / 1024d / 1024d / numFlushes);
+    }
+
+    private static class Result {
+        long backupNanos;
+        long bytesWritten;
+    }
+
+    // Accumulates the time spent for backups and the size of the new backup files. A backup which is a hard link to
+    // the storage file shares its data, so it does not count as written.
+    private static Result run(byte[] data, int numFlushes, boolean useHardLink) throws IOException {
+        Result result = new Result();
+        File dir = Files.createTempDirectory("BackupBenchmark").toFile();
+        try {
+            File storageFile = new File(dir, FILE_NAME);
+            File tempFile = new File(dir, "temp_" + FILE_NAME);
+            File backupFileDir = Paths.get(dir.getAbsolutePath(), "backup", "backups_" + FILE_NAME).toFile();
+            for (int i = 0; i < numFlushes; i++) {
+                Set<String> previousBackups = getFileNames(backupFileDir);
+                long ts = System.nanoTime();
+                FileUtil.rollingBackup(dir, FILE_NAME, 10, useHardLink);
+                result.backupNanos += System.nanoTime() - ts;
+
+                for (String fileName : getFileNames(backupFileDir)) {
+                    Path backupFile = new File(backupFileDir, fileName).toPath();
+                    if (!previousBackups.contains(fileName) && !Files.isSameFile(backupFile, storageFile.toPath())) {
+                        result.bytesWritten += Files.size(backupFile);
+                    }
+                }
+
+                Files.write(tempFile.toPath(), data);
+                FileUtil.renameFile(tempFile, storageFile);
+            }
+            return result;
+        } finally {
+            FileUtil.deleteDirectory(dir);
+        }
+    }
+
+    private static Set<String> getFileNames(File dir) {
+        String[] fileNames = dir.list();
+        return fileNames != null ? Set.of(fileNames) : Set.of();
+    }
+}
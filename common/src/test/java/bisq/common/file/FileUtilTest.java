@@ -0,0 +1,101 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.common.file;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import java.io.File;
+import java.io.IOException;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FileUtilTest {
+    private static final String FILE_NAME = "Store";
+    private File dir;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("FileUtilTest").toFile();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        FileUtil.deleteDirectory(dir);
+    }
+
+    @Test
+    public void testHardLinkedBackupKeepsContentAfterRename() throws Exception {
+        File storageFile = new File(dir, FILE_NAME);
+        write(storageFile, "v1");
+        assertTrue(FileUtil.rollingBackup(dir, FILE_NAME, 10, true));
+
+        // Replace the storage file the same way the PersistenceManager does
+        File tempFile = new File(dir, "temp_" + FILE_NAME);
+        write(tempFile, "v2");
+        FileUtil.renameFile(tempFile, storageFile);
+
+        File[] backups = getBackupFiles();
+        assertEquals(1, backups.length);
+        assertEquals("v1", read(backups[0]));
+        assertEquals("v2", read(storageFile));
+    }
+
+    @Test
+    public void testBackupsArePruned() throws Exception {
+        File storageFile = new File(dir, FILE_NAME);
+        for (int i = 0; i < 5; i++) {
+            write(storageFile, "v" + i);
+            FileUtil.rollingBackup(dir, FILE_NAME, 2, true);
+            // Backup file names are based on the timestamp
+            Thread.sleep(2);
+        }
+        assertEquals(2, getBackupFiles().length);
+    }
+
+    @Test
+    public void testNoBackupIfFileNotExists() {
+        assertFalse(FileUtil.rollingBackup(dir, FILE_NAME, 10, true));
+    }
+
+    private File[] getBackupFiles() {
+        File backupFileDir = new File(new File(dir, "backup"), "backups_" + FILE_NAME);
+        File[] files = Objects.requireNonNull(backupFileDir.listFiles());
+        Arrays.sort(files);
+        return files;
+    }
+
+    private static void write(File file, String content) throws IOException {
+        // Write a new file like the PersistenceManager, never modify the existing one in place
+        File newFile = new File(file.getParentFile(), file.getName() + ".new");
+        Files.write(newFile.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        FileUtil.renameFile(newFile, file);
+    }
+
+    private static String read(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+}
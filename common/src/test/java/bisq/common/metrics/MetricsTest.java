@@ -0,0 +1,92 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.metrics;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class MetricsTest {
+
+    @After
+    public void tearDown() {
+        Metrics.clear();
+    }
+
+    @Test
+    public void testRegisterIsIdempotent() {
+        Counter counter = Metrics.counter("test_total", "help");
+        assertSame(counter, Metrics.counter("test_total", "help"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRegisterWithOtherTypeFails() {
+        Metrics.counter("test_metric", "help");
+        Metrics.histogram("test_metric", "help");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrongNumberOfLabelValuesFails() {
+        Metrics.counter("test_total", "help", "type").labels("a", "b");
+    }
+
+    @Test
+    public void testCounterExposition() {
+        Counter counter = Metrics.counter("test_total", "Test counter", "type");
+        counter.labels("a").inc();
+        counter.labels("a").inc(2);
+        counter.labels("b\"").inc();
+
+        String scrape = Metrics.scrape();
+        assertTrue(scrape.contains("# HELP bisq_test_total Test counter\n"));
+        assertTrue(scrape.contains("# TYPE bisq_test_total counter\n"));
+        assertTrue(scrape.contains("bisq_test_total{type=\"a\"} 3\n"));
+        assertTrue(scrape.contains("bisq_test_total{type=\"b\\\"\"} 1\n"));
+    }
+
+    @Test
+    public void testHistogramExposition() {
+        Histogram histogram = Metrics.histogram("test_seconds", "Test histogram", new double[]{0.01, 0.1, 1});
+        histogram.observeMillis(5);
+        histogram.observeMillis(50);
+        histogram.observeMillis(100);
+        histogram.observeMillis(5000);
+
+        assertEquals(4, histogram.getCount());
+        String scrape = Metrics.scrape();
+        assertTrue(scrape.contains("# TYPE bisq_test_seconds histogram\n"));
+        assertTrue(scrape.contains("bisq_test_seconds_bucket{le=\"0.01\"} 1\n"));
+        assertTrue(scrape.contains("bisq_test_seconds_bucket{le=\"0.1\"} 3\n"));
+        assertTrue(scrape.contains("bisq_test_seconds_bucket{le=\"1\"} 3\n"));
+        assertTrue(scrape.contains("bisq_test_seconds_bucket{le=\"+Inf\"} 4\n"));
+        assertTrue(scrape.contains("bisq_test_seconds_sum 5.155\n"));
+        assertTrue(scrape.contains("bisq_test_seconds_count 4\n"));
+    }
+
+    @Test
+    public void testGaugeIsReadAtScrapeTime() {
+        int[] value = {1};
+        Metrics.gauge("test_gauge", "Test gauge", () -> value[0]);
+        value[0] = 7;
+
+        assertTrue(Metrics.scrape().contains("bisq_test_gauge 7\n"));
+    }
+}
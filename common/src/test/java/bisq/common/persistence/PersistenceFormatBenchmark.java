@@ -0,0 +1,107 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.common.persistence;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Compares file size and write/read time of the plain and the compressed persistence format. Not run as part of
+ * the tests, start it with the main method.
+ *
+ * Args: [directory with store files, default p2p/src/main/resources] [number of runs, default 5]
+ * The resource stores are stored with git LFS, so they need to be pulled before.
+ */
+public class PersistenceFormatBenchmark {
+    public static void main(String[] args) throws IOException {
+        File dir = new File(args.length > 0 ? args[0] : "p2p/src/main/resources");
+        int numRuns = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        File[] files = Objects.requireNonNull(dir.listFiles(File::isFile), "No directory " + dir);
+        Arrays.sort(files);
+
+        System.out.printf("%-45s %12s %12s %7s %10s %10s %10s %10s%n", "File", "Plain", "Compressed", "Ratio",
+                "Write", "Write (c)", "Read", "Read (c)");
+        for (File file : files) {
+            protobuf.PersistableEnvelope envelope;
+            try (InputStream inputStream = new FileInputStream(file)) {
+                envelope = PersistenceFormat.read(inputStream);
+            } catch (IOException e) {
+                System.out.printf("%-45s not a store file: %s%n", file.getName(), e.getMessage());
+                continue;
+            }
+            if (envelope == null || envelope.getSerializedSize() == 0) {
+                System.out.printf("%-45s not a store file (git LFS pointer?)%n", file.getName());
+                continue;
+            }
+
+            Result plain = measure(envelope, false, numRuns);
+            Result compressed = measure(envelope, true, numRuns);
+            System.out.printf("%-45s %12d %12d %6.1f%% %8.1fms %8.1fms %8.1fms %8.1fms%n", file.getName(),
+                    plain.size, compressed.size, 100d * compressed.size / plain.size,
+                    plain.writeMs, compressed.writeMs, plain.readMs, compressed.readMs);
+        }
+    }
+
+    private static class Result {
+        long size;
+        double writeMs;
+        double readMs;
+    }
+
+    // We write to a temp file and sync as the PersistenceManager does, the read includes
+    // decoding the protobuf data
+    private static Result measure(protobuf.PersistableEnvelope envelope, boolean compressed, int numRuns)
+            throws IOException {
+        Result result = new Result();
+        File tempFile = File.createTempFile("PersistenceFormatBenchmark", null);
+        try {
+            long writeNanos = 0;
+            long readNanos = 0;
+            // First run is warm up
+            for (int i = 0; i <= numRuns; i++) {
+                long ts = System.nanoTime();
+                try (FileOutputStream outputStream = new FileOutputStream(tempFile)) {
+                    PersistenceFormat.write(envelope, outputStream, compressed);
+                    outputStream.flush();
+                    outputStream.getFD().sync();
+                }
+                long writeTs = System.nanoTime();
+                try (InputStream inputStream = new FileInputStream(tempFile)) {
+                    PersistenceFormat.read(inputStream);
+                }
+                if (i > 0) {
+                    writeNanos += writeTs - ts;
+                    readNanos += System.nanoTime() - writeTs;
+                }
+            }
+            result.size = tempFile.length();
+            result.writeMs = writeNanos / 1e6 / numRuns;
+            result.readMs = readNanos / 1e6 / numRuns;
+            return result;
+        } finally {
+            if (!tempFile.delete()) {
+                tempFile.deleteOnExit();
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.common.persistence;
+
+import bisq.common.Payload;
+import bisq.common.proto.persistable.NavigationPath;
+import bisq.common.proto.persistable.PersistableEnvelope;
+import bisq.common.proto.persistable.PersistablePayload;
+import bisq.common.proto.persistable.PersistenceProtoResolver;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PersistenceFormatTest {
+    private static class TestResolver implements PersistenceProtoResolver {
+        private final boolean supportsStreaming;
+        private boolean streamed;
+
+        private TestResolver(boolean supportsStreaming) {
+            this.supportsStreaming = supportsStreaming;
+        }
+
+        @Override
+        public PersistableEnvelope fromProto(protobuf.PersistableEnvelope persistable) {
+            return NavigationPath.fromProto(persistable.getNavigationPath());
+        }
+
+        @Nullable
+        @Override
+        public StreamDecoder getStreamDecoder(protobuf.PersistableEnvelope.MessageCase messageCase) {
+            if (!supportsStreaming || messageCase != protobuf.PersistableEnvelope.MessageCase.NAVIGATION_PATH) {
+                return null;
+            }
+            return input -> {
+                List<String> path = new ArrayList<>();
+                while (input.readTag() != 0) {
+                    path.add(input.readString());
+                }
+                streamed = true;
+                return new NavigationPath(path);
+            };
+        }
+
+        @Override
+        public Payload fromProto(protobuf.PaymentAccountPayload proto) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public PersistablePayload fromProto(protobuf.PersistableNetworkPayload proto) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static protobuf.PersistableEnvelope createEnvelope() {
+        protobuf.NavigationPath.Builder builder = protobuf.NavigationPath.newBuilder();
+        for (int i = 0; i < 1000; i++) {
+            builder.addPath("bisq.desktop.main.MainView_" + i);
+        }
+        return protobuf.PersistableEnvelope.newBuilder().setNavigationPath(builder).build();
+    }
+
+    @Test
+    public void testReadPlainFormat() throws IOException {
+        protobuf.PersistableEnvelope envelope = createEnvelope();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        PersistenceFormat.write(envelope, outputStream, false);
+
+        // Plain format is the delimited protobuf as written by previous versions
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        envelope.writeDelimitedTo(expected);
+        assertArrayEquals(expected.toByteArray(), outputStream.toByteArray());
+
+        assertEquals(envelope, PersistenceFormat.read(new ByteArrayInputStream(outputStream.toByteArray())));
+    }
+
+    @Test
+    public void testReadCompressedFormat() throws IOException {
+        protobuf.PersistableEnvelope envelope = createEnvelope();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        PersistenceFormat.write(envelope, outputStream, true);
+
+        assertTrue(outputStream.size() < envelope.getSerializedSize() / 2);
+        assertEquals(envelope, PersistenceFormat.read(new ByteArrayInputStream(outputStream.toByteArray())));
+    }
+
+    @Test(expected = IOException.class)
+    public void testUnsupportedVersion() throws IOException {
+        byte[] data = {0, 'B', 'Q', 'Z', 99, 1, 2, 3};
+        PersistenceFormat.read(new ByteArrayInputStream(data));
+    }
+
+    @Test
+    public void testReadWithStreamDecoder() throws IOException {
+        protobuf.PersistableEnvelope envelope = createEnvelope();
+        NavigationPath expected = NavigationPath.fromProto(envelope.getNavigationPath());
+        for (boolean compressed : new boolean[]{false, true}) {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            PersistenceFormat.write(envelope, outputStream, compressed);
+
+            TestResolver streamingResolver = new TestResolver(true);
+            assertEquals(expected, PersistenceFormat.read(PersistenceFormat.newInputStream(
+                    new ByteArrayInputStream(outputStream.toByteArray())), streamingResolver));
+            assertTrue(streamingResolver.streamed);
+
+            TestResolver resolver = new TestResolver(false);
+            assertEquals(expected, PersistenceFormat.read(PersistenceFormat.newInputStream(
+                    new ByteArrayInputStream(outputStream.toByteArray())), resolver));
+            assertFalse(resolver.streamed);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.taskrunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TaskRunnerTest {
+    public static class TestModel implements Model {
+        private final List<String> executedTasks = new ArrayList<>();
+
+        @Override
+        public void onComplete() {
+        }
+    }
+
+    public static class TaskA extends Task<TestModel> {
+        public TaskA(TaskRunner<TestModel> taskHandler, TestModel model) {
+            super(taskHandler, model);
+        }
+
+        @Override
+        protected void run() {
+            model.executedTasks.add("TaskA");
+            complete();
+        }
+    }
+
+    public static class TaskB extends Task<TestModel> {
+        public TaskB(TaskRunner<TestModel> taskHandler, TestModel model) {
+            super(taskHandler, model);
+        }
+
+        @Override
+        protected void run() {
+            model.executedTasks.add("TaskB");
+            complete();
+        }
+    }
+
+    public static class FailingTask extends Task<TestModel> {
+        public FailingTask(TaskRunner<TestModel> taskHandler, TestModel model) {
+            super(taskHandler, model);
+        }
+
+        @Override
+        protected void run() {
+            failed("Test");
+        }
+    }
+
+    public static class TaskWithoutMatchingConstructor extends Task<TestModel> {
+        public TaskWithoutMatchingConstructor(TaskRunner<TestModel> taskHandler) {
+            super(taskHandler, null);
+        }
+
+        @Override
+        protected void run() {
+            complete();
+        }
+    }
+
+    private TestModel model;
+    private boolean completed;
+    private String errorMessage;
+
+    @Before
+    public void setUp() {
+        model = new TestModel();
+        completed = false;
+        errorMessage = null;
+    }
+
+    @Test
+    public void testPipelineIsCached() {
+        TaskPipeline<TestModel> pipeline = TaskPipeline.of(TestModel.class, TaskA.class, TaskB.class);
+        assertSame(pipeline, TaskPipeline.of(TestModel.class, TaskA.class, TaskB.class));
+        assertEquals(2, pipeline.size());
+        // Factories are shared between pipelines
+        assertSame(pipeline.getFactories().get(1),
+                TaskPipeline.of(TestModel.class, TaskB.class).getFactories().get(0));
+    }
+
+    @Test
+    public void testTasksRunInOrder() {
+        TaskRunner<TestModel> taskRunner = createTaskRunner();
+        taskRunner.addTasks(TaskB.class, TaskA.class);
+        taskRunner.addTasks(TaskPipeline.of(TestModel.class, TaskB.class));
+        taskRunner.run();
+
+        assertTrue(completed);
+        assertEquals(List.of("TaskB", "TaskA", "TaskB"), model.executedTasks);
+        List<TaskExecution> trace = taskRunner.getExecutionTrace();
+        assertEquals(List.of("TaskB", "TaskA", "TaskB"), trace.stream()
+                .map(TaskExecution::getTaskName)
+                .collect(Collectors.toList()));
+        assertTrue(trace.stream().allMatch(execution -> execution.getResult() == TaskExecution.Result.COMPLETED));
+        assertTrue(trace.stream().allMatch(execution -> execution.getDurationNanos() >= 0));
+    }
+
+    @Test
+    public void testFailedTask() {
+        TaskRunner<TestModel> taskRunner = createTaskRunner();
+        taskRunner.addTasks(TaskA.class, FailingTask.class, TaskB.class);
+        taskRunner.run();
+
+        assertFalse(completed);
+        assertNotNull(errorMessage);
+        assertEquals(List.of("TaskA"), model.executedTasks);
+        List<TaskExecution> trace = taskRunner.getExecutionTrace();
+        assertEquals(2, trace.size());
+        assertEquals("FailingTask", trace.get(1).getTaskName());
+        assertEquals(TaskExecution.Result.FAILED, trace.get(1).getResult());
+    }
+
+    @Test
+    public void testUnresolvableConstructor() {
+        TaskRunner<TestModel> taskRunner = createTaskRunner();
+        taskRunner.addTasks(TaskA.class, TaskWithoutMatchingConstructor.class, TaskB.class);
+        taskRunner.run();
+
+        assertFalse(completed);
+        assertTrue(errorMessage.startsWith("Error at taskRunner: Cannot create task TaskWithoutMatchingConstructor"));
+        assertEquals(List.of("TaskA"), model.executedTasks);
+    }
+
+    private TaskRunner<TestModel> createTaskRunner() {
+        return new TaskRunner<>(model, () -> completed = true, errorMessage -> this.errorMessage = errorMessage);
+    }
+}
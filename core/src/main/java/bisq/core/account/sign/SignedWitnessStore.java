@@ -20,8 +20,11 @@ package bisq.core.account.sign;
 
 import bisq.network.p2p.storage.persistence.PersistableNetworkPayloadStore;
 
+import com.google.protobuf.CodedInputStream;
 import com.google.protobuf.Message;
 
+import java.io.IOException;
+
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -67,4 +70,11 @@ public class SignedWitnessStore extends PersistableNetworkPayloadStore<SignedWit
                 .map(SignedWitness::fromProto).collect(Collectors.toList());
         return new SignedWitnessStore(list);
     }
+
+    public static SignedWitnessStore fromProto(CodedInputStream input) throws IOException {
+        SignedWitnessStore store = new SignedWitnessStore();
+        store.readItems(input, protobuf.SignedWitnessStore.ITEMS_FIELD_NUMBER,
+                protobuf.SignedWitness.parser(), SignedWitness::fromProto);
+        return store;
+    }
 }
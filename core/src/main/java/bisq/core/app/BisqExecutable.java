@@ -26,6 +26,7 @@ import bisq.core.offer.OpenOfferManager;
 import bisq.core.provider.price.PriceFeedService;
 import bisq.core.setup.CorePersistedDataHost;
 import bisq.core.setup.CoreSetup;
+import bisq.core.setup.PersistedDataLoader;
 import bisq.core.support.dispute.arbitration.arbitrator.ArbitratorManager;
 import bisq.core.trade.statistics.TradeStatisticsManager;
 import bisq.core.trade.txproof.xmr.XmrTxProofService;
@@ -38,6 +39,7 @@ import bisq.common.config.BisqHelpFormatter;
 import bisq.common.config.Config;
 import bisq.common.config.ConfigException;
 import bisq.common.handlers.ResultHandler;
+import bisq.common.metrics.MetricsServer;
 import bisq.common.persistence.PersistenceManager;
 import bisq.common.proto.persistable.PersistedDataHost;
 import bisq.common.setup.CommonSetup;
@@ -49,7 +51,6 @@ import com.google.inject.Guice;
 import com.google.inject.Injector;
 
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -71,6 +72,8 @@ public abstract class BisqExecutable implements GracefulShutDownHandler, BisqSet
     protected Config config;
     private boolean isShutdownInProgress;
     private boolean hasDowngraded;
+    @Nullable
+    private MetricsServer metricsServer;
 
     public BisqExecutable(String fullName, String scriptName, String appName, String version) {
         this.fullName = fullName;
@@ -173,24 +176,33 @@ public abstract class BisqExecutable implements GracefulShutDownHandler, BisqSet
     }
 
     protected void readAllPersisted(@Nullable List<PersistedDataHost> additionalHosts, Runnable completeHandler) {
-        List<PersistedDataHost> hosts = CorePersistedDataHost.getPersistedDataHosts(injector);
+        PersistedDataLoader loader = CorePersistedDataHost.getPersistedDataLoader(injector);
         if (additionalHosts != null) {
-            hosts.addAll(additionalHosts);
+            loader.addAll(additionalHosts);
         }
-
-        AtomicInteger remaining = new AtomicInteger(hosts.size());
-        hosts.forEach(host -> {
-            host.readPersisted(() -> {
-                if (remaining.decrementAndGet() == 0) {
-                    UserThread.execute(completeHandler);
-                }
-            });
-        });
+        loader.load(completeHandler);
     }
 
     protected void setupAvoidStandbyMode() {
     }
 
+    // Headless apps (seed node, statsnode, daemon) expose the metrics if the metricsPort option is set
+    protected void maybeStartMetricsServer() {
+        if (config.metricsPort == Config.UNSPECIFIED_PORT || metricsServer != null) {
+            return;
+        }
+
+        metricsServer = new MetricsServer(config.metricsPort);
+        metricsServer.start();
+    }
+
+    protected void shutDownMetricsServer() {
+        if (metricsServer != null) {
+            metricsServer.shutDown();
+            metricsServer = null;
+        }
+    }
+
     protected abstract void startApplication();
 
     // Once the application is ready we get that callback and we start the setup
@@ -75,6 +75,13 @@ public abstract class ExecutableForAppWithP2p extends BisqExecutable {
         UserThread.setExecutor(Executors.newSingleThreadExecutor(threadFactory));
     }
 
+    @Override
+    protected void onApplicationLaunched() {
+        super.onApplicationLaunched();
+
+        maybeStartMetricsServer();
+    }
+
     @Override
     public void onSetupComplete() {
         log.info("onSetupComplete");
@@ -84,6 +91,7 @@ public abstract class ExecutableForAppWithP2p extends BisqExecutable {
     @Override
     public void gracefulShutDown(ResultHandler resultHandler) {
         log.info("gracefulShutDown");
+        shutDownMetricsServer();
         try {
             if (injector != null) {
                 JsonFileManager.shutDownAllInstances();
@@ -208,6 +208,11 @@ public final class AddressEntry implements PersistablePayload {
         return address == null;
     }
 
+    // False for entries created from deserialization until setDeterministicKey got called
+    public boolean hasKeyPair() {
+        return keyPair != null;
+    }
+
     public boolean isOpenOffer() {
         return context == Context.OFFER_FUNDING || context == Context.RESERVED_FOR_TRADE;
     }
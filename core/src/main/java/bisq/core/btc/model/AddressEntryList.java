@@ -37,17 +37,28 @@ import com.google.common.collect.ImmutableList;
 
 import org.apache.commons.lang3.tuple.Pair;
 
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
 
+import javax.annotation.Nullable;
+
 /**
  * The AddressEntries was previously stored as list, now as hashSet. We still keep the old name to reflect the
  * associated protobuf message.
+ *
+ * Beside the entrySet we maintain indexes by offer ID, by context and by address, so lookups do not need to copy
+ * and scan all entries. Wallets of long running market makers accumulate thousands of entries.
+ * All mutations of the entrySet must go through addEntry and removeEntry to keep the indexes in sync.
  */
 @Slf4j
 public final class AddressEntryList implements PersistableEnvelope, PersistedDataHost {
@@ -55,6 +66,11 @@ public final class AddressEntryList implements PersistableEnvelope, PersistedDat
     transient private Wallet wallet;
     private final Set<AddressEntry> entrySet = new CopyOnWriteArraySet<>();
 
+    // Indexes of the entrySet. The address index only contains entries which have their key pair set.
+    transient private final Map<String, Set<AddressEntry>> entriesByOfferId = new ConcurrentHashMap<>();
+    transient private final Map<AddressEntry.Context, Set<AddressEntry>> entriesByContext = new ConcurrentHashMap<>();
+    transient private final Map<String, Set<AddressEntry>> entriesByAddress = new ConcurrentHashMap<>();
+
     @Inject
     public AddressEntryList(PersistenceManager<AddressEntryList> persistenceManager) {
         this.persistenceManager = persistenceManager;
@@ -65,8 +81,10 @@ public final class AddressEntryList implements PersistableEnvelope, PersistedDat
     @Override
     public void readPersisted(Runnable completeHandler) {
         persistenceManager.readPersisted(persisted -> {
-                    entrySet.clear();
-                    entrySet.addAll(persisted.entrySet);
+                    synchronized (this) {
+                        clearEntries();
+                        persisted.entrySet.forEach(this::addEntry);
+                    }
                     completeHandler.run();
                 },
                 completeHandler);
@@ -78,7 +96,7 @@ public final class AddressEntryList implements PersistableEnvelope, PersistedDat
     ///////////////////////////////////////////////////////////////////////////////////////////
 
     private AddressEntryList(Set<AddressEntry> entrySet) {
-        this.entrySet.addAll(entrySet);
+        entrySet.forEach(this::addEntry);
     }
 
     public static AddressEntryList fromProto(protobuf.AddressEntryList proto) {
@@ -104,7 +122,7 @@ public final class AddressEntryList implements PersistableEnvelope, PersistedDat
     // API
     ///////////////////////////////////////////////////////////////////////////////////////////
 
-    public void onWalletReady(Wallet wallet) {
+    public synchronized void onWalletReady(Wallet wallet) {
         this.wallet = wallet;
 
         if (!entrySet.isEmpty()) {
@@ -135,11 +153,14 @@ public final class AddressEntryList implements PersistableEnvelope, PersistedDat
                 }
             });
 
-            toBeRemoved.forEach(entrySet::remove);
+            toBeRemoved.forEach(this::removeEntry);
+
+            // Now the keys are set we can add the entries to the address index
+            entrySet.forEach(this::addToAddressIndex);
         } else {
             // As long the old arbitration domain is not removed from the code base we still support it here.
             DeterministicKey key = (DeterministicKey) wallet.findKeyFromAddress(wallet.freshReceiveAddress(Script.ScriptType.P2PKH));
-            entrySet.add(new AddressEntry(key, AddressEntry.Context.ARBITRATOR, false));
+            addEntry(new AddressEntry(key, AddressEntry.Context.ARBITRATOR, false));
         }
 
         // In case we restore from seed words and have balance we need to add the relevant addresses to our list.
@@ -153,7 +174,7 @@ public final class AddressEntryList implements PersistableEnvelope, PersistedDat
                         if (key != null) {
                             // Address will be derived from key in getAddress method
                             log.info("Create AddressEntry for IssuedReceiveAddress. address={}", address.toString());
-                            entrySet.add(new AddressEntry(key, AddressEntry.Context.AVAILABLE, address instanceof SegwitAddress));
+                            addEntry(new AddressEntry(key, AddressEntry.Context.AVAILABLE, address instanceof SegwitAddress));
                         } else {
                             log.warn("DeterministicKey for address {} is null", address);
                         }
@@ -179,13 +200,31 @@ public final class AddressEntryList implements PersistableEnvelope, PersistedDat
         return ImmutableList.copyOf(entrySet);
     }
 
-    public void addAddressEntry(AddressEntry addressEntry) {
-        boolean entryWithSameOfferIdAndContextAlreadyExist = entrySet.stream().anyMatch(e -> {
-            if (addressEntry.getOfferId() != null) {
-                return addressEntry.getOfferId().equals(e.getOfferId()) && addressEntry.getContext() == e.getContext();
-            }
-            return false;
-        });
+    public Optional<AddressEntry> findAddressEntryByOfferId(String offerId, AddressEntry.Context context) {
+        return getIndexed(entriesByOfferId, offerId).stream()
+                .filter(e -> context == e.getContext())
+                .findAny();
+    }
+
+    public List<AddressEntry> getAddressEntriesByOfferId(String offerId, AddressEntry.Context context) {
+        return getIndexed(entriesByOfferId, offerId).stream()
+                .filter(e -> context == e.getContext())
+                .collect(Collectors.toList());
+    }
+
+    public Optional<AddressEntry> findAddressEntryByAddress(String address, AddressEntry.Context context) {
+        return getIndexed(entriesByAddress, address).stream()
+                .filter(e -> context == e.getContext())
+                .findAny();
+    }
+
+    public List<AddressEntry> getAddressEntries(AddressEntry.Context context) {
+        return ImmutableList.copyOf(getIndexed(entriesByContext, context));
+    }
+
+    public synchronized void addAddressEntry(AddressEntry addressEntry) {
+        boolean entryWithSameOfferIdAndContextAlreadyExist = addressEntry.getOfferId() != null &&
+                findAddressEntryByOfferId(addressEntry.getOfferId(), addressEntry.getContext()).isPresent();
         if (entryWithSameOfferIdAndContextAlreadyExist) {
             log.error("We have an address entry with the same offer ID and context. We do not add the new one. " +
                     "addressEntry={}, entrySet={}", addressEntry, entrySet);
@@ -193,12 +232,12 @@ public final class AddressEntryList implements PersistableEnvelope, PersistedDat
         }
 
         log.info("addAddressEntry: add new AddressEntry {}", addressEntry);
-        boolean setChangedByAdd = entrySet.add(addressEntry);
+        boolean setChangedByAdd = addEntry(addressEntry);
         if (setChangedByAdd)
             requestPersistence();
     }
 
-    public void swapToAvailable(AddressEntry addressEntry) {
+    public synchronized void swapToAvailable(AddressEntry addressEntry) {
         if (addressEntry.getContext() == AddressEntry.Context.MULTI_SIG) {
             log.error("swapToAvailable called with an addressEntry with MULTI_SIG context. " +
                     "This in not permitted as we must not reuse those address entries and there are " +
@@ -209,8 +248,8 @@ public final class AddressEntryList implements PersistableEnvelope, PersistedDat
         }
 
         log.info("swapToAvailable addressEntry to swap={}", addressEntry);
-        boolean setChangedByRemove = entrySet.remove(addressEntry);
-        boolean setChangedByAdd = entrySet.add(new AddressEntry(addressEntry.getKeyPair(),
+        boolean setChangedByRemove = removeEntry(addressEntry);
+        boolean setChangedByAdd = addEntry(new AddressEntry(addressEntry.getKeyPair(),
                 AddressEntry.Context.AVAILABLE,
                 addressEntry.isSegwit()));
         if (setChangedByRemove || setChangedByAdd) {
@@ -218,33 +257,33 @@ public final class AddressEntryList implements PersistableEnvelope, PersistedDat
         }
     }
 
-    public AddressEntry swapAvailableToAddressEntryWithOfferId(AddressEntry addressEntry,
+    public synchronized AddressEntry swapAvailableToAddressEntryWithOfferId(AddressEntry addressEntry,
                                                                AddressEntry.Context context,
                                                                String offerId) {
-        boolean setChangedByRemove = entrySet.remove(addressEntry);
+        boolean setChangedByRemove = removeEntry(addressEntry);
         AddressEntry newAddressEntry = new AddressEntry(addressEntry.getKeyPair(), context, offerId, addressEntry.isSegwit());
         log.info("swapAvailableToAddressEntryWithOfferId newAddressEntry={}", newAddressEntry);
-        boolean setChangedByAdd = entrySet.add(newAddressEntry);
+        boolean setChangedByAdd = addEntry(newAddressEntry);
         if (setChangedByRemove || setChangedByAdd)
             requestPersistence();
 
         return newAddressEntry;
     }
 
-    public void setCoinLockedInMultiSigAddressEntry(AddressEntry addressEntry, long value) {
+    public synchronized void setCoinLockedInMultiSigAddressEntry(AddressEntry addressEntry, long value) {
         if (addressEntry.getContext() != AddressEntry.Context.MULTI_SIG) {
             log.error("setCoinLockedInMultiSigAddressEntry must be called only on MULTI_SIG entries");
             return;
         }
 
         log.info("setCoinLockedInMultiSigAddressEntry addressEntry={}, value={}", addressEntry, value);
-        boolean setChangedByRemove = entrySet.remove(addressEntry);
+        boolean setChangedByRemove = removeEntry(addressEntry);
         AddressEntry entry = new AddressEntry(addressEntry.getKeyPair(),
                 addressEntry.getContext(),
                 addressEntry.getOfferId(),
                 value,
                 addressEntry.isSegwit());
-        boolean setChangedByAdd = entrySet.add(entry);
+        boolean setChangedByAdd = addEntry(entry);
         if (setChangedByRemove || setChangedByAdd) {
             requestPersistence();
         }
@@ -273,7 +312,73 @@ public final class AddressEntryList implements PersistableEnvelope, PersistedDat
     }
 
     private boolean isAddressNotInEntries(Address address) {
-        return entrySet.stream().noneMatch(e -> address.equals(e.getAddress()));
+        return !entriesByAddress.containsKey(address.toString());
+    }
+
+    private boolean addEntry(AddressEntry addressEntry) {
+        if (!entrySet.add(addressEntry)) {
+            return false;
+        }
+
+        if (addressEntry.getOfferId() != null) {
+            addToIndex(entriesByOfferId, addressEntry.getOfferId(), addressEntry);
+        }
+        addToIndex(entriesByContext, addressEntry.getContext(), addressEntry);
+        addToAddressIndex(addressEntry);
+        return true;
+    }
+
+    private boolean removeEntry(AddressEntry addressEntry) {
+        if (!entrySet.remove(addressEntry)) {
+            return false;
+        }
+
+        if (addressEntry.getOfferId() != null) {
+            removeFromIndex(entriesByOfferId, addressEntry.getOfferId(), addressEntry);
+        }
+        removeFromIndex(entriesByContext, addressEntry.getContext(), addressEntry);
+        if (addressEntry.hasKeyPair()) {
+            removeFromIndex(entriesByAddress, addressEntry.getAddressString(), addressEntry);
+        }
+        return true;
+    }
+
+    private void addToAddressIndex(AddressEntry addressEntry) {
+        // Entries from deserialization get their key pair set at onWalletReady
+        if (addressEntry.hasKeyPair()) {
+            String address = addressEntry.getAddressString();
+            if (address != null) {
+                addToIndex(entriesByAddress, address, addressEntry);
+            }
+        }
+    }
+
+    private void clearEntries() {
+        entrySet.clear();
+        entriesByOfferId.clear();
+        entriesByContext.clear();
+        entriesByAddress.clear();
+    }
+
+    private static <K> void addToIndex(Map<K, Set<AddressEntry>> index, K key, AddressEntry addressEntry) {
+        index.computeIfAbsent(key, k -> new CopyOnWriteArraySet<>()).add(addressEntry);
+    }
+
+    private static <K> void removeFromIndex(Map<K, Set<AddressEntry>> index,
+                                            @Nullable K key,
+                                            AddressEntry addressEntry) {
+        if (key == null) {
+            return;
+        }
+
+        index.computeIfPresent(key, (k, entries) -> {
+            entries.remove(addressEntry);
+            return entries.isEmpty() ? null : entries;
+        });
+    }
+
+    private static <K> Set<AddressEntry> getIndexed(Map<K, Set<AddressEntry>> index, K key) {
+        return index.getOrDefault(key, Collections.emptySet());
     }
 
     @Override
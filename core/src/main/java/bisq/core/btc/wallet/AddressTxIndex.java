@@ -0,0 +1,267 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.btc.wallet;
+
+import org.bitcoinj.core.Address;
+import org.bitcoinj.core.Sha256Hash;
+import org.bitcoinj.core.Transaction;
+import org.bitcoinj.core.TransactionConfidence;
+import org.bitcoinj.core.TransactionInput;
+import org.bitcoinj.core.TransactionOutput;
+import org.bitcoinj.wallet.Wallet;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nullable;
+
+/**
+ * Index from addresses to the wallet transactions and outputs relevant for the address based queries of the
+ * {@link WalletService}. Before the index those queries had to iterate over all outputs of all wallet transactions.
+ *
+ * The index only holds the structure (which transaction and output relates to which address). State like the
+ * confidence or if an output is spent is read from the live bitcoinj objects at query time. The index gets built from
+ * the wallet transactions at the first query and is then updated only for the affected transaction, when the wallet
+ * notifies us about a new or changed transaction. Transactions get only removed from the wallet at a reorg, then we
+ * rebuild the index at the next query.
+ *
+ * The wallet listeners get called with the wallet lock held, so we must never call into the wallet while we hold our
+ * own lock.
+ */
+@Slf4j
+class AddressTxIndex {
+    private static class IndexedTx {
+        private final Transaction tx;
+        private final int numConnectedInputs;
+        // Addresses of the outputs and of the connected outputs of the inputs
+        private final Set<Address> addresses = new HashSet<>();
+        private final Map<Address, List<TransactionOutput>> outputsByAddress = new HashMap<>();
+
+        // Reads only the transaction, so it can be called without holding our lock
+        private IndexedTx(Transaction tx) {
+            this.tx = tx;
+            tx.getOutputs().forEach(output -> {
+                Address address = WalletService.getAddressFromOutput(output);
+                if (address != null) {
+                    addresses.add(address);
+                    outputsByAddress.computeIfAbsent(address, k -> new ArrayList<>()).add(output);
+                }
+            });
+            List<TransactionOutput> connectedOutputs = tx.getInputs().stream()
+                    .map(TransactionInput::getConnectedOutput)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+            numConnectedInputs = connectedOutputs.size();
+            connectedOutputs.stream()
+                    .map(WalletService::getAddressFromOutput)
+                    .filter(Objects::nonNull)
+                    .forEach(addresses::add);
+        }
+
+        // Outputs do not change, so the index entries only change if another tx instance got added or an input got
+        // connected or disconnected.
+        private boolean isSameStructure(IndexedTx other) {
+            return tx == other.tx && numConnectedInputs == other.numConnectedInputs;
+        }
+    }
+
+    private final Map<Sha256Hash, IndexedTx> indexedTxs = new HashMap<>();
+    // Transactions which have an output or a connected output of an input for the address
+    private final Map<Address, Set<Transaction>> txsByAddress = new HashMap<>();
+    // Outputs of the wallet transactions paying to the address
+    private final Map<Address, List<TransactionOutput>> outputsByAddress = new HashMap<>();
+    // The wallet the index got built for, null if it needs to be built
+    @Nullable
+    private Wallet wallet;
+    // Transactions which changed while we built the index
+    @Nullable
+    private List<Transaction> changedWhileBuilding;
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Called by the wallet listeners for a new transaction or if the confidence of a transaction changed. Transactions
+     * spending its outputs get indexed again as their inputs might have been connected.
+     */
+    void onTransactionChanged(Transaction tx) {
+        List<IndexedTx> changedTxs = new ArrayList<>();
+        changedTxs.add(new IndexedTx(tx));
+        tx.getOutputs().stream()
+                .map(TransactionOutput::getSpentBy)
+                .filter(Objects::nonNull)
+                .map(TransactionInput::getParentTransaction)
+                .filter(Objects::nonNull)
+                .forEach(spendingTx -> changedTxs.add(new IndexedTx(spendingTx)));
+
+        synchronized (this) {
+            if (changedWhileBuilding != null) {
+                changedWhileBuilding.add(tx);
+            }
+            if (wallet != null) {
+                changedTxs.forEach(this::put);
+            }
+        }
+    }
+
+    // At reorgs transactions might get removed and inputs connected to other outputs, so we rebuild the index.
+    synchronized void clear() {
+        clearMaps();
+        wallet = null;
+    }
+
+    /**
+     * @return The not dead transactions which have an output or a connected output of an input for the address
+     */
+    List<Transaction> getTransactions(Wallet wallet, Address address) {
+        List<Transaction> transactions;
+        synchronized (this) {
+            transactions = isBuilt(wallet) ? new ArrayList<>(txsByAddress.getOrDefault(address, Collections.emptySet())) : null;
+        }
+        if (transactions == null) {
+            build(wallet);
+            return getTransactions(wallet, address);
+        }
+        return transactions.stream()
+                .filter(tx -> !isDead(tx))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return The outputs of not dead transactions paying to the address
+     */
+    List<TransactionOutput> getOutputs(Wallet wallet, Address address) {
+        List<TransactionOutput> outputs;
+        synchronized (this) {
+            outputs = isBuilt(wallet) ? new ArrayList<>(outputsByAddress.getOrDefault(address, Collections.emptyList())) : null;
+        }
+        if (outputs == null) {
+            build(wallet);
+            return getOutputs(wallet, address);
+        }
+        return outputs.stream()
+                .filter(output -> output.getParentTransaction() != null && !isDead(output.getParentTransaction()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return The same outputs for the address as Wallet.calculateAllSpendCandidates() would return
+     */
+    List<TransactionOutput> getSpendCandidates(Wallet wallet, Address address) {
+        // The filters call into the wallet, so we must not hold our lock here
+        return getOutputs(wallet, address).stream()
+                .filter(TransactionOutput::isAvailableForSpending)
+                .filter(output -> output.isMine(wallet))
+                .filter(output -> output.getParentTransaction().isMature())
+                .filter(output -> wallet.canSignFor(output.getScriptPubKey()))
+                .collect(Collectors.toList());
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private boolean isBuilt(Wallet wallet) {
+        return this.wallet == wallet;
+    }
+
+    private void build(Wallet wallet) {
+        synchronized (this) {
+            changedWhileBuilding = new ArrayList<>();
+        }
+
+        // Takes the wallet lock, so we do it without holding our lock
+        List<IndexedTx> txs = wallet.getTransactions(true).stream()
+                .map(IndexedTx::new)
+                .collect(Collectors.toList());
+
+        List<Transaction> changedTxs;
+        synchronized (this) {
+            changedTxs = changedWhileBuilding != null ? changedWhileBuilding : Collections.emptyList();
+            changedWhileBuilding = null;
+            clearMaps();
+            txs.forEach(this::put);
+            this.wallet = wallet;
+        }
+        // We apply changes we might have missed while reading the wallet transactions
+        changedTxs.forEach(this::onTransactionChanged);
+    }
+
+    private void put(IndexedTx indexedTx) {
+        IndexedTx previous = indexedTxs.get(indexedTx.tx.getTxId());
+        if (previous != null) {
+            if (previous.isSameStructure(indexedTx)) {
+                return;
+            }
+            remove(previous);
+        }
+        indexedTxs.put(indexedTx.tx.getTxId(), indexedTx);
+
+        Transaction tx = indexedTx.tx;
+        indexedTx.addresses.forEach(address ->
+                txsByAddress.computeIfAbsent(address, k -> new LinkedHashSet<>()).add(tx));
+        indexedTx.outputsByAddress.forEach((address, outputs) ->
+                outputsByAddress.computeIfAbsent(address, k -> new ArrayList<>()).addAll(outputs));
+    }
+
+    // Removes the entries of the address maps, the caller handles indexedTxs
+    private void remove(IndexedTx indexedTx) {
+        Transaction tx = indexedTx.tx;
+        indexedTx.addresses.forEach(address -> {
+            Set<Transaction> txs = txsByAddress.get(address);
+            if (txs != null) {
+                txs.remove(tx);
+                if (txs.isEmpty()) {
+                    txsByAddress.remove(address);
+                }
+            }
+        });
+        indexedTx.outputsByAddress.forEach((address, outputs) -> {
+            List<TransactionOutput> indexedOutputs = outputsByAddress.get(address);
+            if (indexedOutputs != null) {
+                indexedOutputs.removeIf(output -> output.getParentTransaction() == tx);
+                if (indexedOutputs.isEmpty()) {
+                    outputsByAddress.remove(address);
+                }
+            }
+        });
+    }
+
+    private void clearMaps() {
+        indexedTxs.clear();
+        txsByAddress.clear();
+        outputsByAddress.clear();
+    }
+
+    private static boolean isDead(Transaction tx) {
+        return tx.getConfidence().getConfidenceType() == TransactionConfidence.ConfidenceType.DEAD;
+    }
+}
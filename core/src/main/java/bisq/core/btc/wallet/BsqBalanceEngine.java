@@ -0,0 +1,189 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.btc.wallet;
+
+import org.bitcoinj.core.Transaction;
+import org.bitcoinj.core.TransactionConfidence;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import lombok.Getter;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maintains the BSQ balances which are derived from single wallet transactions (unverified, locked for voting,
+ * lockup bonds and unlocking bonds) as running totals. The contribution of each transaction is kept, so at an
+ * update we only need to apply the delta of the transactions which have changed instead of recalculating all
+ * wallet transactions and iterating all lockup and blind vote outputs of the DAO state.
+ *
+ * A transaction gets recalculated if:
+ * <ul>
+ *     <li>it is new or its confidence type has changed</li>
+ *     <li>a new, changed or removed transaction spends one of its outputs</li>
+ *     <li>it is affected by a parsed DAO block (contained in the block or one of its outputs got spent)</li>
+ *     <li>it is pending or has a bond balance, as those depend on state we do not get notified about
+ *     (e.g. lock time or confiscation). Those are few transactions.</li>
+ * </ul>
+ *
+ * Not thread safe. Expected to be used from the user thread.
+ */
+@Slf4j
+class BsqBalanceEngine {
+
+    @Value
+    static class Balances {
+        static final Balances ZERO = new Balances(0, 0, 0, 0);
+
+        long unverified;
+        long lockedForVoting;
+        long lockupBonds;
+        long unlockingBonds;
+
+        Balances add(Balances other) {
+            return new Balances(unverified + other.unverified,
+                    lockedForVoting + other.lockedForVoting,
+                    lockupBonds + other.lockupBonds,
+                    unlockingBonds + other.unlockingBonds);
+        }
+
+        Balances subtract(Balances other) {
+            return new Balances(unverified - other.unverified,
+                    lockedForVoting - other.lockedForVoting,
+                    lockupBonds - other.lockupBonds,
+                    unlockingBonds - other.unlockingBonds);
+        }
+
+        boolean hasBondBalance() {
+            return lockupBonds != 0 || unlockingBonds != 0;
+        }
+    }
+
+    private static class Entry {
+        private final Transaction tx;
+        private final TransactionConfidence.ConfidenceType confidenceType;
+        private final Balances balances;
+
+        private Entry(Transaction tx, TransactionConfidence.ConfidenceType confidenceType, Balances balances) {
+            this.tx = tx;
+            this.confidenceType = confidenceType;
+            this.balances = balances;
+        }
+
+        private boolean isVolatile() {
+            return confidenceType == TransactionConfidence.ConfidenceType.PENDING || balances.hasBondBalance();
+        }
+    }
+
+    // Calculates the balances of a single transaction
+    private final Function<Transaction, Balances> txBalancesCalculator;
+    private final Map<String, Entry> entries = new HashMap<>();
+    @Getter
+    private Balances balances = Balances.ZERO;
+    @Getter
+    private int numLastCalculatedTxs;
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Constructor
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    BsqBalanceEngine(Function<Transaction, Balances> txBalancesCalculator) {
+        this.txBalancesCalculator = txBalancesCalculator;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @param transactions  The not dead wallet transactions
+     * @param affectedTxIds Ids of transactions whose DAO state might have changed since the last update
+     */
+    void update(Collection<Transaction> transactions, Set<String> affectedTxIds) {
+        Map<String, Transaction> transactionsById = new HashMap<>();
+        Set<String> txIdsToCalculate = new HashSet<>(affectedTxIds);
+        transactions.forEach(tx -> {
+            String txId = tx.getTxId().toString();
+            transactionsById.put(txId, tx);
+            Entry entry = entries.get(txId);
+            if (entry == null || entry.tx != tx || entry.confidenceType != tx.getConfidence().getConfidenceType()) {
+                txIdsToCalculate.add(txId);
+                // The new or changed tx might spend outputs of our other txs
+                addParentTxIds(tx, txIdsToCalculate);
+            } else if (entry.isVolatile()) {
+                txIdsToCalculate.add(txId);
+            }
+        });
+
+        // Remove txs which are not in the wallet anymore or became dead
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Entry> mapEntry = iterator.next();
+            if (!transactionsById.containsKey(mapEntry.getKey())) {
+                Entry entry = mapEntry.getValue();
+                balances = balances.subtract(entry.balances);
+                // The outputs spent by the removed tx are available again
+                addParentTxIds(entry.tx, txIdsToCalculate);
+                iterator.remove();
+            }
+        }
+
+        numLastCalculatedTxs = 0;
+        txIdsToCalculate.forEach(txId -> {
+            Transaction tx = transactionsById.get(txId);
+            if (tx == null) {
+                // Not a wallet tx
+                return;
+            }
+
+            Entry previous = entries.get(txId);
+            if (previous != null) {
+                balances = balances.subtract(previous.balances);
+            }
+            Entry entry = new Entry(tx, tx.getConfidence().getConfidenceType(), txBalancesCalculator.apply(tx));
+            entries.put(txId, entry);
+            balances = balances.add(entry.balances);
+            numLastCalculatedTxs++;
+        });
+    }
+
+    // Used at reorgs and for checking the running totals
+    void clear() {
+        entries.clear();
+        balances = Balances.ZERO;
+    }
+
+    private static void addParentTxIds(Transaction tx, Set<String> txIds) {
+        tx.getInputs().forEach(input -> txIds.add(input.getOutpoint().getHash().toString()));
+    }
+
+    static Balances calculateAll(Collection<Transaction> transactions,
+                                 Function<Transaction, Balances> txBalancesCalculator) {
+        return transactions.stream()
+                .map(txBalancesCalculator)
+                .reduce(Balances.ZERO, Balances::add);
+    }
+}
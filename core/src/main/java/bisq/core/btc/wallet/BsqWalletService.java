@@ -95,6 +95,9 @@ public class BsqWalletService extends WalletService implements DaoStateListener
     private final List<Transaction> walletTransactions = new ArrayList<>();
     private final CopyOnWriteArraySet<BsqBalanceListener> bsqBalanceListeners = new CopyOnWriteArraySet<>();
     private final List<WalletTransactionsChangeListener> walletTransactionsChangeListeners = new ArrayList<>();
+    private final BsqBalanceEngine bsqBalanceEngine = new BsqBalanceEngine(this::calculateTxBalances);
+    // Txs which might have changed their DAO state since the last balance update
+    private final Set<String> affectedTxIds = new HashSet<>();
     private boolean updateBsqWalletTransactionsPending;
 
     // balance of non BSQ satoshis
@@ -168,6 +171,7 @@ public class BsqWalletService extends WalletService implements DaoStateListener
         );
         wallet.addReorganizeEventListener(wallet -> {
             log.warn("onReorganize ");
+            bsqBalanceEngine.clear();
             updateBsqWalletTransactions();
             unconfirmedBsqChangeOutputListService.onReorganize();
         });
@@ -198,6 +202,12 @@ public class BsqWalletService extends WalletService implements DaoStateListener
 
     @Override
     public void onParseBlockCompleteAfterBatchProcessing(Block block) {
+        // The txs of the block and the txs with outputs spent in the block might have changed their BSQ balances
+        block.getTxs().forEach(tx -> {
+            affectedTxIds.add(tx.getId());
+            tx.getTxInputs().forEach(txInput -> affectedTxIds.add(txInput.getConnectedTxOutputTxId()));
+        });
+
         if (isWalletReady()) {
             wallet.getTransactions(false).forEach(unconfirmedBsqChangeOutputListService::onTransactionConfidenceChanged);
             updateBsqWalletTransactions();
@@ -223,67 +233,13 @@ public class BsqWalletService extends WalletService implements DaoStateListener
 
     private void updateBsqBalance() {
         long ts = System.currentTimeMillis();
-        unverifiedBalance = Coin.valueOf(
-                getTransactions(false).stream()
-                        .filter(tx -> tx.getConfidence().getConfidenceType() == PENDING)
-                        .mapToLong(tx -> {
-                            // Sum up outputs into BSQ wallet and subtract the inputs using lockup or unlocking
-                            // outputs since those inputs will be accounted for in lockupBondsBalance and
-                            // unlockingBondsBalance
-                            long outputs = tx.getOutputs().stream()
-                                    .filter(out -> out.isMine(wallet))
-                                    .filter(TransactionOutput::isAvailableForSpending)
-                                    .mapToLong(out -> out.getValue().value)
-                                    .sum();
-                            // Account for spending of locked connectedOutputs
-                            long lockedInputs = tx.getInputs().stream()
-                                    .filter(in -> {
-                                        TransactionOutput connectedOutput = in.getConnectedOutput();
-                                        if (connectedOutput != null) {
-                                            Transaction parentTransaction = connectedOutput.getParentTransaction();
-                                            // TODO SQ
-                                            if (parentTransaction != null/* &&
-                                                    parentTransaction.getConfidence().getConfidenceType() == BUILDING*/) {
-                                                TxOutputKey key = new TxOutputKey(parentTransaction.getTxId().toString(),
-                                                        connectedOutput.getIndex());
-
-                                                return (connectedOutput.isMine(wallet)
-                                                        && (daoStateService.isLockupOutput(key)
-                                                        || daoStateService.isUnlockingAndUnspent(key)));
-                                            }
-                                        }
-                                        return false;
-                                    })
-                                    .mapToLong(in -> in.getValue() != null ? in.getValue().value : 0)
-                                    .sum();
-                            return outputs - lockedInputs;
-                        })
-                        .sum()
-        );
-
-        Set<String> confirmedTxIdSet = getTransactions(false).stream()
-                .filter(tx -> tx.getConfidence().getConfidenceType() == BUILDING)
-                .map(Transaction::getTxId)
-                .map(Sha256Hash::toString)
-                .collect(Collectors.toSet());
-
-        lockedForVotingBalance = Coin.valueOf(daoStateService.getUnspentBlindVoteStakeTxOutputs().stream()
-                .filter(txOutput -> confirmedTxIdSet.contains(txOutput.getTxId()))
-                .mapToLong(TxOutput::getValue)
-                .sum());
-
-        lockupBondsBalance = Coin.valueOf(daoStateService.getLockupTxOutputs().stream()
-                .filter(txOutput -> daoStateService.isUnspent(txOutput.getKey()))
-                .filter(txOutput -> !daoStateService.isConfiscatedLockupTxOutput(txOutput.getTxId()))
-                .filter(txOutput -> confirmedTxIdSet.contains(txOutput.getTxId()))
-                .mapToLong(TxOutput::getValue)
-                .sum());
-
-        unlockingBondsBalance = Coin.valueOf(daoStateService.getUnspentUnlockingTxOutputsStream()
-                .filter(txOutput -> confirmedTxIdSet.contains(txOutput.getTxId()))
-                .filter(txOutput -> !daoStateService.isConfiscatedUnlockTxOutput(txOutput.getTxId()))
-                .mapToLong(TxOutput::getValue)
-                .sum());
+        bsqBalanceEngine.update(walletTransactions, affectedTxIds);
+        affectedTxIds.clear();
+        BsqBalanceEngine.Balances balances = bsqBalanceEngine.getBalances();
+        unverifiedBalance = Coin.valueOf(balances.getUnverified());
+        lockedForVotingBalance = Coin.valueOf(balances.getLockedForVoting());
+        lockupBondsBalance = Coin.valueOf(balances.getLockupBonds());
+        unlockingBondsBalance = Coin.valueOf(balances.getUnlockingBonds());
 
         availableConfirmedBalance = bsqCoinSelector.select(NetworkParameters.MAX_MONEY,
                 wallet.calculateAllSpendCandidates()).valueGathered;
@@ -298,7 +254,90 @@ public class BsqWalletService extends WalletService implements DaoStateListener
 
         bsqBalanceListeners.forEach(e -> e.onUpdateBalances(availableConfirmedBalance, availableNonBsqBalance, unverifiedBalance,
                 unconfirmedChangeBalance, lockedForVotingBalance, lockupBondsBalance, unlockingBondsBalance));
-        log.info("updateBsqBalance took {} ms", System.currentTimeMillis() - ts);
+        log.info("updateBsqBalance took {} ms. Recalculated {} txs",
+                System.currentTimeMillis() - ts, bsqBalanceEngine.getNumLastCalculatedTxs());
+    }
+
+    // Balances derived from a single wallet tx. Summed up over all wallet txs they result in the same values as
+    // iterating the unspent blind vote stake, lockup and unlocking outputs of the DAO state and filtering for the
+    // confirmed wallet txs.
+    private BsqBalanceEngine.Balances calculateTxBalances(Transaction tx) {
+        TransactionConfidence.ConfidenceType confidenceType = tx.getConfidence().getConfidenceType();
+        if (confidenceType == PENDING) {
+            return new BsqBalanceEngine.Balances(getUnverifiedBalance(tx), 0, 0, 0);
+        }
+
+        if (confidenceType != BUILDING) {
+            return BsqBalanceEngine.Balances.ZERO;
+        }
+
+        String txId = tx.getTxId().toString();
+        Optional<Tx> optionalTx = daoStateService.getTx(txId);
+        if (!optionalTx.isPresent()) {
+            return BsqBalanceEngine.Balances.ZERO;
+        }
+
+        long lockedForVoting = 0;
+        long lockupBonds = 0;
+        long unlockingBonds = 0;
+        for (TxOutput txOutput : optionalTx.get().getTxOutputs()) {
+            if (!daoStateService.isUnspent(txOutput.getKey())) {
+                continue;
+            }
+
+            switch (txOutput.getTxOutputType()) {
+                case BLIND_VOTE_LOCK_STAKE_OUTPUT:
+                    lockedForVoting += txOutput.getValue();
+                    break;
+                case LOCKUP_OUTPUT:
+                    if (!daoStateService.isConfiscatedLockupTxOutput(txId)) {
+                        lockupBonds += txOutput.getValue();
+                    }
+                    break;
+                case UNLOCK_OUTPUT:
+                    if (!daoStateService.isLockTimeOverForUnlockTxOutput(txOutput) &&
+                            !daoStateService.isConfiscatedUnlockTxOutput(txId)) {
+                        unlockingBonds += txOutput.getValue();
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        return new BsqBalanceEngine.Balances(0, lockedForVoting, lockupBonds, unlockingBonds);
+    }
+
+    private long getUnverifiedBalance(Transaction tx) {
+        // Sum up outputs into BSQ wallet and subtract the inputs using lockup or unlocking
+        // outputs since those inputs will be accounted for in lockupBondsBalance and
+        // unlockingBondsBalance
+        long outputs = tx.getOutputs().stream()
+                .filter(out -> out.isMine(wallet))
+                .filter(TransactionOutput::isAvailableForSpending)
+                .mapToLong(out -> out.getValue().value)
+                .sum();
+        // Account for spending of locked connectedOutputs
+        long lockedInputs = tx.getInputs().stream()
+                .filter(in -> {
+                    TransactionOutput connectedOutput = in.getConnectedOutput();
+                    if (connectedOutput != null) {
+                        Transaction parentTransaction = connectedOutput.getParentTransaction();
+                        // TODO SQ
+                        if (parentTransaction != null/* &&
+                                parentTransaction.getConfidence().getConfidenceType() == BUILDING*/) {
+                            TxOutputKey key = new TxOutputKey(parentTransaction.getTxId().toString(),
+                                    connectedOutput.getIndex());
+
+                            return (connectedOutput.isMine(wallet)
+                                    && (daoStateService.isLockupOutput(key)
+                                    || daoStateService.isUnlockingAndUnspent(key)));
+                        }
+                    }
+                    return false;
+                })
+                .mapToLong(in -> in.getValue() != null ? in.getValue().value : 0)
+                .sum();
+        return outputs - lockedInputs;
     }
 
     public void addBsqBalanceListener(BsqBalanceListener listener) {
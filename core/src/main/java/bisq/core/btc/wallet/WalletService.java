@@ -72,10 +72,6 @@ import org.bitcoinj.wallet.listeners.WalletReorganizeEventListener;
 
 import javax.inject.Inject;
 
-import com.google.common.collect.ImmutableMultiset;
-import com.google.common.collect.ImmutableSetMultimap;
-import com.google.common.collect.Multiset;
-import com.google.common.collect.SetMultimap;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.MoreExecutors;
@@ -87,11 +83,8 @@ import org.bouncycastle.crypto.params.KeyParameter;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
-import java.util.concurrent.atomic.AtomicReference;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -118,9 +111,9 @@ public abstract class WalletService {
     private final CopyOnWriteArraySet<AddressConfidenceListener> addressConfidenceListeners = new CopyOnWriteArraySet<>();
     private final CopyOnWriteArraySet<TxConfidenceListener> txConfidenceListeners = new CopyOnWriteArraySet<>();
     private final CopyOnWriteArraySet<BalanceListener> balanceListeners = new CopyOnWriteArraySet<>();
-    private final WalletChangeEventListener cacheInvalidationListener;
-    private final AtomicReference<Multiset<Address>> txOutputAddressCache = new AtomicReference<>();
-    private final AtomicReference<SetMultimap<Address, Transaction>> addressToMatchingTxSetCache = new AtomicReference<>();
+    private final AddressTxIndex addressTxIndex = new AddressTxIndex();
+    // Registered with Threading.SAME_THREAD so the index is updated before any query could see the new transaction
+    private final AddressTxIndexListener addressTxIndexListener = new AddressTxIndexListener();
     @Getter
     protected Wallet wallet;
     @Getter
@@ -142,11 +135,6 @@ public abstract class WalletService {
         this.feeService = feeService;
 
         params = walletsSetup.getParams();
-
-        cacheInvalidationListener = wallet -> {
-            txOutputAddressCache.set(null);
-            addressToMatchingTxSetCache.set(null);
-        };
     }
 
 
@@ -159,7 +147,10 @@ public abstract class WalletService {
         wallet.addCoinsSentEventListener(walletEventListener);
         wallet.addReorganizeEventListener(walletEventListener);
         wallet.addTransactionConfidenceEventListener(walletEventListener);
-        wallet.addChangeEventListener(Threading.SAME_THREAD, cacheInvalidationListener);
+        wallet.addCoinsReceivedEventListener(Threading.SAME_THREAD, addressTxIndexListener);
+        wallet.addCoinsSentEventListener(Threading.SAME_THREAD, addressTxIndexListener);
+        wallet.addReorganizeEventListener(Threading.SAME_THREAD, addressTxIndexListener);
+        wallet.addTransactionConfidenceEventListener(Threading.SAME_THREAD, addressTxIndexListener);
     }
 
     public void shutDown() {
@@ -168,7 +159,10 @@ public abstract class WalletService {
             wallet.removeCoinsSentEventListener(walletEventListener);
             wallet.removeReorganizeEventListener(walletEventListener);
             wallet.removeTransactionConfidenceEventListener(walletEventListener);
-            wallet.removeChangeEventListener(cacheInvalidationListener);
+            wallet.removeCoinsReceivedEventListener(addressTxIndexListener);
+            wallet.removeCoinsSentEventListener(addressTxIndexListener);
+            wallet.removeReorganizeEventListener(addressTxIndexListener);
+            wallet.removeTransactionConfidenceEventListener(addressTxIndexListener);
         }
     }
 
@@ -395,28 +389,13 @@ public abstract class WalletService {
     public TransactionConfidence getConfidenceForAddress(Address address) {
         List<TransactionConfidence> transactionConfidenceList = new ArrayList<>();
         if (wallet != null) {
-            Set<Transaction> transactions = getAddressToMatchingTxSetMultiset().get(address);
+            List<Transaction> transactions = addressTxIndex.getTransactions(wallet, address);
             transactionConfidenceList.addAll(transactions.stream().map(tx ->
                     getTransactionConfidence(tx, address)).collect(Collectors.toList()));
         }
         return getMostRecentConfidence(transactionConfidenceList);
     }
 
-    private SetMultimap<Address, Transaction> getAddressToMatchingTxSetMultiset() {
-        return addressToMatchingTxSetCache.updateAndGet(set -> set != null ? set : computeAddressToMatchingTxSetMultimap());
-    }
-
-    private SetMultimap<Address, Transaction> computeAddressToMatchingTxSetMultimap() {
-        return wallet.getTransactions(false).stream()
-                .collect(ImmutableSetMultimap.flatteningToImmutableSetMultimap(
-                        Function.identity(),
-                        (Function<Transaction, Stream<Address>>) (
-                                t -> getOutputsWithConnectedOutputs(t).stream()
-                                        .map(WalletService::getAddressFromOutput)
-                                        .filter(Objects::nonNull))))
-                .inverse();
-    }
-
     @Nullable
     public TransactionConfidence getConfidenceForTxId(String txId) {
         if (wallet != null) {
@@ -491,7 +470,7 @@ public abstract class WalletService {
     }
 
     public Coin getBalanceForAddress(Address address) {
-        return wallet != null ? getBalance(wallet.calculateAllSpendCandidates(), address) : Coin.ZERO;
+        return wallet != null ? getBalance(addressTxIndex.getSpendCandidates(wallet, address), address) : Coin.ZERO;
     }
 
     protected Coin getBalance(List<TransactionOutput> transactionOutputs, Address address) {
@@ -527,19 +506,7 @@ public abstract class WalletService {
     ///////////////////////////////////////////////////////////////////////////////////////////
 
     public int getNumTxOutputsForAddress(Address address) {
-        return getTxOutputAddressMultiset().count(address);
-    }
-
-    private Multiset<Address> getTxOutputAddressMultiset() {
-        return txOutputAddressCache.updateAndGet(set -> set != null ? set : computeTxOutputAddressMultiset());
-    }
-
-    private Multiset<Address> computeTxOutputAddressMultiset() {
-        return wallet.getTransactions(false).stream()
-                .flatMap(t -> t.getOutputs().stream())
-                .map(WalletService::getAddressFromOutput)
-                .filter(Objects::nonNull)
-                .collect(ImmutableMultiset.toImmutableMultiset());
+        return wallet != null ? addressTxIndex.getOutputs(wallet, address).size() : 0;
     }
 
     public boolean isAddressUnused(Address address) {
@@ -865,4 +832,27 @@ public abstract class WalletService {
             }
         }
     }
+
+    // Called with the wallet lock held, so the index must not call into the wallet while holding its own lock
+    private class AddressTxIndexListener implements WalletCoinsReceivedEventListener, WalletCoinsSentEventListener, WalletReorganizeEventListener, TransactionConfidenceEventListener {
+        @Override
+        public void onCoinsReceived(Wallet wallet, Transaction tx, Coin prevBalance, Coin newBalance) {
+            addressTxIndex.onTransactionChanged(tx);
+        }
+
+        @Override
+        public void onCoinsSent(Wallet wallet, Transaction tx, Coin prevBalance, Coin newBalance) {
+            addressTxIndex.onTransactionChanged(tx);
+        }
+
+        @Override
+        public void onReorganize(Wallet wallet) {
+            addressTxIndex.clear();
+        }
+
+        @Override
+        public void onTransactionConfidenceChanged(Wallet wallet, Transaction tx) {
+            addressTxIndex.onTransactionChanged(tx);
+        }
+    }
 }
@@ -72,6 +72,7 @@ import bisq.core.dao.monitoring.network.ProposalStateNetworkService;
 import bisq.core.dao.node.BsqNodeProvider;
 import bisq.core.dao.node.explorer.ExportJsonFilesService;
 import bisq.core.dao.node.full.FullNode;
+import bisq.core.dao.node.full.RawBlockCache;
 import bisq.core.dao.node.full.RpcService;
 import bisq.core.dao.node.full.network.FullNodeNetworkService;
 import bisq.core.dao.node.lite.LiteNode;
@@ -110,6 +111,7 @@ public class DaoModule extends AppModule {
         bind(FullNode.class).in(Singleton.class);
         bind(LiteNode.class).in(Singleton.class);
         bind(RpcService.class).in(Singleton.class);
+        bind(RawBlockCache.class).in(Singleton.class);
         bind(BlockParser.class).in(Singleton.class);
         bind(FullNodeNetworkService.class).in(Singleton.class);
         bind(LiteNodeNetworkService.class).in(Singleton.class);
@@ -222,6 +224,7 @@ public class DaoModule extends AppModule {
         bindConstant().annotatedWith(named(Config.RPC_BLOCK_NOTIFICATION_PORT)).to(config.rpcBlockNotificationPort);
         bindConstant().annotatedWith(named(Config.RPC_BLOCK_NOTIFICATION_HOST)).to(config.rpcBlockNotificationHost);
         bindConstant().annotatedWith(named(Config.DUMP_BLOCKCHAIN_DATA)).to(config.dumpBlockchainData);
+        bindConstant().annotatedWith(named(Config.DAO_RAW_BLOCK_CACHE_BLOCKS)).to(config.daoRawBlockCacheBlocks);
         bindConstant().annotatedWith(named(Config.FULL_DAO_NODE)).to(config.fullDaoNode);
         bindConstant().annotatedWith(named(Config.DAO_ACTIVATED)).to(config.daoActivated);
     }
@@ -90,7 +90,7 @@ public class CycleService implements DaoStateListener, DaoSetupService {
     }
 
     public int getCycleIndex(Cycle cycle) {
-        Optional<Cycle> previousCycle = getCycle(cycle.getHeightOfFirstBlock() - 1, daoStateService.getCycles());
+        Optional<Cycle> previousCycle = daoStateService.getCycle(cycle.getHeightOfFirstBlock() - 1);
         return previousCycle.map(cycle1 -> getCycleIndex(cycle1) + 1).orElse(0);
     }
 
@@ -117,7 +117,7 @@ public class CycleService implements DaoStateListener, DaoSetupService {
         // applied the new cycle yet. But the first block of the old cycle will always be the same as the
         // first block of the new cycle.
         Cycle cycle = null;
-        if (blockHeight > genesisBlockHeight && !cycles.isEmpty() && isFirstBlockAfterPreviousCycle(blockHeight, cycles)) {
+        if (blockHeight > genesisBlockHeight && !cycles.isEmpty() && isFirstBlockAfterPreviousCycle(blockHeight)) {
             // We have the not update daoStateService.getCurrentCycle() so we grab here the previousCycle
             Cycle previousCycle = cycles.getLast();
             // We create the new cycle as clone of the previous cycle and only if there have been change events we use
@@ -158,9 +158,9 @@ public class CycleService implements DaoStateListener, DaoSetupService {
         return new Cycle(blockHeight, ImmutableList.copyOf(daoPhaseList));
     }
 
-    private boolean isFirstBlockAfterPreviousCycle(int height, LinkedList<Cycle> cycles) {
+    private boolean isFirstBlockAfterPreviousCycle(int height) {
         int previousBlockHeight = height - 1;
-        Optional<Cycle> previousCycle = getCycle(previousBlockHeight, cycles);
+        Optional<Cycle> previousCycle = daoStateService.getCycle(previousBlockHeight);
         return previousCycle
                 .filter(cycle -> cycle.getHeightOfLastBlock() + 1 == height)
                 .isPresent();
@@ -176,11 +176,4 @@ public class CycleService implements DaoStateListener, DaoSetupService {
     private boolean isParamMatchingPhase(Param param, DaoPhase.Phase phase) {
         return param.name().contains("PHASE_") && param.name().replace("PHASE_", "").equals(phase.name());
     }
-
-    private Optional<Cycle> getCycle(int height, LinkedList<Cycle> cycles) {
-        return cycles.stream()
-                .filter(cycle -> cycle.getHeightOfFirstBlock() <= height)
-                .filter(cycle -> cycle.getHeightOfLastBlock() >= height)
-                .findAny();
-    }
 }
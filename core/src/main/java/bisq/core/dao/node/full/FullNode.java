@@ -39,6 +39,7 @@ import com.neemre.btcdcli4j.daemon.NotificationHandlerException;
 
 import javax.inject.Inject;
 
+import java.util.Optional;
 import java.util.function.Consumer;
 
 import lombok.extern.slf4j.Slf4j;
@@ -54,6 +55,7 @@ import lombok.extern.slf4j.Slf4j;
 public class FullNode extends BsqNode {
 
     private final RpcService rpcService;
+    private final RawBlockCache rawBlockCache;
     private final FullNodeNetworkService fullNodeNetworkService;
     private boolean addBlockHandlerAdded;
     private int blocksToParseInBatch;
@@ -71,10 +73,12 @@ public class FullNode extends BsqNode {
                     DaoStateSnapshotService daoStateSnapshotService,
                     P2PService p2PService,
                     RpcService rpcService,
+                    RawBlockCache rawBlockCache,
                     ExportJsonFilesService exportJsonFilesService,
                     FullNodeNetworkService fullNodeNetworkService) {
         super(blockParser, daoStateService, daoStateSnapshotService, p2PService, exportJsonFilesService);
         this.rpcService = rpcService;
+        this.rawBlockCache = rawBlockCache;
 
         this.fullNodeNetworkService = fullNodeNetworkService;
         ConnectionState.setExpectedRequests(5);
@@ -87,6 +91,7 @@ public class FullNode extends BsqNode {
 
     @Override
     public void start() {
+        rawBlockCache.open();
         fullNodeNetworkService.start();
 
         rpcService.setup(() -> {
@@ -99,6 +104,7 @@ public class FullNode extends BsqNode {
     public void shutDown() {
         super.shutDown();
         fullNodeNetworkService.shutDown();
+        rawBlockCache.shutDown();
     }
 
 
@@ -151,6 +157,7 @@ public class FullNode extends BsqNode {
         if (!addBlockHandlerAdded) {
             addBlockHandlerAdded = true;
             rpcService.addNewBtcBlockHandler(rawBlock -> {
+                        rawBlockCache.add(rawBlock);
                         try {
                             // We need to call that before parsing to have set the chain tip correctly for clients
                             // which might listen for new blocks on daoStateService. DaoStateListener.onNewBlockHeight
@@ -206,17 +213,18 @@ public class FullNode extends BsqNode {
             parseInBatchStartTime = System.currentTimeMillis();
             log.info("parse {} blocks with startBlockHeight={} and chainHeight={}", blocksToParseInBatch, startBlockHeight, chainHeight);
             chainTipHeight = chainHeight;
-            parseBlocks(startBlockHeight,
-                    chainHeight,
-                    this::onNewBlock,
-                    () -> {
-                        // We are done but it might be that new blocks have arrived in the meantime,
-                        // so we try again with startBlockHeight set to current chainHeight
-                        // We also set up the listener in the else main branch where we check
-                        // if we are at chainTip, so do not include here another check as it would
-                        // not trigger the listener registration.
-                        parseBlocksIfNewBlockAvailable(chainHeight);
-                    }, this::handleError);
+            verifyRawBlockCache(startBlockHeight, Math.min(rawBlockCache.getLastHeight(), chainHeight),
+                    () -> parseBlocks(startBlockHeight,
+                            chainHeight,
+                            this::onNewBlock,
+                            () -> {
+                                // We are done but it might be that new blocks have arrived in the meantime,
+                                // so we try again with startBlockHeight set to current chainHeight
+                                // We also set up the listener in the else main branch where we check
+                                // if we are at chainTip, so do not include here another check as it would
+                                // not trigger the listener registration.
+                                parseBlocksIfNewBlockAvailable(chainHeight);
+                            }, this::handleError));
         } else {
             log.warn("We are trying to start with a block which is above the chain height of Bitcoin Core. " +
                     "We need probably wait longer until Bitcoin Core has fully synced. " +
@@ -238,7 +246,7 @@ public class FullNode extends BsqNode {
                                        Consumer<Block> newBlockHandler,
                                        ResultHandler resultHandler,
                                        Consumer<Throwable> errorHandler) {
-        rpcService.requestBtcBlock(blockHeight,
+        requestBlock(blockHeight,
                 rawBlock -> {
                     try {
                         doParseBlock(rawBlock).ifPresent(newBlockHandler);
@@ -258,6 +266,50 @@ public class FullNode extends BsqNode {
                 errorHandler);
     }
 
+    // The cached blocks might be from a chain which got reorganized in the meantime. As each cached block connects to
+    // the previous one it is enough to check the last block we will read from the cache. If its hash is not the one
+    // of Bitcoin Core we remove it and check the one before.
+    private void verifyRawBlockCache(int startBlockHeight, int blockHeight, ResultHandler resultHandler) {
+        Optional<String> cachedBlockHash = blockHeight >= startBlockHeight ?
+                rawBlockCache.getBlock(blockHeight).map(RawBlock::getHash) :
+                Optional.empty();
+        if (!cachedBlockHash.isPresent()) {
+            resultHandler.handleResult();
+            return;
+        }
+
+        rpcService.requestBlockHash(blockHeight,
+                blockHash -> {
+                    if (blockHash.equals(cachedBlockHash.get())) {
+                        resultHandler.handleResult();
+                    } else {
+                        log.warn("Cached block at height {} is not in the chain of Bitcoin Core anymore. " +
+                                "We remove it from the cache.", blockHeight);
+                        rawBlockCache.removeFromHeight(blockHeight);
+                        verifyRawBlockCache(startBlockHeight, blockHeight - 1, resultHandler);
+                    }
+                },
+                this::handleError);
+    }
+
+    private void requestBlock(int blockHeight,
+                              Consumer<RawBlock> resultHandler,
+                              Consumer<Throwable> errorHandler) {
+        Optional<RawBlock> cachedBlock = rawBlockCache.getBlock(blockHeight);
+        if (cachedBlock.isPresent()) {
+            // The handler calls parseBlockRecursively again, so like the RpcService we call it on a new
+            // UserThread cycle to not build up the stack.
+            UserThread.execute(() -> resultHandler.accept(cachedBlock.get()));
+        } else {
+            rpcService.requestBtcBlock(blockHeight,
+                    rawBlock -> {
+                        rawBlockCache.add(rawBlock);
+                        resultHandler.accept(rawBlock);
+                    },
+                    errorHandler);
+        }
+    }
+
     private void handleError(Throwable throwable) {
         if (throwable instanceof BlockHashNotConnectingException || throwable instanceof BlockHeightNotConnectingException) {
             // We do not escalate that exception as it is handled with the snapshot manager to recover its state.
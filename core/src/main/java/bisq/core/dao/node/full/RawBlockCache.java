@@ -0,0 +1,418 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.dao.node.full;
+
+import bisq.common.config.Config;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import java.io.File;
+import java.io.IOException;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nullable;
+
+/**
+ * Local cache of the blocks the full node received from Bitcoin Core. Rebuilding the DAO state, e.g. after a resync
+ * or a reorg from an old snapshot, reads the blocks from disk instead of requesting each block with all its txs from
+ * Bitcoin Core again.
+ *
+ * We store the RawBlocks as converted from the RPC response with all their txs, so the cache does not depend on the
+ * DAO state and a resync parses all txs again. We cannot drop data like the script asm and hex which the parser does
+ * not need, as it becomes part of the BSQ txs in the DAO state and so of the DAO state hash. Instead the records are
+ * compressed, which saves most of the redundant hex strings and tx ids. We estimate a full mainnet block at about
+ * 2.5 MB as protobuf and about 1 MB compressed.
+ *
+ * As all blocks since the DAO genesis would take hundreds of GB, the cache is only enabled by the
+ * daoRawBlockCacheBlocks option and keeps only that number of the most recent blocks, which covers a resync from the
+ * DAO state snapshot shipped with the resources or from a recent local snapshot.
+ *
+ * The blocks are stored in an append-only file of length prefixed compressed protobuf records, covering a contiguous
+ * range of block heights where each block connects to the previous one. The offsets of the records are indexed by
+ * height when the file is opened and the records are read via memory mapping. If a block gets replaced at a reorg we
+ * drop the records from its height on by writing an end marker, the file gets truncated at the next start. If the
+ * cache has grown by a quarter over its limit we move the most recent blocks to the start of the file.
+ *
+ * Expected to be used from the UserThread.
+ */
+@Slf4j
+public class RawBlockCache {
+    private static final String FILE_NAME = "RawBlockCache";
+    private static final int MAGIC = 0x42534243;
+    // Increase if the record format or the selection of the stored txs changes, an existing cache gets dropped then
+    private static final int FORMAT_VERSION = 3;
+    private static final int FILE_HEADER_SIZE = 8;
+    // Height, length of the compressed data and length of the protobuf data
+    private static final int RECORD_HEADER_SIZE = 12;
+    private static final int COPY_BUFFER_SIZE = 1024 * 1024;
+    // A record header with length 0 marks the end of the valid records
+    private static final byte[] END_MARKER = new byte[RECORD_HEADER_SIZE];
+
+    private final File storageFile;
+    private final int maxBlocks;
+    @Nullable
+    private FileChannel channel;
+
+    // Index of the record offsets by height
+    private int firstHeight;
+    private long[] offsets = new long[1024];
+    private int numBlocks;
+    private long endPosition;
+    @Nullable
+    private String lastBlockHash;
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Constructor
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    @Inject
+    public RawBlockCache(@Named(Config.STORAGE_DIR) File storageDir,
+                         @Named(Config.DAO_RAW_BLOCK_CACHE_BLOCKS) int maxBlocks) {
+        storageFile = new File(storageDir, FILE_NAME);
+        this.maxBlocks = maxBlocks;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    public void open() {
+        if (channel != null) {
+            return;
+        }
+
+        if (maxBlocks <= 0) {
+            // The cache might have been enabled at an earlier start
+            if (storageFile.exists() && !storageFile.delete()) {
+                log.warn("Could not delete disabled raw block cache {}", storageFile);
+            }
+            return;
+        }
+
+        try {
+            channel = FileChannel.open(storageFile.toPath(),
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            if (!readIndex()) {
+                clearIndex();
+                endPosition = FILE_HEADER_SIZE;
+                channel.truncate(0);
+                write(ByteBuffer.allocate(FILE_HEADER_SIZE).putInt(MAGIC).putInt(FORMAT_VERSION).flip(), 0);
+            }
+            // The limit might have been lowered since the last start
+            if (numBlocks > maxBlocks) {
+                prune();
+                if (channel == null) {
+                    return;
+                }
+            }
+            // We must not truncate once a part of the file got mapped
+            channel.truncate(endPosition);
+            if (numBlocks > 0) {
+                lastBlockHash = getBlock(getLastHeight()).map(RawBlock::getHash).orElse(null);
+                log.info("Opened raw block cache with blocks from height {} to {}", firstHeight, getLastHeight());
+            }
+        } catch (IOException e) {
+            log.error("Could not open raw block cache. We request all blocks from Bitcoin Core.", e);
+            close();
+        }
+    }
+
+    public void shutDown() {
+        close();
+    }
+
+    /**
+     * @return The height of the last cached block or -1 if the cache is empty.
+     */
+    public int getLastHeight() {
+        return numBlocks > 0 ? firstHeight + numBlocks - 1 : -1;
+    }
+
+    public Optional<RawBlock> getBlock(int height) {
+        if (channel == null || !contains(height)) {
+            return Optional.empty();
+        }
+
+        int index = height - firstHeight;
+        long start = offsets[index];
+        long end = index + 1 < numBlocks ? offsets[index + 1] : endPosition;
+        Inflater inflater = new Inflater();
+        try {
+            // We map each record instead of the whole file, which would be limited to 2 GB
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            buffer.position(8);
+            byte[] data = new byte[buffer.getInt()];
+            inflater.setInput(buffer);
+            if (inflater.inflate(data) != data.length || !inflater.finished()) {
+                throw new IOException("Unexpected length of the inflated record");
+            }
+            return Optional.of(RawBlock.fromProto(protobuf.BaseBlock.parseFrom(data)));
+        } catch (IOException | DataFormatException e) {
+            log.error("Could not read cached block at height {}. We remove it and all later blocks.", height, e);
+            removeFromHeight(height);
+            return Optional.empty();
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Appends the block if it connects to the last cached block or if the cache is empty. If we have a block at that
+     * height with another hash it gets replaced, together with all later blocks. A block after the cached blocks which
+     * does not connect to them starts a new cache. Blocks older than the cached blocks are ignored, as at a resync we
+     * request them before we read the cached blocks.
+     */
+    public void add(RawBlock rawBlock) {
+        if (channel == null) {
+            return;
+        }
+
+        int height = rawBlock.getHeight();
+        if (numBlocks > 0 && height < firstHeight) {
+            return;
+        }
+
+        if (contains(height)) {
+            if (getBlock(height).map(cachedBlock -> cachedBlock.getHash().equals(rawBlock.getHash())).orElse(false)) {
+                return;
+            }
+            log.info("Cached block at height {} got replaced, we remove it and all later blocks", height);
+            removeFromHeight(height);
+        }
+
+        if (numBlocks > 0 &&
+                (height != getLastHeight() + 1 || !rawBlock.getPreviousBlockHash().equals(lastBlockHash))) {
+            // That happens if the node started from a newer snapshot or was not running as full node for a while.
+            // Otherwise no later block would connect either.
+            log.warn("Block at height {} does not connect to the cached blocks from height {} to {}. " +
+                    "We clear the cache and start it with that block.", height, firstHeight, getLastHeight());
+            removeFromHeight(firstHeight);
+            if (channel == null) {
+                return;
+            }
+        }
+
+        byte[] data = rawBlock.toProtoMessage().toByteArray();
+        byte[] compressed = compress(data);
+        int recordSize = RECORD_HEADER_SIZE + compressed.length;
+        ByteBuffer buffer = ByteBuffer.allocate(recordSize + END_MARKER.length)
+                .putInt(height)
+                .putInt(compressed.length)
+                .putInt(data.length)
+                .put(compressed)
+                .put(END_MARKER);
+        try {
+            write(buffer.flip(), endPosition);
+        } catch (IOException e) {
+            log.error("Could not write to raw block cache. We do not use the cache anymore.", e);
+            close();
+            return;
+        }
+
+        if (numBlocks == 0) {
+            firstHeight = height;
+        }
+        addOffset(endPosition);
+        endPosition += recordSize;
+        lastBlockHash = rawBlock.getHash();
+
+        // We prune in steps so we do not move the blocks at each new block
+        if (numBlocks > maxBlocks + Math.max(1, maxBlocks / 4)) {
+            prune();
+        }
+    }
+
+    /**
+     * Removes the block at the given height and all later blocks.
+     */
+    public void removeFromHeight(int height) {
+        if (channel == null || numBlocks == 0 || height > getLastHeight()) {
+            return;
+        }
+
+        numBlocks = Math.max(0, height - firstHeight);
+        endPosition = numBlocks > 0 ? offsets[numBlocks] : FILE_HEADER_SIZE;
+        try {
+            write(ByteBuffer.wrap(END_MARKER), endPosition);
+        } catch (IOException e) {
+            log.error("Could not write to raw block cache. We do not use the cache anymore.", e);
+            close();
+            return;
+        }
+        lastBlockHash = numBlocks > 0 ? getBlock(getLastHeight()).map(RawBlock::getHash).orElse(null) : null;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    // Moves the most recent maxBlocks records to the start of the file. The file is not truncated, as parts of it might
+    // be mapped, but its size stays bounded as it only grows again once the records reach its end.
+    private void prune() {
+        int numRemovedBlocks = numBlocks - maxBlocks;
+        long source = offsets[numRemovedBlocks];
+        long shift = source - FILE_HEADER_SIZE;
+        try {
+            // If we crash while moving the records the file has an invalid header and gets discarded at the next start
+            write(ByteBuffer.allocate(FILE_HEADER_SIZE), 0);
+            ByteBuffer buffer = ByteBuffer.allocate(COPY_BUFFER_SIZE);
+            for (long position = source; position < endPosition; position += buffer.limit()) {
+                buffer.clear().limit((int) Math.min(COPY_BUFFER_SIZE, endPosition - position));
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, position + buffer.position()) < 0) {
+                        throw new IOException("Unexpected end of file");
+                    }
+                }
+                write(buffer.flip(), position - shift);
+            }
+            write(ByteBuffer.wrap(END_MARKER), endPosition - shift);
+            write(ByteBuffer.allocate(FILE_HEADER_SIZE).putInt(MAGIC).putInt(FORMAT_VERSION).flip(), 0);
+        } catch (IOException e) {
+            log.error("Could not prune raw block cache. We do not use the cache anymore.", e);
+            close();
+            return;
+        }
+
+        for (int i = 0; i < maxBlocks; i++) {
+            offsets[i] = offsets[numRemovedBlocks + i] - shift;
+        }
+        numBlocks = maxBlocks;
+        firstHeight += numRemovedBlocks;
+        endPosition -= shift;
+        log.info("Pruned raw block cache to blocks from height {} to {}", firstHeight, getLastHeight());
+    }
+
+    private static byte[] compress(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            // Compressed data of a block is far smaller, the buffer only grows for incompressible data
+            byte[] buffer = new byte[data.length / 2 + 64];
+            int length = 0;
+            while (!deflater.finished()) {
+                if (length == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+                length += deflater.deflate(buffer, length, buffer.length - length);
+            }
+            return Arrays.copyOf(buffer, length);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private boolean contains(int height) {
+        return numBlocks > 0 && height >= firstHeight && height <= getLastHeight();
+    }
+
+    // Returns false if the file is empty or has an unknown format
+    private boolean readIndex() throws IOException {
+        long size = channel.size();
+        if (size < FILE_HEADER_SIZE) {
+            return false;
+        }
+
+        ByteBuffer header = read(0, FILE_HEADER_SIZE);
+        if (header.getInt() != MAGIC || header.getInt() != FORMAT_VERSION) {
+            log.info("Raw block cache has an unknown format, we create a new one");
+            return false;
+        }
+
+        clearIndex();
+        long position = FILE_HEADER_SIZE;
+        while (position + RECORD_HEADER_SIZE <= size) {
+            ByteBuffer recordHeader = read(position, RECORD_HEADER_SIZE);
+            int height = recordHeader.getInt();
+            int length = recordHeader.getInt();
+            // End marker, incomplete record after a crash or a gap
+            if (length <= 0 || recordHeader.getInt() <= 0 ||
+                    position + RECORD_HEADER_SIZE + length > size ||
+                    (numBlocks > 0 && height != getLastHeight() + 1)) {
+                break;
+            }
+
+            if (numBlocks == 0) {
+                firstHeight = height;
+            }
+            addOffset(position);
+            position += RECORD_HEADER_SIZE + length;
+        }
+        endPosition = position;
+        return true;
+    }
+
+    private void clearIndex() {
+        numBlocks = 0;
+        firstHeight = 0;
+        lastBlockHash = null;
+    }
+
+    private void addOffset(long offset) {
+        if (numBlocks == offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        }
+        offsets[numBlocks++] = offset;
+    }
+
+    private ByteBuffer read(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of file");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private void write(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+
+    private void close() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.error("Could not close raw block cache", e);
+            }
+        }
+        channel = null;
+        clearIndex();
+    }
+}
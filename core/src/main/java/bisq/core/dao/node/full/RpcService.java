@@ -235,6 +235,19 @@ public class RpcService {
         }, MoreExecutors.directExecutor());
     }
 
+    void requestBlockHash(int blockHeight, Consumer<String> resultHandler, Consumer<Throwable> errorHandler) {
+        ListenableFuture<String> future = executor.submit(() -> client.getBlockHash(blockHeight));
+        Futures.addCallback(future, new FutureCallback<>() {
+            public void onSuccess(String blockHash) {
+                UserThread.execute(() -> resultHandler.accept(blockHash));
+            }
+
+            public void onFailure(@NotNull Throwable throwable) {
+                UserThread.execute(() -> errorHandler.accept(throwable));
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
     void requestBtcBlock(int blockHeight,
                          Consumer<RawBlock> resultHandler,
                          Consumer<Throwable> errorHandler) {
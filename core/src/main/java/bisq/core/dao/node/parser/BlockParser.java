@@ -18,18 +18,23 @@
 package bisq.core.dao.node.parser;
 
 import bisq.core.dao.node.full.RawBlock;
+import bisq.core.dao.node.full.RawTx;
 import bisq.core.dao.node.parser.exceptions.BlockHashNotConnectingException;
 import bisq.core.dao.node.parser.exceptions.BlockHeightNotConnectingException;
 import bisq.core.dao.state.DaoStateService;
 import bisq.core.dao.state.model.blockchain.Block;
 
 import bisq.common.app.DevEnv;
+import bisq.common.jfr.ParseBlockEvent;
+import bisq.common.metrics.Histogram;
+import bisq.common.metrics.Metrics;
 
 import org.bitcoinj.core.Coin;
 
 import javax.inject.Inject;
 
 import java.util.LinkedList;
+import java.util.List;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -37,13 +42,18 @@ import javax.annotation.concurrent.Immutable;
 
 /**
  * Parse a rawBlock and creates a block from it with an empty tx list.
- * Iterates all rawTx and if the tx is a BSQ tx it gets added to the tx list.
+ * The txs which might be BSQ txs are selected first by the BsqTxCandidateFilter. Those are parsed in block order and
+ * if the tx is a BSQ tx it gets added to the tx list.
  */
 @Slf4j
 @Immutable
 public class BlockParser {
+    private static final Histogram parseDuration = Metrics.histogram("dao_block_parse_seconds",
+            "Time for parsing the transactions of a block");
+
     private final TxParser txParser;
     private final DaoStateService daoStateService;
+    private final BsqTxCandidateFilter bsqTxCandidateFilter;
     private final String genesisTxId;
     private final int genesisBlockHeight;
     private final Coin genesisTotalSupply;
@@ -58,6 +68,7 @@ public class BlockParser {
                        DaoStateService daoStateService) {
         this.txParser = txParser;
         this.daoStateService = daoStateService;
+        this.bsqTxCandidateFilter = new BsqTxCandidateFilter(daoStateService);
         this.genesisTxId = daoStateService.getGenesisTxId();
         this.genesisBlockHeight = daoStateService.getGenesisBlockHeight();
         this.genesisTotalSupply = daoStateService.getGenesisTotalSupply();
@@ -78,6 +89,8 @@ public class BlockParser {
     public Block parseBlock(RawBlock rawBlock) throws BlockHashNotConnectingException, BlockHeightNotConnectingException {
         int blockHeight = rawBlock.getHeight();
         log.trace("Parse block at height={} ", blockHeight);
+        ParseBlockEvent event = new ParseBlockEvent();
+        event.begin();
 
         validateIfBlockIsConnecting(rawBlock);
 
@@ -104,17 +117,32 @@ public class BlockParser {
         // Lately there is a patter with 24 iterations observed
         long startTs = System.currentTimeMillis();
 
-        rawBlock.getRawTxs().forEach(rawTx ->
+        // The txs we skip here would not change the DAO state at the TxParser, so the result is the same as if we
+        // would parse all txs.
+        List<RawTx> candidates = bsqTxCandidateFilter.getCandidates(rawBlock.getRawTxs(),
+                genesisTxId,
+                genesisBlockHeight);
+        candidates.forEach(rawTx ->
                 txParser.findTx(rawTx,
                         genesisTxId,
                         genesisBlockHeight,
                         genesisTotalSupply)
                         .ifPresent(tx -> daoStateService.onNewTxForLastBlock(block, tx)));
 
-        log.info("Parsing {} transactions at block height {} took {} ms", rawBlock.getRawTxs().size(),
-                blockHeight, System.currentTimeMillis() - startTs);
+        long duration = System.currentTimeMillis() - startTs;
+        parseDuration.observeMillis(duration);
+        log.info("Parsing {} transactions ({} BSQ tx candidates) at block height {} took {} ms",
+                rawBlock.getRawTxs().size(), candidates.size(), blockHeight, duration);
 
         daoStateService.onParseBlockComplete(block);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.height = blockHeight;
+            event.numTxs = rawBlock.getRawTxs().size();
+            event.numBsqTxs = block.getTxs().size();
+            event.commit();
+        }
         return block;
     }
 
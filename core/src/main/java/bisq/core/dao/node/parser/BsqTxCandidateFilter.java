@@ -0,0 +1,180 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.dao.node.parser;
+
+import bisq.core.dao.node.full.RawTx;
+import bisq.core.dao.state.DaoStateService;
+import bisq.core.dao.state.model.blockchain.TxInput;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nullable;
+
+/**
+ * First phase of parsing the txs of a block. A tx can only be a BSQ tx if it is the genesis tx or if one of its
+ * inputs spends a BSQ output, which is either unspent in the DAO state or created by another tx of the same block.
+ * For all other txs the TxParser does not find any BSQ input and returns without any state change, so we do not
+ * pass them to the TxParser at all. Most txs of a block are no BSQ txs.
+ *
+ * The check only reads the DAO state, so for large blocks it is done in parallel. The caller waits for the result,
+ * so the DAO state does not change while the check is running.
+ */
+@Slf4j
+class BsqTxCandidateFilter {
+    // For smaller blocks handing over the work to other threads costs more than it saves
+    static final int MIN_TXS_FOR_PARALLEL_CHECK = 500;
+    private static final int MAX_THREADS = 4;
+    private static final long IDLE_THREAD_TIMEOUT_SEC = 60;
+
+    private final DaoStateService daoStateService;
+    private final int parallelism;
+    @Nullable
+    private final ExecutorService executor;
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Constructor
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    BsqTxCandidateFilter(DaoStateService daoStateService) {
+        this(daoStateService, Math.max(1, Math.min(MAX_THREADS, Runtime.getRuntime().availableProcessors() - 1)));
+    }
+
+    BsqTxCandidateFilter(DaoStateService daoStateService, int parallelism) {
+        this.daoStateService = daoStateService;
+        this.parallelism = parallelism;
+        if (parallelism > 1) {
+            ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(parallelism, parallelism,
+                    IDLE_THREAD_TIMEOUT_SEC, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                    new ThreadFactoryBuilder()
+                            .setNameFormat("BsqTxCandidateFilter-%d")
+                            .setDaemon(true)
+                            .build());
+            threadPoolExecutor.allowCoreThreadTimeOut(true);
+            executor = threadPoolExecutor;
+        } else {
+            executor = null;
+        }
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @param rawTxs    All txs of a block in block order
+     * @return The txs which might be BSQ txs in block order
+     */
+    List<RawTx> getCandidates(List<RawTx> rawTxs, String genesisTxId, int genesisBlockHeight) {
+        // Txs can spend outputs of earlier txs of the same block which are not in the DAO state yet
+        Set<String> txIdsOfBlock = rawTxs.stream().map(RawTx::getId).collect(Collectors.toSet());
+        boolean[] isCandidate = new boolean[rawTxs.size()];
+        if (executor == null || rawTxs.size() < MIN_TXS_FOR_PARALLEL_CHECK) {
+            markCandidates(rawTxs, 0, rawTxs.size(), txIdsOfBlock, genesisTxId, genesisBlockHeight, isCandidate);
+        } else if (!markCandidatesInParallel(rawTxs, txIdsOfBlock, genesisTxId, genesisBlockHeight, isCandidate)) {
+            // We fall back to parse all txs as we did before
+            return rawTxs;
+        }
+
+        List<RawTx> candidates = new ArrayList<>();
+        for (int i = 0; i < isCandidate.length; i++) {
+            if (isCandidate[i]) {
+                candidates.add(rawTxs.get(i));
+            }
+        }
+        return candidates;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private boolean markCandidatesInParallel(List<RawTx> rawTxs,
+                                             Set<String> txIdsOfBlock,
+                                             String genesisTxId,
+                                             int genesisBlockHeight,
+                                             boolean[] isCandidate) {
+        int sliceSize = (rawTxs.size() + parallelism - 1) / parallelism;
+        List<Callable<Void>> slices = new ArrayList<>();
+        for (int from = 0; from < rawTxs.size(); from += sliceSize) {
+            int start = from;
+            int end = Math.min(from + sliceSize, rawTxs.size());
+            // Each slice writes only its own range of isCandidate
+            slices.add(() -> {
+                markCandidates(rawTxs, start, end, txIdsOfBlock, genesisTxId, genesisBlockHeight, isCandidate);
+                return null;
+            });
+        }
+
+        try {
+            for (Future<Void> future : executor.invokeAll(slices)) {
+                future.get();
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Checking for BSQ tx candidates got interrupted");
+            return false;
+        } catch (ExecutionException e) {
+            log.error("Checking for BSQ tx candidates failed", e.getCause());
+            return false;
+        }
+    }
+
+    private void markCandidates(List<RawTx> rawTxs,
+                                int start,
+                                int end,
+                                Set<String> txIdsOfBlock,
+                                String genesisTxId,
+                                int genesisBlockHeight,
+                                boolean[] isCandidate) {
+        for (int i = start; i < end; i++) {
+            isCandidate[i] = isCandidate(rawTxs.get(i), txIdsOfBlock, genesisTxId, genesisBlockHeight);
+        }
+    }
+
+    private boolean isCandidate(RawTx rawTx, Set<String> txIdsOfBlock, String genesisTxId, int genesisBlockHeight) {
+        if (GenesisTxParser.isGenesis(rawTx, genesisTxId, genesisBlockHeight)) {
+            return true;
+        }
+
+        for (TxInput txInput : rawTx.getTxInputs()) {
+            if (txIdsOfBlock.contains(txInput.getConnectedTxOutputTxId()) ||
+                    daoStateService.isUnspent(txInput.getConnectedTxOutputKey())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -42,7 +42,6 @@ import org.bitcoinj.core.Coin;
 
 import javax.inject.Inject;
 
-import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -70,6 +69,7 @@ public class DaoStateService implements DaoSetupService {
     private final GenesisTxInfo genesisTxInfo;
     private final BsqFormatter bsqFormatter;
     private final List<DaoStateListener> daoStateListeners = new CopyOnWriteArrayList<>();
+    private final GovernanceTimeline governanceTimeline = new GovernanceTimeline();
     @Getter
     private boolean parseBlockChainComplete;
     private boolean allowDaoStateChange;
@@ -122,6 +122,7 @@ public class DaoStateService implements DaoSetupService {
 
         daoState.getCycles().clear();
         daoState.getCycles().addAll(snapshot.getCycles());
+        governanceTimeline.onCyclesChanged(daoState.getCycles());
 
         daoState.getUnspentTxOutputMap().clear();
         daoState.getUnspentTxOutputMap().putAll(snapshot.getUnspentTxOutputMap());
@@ -137,6 +138,7 @@ public class DaoStateService implements DaoSetupService {
 
         daoState.getParamChangeList().clear();
         daoState.getParamChangeList().addAll(snapshot.getParamChangeList());
+        governanceTimeline.onParamChangeListChanged(daoState.getParamChangeList());
 
         daoState.getEvaluatedProposalList().clear();
         daoState.getEvaluatedProposalList().addAll(snapshot.getEvaluatedProposalList());
@@ -174,6 +176,7 @@ public class DaoStateService implements DaoSetupService {
     public void addCycle(Cycle cycle) {
         assertDaoStateChange();
         getCycles().add(cycle);
+        governanceTimeline.onCyclesChanged(getCycles());
     }
 
     @Nullable
@@ -182,10 +185,7 @@ public class DaoStateService implements DaoSetupService {
     }
 
     public Optional<Cycle> getCycle(int height) {
-        return getCycles().stream()
-                .filter(cycle -> cycle.getHeightOfFirstBlock() <= height)
-                .filter(cycle -> cycle.getHeightOfLastBlock() >= height)
-                .findAny();
+        return governanceTimeline.findCycle(getCycles(), height);
     }
 
     public Optional<Integer> getStartHeightOfNextCycle(int blockHeight) {
@@ -918,24 +918,14 @@ public class DaoStateService implements DaoSetupService {
                     paramChangeList.add(paramChange);
                     // Addition with older height should not be possible but to ensure correct sorting lets run a sort.
                     paramChangeList.sort(Comparator.comparingInt(ParamChange::getActivationHeight));
+                    governanceTimeline.onParamChangeListChanged(paramChangeList);
                 });
     }
 
     public String getParamValue(Param param, int blockHeight) {
-        List<ParamChange> paramChangeList = new ArrayList<>(daoState.getParamChangeList());
-        if (!paramChangeList.isEmpty()) {
-            // List is sorted by height, we start from latest entries to find most recent entry.
-            for (int i = paramChangeList.size() - 1; i >= 0; i--) {
-                ParamChange paramChange = paramChangeList.get(i);
-                if (paramChange.getParamName().equals(param.name()) &&
-                        blockHeight >= paramChange.getActivationHeight()) {
-                    return paramChange.getValue();
-                }
-            }
-        }
-
+        String value = governanceTimeline.findParamValue(daoState.getParamChangeList(), param.name(), blockHeight);
         // If no value found we use default values
-        return param.getDefaultValue();
+        return value != null ? value : param.getDefaultValue();
     }
 
     public Coin getParamValueAsCoin(Param param, String paramValue) {
@@ -24,6 +24,7 @@ import bisq.core.dao.state.model.blockchain.Block;
 import bisq.core.dao.state.storage.DaoStateStorageService;
 
 import bisq.common.config.Config;
+import bisq.common.jfr.DaoSnapshotEvent;
 
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -101,6 +102,9 @@ public class DaoStateSnapshotService {
                 !daoStateService.getBlocks().isEmpty() &&
                 isValidHeight(daoStateService.getBlocks().getLast().getHeight()) &&
                 noSnapshotCandidateOrDifferentHeight) {
+            DaoSnapshotEvent event = new DaoSnapshotEvent();
+            event.begin();
+
             // At trigger event we store the latest snapshotCandidate to disc
             long ts = System.currentTimeMillis();
             if (daoStateSnapshotCandidate != null) {
@@ -119,6 +123,12 @@ public class DaoStateSnapshotService {
             daoStateHashChainSnapshotCandidate = new LinkedList<>(daoStateMonitoringService.getDaoStateHashChain());
 
             log.debug("Cloned new snapshotCandidate at height {} took {} ms", chainHeight, System.currentTimeMillis() - ts);
+
+            event.end();
+            if (event.shouldCommit()) {
+                event.height = chainHeight;
+                event.commit();
+            }
         }
     }
 
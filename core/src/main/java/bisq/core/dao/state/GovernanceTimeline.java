@@ -0,0 +1,170 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.dao.state;
+
+import bisq.core.dao.state.model.governance.Cycle;
+import bisq.core.dao.state.model.governance.ParamChange;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.annotation.Nullable;
+
+/**
+ * Height indexed view of the param changes and cycles of the DaoState. Param values and cycles are looked up for
+ * nearly every phase check and fee calculation, so instead of iterating the lists of the DaoState we use sorted
+ * arrays and binary search.
+ *
+ * The indexes are immutable and get replaced if the DaoState lists change, which happens only once per cycle.
+ * So readers from other threads than the user thread always see a consistent index. As a safeguard against changes
+ * of the lists which have not been applied by the DaoStateService we rebuild if the size does not match.
+ */
+class GovernanceTimeline {
+    // Activation heights of a single param in ascending order with the values at the same index
+    private static class ParamTimeline {
+        private final int[] activationHeights;
+        private final String[] values;
+
+        private ParamTimeline(List<ParamChange> paramChanges) {
+            int size = paramChanges.size();
+            activationHeights = new int[size];
+            values = new String[size];
+            for (int i = 0; i < size; i++) {
+                activationHeights[i] = paramChanges.get(i).getActivationHeight();
+                values[i] = paramChanges.get(i).getValue();
+            }
+        }
+
+        @Nullable
+        private String getValue(int blockHeight) {
+            int index = lastIndexAtOrBelow(activationHeights, blockHeight);
+            return index >= 0 ? values[index] : null;
+        }
+    }
+
+    private static class ParamIndex {
+        private static final ParamIndex EMPTY = new ParamIndex(Collections.emptyList());
+
+        private final int numParamChanges;
+        private final Map<String, ParamTimeline> timelineByParamName = new HashMap<>();
+
+        private ParamIndex(List<ParamChange> paramChangeList) {
+            numParamChanges = paramChangeList.size();
+            Map<String, List<ParamChange>> paramChangesByName = new HashMap<>();
+            // The list is sorted by activation height. For changes with the same height the later one has precedence,
+            // so we keep the order.
+            paramChangeList.forEach(paramChange -> paramChangesByName
+                    .computeIfAbsent(paramChange.getParamName(), k -> new ArrayList<>())
+                    .add(paramChange));
+            paramChangesByName.forEach((paramName, paramChanges) ->
+                    timelineByParamName.put(paramName, new ParamTimeline(paramChanges)));
+        }
+    }
+
+    private static class CycleIndex {
+        private static final CycleIndex EMPTY = new CycleIndex(Collections.emptyList());
+
+        private final int numCycles;
+        private final int[] heightsOfFirstBlock;
+        private final Cycle[] cycles;
+
+        private CycleIndex(Collection<Cycle> cycleList) {
+            numCycles = cycleList.size();
+            cycles = cycleList.toArray(new Cycle[0]);
+            Arrays.sort(cycles, Comparator.comparingInt(Cycle::getHeightOfFirstBlock));
+            heightsOfFirstBlock = new int[cycles.length];
+            for (int i = 0; i < cycles.length; i++) {
+                heightsOfFirstBlock[i] = cycles[i].getHeightOfFirstBlock();
+            }
+        }
+    }
+
+    private volatile ParamIndex paramIndex = ParamIndex.EMPTY;
+    private volatile CycleIndex cycleIndex = CycleIndex.EMPTY;
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    void onParamChangeListChanged(List<ParamChange> paramChangeList) {
+        paramIndex = new ParamIndex(new ArrayList<>(paramChangeList));
+    }
+
+    void onCyclesChanged(Collection<Cycle> cycles) {
+        cycleIndex = new CycleIndex(new ArrayList<>(cycles));
+    }
+
+    /**
+     * @return The value of the param change with the highest activation height not above blockHeight or null if
+     * there is none
+     */
+    @Nullable
+    String findParamValue(List<ParamChange> paramChangeList, String paramName, int blockHeight) {
+        ParamIndex index = paramIndex;
+        if (index.numParamChanges != paramChangeList.size()) {
+            onParamChangeListChanged(paramChangeList);
+            index = paramIndex;
+        }
+
+        ParamTimeline timeline = index.timelineByParamName.get(paramName);
+        return timeline != null ? timeline.getValue(blockHeight) : null;
+    }
+
+    Optional<Cycle> findCycle(Collection<Cycle> cycles, int height) {
+        CycleIndex index = cycleIndex;
+        if (index.numCycles != cycles.size()) {
+            onCyclesChanged(cycles);
+            index = cycleIndex;
+        }
+
+        int i = lastIndexAtOrBelow(index.heightsOfFirstBlock, height);
+        if (i < 0) {
+            return Optional.empty();
+        }
+        Cycle cycle = index.cycles[i];
+        return cycle.getHeightOfLastBlock() >= height ? Optional.of(cycle) : Optional.empty();
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    // Returns the last index of the sorted array with a value <= key or -1
+    private static int lastIndexAtOrBelow(int[] sorted, int key) {
+        int low = 0;
+        int high = sorted.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+}
@@ -31,10 +31,17 @@ import bisq.core.dao.state.model.governance.ParamChange;
 import bisq.common.proto.persistable.PersistablePayload;
 import bisq.common.util.JsonExclude;
 
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.ExtensionRegistryLite;
 import com.google.protobuf.Message;
+import com.google.protobuf.WireFormat;
 
 import javax.inject.Inject;
 
+import java.io.IOException;
+
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -193,6 +200,29 @@ public class DaoState implements PersistablePayload {
         LinkedList<Block> blocks = proto.getBlocksList().stream()
                 .map(Block::fromProto)
                 .collect(Collectors.toCollection(LinkedList::new));
+        return fromProto(proto, blocks);
+    }
+
+    // The blocks are the by far largest part of the DaoState. We read them one by one from the stream, so only one
+    // block exists as protobuf object. The other fields are collected and parsed as a whole.
+    public static DaoState fromProto(CodedInputStream input) throws IOException {
+        LinkedList<Block> blocks = new LinkedList<>();
+        ByteString.Output otherFields = ByteString.newOutput();
+        CodedOutputStream otherFieldsOutput = CodedOutputStream.newInstance(otherFields);
+        int tag;
+        while ((tag = input.readTag()) != 0) {
+            if (WireFormat.getTagFieldNumber(tag) == protobuf.DaoState.BLOCKS_FIELD_NUMBER) {
+                blocks.add(Block.fromProto(input.readMessage(protobuf.BaseBlock.parser(),
+                        ExtensionRegistryLite.getEmptyRegistry())));
+            } else if (!input.skipField(tag, otherFieldsOutput)) {
+                break;
+            }
+        }
+        otherFieldsOutput.flush();
+        return fromProto(protobuf.DaoState.parseFrom(otherFields.toByteString()), blocks);
+    }
+
+    private static DaoState fromProto(protobuf.DaoState proto, LinkedList<Block> blocks) {
         LinkedList<Cycle> cycles = proto.getCyclesList().stream()
                 .map(Cycle::fromProto).collect(Collectors.toCollection(LinkedList::new));
         TreeMap<TxOutputKey, TxOutput> unspentTxOutputMap = new TreeMap<>(proto.getUnspentTxOutputMapMap().entrySet().stream()
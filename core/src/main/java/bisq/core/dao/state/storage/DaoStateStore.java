@@ -22,7 +22,12 @@ import bisq.core.dao.state.model.DaoState;
 
 import bisq.common.proto.persistable.PersistableEnvelope;
 
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.ExtensionRegistryLite;
 import com.google.protobuf.Message;
+import com.google.protobuf.WireFormat;
+
+import java.io.IOException;
 
 import java.util.LinkedList;
 import java.util.stream.Collectors;
@@ -75,4 +80,30 @@ public class DaoStateStore implements PersistableEnvelope {
                         .collect(Collectors.toList()));
         return new DaoStateStore(DaoState.fromProto(proto.getDaoState()), daoStateHashList);
     }
+
+    // Reads the blocks of the DaoState and the hash chain entry by entry from the stream
+    public static DaoStateStore fromProto(CodedInputStream input) throws IOException {
+        DaoState daoState = null;
+        LinkedList<DaoStateHash> daoStateHashList = new LinkedList<>();
+        int tag;
+        while ((tag = input.readTag()) != 0) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case protobuf.DaoStateStore.DAO_STATE_FIELD_NUMBER:
+                    int oldLimit = input.pushLimit(input.readRawVarint32());
+                    daoState = DaoState.fromProto(input);
+                    input.popLimit(oldLimit);
+                    break;
+                case protobuf.DaoStateStore.DAO_STATE_HASH_FIELD_NUMBER:
+                    daoStateHashList.add(DaoStateHash.fromProto(input.readMessage(protobuf.DaoStateHash.parser(),
+                            ExtensionRegistryLite.getEmptyRegistry())));
+                    break;
+                default:
+                    input.skipField(tag);
+            }
+        }
+        if (daoState == null) {
+            daoState = DaoState.fromProto(protobuf.DaoState.getDefaultInstance());
+        }
+        return new DaoStateStore(daoState, daoStateHashList);
+    }
 }
@@ -0,0 +1,184 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.filter;
+
+import bisq.core.payment.payload.PaymentAccountPayload;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nullable;
+
+/**
+ * Lookup structures for the ban checks of a {@link Filter}. It is built once when a new filter gets applied so the
+ * checks, which run for each offer in the offer book, do not need to iterate the lists of the filter.
+ *
+ * Banned payment accounts are grouped by payment method and getter name. The getters are resolved once per
+ * payload class and cached as method handles, so checks are free of reflective method lookups.
+ */
+@Slf4j
+final class CompiledFilter {
+    static final CompiledFilter EMPTY = new CompiledFilter(null);
+
+    // Resolved getters by payload class and method name. Independent of the filter so we keep it across filters.
+    private static final Map<Class<?>, Map<String, Optional<MethodHandle>>> GETTERS = new ConcurrentHashMap<>();
+
+    @Nullable
+    @Getter
+    private final Filter filter;
+    private final Set<String> bannedOfferIds;
+    private final Set<String> nodeAddressesBannedFromTrading;
+    private final Set<String> nodeAddressesBannedFromNetwork;
+    private final Set<String> bannedAutoConfExplorers;
+    private final Set<String> bannedCurrencies;
+    private final Set<String> bannedPaymentMethods;
+    private final Set<String> bannedAccountWitnessSignerPubKeys;
+    // Banned values by getter name by payment method ID. Values are compared case insensitive.
+    private final Map<String, Map<String, Set<String>>> bannedPaymentAccounts = new HashMap<>();
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Constructor
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    CompiledFilter(@Nullable Filter filter) {
+        this.filter = filter;
+        if (filter == null) {
+            bannedOfferIds = Collections.emptySet();
+            nodeAddressesBannedFromTrading = Collections.emptySet();
+            nodeAddressesBannedFromNetwork = Collections.emptySet();
+            bannedAutoConfExplorers = Collections.emptySet();
+            bannedCurrencies = Collections.emptySet();
+            bannedPaymentMethods = Collections.emptySet();
+            bannedAccountWitnessSignerPubKeys = Collections.emptySet();
+            return;
+        }
+
+        bannedOfferIds = toSet(filter.getBannedOfferIds());
+        nodeAddressesBannedFromTrading = toSet(filter.getNodeAddressesBannedFromTrading());
+        nodeAddressesBannedFromNetwork = toSet(filter.getNodeAddressesBannedFromNetwork());
+        bannedAutoConfExplorers = toSet(filter.getBannedAutoConfExplorers());
+        bannedCurrencies = toSet(filter.getBannedCurrencies());
+        bannedPaymentMethods = toSet(filter.getBannedPaymentMethods());
+        bannedAccountWitnessSignerPubKeys = toSet(filter.getBannedAccountWitnessSignerPubKeys());
+        if (filter.getBannedPaymentAccounts() != null) {
+            filter.getBannedPaymentAccounts().forEach(paymentAccountFilter -> bannedPaymentAccounts
+                    .computeIfAbsent(paymentAccountFilter.getPaymentMethodId(), k -> new HashMap<>())
+                    .computeIfAbsent(paymentAccountFilter.getGetMethodName(),
+                            k -> new TreeSet<>(String.CASE_INSENSITIVE_ORDER))
+                    .add(paymentAccountFilter.getValue()));
+        }
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    boolean isOfferIdBanned(String offerId) {
+        return bannedOfferIds.contains(offerId);
+    }
+
+    boolean isNodeAddressBannedFromTrading(String fullAddress) {
+        return nodeAddressesBannedFromTrading.contains(fullAddress);
+    }
+
+    boolean isNodeAddressBannedFromNetwork(String fullAddress) {
+        return nodeAddressesBannedFromNetwork.contains(fullAddress);
+    }
+
+    boolean isAutoConfExplorerBanned(String address) {
+        return bannedAutoConfExplorers.contains(address);
+    }
+
+    boolean isCurrencyBanned(String currencyCode) {
+        return bannedCurrencies.contains(currencyCode);
+    }
+
+    boolean isPaymentMethodBanned(String paymentMethodId) {
+        return bannedPaymentMethods.contains(paymentMethodId);
+    }
+
+    boolean isWitnessSignerPubKeyBanned(String witnessSignerPubKeyAsHex) {
+        return bannedAccountWitnessSignerPubKeys.contains(witnessSignerPubKeyAsHex);
+    }
+
+    boolean arePaymentAccountDataBanned(PaymentAccountPayload paymentAccountPayload) {
+        Map<String, Set<String>> bannedValuesByGetter = bannedPaymentAccounts.get(paymentAccountPayload.getPaymentMethodId());
+        if (bannedValuesByGetter == null) {
+            return false;
+        }
+
+        for (Map.Entry<String, Set<String>> entry : bannedValuesByGetter.entrySet()) {
+            String value = getValue(paymentAccountPayload, entry.getKey());
+            if (value != null && entry.getValue().contains(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private static Set<String> toSet(@Nullable Collection<String> collection) {
+        return collection != null ? new HashSet<>(collection) : Collections.emptySet();
+    }
+
+    @Nullable
+    private static String getValue(PaymentAccountPayload paymentAccountPayload, String getMethodName) {
+        Optional<MethodHandle> getter = GETTERS
+                .computeIfAbsent(paymentAccountPayload.getClass(), k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(getMethodName, k -> findGetter(paymentAccountPayload.getClass(), getMethodName));
+        if (!getter.isPresent()) {
+            return null;
+        }
+
+        try {
+            // We invoke getter methods (no args), e.g. getHolderName
+            return (String) getter.get().invoke(paymentAccountPayload);
+        } catch (Throwable e) {
+            log.error(e.getMessage());
+            return null;
+        }
+    }
+
+    private static Optional<MethodHandle> findGetter(Class<?> payloadClass, String getMethodName) {
+        try {
+            return Optional.of(MethodHandles.publicLookup().unreflect(payloadClass.getMethod(getMethodName)));
+        } catch (Throwable e) {
+            log.error("Getter {} not found at {}. {}", getMethodName, payloadClass.getSimpleName(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+}
@@ -17,6 +17,7 @@
 
 package bisq.core.notifications;
 
+import bisq.core.locale.Res;
 import bisq.core.user.Preferences;
 
 import bisq.network.http.HttpClient;
@@ -33,6 +34,7 @@ import com.google.inject.Singleton;
 
 import javax.inject.Named;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
@@ -44,8 +46,10 @@ import org.apache.commons.codec.binary.Hex;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.SimpleBooleanProperty;
 
+import java.util.List;
 import java.util.UUID;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
@@ -66,6 +70,9 @@ public class MobileNotificationService {
     private static final String URL = "http://jtboonrvwmq7frkj.onion/";
     private static final String BISQ_MESSAGE_IOS_MAGIC = "BisqMessageiOS";
     private static final String BISQ_MESSAGE_ANDROID_MAGIC = "BisqMessageAndroid";
+    // Limits the size of a batched notification. Further messages get only counted, so callers which track the
+    // delivered messages should not pass more messages.
+    public static final int MAX_MESSAGES_PER_NOTIFICATION = 5;
 
     private final Preferences preferences;
     private final MobileMessageEncryption mobileMessageEncryption;
@@ -124,6 +131,60 @@ public class MobileNotificationService {
         return sendMessage(message, useSoundProperty.get());
     }
 
+    /**
+     * Sends multiple messages of the same type as one notification, so we make only one request to the relay.
+     * Only the first {@link #MAX_MESSAGES_PER_NOTIFICATION} messages are listed, the rest is only counted.
+     *
+     * @param messages          The messages to send
+     * @return Returns true if the notification was sent. It does not reflect if the sending was successful.
+     * @throws Exception
+     */
+    public boolean sendMessages(List<MobileMessage> messages) throws Exception {
+        return sendMessages(messages,
+                result -> log.debug("sendMessages result=" + result),
+                throwable -> log.error("sendMessages failed. throwable=" + throwable.toString()));
+    }
+
+    /**
+     *
+     * @param messages          The messages to send
+     * @param resultHandler     The result of the send operation (called on the user thread)
+     * @param errorHandler      Carries the throwable if an error occurred at sending (called on the user thread)
+     * @return Returns true if the notification was sent. Returns false if notifications of that type are disabled or
+     *                          if another notification is still in progress. The handlers are only called if true
+     *                          is returned.
+     * @throws Exception
+     */
+    public boolean sendMessages(List<MobileMessage> messages,
+                                Consumer<String> resultHandler,
+                                Consumer<Throwable> errorHandler) throws Exception {
+        checkArgument(!messages.isEmpty(), "messages must not be empty");
+        MobileMessage message = getBatchMessage(messages);
+        return sendMessage(message, useSoundProperty.get(), resultHandler, errorHandler);
+    }
+
+    public boolean isEnabled(MobileMessageType mobileMessageType) {
+        if (mobileModel.getKey() == null)
+            return false;
+
+        switch (mobileMessageType) {
+            case SETUP_CONFIRMATION:
+                return true;
+            case OFFER:
+            case TRADE:
+            case DISPUTE:
+                return useTradeNotificationsProperty.get();
+            case PRICE:
+                return usePriceNotificationsProperty.get();
+            case MARKET:
+                return useMarketNotificationsProperty.get();
+            case ERASE:
+                return true;
+            default:
+                return false;
+        }
+    }
+
     public boolean applyKeyAndToken(String keyAndToken) {
         if (mobileNotificationValidator.isValid(keyAndToken)) {
             mobileModel.applyKeyAndToken(keyAndToken);
@@ -172,33 +233,7 @@ public class MobileNotificationService {
                                 boolean useSound,
                                 Consumer<String> resultHandler,
                                 Consumer<Throwable> errorHandler) throws Exception {
-        if (mobileModel.getKey() == null)
-            return false;
-
-        boolean doSend;
-        switch (message.getMobileMessageType()) {
-            case SETUP_CONFIRMATION:
-                doSend = true;
-                break;
-            case OFFER:
-            case TRADE:
-            case DISPUTE:
-                doSend = useTradeNotificationsProperty.get();
-                break;
-            case PRICE:
-                doSend = usePriceNotificationsProperty.get();
-                break;
-            case MARKET:
-                doSend = useMarketNotificationsProperty.get();
-                break;
-            case ERASE:
-                doSend = true;
-                break;
-            default:
-                doSend = false;
-        }
-
-        if (!doSend)
+        if (!isEnabled(message.getMobileMessageType()))
             return false;
 
         log.info("Send message: '{}'", message.getMessage());
@@ -225,8 +260,7 @@ public class MobileNotificationService {
         log.info("iv = " + iv);
         log.info("encryptedJson = " + cipher);
 
-        doSendMessage(iv, cipher, useSound, resultHandler, errorHandler);
-        return true;
+        return doSendMessage(iv, cipher, useSound, resultHandler, errorHandler);
     }
 
     public void sendEraseMessage() throws Exception {
@@ -243,6 +277,26 @@ public class MobileNotificationService {
     }
 
 
+    @VisibleForTesting
+    static MobileMessage getBatchMessage(List<MobileMessage> messages) {
+        MobileMessage first = messages.get(0);
+        if (messages.size() == 1) {
+            return first;
+        }
+
+        checkArgument(messages.stream().allMatch(message -> message.getMobileMessageType() == first.getMobileMessageType()),
+                "All messages of a batch must have the same type");
+        String text = messages.stream()
+                .limit(MAX_MESSAGES_PER_NOTIFICATION)
+                .map(MobileMessage::getMessage)
+                .collect(Collectors.joining("\n\n"));
+        if (messages.size() > MAX_MESSAGES_PER_NOTIFICATION) {
+            text += "\n\n" + Res.get("account.notifications.batch.more",
+                    messages.size() - MAX_MESSAGES_PER_NOTIFICATION);
+        }
+        return new MobileMessage(first.getTitle(), text, first.getTxId(), first.getMobileMessageType());
+    }
+
     private void sendConfirmationMessage() throws Exception {
         log.info("sendConfirmationMessage");
         MobileMessage message = new MobileMessage("",
@@ -251,14 +305,14 @@ public class MobileNotificationService {
         sendMessage(message, true);
     }
 
-    private void doSendMessage(String iv,
-                               String cipher,
-                               boolean useSound,
-                               Consumer<String> resultHandler,
-                               Consumer<Throwable> errorHandler) throws Exception {
+    private boolean doSendMessage(String iv,
+                                  String cipher,
+                                  boolean useSound,
+                                  Consumer<String> resultHandler,
+                                  Consumer<Throwable> errorHandler) throws Exception {
         if (httpClient.hasPendingRequest()) {
             log.warn("We have a pending request open. We ignore that request. httpClient {}", httpClient);
-            return;
+            return false;
         }
 
         String msg;
@@ -320,5 +374,6 @@ public class MobileNotificationService {
                 UserThread.execute(() -> errorHandler.accept(throwable));
             }
         }, MoreExecutors.directExecutor());
+        return true;
     }
 }
@@ -0,0 +1,107 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package bisq.core.notifications.alerts.market;
+
+import bisq.core.offer.OfferPayload;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Market alert filters grouped by the payment method of their payment account and the offer direction they are
+ * interested in, and sorted by their trigger value. For an offer we only visit the filters of its group whose
+ * trigger value is reached, instead of checking each filter.
+ *
+ * MarketAlertFilter is a value object with a mutable list of alert IDs, so we compare filters by identity.
+ *
+ * Not thread safe. Expected to be used from the UserThread.
+ */
+class MarketAlertMatcher {
+    private final Map<String, NavigableMap<Integer, List<MarketAlertFilter>>> filtersByGroup = new HashMap<>();
+
+    MarketAlertMatcher() {
+    }
+
+    MarketAlertMatcher(Collection<MarketAlertFilter> filters) {
+        filters.forEach(this::add);
+    }
+
+    void add(MarketAlertFilter filter) {
+        filtersByGroup.computeIfAbsent(getGroup(filter), k -> new TreeMap<>())
+                .computeIfAbsent(filter.getTriggerValue(), k -> new ArrayList<>())
+                .add(filter);
+    }
+
+    void remove(MarketAlertFilter filter) {
+        String group = getGroup(filter);
+        NavigableMap<Integer, List<MarketAlertFilter>> filtersByTriggerValue = filtersByGroup.get(group);
+        if (filtersByTriggerValue == null) {
+            return;
+        }
+
+        List<MarketAlertFilter> filters = filtersByTriggerValue.get(filter.getTriggerValue());
+        if (filters != null && filters.removeIf(e -> e == filter) && filters.isEmpty()) {
+            filtersByTriggerValue.remove(filter.getTriggerValue());
+            if (filtersByTriggerValue.isEmpty()) {
+                filtersByGroup.remove(group);
+            }
+        }
+    }
+
+    boolean isEmpty() {
+        return filtersByGroup.isEmpty();
+    }
+
+    /**
+     * @param paymentMethodId Payment method ID of the offer
+     * @param direction       Direction of the offer
+     * @param ratio           Distance of the offer price to the market price (100 for 1.00%), positive if the price
+     *                        is better than the market price. See MarketAlerts.getRatio.
+     * @return All filters for the payment method and direction with a trigger value >= ratio
+     */
+    List<MarketAlertFilter> getTriggeredFilters(String paymentMethodId, OfferPayload.Direction direction, double ratio) {
+        List<MarketAlertFilter> result = new ArrayList<>();
+        NavigableMap<Integer, List<MarketAlertFilter>> filtersByTriggerValue =
+                filtersByGroup.get(getGroup(paymentMethodId, direction));
+        if (filtersByTriggerValue == null || Double.isNaN(ratio) || ratio > Integer.MAX_VALUE) {
+            return result;
+        }
+
+        int minTriggerValue = ratio < Integer.MIN_VALUE ? Integer.MIN_VALUE : (int) Math.ceil(ratio);
+        filtersByTriggerValue.tailMap(minTriggerValue, true).values().forEach(result::addAll);
+        return result;
+    }
+
+    private static String getGroup(MarketAlertFilter filter) {
+        // A filter for buy offers matches offers with direction BUY
+        OfferPayload.Direction direction = filter.isBuyOffer() ?
+                OfferPayload.Direction.BUY :
+                OfferPayload.Direction.SELL;
+        return getGroup(filter.getPaymentAccount().getPaymentMethod().getId(), direction);
+    }
+
+    private static String getGroup(String paymentMethodId, OfferPayload.Direction direction) {
+        return paymentMethodId + "|" + direction.name();
+    }
+}
@@ -32,6 +32,8 @@ import bisq.core.provider.price.PriceFeedService;
 import bisq.core.user.User;
 import bisq.core.util.FormattingUtils;
 
+import bisq.common.Timer;
+import bisq.common.UserThread;
 import bisq.common.crypto.KeyRing;
 import bisq.common.util.MathUtils;
 
@@ -40,23 +42,51 @@ import org.bitcoinj.utils.Fiat;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
 
+import javax.annotation.Nullable;
+
 @Slf4j
 @Singleton
 public class MarketAlerts {
+    private static final long SEND_ALERTS_DELAY_SEC = 2;
+    // Used if another notification is still in progress when we want to send the alerts
+    private static final long RETRY_SEND_ALERTS_DELAY_SEC = 10;
+
+    private static class PendingAlert {
+        private final String alertId;
+        private final MobileMessage message;
+        private final List<MarketAlertFilter> filters = new ArrayList<>();
+
+        private PendingAlert(String alertId, MobileMessage message) {
+            this.alertId = alertId;
+            this.message = message;
+        }
+    }
+
     private final OfferBookService offerBookService;
     private final MobileNotificationService mobileNotificationService;
     private final User user;
     private final PriceFeedService priceFeedService;
     private final KeyRing keyRing;
 
+    private MarketAlertMatcher marketAlertMatcher = new MarketAlertMatcher();
+    // Alerts which are not sent yet by alert ID
+    private final Map<String, PendingAlert> pendingAlerts = new LinkedHashMap<>();
+    @Nullable
+    private Timer sendPendingAlertsTimer;
+    private boolean sendInProgress;
+
     @Inject
-    private MarketAlerts(OfferBookService offerBookService, MobileNotificationService mobileNotificationService,
-                         User user, PriceFeedService priceFeedService, KeyRing keyRing) {
+    MarketAlerts(OfferBookService offerBookService, MobileNotificationService mobileNotificationService,
+                 User user, PriceFeedService priceFeedService, KeyRing keyRing) {
         this.offerBookService = offerBookService;
         this.mobileNotificationService = mobileNotificationService;
         this.user = user;
@@ -70,26 +100,32 @@ public class MarketAlerts {
     ///////////////////////////////////////////////////////////////////////////////////////////
 
     public void onAllServicesInitialized() {
+        marketAlertMatcher = new MarketAlertMatcher(user.getMarketAlertFilters());
         offerBookService.addOfferBookChangedListener(new OfferBookService.OfferBookChangedListener() {
             @Override
             public void onAdded(Offer offer) {
-                onOfferAdded(offer);
+                onOfferAdded(offer, marketAlertMatcher);
             }
 
             @Override
             public void onRemoved(Offer offer) {
             }
         });
-        applyFilterOnAllOffers();
+        applyFilterOnAllOffers(marketAlertMatcher);
     }
 
     public void addMarketAlertFilter(MarketAlertFilter filter) {
         user.addMarketAlertFilter(filter);
-        applyFilterOnAllOffers();
+        marketAlertMatcher.add(filter);
+        // Only the new filter needs to be applied to the existing offers
+        applyFilterOnAllOffers(new MarketAlertMatcher(List.of(filter)));
     }
 
     public void removeMarketAlertFilter(MarketAlertFilter filter) {
         user.removeMarketAlertFilter(filter);
+        marketAlertMatcher.remove(filter);
+        pendingAlerts.values().forEach(pendingAlert -> pendingAlert.filters.removeIf(e -> e == filter));
+        pendingAlerts.values().removeIf(pendingAlert -> pendingAlert.filters.isEmpty());
     }
 
     public List<MarketAlertFilter> getMarketAlertFilters() {
@@ -101,8 +137,11 @@ public class MarketAlerts {
     // Private
     ///////////////////////////////////////////////////////////////////////////////////////////
 
-    private void applyFilterOnAllOffers() {
-        offerBookService.getOffers().forEach(this::onOfferAdded);
+    private void applyFilterOnAllOffers(MarketAlertMatcher matcher) {
+        if (matcher.isEmpty()) {
+            return;
+        }
+        offerBookService.getOffers().forEach(offer -> onOfferAdded(offer, matcher));
     }
 
     // We combine the offer ID and the price (either as % price or as fixed price) to get also updates for edited offers
@@ -114,94 +153,157 @@ public class MarketAlerts {
         return offer.getId() + "|" + priceString;
     }
 
-    private void onOfferAdded(Offer offer) {
+    private void onOfferAdded(Offer offer, MarketAlertMatcher matcher) {
+        if (matcher.isEmpty() || offer.isMyOffer(keyRing)) {
+            return;
+        }
+
         String currencyCode = offer.getCurrencyCode();
         MarketPrice marketPrice = priceFeedService.getMarketPrice(currencyCode);
         Price offerPrice = offer.getPrice();
-        if (marketPrice != null && offerPrice != null) {
-            boolean isSellOffer = offer.getDirection() == OfferPayload.Direction.SELL;
-            String shortOfferId = offer.getShortId();
-            boolean isFiatCurrency = CurrencyUtil.isFiatCurrency(currencyCode);
-            String alertId = getAlertId(offer);
-            user.getMarketAlertFilters().stream()
-                    .filter(marketAlertFilter -> !offer.isMyOffer(keyRing))
-                    .filter(marketAlertFilter -> offer.getPaymentMethod().equals(marketAlertFilter.getPaymentAccount().getPaymentMethod()))
-                    .filter(marketAlertFilter -> marketAlertFilter.notContainsAlertId(alertId))
-                    .forEach(marketAlertFilter -> {
-                        int triggerValue = marketAlertFilter.getTriggerValue();
-                        boolean isTriggerForBuyOffer = marketAlertFilter.isBuyOffer();
-                        double marketPriceAsDouble1 = marketPrice.getPrice();
-                        int precision = CurrencyUtil.isCryptoCurrency(currencyCode) ?
-                                Altcoin.SMALLEST_UNIT_EXPONENT :
-                                Fiat.SMALLEST_UNIT_EXPONENT;
-                        double marketPriceAsDouble = MathUtils.scaleUpByPowerOf10(marketPriceAsDouble1, precision);
-                        double offerPriceValue = offerPrice.getValue();
-                        double ratio = offerPriceValue / marketPriceAsDouble;
-                        ratio = 1 - ratio;
-                        if (isFiatCurrency && isSellOffer)
-                            ratio *= -1;
-                        else if (!isFiatCurrency && !isSellOffer)
-                            ratio *= -1;
-
-                        ratio = ratio * 10000;
-                        boolean triggered = ratio <= triggerValue;
-                        if (!triggered)
-                            return;
-
-                        boolean isTriggerForBuyOfferAndTriggered = !isSellOffer && isTriggerForBuyOffer;
-                        boolean isTriggerForSellOfferAndTriggered = isSellOffer && !isTriggerForBuyOffer;
-                        if (isTriggerForBuyOfferAndTriggered || isTriggerForSellOfferAndTriggered) {
-                            String direction = isSellOffer ? Res.get("shared.sell") : Res.get("shared.buy");
-                            String marketDir;
-                            if (isFiatCurrency) {
-                                if (isSellOffer) {
-                                    marketDir = ratio > 0 ?
-                                            Res.get("account.notifications.marketAlert.message.msg.above") :
-                                            Res.get("account.notifications.marketAlert.message.msg.below");
-                                } else {
-                                    marketDir = ratio < 0 ?
-                                            Res.get("account.notifications.marketAlert.message.msg.above") :
-                                            Res.get("account.notifications.marketAlert.message.msg.below");
-                                }
-                            } else {
-                                if (isSellOffer) {
-                                    marketDir = ratio < 0 ?
-                                            Res.get("account.notifications.marketAlert.message.msg.above") :
-                                            Res.get("account.notifications.marketAlert.message.msg.below");
-                                } else {
-                                    marketDir = ratio > 0 ?
-                                            Res.get("account.notifications.marketAlert.message.msg.above") :
-                                            Res.get("account.notifications.marketAlert.message.msg.below");
-                                }
-                            }
-
-                            ratio = Math.abs(ratio);
-                            String msg = Res.get("account.notifications.marketAlert.message.msg",
-                                    direction,
-                                    CurrencyUtil.getCurrencyPair(currencyCode),
-                                    FormattingUtils.formatPrice(offerPrice),
-                                    FormattingUtils.formatToPercentWithSymbol(ratio / 10000d),
-                                    marketDir,
-                                    Res.get(offer.getPaymentMethod().getId()),
-                                    shortOfferId);
-                            MobileMessage message = new MobileMessage(Res.get("account.notifications.marketAlert.message.title"),
-                                    msg,
-                                    shortOfferId,
-                                    MobileMessageType.MARKET);
-                            try {
-                                boolean wasSent = mobileNotificationService.sendMessage(message);
-                                if (wasSent) {
-                                    // In case we have disabled alerts wasSent is false and we do not
-                                    // persist the offer
-                                    marketAlertFilter.addAlertId(alertId);
-                                    user.requestPersistence();
-                                }
-                            } catch (Exception e) {
-                                e.printStackTrace();
-                            }
-                        }
-                    });
+        if (marketPrice == null || offerPrice == null) {
+            return;
+        }
+
+        double ratio = getRatio(offer, offerPrice, marketPrice);
+        String alertId = getAlertId(offer);
+        List<MarketAlertFilter> triggeredFilters = matcher.getTriggeredFilters(offer.getPaymentMethod().getId(),
+                offer.getDirection(),
+                ratio).stream()
+                .filter(marketAlertFilter -> marketAlertFilter.notContainsAlertId(alertId))
+                .collect(Collectors.toList());
+        if (triggeredFilters.isEmpty()) {
+            return;
+        }
+
+        // The message does not depend on the filter, so we send it only once if multiple filters are triggered
+        PendingAlert pendingAlert = pendingAlerts.computeIfAbsent(alertId,
+                k -> new PendingAlert(alertId, getMessage(offer, offerPrice, ratio)));
+        triggeredFilters.stream()
+                .filter(marketAlertFilter -> pendingAlert.filters.stream().noneMatch(e -> e == marketAlertFilter))
+                .forEach(pendingAlert.filters::add);
+
+        // Offers are mostly added in bursts (e.g. at startup or after reconnecting), so we collect the alerts for a
+        // short time and send them as one notification
+        if (sendPendingAlertsTimer == null) {
+            sendPendingAlertsTimer = UserThread.runAfter(this::sendPendingAlerts, SEND_ALERTS_DELAY_SEC);
+        }
+    }
+
+    // Distance of the offer price to the market price (100 for 1.00%). Positive if the price is better than the
+    // market price for the taker of the offer.
+    private static double getRatio(Offer offer, Price offerPrice, MarketPrice marketPrice) {
+        String currencyCode = offer.getCurrencyCode();
+        boolean isSellOffer = offer.getDirection() == OfferPayload.Direction.SELL;
+        boolean isFiatCurrency = CurrencyUtil.isFiatCurrency(currencyCode);
+        int precision = CurrencyUtil.isCryptoCurrency(currencyCode) ?
+                Altcoin.SMALLEST_UNIT_EXPONENT :
+                Fiat.SMALLEST_UNIT_EXPONENT;
+        double marketPriceAsDouble = MathUtils.scaleUpByPowerOf10(marketPrice.getPrice(), precision);
+        double offerPriceValue = offerPrice.getValue();
+        double ratio = offerPriceValue / marketPriceAsDouble;
+        ratio = 1 - ratio;
+        if (isFiatCurrency && isSellOffer)
+            ratio *= -1;
+        else if (!isFiatCurrency && !isSellOffer)
+            ratio *= -1;
+
+        return ratio * 10000;
+    }
+
+    private static MobileMessage getMessage(Offer offer, Price offerPrice, double ratio) {
+        String currencyCode = offer.getCurrencyCode();
+        boolean isSellOffer = offer.getDirection() == OfferPayload.Direction.SELL;
+        boolean isFiatCurrency = CurrencyUtil.isFiatCurrency(currencyCode);
+        String shortOfferId = offer.getShortId();
+        String direction = isSellOffer ? Res.get("shared.sell") : Res.get("shared.buy");
+        String marketDir;
+        if (isFiatCurrency) {
+            if (isSellOffer) {
+                marketDir = ratio > 0 ?
+                        Res.get("account.notifications.marketAlert.message.msg.above") :
+                        Res.get("account.notifications.marketAlert.message.msg.below");
+            } else {
+                marketDir = ratio < 0 ?
+                        Res.get("account.notifications.marketAlert.message.msg.above") :
+                        Res.get("account.notifications.marketAlert.message.msg.below");
+            }
+        } else {
+            if (isSellOffer) {
+                marketDir = ratio < 0 ?
+                        Res.get("account.notifications.marketAlert.message.msg.above") :
+                        Res.get("account.notifications.marketAlert.message.msg.below");
+            } else {
+                marketDir = ratio > 0 ?
+                        Res.get("account.notifications.marketAlert.message.msg.above") :
+                        Res.get("account.notifications.marketAlert.message.msg.below");
+            }
         }
+
+        String msg = Res.get("account.notifications.marketAlert.message.msg",
+                direction,
+                CurrencyUtil.getCurrencyPair(currencyCode),
+                FormattingUtils.formatPrice(offerPrice),
+                FormattingUtils.formatToPercentWithSymbol(Math.abs(ratio) / 10000d),
+                marketDir,
+                Res.get(offer.getPaymentMethod().getId()),
+                shortOfferId);
+        return new MobileMessage(Res.get("account.notifications.marketAlert.message.title"),
+                msg,
+                shortOfferId,
+                MobileMessageType.MARKET);
+    }
+
+    private void sendPendingAlerts() {
+        sendPendingAlertsTimer = null;
+        // If a notification is in progress the next one gets sent when it has completed
+        if (pendingAlerts.isEmpty() || sendInProgress) {
+            return;
+        }
+
+        if (!mobileNotificationService.isEnabled(MobileMessageType.MARKET)) {
+            pendingAlerts.clear();
+            return;
+        }
+
+        // The notification lists the first alerts and only counts the others. We mark only the listed alerts as
+        // sent, the others get listed in the next notification.
+        List<PendingAlert> alerts = new ArrayList<>(pendingAlerts.values());
+        List<PendingAlert> listedAlerts = new ArrayList<>(alerts.subList(0,
+                Math.min(alerts.size(), MobileNotificationService.MAX_MESSAGES_PER_NOTIFICATION)));
+        try {
+            sendInProgress = mobileNotificationService.sendMessages(alerts.stream()
+                            .map(pendingAlert -> pendingAlert.message)
+                            .collect(Collectors.toList()),
+                    result -> onAlertsSent(listedAlerts),
+                    throwable -> onSendAlertsFailed(throwable));
+        } catch (Exception e) {
+            e.printStackTrace();
+            pendingAlerts.clear();
+            return;
+        }
+
+        if (!sendInProgress) {
+            // Another notification is still in progress, so we keep the alerts and try again later
+            sendPendingAlertsTimer = UserThread.runAfter(this::sendPendingAlerts, RETRY_SEND_ALERTS_DELAY_SEC);
+        }
+    }
+
+    private void onAlertsSent(List<PendingAlert> listedAlerts) {
+        sendInProgress = false;
+        listedAlerts.forEach(pendingAlert -> {
+            pendingAlerts.remove(pendingAlert.alertId);
+            pendingAlert.filters.forEach(marketAlertFilter -> marketAlertFilter.addAlertId(pendingAlert.alertId));
+        });
+        user.requestPersistence();
+        sendPendingAlerts();
+    }
+
+    private void onSendAlertsFailed(Throwable throwable) {
+        sendInProgress = false;
+        log.error("Sending market alerts failed. throwable={}", throwable.toString());
+        // We do not mark the alerts as sent, so they get sent again when we receive the offers the next time
+        pendingAlerts.clear();
     }
 
     public static MobileMessage getTestMsg() {
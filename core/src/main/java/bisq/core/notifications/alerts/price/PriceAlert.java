@@ -35,8 +35,12 @@ import org.bitcoinj.utils.Fiat;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import java.util.Objects;
+
 import lombok.extern.slf4j.Slf4j;
 
+import javax.annotation.Nullable;
+
 @Slf4j
 @Singleton
 public class PriceAlert {
@@ -44,6 +48,12 @@ public class PriceAlert {
     private final MobileNotificationService mobileNotificationService;
     private final User user;
 
+    // The price feed updates all currencies at once, but we only need to check the filter if its market price changed
+    @Nullable
+    private PriceAlertFilter lastCheckedFilter;
+    @Nullable
+    private MarketPrice lastCheckedMarketPrice;
+
     @Inject
     public PriceAlert(PriceFeedService priceFeedService, MobileNotificationService mobileNotificationService, User user) {
         this.priceFeedService = priceFeedService;
@@ -60,6 +70,12 @@ public class PriceAlert {
             PriceAlertFilter filter = user.getPriceAlertFilter();
             String currencyCode = filter.getCurrencyCode();
             MarketPrice marketPrice = priceFeedService.getMarketPrice(currencyCode);
+            if (filter.equals(lastCheckedFilter) && Objects.equals(marketPrice, lastCheckedMarketPrice)) {
+                return;
+            }
+
+            lastCheckedFilter = filter;
+            lastCheckedMarketPrice = marketPrice;
             if (marketPrice != null) {
                 int exp = CurrencyUtil.isCryptoCurrency(currencyCode) ? Altcoin.SMALLEST_UNIT_EXPONENT : Fiat.SMALLEST_UNIT_EXPONENT;
                 double priceAsDouble = marketPrice.getPrice();
@@ -83,6 +99,8 @@ public class PriceAlert {
                         log.error(e.toString());
                         e.printStackTrace();
                     }
+                    // A new filter with the same values must be checked again
+                    lastCheckedFilter = null;
                 }
             }
         }
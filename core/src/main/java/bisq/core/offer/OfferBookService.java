@@ -23,6 +23,7 @@ import bisq.core.provider.price.PriceFeedService;
 
 import bisq.network.p2p.BootstrapListener;
 import bisq.network.p2p.P2PService;
+import bisq.network.p2p.peers.BroadcastHandler;
 import bisq.network.p2p.storage.HashMapChangedListener;
 import bisq.network.p2p.storage.payload.ProtectedStorageEntry;
 
@@ -42,6 +43,7 @@ import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -137,12 +139,23 @@ public class OfferBookService {
     ///////////////////////////////////////////////////////////////////////////////////////////
 
     public void addOffer(Offer offer, ResultHandler resultHandler, ErrorMessageHandler errorMessageHandler) {
+        addOffer(offer, null, resultHandler, errorMessageHandler);
+    }
+
+    /**
+     * @param broadcastListener Gets notified once the broadcast of the offer has completed. Only called if the offer
+     *                          was added successfully.
+     */
+    public void addOffer(Offer offer,
+                         @Nullable BroadcastHandler.Listener broadcastListener,
+                         ResultHandler resultHandler,
+                         ErrorMessageHandler errorMessageHandler) {
         if (filterManager.requireUpdateToNewVersionForTrading()) {
             errorMessageHandler.handleErrorMessage(Res.get("popup.warning.mandatoryUpdate.trading"));
             return;
         }
 
-        boolean result = p2PService.addProtectedStorageEntry(offer.getOfferPayload());
+        boolean result = p2PService.addProtectedStorageEntry(offer.getOfferPayload(), broadcastListener);
         if (result) {
             resultHandler.handleResult();
         } else {
@@ -166,6 +179,23 @@ public class OfferBookService {
         }
     }
 
+    /**
+     * Refreshes the TTL of many offers at once. The signing is done in parallel and peers supporting it receive the
+     * refreshes bundled in one message.
+     *
+     * @param resultHandler called with the number of successfully refreshed offers
+     */
+    public void refreshTTL(List<OfferPayload> offerPayloads,
+                           Consumer<Integer> resultHandler,
+                           ErrorMessageHandler errorMessageHandler) {
+        if (filterManager.requireUpdateToNewVersionForTrading()) {
+            errorMessageHandler.handleErrorMessage(Res.get("popup.warning.mandatoryUpdate.trading"));
+            return;
+        }
+
+        p2PService.refreshTTL(offerPayloads, resultHandler, errorMessageHandler);
+    }
+
     public void activateOffer(Offer offer,
                               @Nullable ResultHandler resultHandler,
                               @Nullable ErrorMessageHandler errorMessageHandler) {
@@ -0,0 +1,145 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.offer;
+
+import bisq.common.Timer;
+import bisq.common.UserThread;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Republishes a list of offers with a bounded number of offers in flight. An offer is in flight from adding it to
+ * the P2P network until its broadcast has completed. With that the time for republishing many offers depends on the
+ * throughput of the broadcasts and not on a fixed delay per offer, while we still do not flood our peers.
+ *
+ * Expected to be used from the UserThread.
+ */
+@Slf4j
+class OfferRepublisher {
+    interface Publisher {
+        // The completeHandler is called once the broadcast has completed or if publishing failed
+        void publish(OpenOffer openOffer, Runnable completeHandler);
+    }
+
+    // An offer which does not complete in that time does not count as in flight anymore. Protects against
+    // broadcasts which get cancelled without notifying their listeners, e.g. if all connections are lost.
+    private static final long IN_FLIGHT_TIMEOUT_SEC = 30;
+
+    private final Deque<OpenOffer> pendingOffers;
+    private final int maxInFlight;
+    private final Predicate<OpenOffer> isStillToRepublish;
+    private final Publisher publisher;
+    private final Runnable completeHandler;
+
+    private int numInFlight;
+    private boolean stopped;
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Constructor
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @param openOffers         The offers to republish in that order
+     * @param maxInFlight        Max. number of offers in flight
+     * @param isStillToRepublish Checked for each offer before publishing, as the offer might have been removed or
+     *                           deactivated in the meantime
+     * @param publisher          Publishes a single offer
+     * @param completeHandler    Called once all offers are published
+     */
+    OfferRepublisher(Collection<OpenOffer> openOffers,
+                     int maxInFlight,
+                     Predicate<OpenOffer> isStillToRepublish,
+                     Publisher publisher,
+                     Runnable completeHandler) {
+        this.pendingOffers = new ArrayDeque<>(openOffers);
+        this.maxInFlight = maxInFlight;
+        this.isStillToRepublish = isStillToRepublish;
+        this.publisher = publisher;
+        this.completeHandler = completeHandler;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    void start() {
+        publishNext();
+    }
+
+    void stop() {
+        stopped = true;
+        pendingOffers.clear();
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private void publishNext() {
+        while (!stopped && numInFlight < maxInFlight && !pendingOffers.isEmpty()) {
+            OpenOffer openOffer = pendingOffers.poll();
+            if (isStillToRepublish.test(openOffer)) {
+                numInFlight++;
+                new InFlightOffer().publish(openOffer);
+            }
+        }
+
+        if (!stopped && numInFlight == 0 && pendingOffers.isEmpty()) {
+            stopped = true;
+            completeHandler.run();
+        }
+    }
+
+    private void onCompleted() {
+        numInFlight--;
+        publishNext();
+    }
+
+    private class InFlightOffer {
+        private Timer timeoutTimer;
+        private boolean completed;
+
+        private void publish(OpenOffer openOffer) {
+            timeoutTimer = UserThread.runAfter(() -> {
+                log.info("Broadcast of offer {} did not complete in time. We continue with the next offer.",
+                        openOffer.getId());
+                complete();
+            }, IN_FLIGHT_TIMEOUT_SEC, TimeUnit.SECONDS);
+            publisher.publish(openOffer, this::complete);
+        }
+
+        private void complete() {
+            if (completed) {
+                return;
+            }
+
+            completed = true;
+            timeoutTimer.stop();
+            onCompleted();
+        }
+    }
+}
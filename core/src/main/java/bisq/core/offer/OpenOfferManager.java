@@ -49,6 +49,7 @@ import bisq.network.p2p.DecryptedMessageWithPubKey;
 import bisq.network.p2p.NodeAddress;
 import bisq.network.p2p.P2PService;
 import bisq.network.p2p.SendDirectMessageListener;
+import bisq.network.p2p.peers.BroadcastHandler;
 import bisq.network.p2p.peers.Broadcaster;
 import bisq.network.p2p.peers.PeerManager;
 
@@ -100,6 +101,8 @@ public class OpenOfferManager implements PeerManager.Listener, DecryptedDirectMe
     private static final long REPUBLISH_AGAIN_AT_STARTUP_DELAY_SEC = 30;
     private static final long REPUBLISH_INTERVAL_MS = TimeUnit.MINUTES.toMillis(40);
     private static final long REFRESH_INTERVAL_MS = TimeUnit.MINUTES.toMillis(6);
+    // Max. number of offers which are republished but not yet broadcast
+    private static final int MAX_REPUBLISH_IN_FLIGHT = 20;
 
     private final CreateOfferService createOfferService;
     private final KeyRing keyRing;
@@ -124,6 +127,8 @@ public class OpenOfferManager implements PeerManager.Listener, DecryptedDirectMe
     private final TradableList<OpenOffer> openOffers = new TradableList<>();
     private boolean stopped;
     private Timer periodicRepublishOffersTimer, periodicRefreshOffersTimer, retryRepublishOffersTimer;
+    @Nullable
+    private OfferRepublisher offerRepublisher;
     @Getter
     private final ObservableList<Tuple2<OpenOffer, String>> invalidOffers = FXCollections.observableArrayList();
 
@@ -226,6 +231,7 @@ public class OpenOfferManager implements PeerManager.Listener, DecryptedDirectMe
         stopPeriodicRefreshOffersTimer();
         stopPeriodicRepublishOffersTimer();
         stopRetryRepublishOffersTimer();
+        stopOfferRepublisher();
 
         // we remove own offers from offerbook when we go offline
         // Normally we use a delay for broadcasting to the peers, but at shut down we want to get it fast out
@@ -336,6 +342,7 @@ public class OpenOfferManager implements PeerManager.Listener, DecryptedDirectMe
         stopPeriodicRefreshOffersTimer();
         stopPeriodicRepublishOffersTimer();
         stopRetryRepublishOffersTimer();
+        stopOfferRepublisher();
 
         restart();
     }
@@ -890,31 +897,16 @@ public class OpenOfferManager implements PeerManager.Listener, DecryptedDirectMe
         }
 
         stopPeriodicRefreshOffersTimer();
-
-        List<OpenOffer> openOffersList = new ArrayList<>(openOffers.getList());
-        processListForRepublishOffers(openOffersList);
-    }
-
-    private void processListForRepublishOffers(List<OpenOffer> list) {
-        if (list.isEmpty()) {
-            return;
-        }
-
-        OpenOffer openOffer = list.remove(0);
-        if (openOffers.contains(openOffer) && !openOffer.isDeactivated()) {
-            // TODO It is not clear yet if it is better for the node and the network to send out all add offer
-            //  messages in one go or to spread it over a delay. With power users who have 100-200 offers that can have
-            //  some significant impact to user experience and the network
-            republishOffer(openOffer, () -> processListForRepublishOffers(list));
-
-           /* republishOffer(openOffer,
-                    () -> UserThread.runAfter(() -> processListForRepublishOffers(list),
-                            30, TimeUnit.MILLISECONDS));*/
-        } else {
-            // If the offer was removed in the meantime or if its deactivated we skip and call
-            // processListForRepublishOffers again with the list where we removed the offer already.
-            processListForRepublishOffers(list);
-        }
+        stopOfferRepublisher();
+
+        // We keep a bounded number of offers in flight, so the time for republishing depends on the throughput of
+        // the broadcasts. If the offer was removed in the meantime or if its deactivated we skip it.
+        offerRepublisher = new OfferRepublisher(new ArrayList<>(openOffers.getList()),
+                MAX_REPUBLISH_IN_FLIGHT,
+                openOffer -> openOffers.contains(openOffer) && !openOffer.isDeactivated(),
+                this::republishOffer,
+                () -> offerRepublisher = null);
+        offerRepublisher.start();
     }
 
     private void republishOffer(OpenOffer openOffer) {
@@ -922,16 +914,26 @@ public class OpenOfferManager implements PeerManager.Listener, DecryptedDirectMe
     }
 
     private void republishOffer(OpenOffer openOffer, @Nullable Runnable completeHandler) {
+        // The completeHandler is called once the broadcast has completed, or at once if adding the offer failed
+        BroadcastHandler.Listener broadcastListener = completeHandler == null ? null : new BroadcastHandler.Listener() {
+            @Override
+            public void onSufficientlyBroadcast(List<Broadcaster.BroadcastRequest> broadcastRequests) {
+                completeHandler.run();
+            }
+
+            @Override
+            public void onNotSufficientlyBroadcast(int numOfCompletedBroadcasts, int numOfFailedBroadcast) {
+                completeHandler.run();
+            }
+        };
         offerBookService.addOffer(openOffer.getOffer(),
+                broadcastListener,
                 () -> {
                     if (!stopped) {
                         // Refresh means we send only the data needed to refresh the TTL (hash, signature and sequence no.)
                         if (periodicRefreshOffersTimer == null) {
                             startPeriodicRefreshOffersTimer();
                         }
-                        if (completeHandler != null) {
-                            completeHandler.run();
-                        }
                     }
                 },
                 errorMessage -> {
@@ -940,10 +942,10 @@ public class OpenOfferManager implements PeerManager.Listener, DecryptedDirectMe
                         stopRetryRepublishOffersTimer();
                         retryRepublishOffersTimer = UserThread.runAfter(OpenOfferManager.this::republishOffers,
                                 RETRY_REPUBLISH_DELAY_SEC);
+                    }
 
-                        if (completeHandler != null) {
-                            completeHandler.run();
-                        }
+                    if (completeHandler != null) {
+                        completeHandler.run();
                     }
                 });
     }
@@ -967,23 +969,7 @@ public class OpenOfferManager implements PeerManager.Listener, DecryptedDirectMe
         if (periodicRefreshOffersTimer == null)
             periodicRefreshOffersTimer = UserThread.runPeriodically(() -> {
                         if (!stopped) {
-                            int size = openOffers.size();
-                            //we clone our list as openOffers might change during our delayed call
-                            final ArrayList<OpenOffer> openOffersList = new ArrayList<>(openOffers.getList());
-                            for (int i = 0; i < size; i++) {
-                                // we delay to avoid reaching throttle limits
-                                // roughly 4 offers per second
-
-                                long delay = 300;
-                                final long minDelay = (i + 1) * delay;
-                                final long maxDelay = (i + 2) * delay;
-                                final OpenOffer openOffer = openOffersList.get(i);
-                                UserThread.runAfterRandomDelay(() -> {
-                                    // we need to check if in the meantime the offer has been removed
-                                    if (openOffers.contains(openOffer) && !openOffer.isDeactivated())
-                                        refreshOffer(openOffer);
-                                }, minDelay, maxDelay, TimeUnit.MILLISECONDS);
-                            }
+                            refreshOffers();
                         } else {
                             log.debug("We have stopped already. We ignore that periodicRefreshOffersTimer.run call.");
                         }
@@ -994,9 +980,19 @@ public class OpenOfferManager implements PeerManager.Listener, DecryptedDirectMe
             log.trace("periodicRefreshOffersTimer already stated");
     }
 
-    private void refreshOffer(OpenOffer openOffer) {
-        offerBookService.refreshTTL(openOffer.getOffer().getOfferPayload(),
-                () -> log.debug("Successful refreshed TTL for offer"),
+    private void refreshOffers() {
+        // All refreshes are signed in parallel and sent in one message to peers supporting it, so we do not need to
+        // spread them over time anymore.
+        List<OfferPayload> offerPayloads = openOffers.getList().stream()
+                .filter(openOffer -> !openOffer.isDeactivated())
+                .map(openOffer -> openOffer.getOffer().getOfferPayload())
+                .collect(Collectors.toList());
+        if (offerPayloads.isEmpty()) {
+            return;
+        }
+
+        offerBookService.refreshTTL(offerPayloads,
+                numRefreshed -> log.debug("Successful refreshed TTL for {} of {} offers", numRefreshed, offerPayloads.size()),
                 log::warn);
     }
 
@@ -1041,4 +1037,11 @@ public class OpenOfferManager implements PeerManager.Listener, DecryptedDirectMe
             retryRepublishOffersTimer = null;
         }
     }
+
+    private void stopOfferRepublisher() {
+        if (offerRepublisher != null) {
+            offerRepublisher.stop();
+            offerRepublisher = null;
+        }
+    }
 }
@@ -0,0 +1,84 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.offer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Open offers with a trigger price of a single currency, sorted by their trigger price. Offers which get triggered
+ * if the market price falls below the trigger price and offers which get triggered if it rises above the trigger
+ * price are kept in separate maps, so for a price update we only visit the offers whose trigger price was crossed.
+ * Offers are keyed by their ID as the hashCode of OpenOffer changes with its state.
+ *
+ * Not thread safe. Expected to be used from the UserThread.
+ */
+class TriggerPriceIndex {
+    private final NavigableMap<Long, Map<String, OpenOffer>> triggeredBelow = new TreeMap<>();
+    private final NavigableMap<Long, Map<String, OpenOffer>> triggeredAbove = new TreeMap<>();
+    private int size;
+
+    /**
+     * @return false if the offer has no trigger price and therefore is not indexed
+     */
+    boolean add(OpenOffer openOffer) {
+        long triggerPrice = openOffer.getTriggerPrice();
+        if (triggerPrice <= 0) {
+            return false;
+        }
+
+        if (getMap(openOffer).computeIfAbsent(triggerPrice, k -> new HashMap<>()).put(openOffer.getId(), openOffer) == null) {
+            size++;
+        }
+        return true;
+    }
+
+    void remove(OpenOffer openOffer) {
+        NavigableMap<Long, Map<String, OpenOffer>> map = getMap(openOffer);
+        Map<String, OpenOffer> openOffers = map.get(openOffer.getTriggerPrice());
+        if (openOffers != null && openOffers.remove(openOffer.getId()) != null) {
+            size--;
+            if (openOffers.isEmpty()) {
+                map.remove(openOffer.getTriggerPrice());
+            }
+        }
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @param marketPriceAsLong Market price scaled to the smallest unit of the currency
+     * @return All offers whose trigger price is crossed by the market price. Includes deactivated offers.
+     */
+    List<OpenOffer> getTriggeredOffers(long marketPriceAsLong) {
+        List<OpenOffer> result = new ArrayList<>();
+        triggeredBelow.tailMap(marketPriceAsLong, false).values().forEach(openOffers -> result.addAll(openOffers.values()));
+        triggeredAbove.headMap(marketPriceAsLong, false).values().forEach(openOffers -> result.addAll(openOffers.values()));
+        return result;
+    }
+
+    private NavigableMap<Long, Map<String, OpenOffer>> getMap(OpenOffer openOffer) {
+        return TriggerPriceService.isTriggeredBelowTriggerPrice(openOffer) ? triggeredBelow : triggeredAbove;
+    }
+}
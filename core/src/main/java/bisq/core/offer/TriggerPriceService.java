@@ -36,11 +36,8 @@ import javax.inject.Singleton;
 import javafx.collections.ListChangeListener;
 
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.Set;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -53,7 +50,8 @@ public class TriggerPriceService {
     private final P2PService p2PService;
     private final OpenOfferManager openOfferManager;
     private final PriceFeedService priceFeedService;
-    private final Map<String, Set<OpenOffer>> openOffersByCurrency = new HashMap<>();
+    // Only open offers with a trigger price are indexed
+    private final Map<String, TriggerPriceIndex> triggerPriceIndexByCurrency = new HashMap<>();
 
     @Inject
     public TriggerPriceService(P2PService p2PService,
@@ -79,12 +77,13 @@ public class TriggerPriceService {
 
     private void onBootstrapComplete() {
         openOfferManager.getObservableList().addListener((ListChangeListener<OpenOffer>) c -> {
-            c.next();
-            if (c.wasAdded()) {
-                onAddedOpenOffers(c.getAddedSubList());
-            }
-            if (c.wasRemoved()) {
-                onRemovedOpenOffers(c.getRemoved());
+            while (c.next()) {
+                if (c.wasRemoved()) {
+                    onRemovedOpenOffers(c.getRemoved());
+                }
+                if (c.wasAdded()) {
+                    onAddedOpenOffers(c.getAddedSubList());
+                }
             }
         });
         onAddedOpenOffers(openOfferManager.getObservableList());
@@ -94,15 +93,17 @@ public class TriggerPriceService {
     }
 
     private void onPriceFeedChanged() {
-        openOffersByCurrency.keySet().stream()
-                .map(priceFeedService::getMarketPrice)
-                .filter(Objects::nonNull)
-                .filter(marketPrice -> openOffersByCurrency.containsKey(marketPrice.getCurrencyCode()))
-                .forEach(marketPrice -> {
-                    openOffersByCurrency.get(marketPrice.getCurrencyCode()).stream()
-                            .filter(openOffer -> !openOffer.isDeactivated())
-                            .forEach(openOffer -> checkPriceThreshold(marketPrice, openOffer));
-                });
+        // We only visit the offers whose trigger price got crossed. The final check is still done by wasTriggered.
+        triggerPriceIndexByCurrency.forEach((currencyCode, triggerPriceIndex) -> {
+            MarketPrice marketPrice = priceFeedService.getMarketPrice(currencyCode);
+            if (marketPrice == null) {
+                return;
+            }
+
+            triggerPriceIndex.getTriggeredOffers(getMarketPriceAsLong(marketPrice, currencyCode)).stream()
+                    .filter(openOffer -> !openOffer.isDeactivated())
+                    .forEach(openOffer -> checkPriceThreshold(marketPrice, openOffer));
+        });
     }
 
     public static boolean wasTriggered(MarketPrice marketPrice, OpenOffer openOffer) {
@@ -111,26 +112,32 @@ public class TriggerPriceService {
             return false;
         }
 
-        String currencyCode = openOffer.getOffer().getCurrencyCode();
-        boolean cryptoCurrency = CurrencyUtil.isCryptoCurrency(currencyCode);
-        int smallestUnitExponent = cryptoCurrency ?
-                Altcoin.SMALLEST_UNIT_EXPONENT :
-                Fiat.SMALLEST_UNIT_EXPONENT;
-        long marketPriceAsLong = roundDoubleToLong(
-                scaleUpByPowerOf10(marketPrice.getPrice(), smallestUnitExponent));
+        long marketPriceAsLong = getMarketPriceAsLong(marketPrice, openOffer.getOffer().getCurrencyCode());
         long triggerPrice = openOffer.getTriggerPrice();
         if (triggerPrice <= 0) {
             return false;
         }
 
-        OfferPayload.Direction direction = openOffer.getOffer().getDirection();
-        boolean isSellOffer = direction == OfferPayload.Direction.SELL;
-        boolean condition = isSellOffer && !cryptoCurrency || !isSellOffer && cryptoCurrency;
-        return condition ?
+        return isTriggeredBelowTriggerPrice(openOffer) ?
                 marketPriceAsLong < triggerPrice :
                 marketPriceAsLong > triggerPrice;
     }
 
+    // Sell offers of fiat and buy offers of altcoins get triggered if the market price falls below the trigger price,
+    // the others if it rises above.
+    static boolean isTriggeredBelowTriggerPrice(OpenOffer openOffer) {
+        boolean cryptoCurrency = CurrencyUtil.isCryptoCurrency(openOffer.getOffer().getCurrencyCode());
+        boolean isSellOffer = openOffer.getOffer().getDirection() == OfferPayload.Direction.SELL;
+        return isSellOffer && !cryptoCurrency || !isSellOffer && cryptoCurrency;
+    }
+
+    private static long getMarketPriceAsLong(MarketPrice marketPrice, String currencyCode) {
+        int smallestUnitExponent = CurrencyUtil.isCryptoCurrency(currencyCode) ?
+                Altcoin.SMALLEST_UNIT_EXPONENT :
+                Fiat.SMALLEST_UNIT_EXPONENT;
+        return roundDoubleToLong(scaleUpByPowerOf10(marketPrice.getPrice(), smallestUnitExponent));
+    }
+
     private void checkPriceThreshold(MarketPrice marketPrice, OpenOffer openOffer) {
         if (wasTriggered(marketPrice, openOffer)) {
             String currencyCode = openOffer.getOffer().getCurrencyCode();
@@ -158,10 +165,17 @@ public class TriggerPriceService {
     private void onAddedOpenOffers(List<? extends OpenOffer> openOffers) {
         openOffers.forEach(openOffer -> {
             String currencyCode = openOffer.getOffer().getCurrencyCode();
-            openOffersByCurrency.putIfAbsent(currencyCode, new HashSet<>());
-            openOffersByCurrency.get(currencyCode).add(openOffer);
+            TriggerPriceIndex triggerPriceIndex = triggerPriceIndexByCurrency.computeIfAbsent(currencyCode,
+                    k -> new TriggerPriceIndex());
+            if (!triggerPriceIndex.add(openOffer)) {
+                // No trigger price set
+                if (triggerPriceIndex.isEmpty()) {
+                    triggerPriceIndexByCurrency.remove(currencyCode);
+                }
+                return;
+            }
 
-            MarketPrice marketPrice = priceFeedService.getMarketPrice(openOffer.getOffer().getCurrencyCode());
+            MarketPrice marketPrice = priceFeedService.getMarketPrice(currencyCode);
             if (marketPrice != null) {
                 checkPriceThreshold(marketPrice, openOffer);
             }
@@ -171,11 +185,11 @@ public class TriggerPriceService {
     private void onRemovedOpenOffers(List<? extends OpenOffer> openOffers) {
         openOffers.forEach(openOffer -> {
             String currencyCode = openOffer.getOffer().getCurrencyCode();
-            if (openOffersByCurrency.containsKey(currencyCode)) {
-                Set<OpenOffer> set = openOffersByCurrency.get(currencyCode);
-                set.remove(openOffer);
-                if (set.isEmpty()) {
-                    openOffersByCurrency.remove(currencyCode);
+            TriggerPriceIndex triggerPriceIndex = triggerPriceIndexByCurrency.get(currencyCode);
+            if (triggerPriceIndex != null) {
+                triggerPriceIndex.remove(openOffer);
+                if (triggerPriceIndex.isEmpty()) {
+                    triggerPriceIndexByCurrency.remove(currencyCode);
                 }
             }
         });
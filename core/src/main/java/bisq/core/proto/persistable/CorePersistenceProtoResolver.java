@@ -62,6 +62,8 @@ import javax.inject.Singleton;
 
 import lombok.extern.slf4j.Slf4j;
 
+import javax.annotation.Nullable;
+
 // TODO Use ProtobufferException instead of ProtobufferRuntimeException
 @Slf4j
 @Singleton
@@ -147,4 +149,26 @@ public class CorePersistenceProtoResolver extends CoreProtoResolver implements P
             throw new ProtobufferRuntimeException("PB.PersistableEnvelope is null");
         }
     }
+
+    // Large list and map shaped stores get decoded entry by entry
+    @Nullable
+    @Override
+    public StreamDecoder getStreamDecoder(protobuf.PersistableEnvelope.MessageCase messageCase) {
+        switch (messageCase) {
+            case TRADABLE_LIST:
+                return input -> TradableList.fromProto(input, this, btcWalletService.get());
+            case ACCOUNT_AGE_WITNESS_STORE:
+                return AccountAgeWitnessStore::fromProto;
+            case DAO_STATE_STORE:
+                return DaoStateStore::fromProto;
+            case SIGNED_WITNESS_STORE:
+                return SignedWitnessStore::fromProto;
+            case TRADE_STATISTICS3_STORE:
+                return TradeStatistics3Store::fromProto;
+            case MAILBOX_MESSAGE_LIST:
+                return input -> MailboxMessageList.fromProto(input, networkProtoResolver);
+            default:
+                return null;
+        }
+    }
 }
@@ -19,6 +19,7 @@ package bisq.core.provider.price;
 
 import bisq.core.provider.HttpClientProvider;
 
+import bisq.network.http.ConditionalGetResponse;
 import bisq.network.http.HttpClient;
 import bisq.network.p2p.P2PService;
 
@@ -38,10 +39,18 @@ import java.util.Map;
 
 import lombok.extern.slf4j.Slf4j;
 
+import javax.annotation.Nullable;
+
 @Slf4j
 public class PriceProvider extends HttpClientProvider {
 
     private boolean shutDownRequested;
+    // ETag and result of the last response. The pricenode answers with 304 Not Modified if the data is unchanged, so we
+    // do not download the full data again over Tor.
+    @Nullable
+    private String eTag;
+    @Nullable
+    private Tuple2<Map<String, Long>, Map<String, MarketPrice>> lastResult;
 
     // Do not use Guice here as we might create multiple instances
     public PriceProvider(HttpClient httpClient, String baseUrl) {
@@ -58,9 +67,14 @@ public class PriceProvider extends HttpClientProvider {
         if (P2PService.getMyNodeAddress() != null)
             hsVersion = P2PService.getMyNodeAddress().getHostName().length() > 22 ? ", HSv3" : ", HSv2";
 
-        String json = httpClient.get("getAllMarketPrices", "User-Agent", "bisq/"
-                + Version.VERSION + hsVersion);
+        ConditionalGetResponse response = httpClient.getIfNoneMatch("getAllMarketPrices", "User-Agent", "bisq/"
+                + Version.VERSION + hsVersion, lastResult != null ? eTag : null);
+        if (response.isNotModified() && lastResult != null) {
+            log.debug("Market prices at {} did not change since last request", getBaseUrl());
+            return new Tuple2<>(new HashMap<>(lastResult.first), new HashMap<>(lastResult.second));
+        }
 
+        String json = response.getBody();
 
         LinkedTreeMap<?, ?> map = new Gson().fromJson(json, LinkedTreeMap.class);
         Map<String, Long> tsMap = new HashMap<>();
@@ -83,6 +97,8 @@ public class PriceProvider extends HttpClientProvider {
             }
 
         });
+        eTag = response.getETag();
+        lastResult = new Tuple2<>(new HashMap<>(tsMap), new HashMap<>(marketPriceMap));
         return new Tuple2<>(tsMap, marketPriceMap);
     }
 
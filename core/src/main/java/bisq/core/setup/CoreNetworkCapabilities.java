@@ -41,7 +41,9 @@ public class CoreNetworkCapabilities {
                 Capability.REFUND_AGENT,
                 Capability.TRADE_STATISTICS_HASH_UPDATE,
                 Capability.NO_ADDRESS_PRE_FIX,
-                Capability.TRADE_STATISTICS_3
+                Capability.TRADE_STATISTICS_3,
+                Capability.REFRESH_OFFERS_MESSAGE,
+                Capability.GET_DATA_CHUNKS
         );
 
         if (config.daoActivated) {
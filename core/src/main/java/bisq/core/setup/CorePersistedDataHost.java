@@ -42,46 +42,45 @@ import bisq.network.p2p.storage.P2PDataStorage;
 import bisq.network.p2p.storage.persistence.RemovedPayloadsService;
 
 import bisq.common.config.Config;
-import bisq.common.proto.persistable.PersistedDataHost;
 
 import com.google.inject.Injector;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class CorePersistedDataHost {
 
-    // All classes which are persisting objects need to be added here
-    public static List<PersistedDataHost> getPersistedDataHosts(Injector injector) {
-        List<PersistedDataHost> persistedDataHosts = new ArrayList<>();
-        persistedDataHosts.add(injector.getInstance(Preferences.class));
-        persistedDataHosts.add(injector.getInstance(User.class));
-        persistedDataHosts.add(injector.getInstance(AddressEntryList.class));
-        persistedDataHosts.add(injector.getInstance(OpenOfferManager.class));
-        persistedDataHosts.add(injector.getInstance(TradeManager.class));
-        persistedDataHosts.add(injector.getInstance(ClosedTradableManager.class));
-        persistedDataHosts.add(injector.getInstance(FailedTradesManager.class));
-        persistedDataHosts.add(injector.getInstance(ArbitrationDisputeListService.class));
-        persistedDataHosts.add(injector.getInstance(MediationDisputeListService.class));
-        persistedDataHosts.add(injector.getInstance(RefundDisputeListService.class));
-        persistedDataHosts.add(injector.getInstance(P2PDataStorage.class));
-        persistedDataHosts.add(injector.getInstance(PeerManager.class));
-        persistedDataHosts.add(injector.getInstance(MailboxMessageService.class));
-        persistedDataHosts.add(injector.getInstance(IgnoredMailboxService.class));
-        persistedDataHosts.add(injector.getInstance(RemovedPayloadsService.class));
+    // All classes which are persisting objects need to be added here.
+    // Hosts with HIGH priority are needed first at startup or are the largest stores, which we want to start first
+    // as they are on the critical path of the startup.
+    public static PersistedDataLoader getPersistedDataLoader(Injector injector) {
+        PersistedDataLoader loader = new PersistedDataLoader();
+        loader.add(injector.getInstance(Preferences.class), PersistedDataLoader.Priority.HIGH);
+        // User requires the locale which is applied from the preferences
+        loader.add(injector.getInstance(User.class), PersistedDataLoader.Priority.HIGH, Preferences.class);
+        loader.add(injector.getInstance(AddressEntryList.class), PersistedDataLoader.Priority.HIGH);
+        loader.add(injector.getInstance(OpenOfferManager.class), PersistedDataLoader.Priority.HIGH);
+        loader.add(injector.getInstance(TradeManager.class), PersistedDataLoader.Priority.HIGH);
+        loader.add(injector.getInstance(ClosedTradableManager.class), PersistedDataLoader.Priority.HIGH);
+        loader.add(injector.getInstance(FailedTradesManager.class));
+        loader.add(injector.getInstance(ArbitrationDisputeListService.class));
+        loader.add(injector.getInstance(MediationDisputeListService.class));
+        loader.add(injector.getInstance(RefundDisputeListService.class));
+        loader.add(injector.getInstance(P2PDataStorage.class));
+        loader.add(injector.getInstance(PeerManager.class));
+        loader.add(injector.getInstance(MailboxMessageService.class), PersistedDataLoader.Priority.HIGH);
+        loader.add(injector.getInstance(IgnoredMailboxService.class));
+        loader.add(injector.getInstance(RemovedPayloadsService.class));
 
         if (injector.getInstance(Config.class).daoActivated) {
-            persistedDataHosts.add(injector.getInstance(BallotListService.class));
-            persistedDataHosts.add(injector.getInstance(MyBlindVoteListService.class));
-            persistedDataHosts.add(injector.getInstance(MyVoteListService.class));
-            persistedDataHosts.add(injector.getInstance(MyProposalListService.class));
-            persistedDataHosts.add(injector.getInstance(MyReputationListService.class));
-            persistedDataHosts.add(injector.getInstance(MyProofOfBurnListService.class));
-            persistedDataHosts.add(injector.getInstance(UnconfirmedBsqChangeOutputListService.class));
+            loader.add(injector.getInstance(BallotListService.class));
+            loader.add(injector.getInstance(MyBlindVoteListService.class));
+            loader.add(injector.getInstance(MyVoteListService.class));
+            loader.add(injector.getInstance(MyProposalListService.class));
+            loader.add(injector.getInstance(MyReputationListService.class));
+            loader.add(injector.getInstance(MyProofOfBurnListService.class));
+            loader.add(injector.getInstance(UnconfirmedBsqChangeOutputListService.class));
         }
-        return persistedDataHosts;
+        return loader;
     }
 }
@@ -0,0 +1,173 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.setup;
+
+import bisq.common.UserThread;
+import bisq.common.metrics.Histogram;
+import bisq.common.metrics.Metrics;
+import bisq.common.proto.persistable.PersistedDataHost;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import lombok.extern.slf4j.Slf4j;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Reads the persisted data of all PersistedDataHosts at startup.
+ *
+ * Hosts are started in the order of their priority and only after all hosts they depend on have completed. The
+ * actual reading is done on the bounded read pool of the PersistenceManager which executes the reads in the order
+ * they got requested, so high priority hosts are not slowed down by the others.
+ * For each host we record the time from starting the read until its data got applied and log a summary once all
+ * hosts have completed.
+ *
+ * Expected to be used from the UserThread.
+ */
+@Slf4j
+public class PersistedDataLoader {
+    private static final Histogram loadDuration = Metrics.histogram("startup_persisted_data_load_seconds",
+            "Time from starting to read the persisted data of a host until the data got applied", "host");
+
+    public enum Priority {
+        // Large stores which are on the critical path of the startup or data needed first by the UI and API
+        HIGH,
+        NORMAL
+    }
+
+    private static class Task {
+        private final String name;
+        private final PersistedDataHost host;
+        private final Priority priority;
+        private final Set<Class<? extends PersistedDataHost>> dependencies;
+        private long startTs;
+        private long durationMs;
+        private boolean started;
+        private boolean completed;
+
+        private Task(PersistedDataHost host, Priority priority, Set<Class<? extends PersistedDataHost>> dependencies) {
+            this.name = host.getClass().getSimpleName();
+            this.host = host;
+            this.priority = priority;
+            this.dependencies = dependencies;
+        }
+    }
+
+    private final Map<Class<? extends PersistedDataHost>, Task> tasks = new LinkedHashMap<>();
+    private Runnable completeHandler;
+    private long startTs;
+    private int numCompleted;
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    public PersistedDataLoader add(PersistedDataHost host) {
+        return add(host, Priority.NORMAL);
+    }
+
+    @SafeVarargs
+    public final PersistedDataLoader add(PersistedDataHost host,
+                                         Priority priority,
+                                         Class<? extends PersistedDataHost>... dependencies) {
+        checkArgument(!tasks.containsKey(host.getClass()), "Host %s was already added", host.getClass().getSimpleName());
+        tasks.put(host.getClass(), new Task(host, priority, new HashSet<>(Arrays.asList(dependencies))));
+        return this;
+    }
+
+    public PersistedDataLoader addAll(List<PersistedDataHost> hosts) {
+        hosts.forEach(this::add);
+        return this;
+    }
+
+    public void load(Runnable completeHandler) {
+        tasks.values().forEach(task -> task.dependencies.forEach(dependency ->
+                checkArgument(tasks.containsKey(dependency), "Dependency %s of %s is not added",
+                        dependency.getSimpleName(), task.name)));
+
+        this.completeHandler = completeHandler;
+        startTs = System.currentTimeMillis();
+        if (tasks.isEmpty()) {
+            UserThread.execute(completeHandler);
+            return;
+        }
+
+        startReadyTasks();
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private void startReadyTasks() {
+        List<Task> readyTasks = tasks.values().stream()
+                .filter(task -> !task.started)
+                .filter(task -> task.dependencies.stream().allMatch(dependency -> tasks.get(dependency).completed))
+                .sorted(Comparator.comparing(task -> task.priority))
+                .collect(Collectors.toList());
+        if (readyTasks.isEmpty() && tasks.values().stream().noneMatch(task -> task.started && !task.completed)) {
+            throw new IllegalStateException("Cyclic dependencies between persisted data hosts");
+        }
+
+        readyTasks.forEach(task -> {
+            task.started = true;
+            task.startTs = System.currentTimeMillis();
+            // Hosts call the handler usually on the UserThread but we do not want to rely on that
+            task.host.readPersisted(() -> UserThread.execute(() -> onTaskCompleted(task)));
+        });
+    }
+
+    private void onTaskCompleted(Task task) {
+        if (task.completed) {
+            log.warn("Complete handler of {} was called more than once", task.name);
+            return;
+        }
+
+        task.completed = true;
+        task.durationMs = System.currentTimeMillis() - task.startTs;
+        loadDuration.labels(task.name).observeMillis(task.durationMs);
+        numCompleted++;
+
+        if (numCompleted == tasks.size()) {
+            logSummary();
+            completeHandler.run();
+        } else {
+            startReadyTasks();
+        }
+    }
+
+    private void logSummary() {
+        List<Task> sortedByDuration = new ArrayList<>(tasks.values());
+        sortedByDuration.sort(Comparator.comparingLong((Task task) -> task.durationMs).reversed());
+        String details = sortedByDuration.stream()
+                .map(task -> task.name + ": " + task.durationMs + " ms")
+                .collect(Collectors.joining("\n    "));
+        log.info("Reading persisted data of {} hosts completed in {} ms. Time per host (until data got applied):\n    {}",
+                tasks.size(), System.currentTimeMillis() - startTs, details);
+    }
+}
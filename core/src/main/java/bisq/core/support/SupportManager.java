@@ -39,6 +39,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -101,6 +102,13 @@ public abstract class SupportManager {
 
     public abstract void requestPersistence();
 
+    // Subclasses with many chat messages can override it with an indexed lookup
+    protected List<ChatMessage> findChatMessages(String uid) {
+        return getAllChatMessages().stream()
+                .filter(msg -> msg.getUid().equals(uid))
+                .collect(Collectors.toList());
+    }
+
 
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Delegates p2pService
@@ -170,8 +178,7 @@ public abstract class SupportManager {
                         ackMessage.getSourceMsgClassName(), ackMessage.getSourceId(), ackMessage.getErrorMessage());
             }
 
-            getAllChatMessages().stream()
-                    .filter(msg -> msg.getUid().equals(ackMessage.getSourceUid()))
+            findChatMessages(ackMessage.getSourceUid())
                     .forEach(msg -> {
                         if (ackMessage.isSuccess())
                             msg.setAcknowledged(true);
@@ -0,0 +1,148 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.support.dispute;
+
+import bisq.core.support.messages.ChatMessage;
+
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maintains lookup maps by trade id and by chat message uid over the disputes of a {@link DisputeList}.
+ * The maps are updated from list change events of the dispute list and of the chat messages of each dispute,
+ * so they stay in sync with any mutation including {@link DisputeList#setAll} when reading the persisted list.
+ * Mediators and refund agents can have thousands of disputes, which made the linear scans on each incoming
+ * message expensive.
+ *
+ * Not thread safe. All mutations of the dispute list and the lookups are expected to happen on the user thread.
+ */
+@Slf4j
+public class DisputeIndex {
+    // An agent has 2 disputes per trade (one for each trader), a trader has one
+    private final Map<String, List<Dispute>> disputesByTradeId = new HashMap<>();
+    private final Map<String, List<ChatMessage>> chatMessagesByUid = new HashMap<>();
+    private final ListChangeListener<ChatMessage> chatMessagesListener = this::onChatMessagesChanged;
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Constructor
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    public DisputeIndex(ObservableList<Dispute> disputes) {
+        disputes.forEach(this::addDispute);
+        disputes.addListener(this::onDisputesChanged);
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    public Optional<Dispute> findDispute(String tradeId) {
+        List<Dispute> disputes = disputesByTradeId.get(tradeId);
+        return disputes != null ? Optional.of(disputes.get(0)) : Optional.empty();
+    }
+
+    public Optional<Dispute> findDispute(String tradeId, int traderId) {
+        return getDisputes(tradeId).stream()
+                .filter(e -> e.getTraderId() == traderId)
+                .findAny();
+    }
+
+    public List<Dispute> getDisputes(String tradeId) {
+        return disputesByTradeId.getOrDefault(tradeId, Collections.emptyList());
+    }
+
+    public Set<String> getTradeIds() {
+        return Collections.unmodifiableSet(disputesByTradeId.keySet());
+    }
+
+    public List<ChatMessage> getChatMessages(String uid) {
+        return chatMessagesByUid.getOrDefault(uid, Collections.emptyList());
+    }
+
+    public boolean containsChatMessage(Dispute dispute, String uid) {
+        // Uids are unique, so if the uid is not indexed at all we can skip the scan of the dispute's messages
+        return chatMessagesByUid.containsKey(uid) &&
+                dispute.getChatMessages().stream().anyMatch(m -> m.getUid().equals(uid));
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private void onDisputesChanged(ListChangeListener.Change<? extends Dispute> change) {
+        while (change.next()) {
+            change.getRemoved().forEach(this::removeDispute);
+            change.getAddedSubList().forEach(this::addDispute);
+        }
+    }
+
+    private void onChatMessagesChanged(ListChangeListener.Change<? extends ChatMessage> change) {
+        while (change.next()) {
+            change.getRemoved().forEach(this::removeChatMessage);
+            change.getAddedSubList().forEach(this::addChatMessage);
+        }
+    }
+
+    private void addDispute(Dispute dispute) {
+        disputesByTradeId.computeIfAbsent(dispute.getTradeId(), k -> new ArrayList<>(2)).add(dispute);
+        dispute.getChatMessages().forEach(this::addChatMessage);
+        dispute.getChatMessages().addListener(chatMessagesListener);
+    }
+
+    private void removeDispute(Dispute dispute) {
+        dispute.getChatMessages().removeListener(chatMessagesListener);
+        dispute.getChatMessages().forEach(this::removeChatMessage);
+        String tradeId = dispute.getTradeId();
+        List<Dispute> disputes = disputesByTradeId.get(tradeId);
+        if (disputes != null) {
+            // Dispute uses value based equals, so we remove by identity
+            disputes.removeIf(e -> e == dispute);
+            if (disputes.isEmpty()) {
+                disputesByTradeId.remove(tradeId);
+            }
+        }
+    }
+
+    private void addChatMessage(ChatMessage chatMessage) {
+        chatMessagesByUid.computeIfAbsent(chatMessage.getUid(), k -> new ArrayList<>(1)).add(chatMessage);
+    }
+
+    private void removeChatMessage(ChatMessage chatMessage) {
+        String uid = chatMessage.getUid();
+        List<ChatMessage> chatMessages = chatMessagesByUid.get(uid);
+        if (chatMessages != null) {
+            chatMessages.removeIf(e -> e == chatMessage);
+            if (chatMessages.isEmpty()) {
+                chatMessagesByUid.remove(uid);
+            }
+        }
+    }
+}
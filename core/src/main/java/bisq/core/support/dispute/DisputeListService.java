@@ -34,7 +34,6 @@ import javafx.beans.property.SimpleIntegerProperty;
 import javafx.collections.ObservableList;
 
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -56,7 +55,7 @@ public abstract class DisputeListService<T extends DisputeList<Dispute>> impleme
     @Getter
     private final IntegerProperty numOpenDisputes = new SimpleIntegerProperty();
     @Getter
-    private final Set<String> disputedTradeIds = new HashSet<>();
+    private final DisputeIndex disputeIndex;
 
 
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -66,6 +65,8 @@ public abstract class DisputeListService<T extends DisputeList<Dispute>> impleme
     public DisputeListService(PersistenceManager<T> persistenceManager) {
         this.persistenceManager = persistenceManager;
         disputeList = getConcreteDisputeList();
+        // Created before reading the persisted list so the index is in sync with all mutations
+        disputeIndex = new DisputeIndex(disputeList.getObservableList());
 
         this.persistenceManager.initialize(disputeList, getFileName(), PersistenceManager.Source.PRIVATE);
     }
@@ -109,6 +110,10 @@ public abstract class DisputeListService<T extends DisputeList<Dispute>> impleme
         });
     }
 
+    public Set<String> getDisputedTradeIds() {
+        return disputeIndex.getTradeIds();
+    }
+
 
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Package scope
@@ -158,7 +163,6 @@ public abstract class DisputeListService<T extends DisputeList<Dispute>> impleme
                     disputeIsClosedSubscriptionsMap.get(id).unsubscribe();
                     disputeIsClosedSubscriptionsMap.remove(id);
                 }
-                disputedTradeIds.remove(dispute.getTradeId());
             });
         }
         addedList.forEach(dispute -> {
@@ -173,7 +177,6 @@ public abstract class DisputeListService<T extends DisputeList<Dispute>> impleme
                         });
                     });
             disputeIsClosedSubscriptionsMap.put(id, disputeStateSubscription);
-            disputedTradeIds.add(dispute.getTradeId());
         });
     }
 
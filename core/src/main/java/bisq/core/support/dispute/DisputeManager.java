@@ -172,6 +172,11 @@ public abstract class DisputeManager<T extends DisputeList<Dispute>> extends Sup
                 .collect(Collectors.toList());
     }
 
+    @Override
+    protected List<ChatMessage> findChatMessages(String uid) {
+        return getDisputeIndex().getChatMessages(uid);
+    }
+
     @Override
     public boolean channelOpen(ChatMessage message) {
         return findDispute(message).isPresent();
@@ -180,7 +185,7 @@ public abstract class DisputeManager<T extends DisputeList<Dispute>> extends Sup
     @Override
     public void addAndPersistChatMessage(ChatMessage message) {
         findDispute(message).ifPresent(dispute -> {
-            if (dispute.getChatMessages().stream().noneMatch(m -> m.getUid().equals(message.getUid()))) {
+            if (!getDisputeIndex().containsChatMessage(dispute, message.getUid())) {
                 dispute.addAndPersistChatMessage(message);
                 requestPersistence();
             } else {
@@ -232,6 +237,10 @@ public abstract class DisputeManager<T extends DisputeList<Dispute>> extends Sup
         return disputeListService.getDisputeList();
     }
 
+    private DisputeIndex getDisputeIndex() {
+        return disputeListService.getDisputeIndex();
+    }
+
     public Set<String> getDisputedTradeIds() {
         return disputeListService.getDisputedTradeIds();
     }
@@ -289,12 +298,7 @@ public abstract class DisputeManager<T extends DisputeList<Dispute>> extends Sup
 
 
     public Optional<Dispute> findOwnDispute(String tradeId) {
-        T disputeList = getDisputeList();
-        if (disputeList == null) {
-            log.warn("disputes is null");
-            return Optional.empty();
-        }
-        return disputeList.stream().filter(e -> e.getTradeId().equals(tradeId)).findAny();
+        return getDisputeIndex().findDispute(tradeId);
     }
 
 
@@ -808,25 +812,11 @@ public abstract class DisputeManager<T extends DisputeList<Dispute>> extends Sup
     }
 
     private Optional<Dispute> findDispute(String tradeId, int traderId) {
-        T disputeList = getDisputeList();
-        if (disputeList == null) {
-            log.warn("disputes is null");
-            return Optional.empty();
-        }
-        return disputeList.stream()
-                .filter(e -> e.getTradeId().equals(tradeId) && e.getTraderId() == traderId)
-                .findAny();
+        return getDisputeIndex().findDispute(tradeId, traderId);
     }
 
     public Optional<Dispute> findDispute(String tradeId) {
-        T disputeList = getDisputeList();
-        if (disputeList == null) {
-            log.warn("disputes is null");
-            return Optional.empty();
-        }
-        return disputeList.stream()
-                .filter(e -> e.getTradeId().equals(tradeId))
-                .findAny();
+        return getDisputeIndex().findDispute(tradeId);
     }
 
     private void addMediationResultMessage(Dispute dispute) {
@@ -25,8 +25,12 @@ import bisq.common.proto.ProtoUtil;
 import bisq.common.proto.ProtobufferRuntimeException;
 import bisq.common.proto.persistable.PersistableListAsObservable;
 
+import com.google.protobuf.CodedInputStream;
 import com.google.protobuf.Message;
 
+import java.io.IOException;
+
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -64,29 +68,43 @@ public final class TradableList<T extends Tradable> extends PersistableListAsObs
                                                    CoreProtoResolver coreProtoResolver,
                                                    BtcWalletService btcWalletService) {
         List<Tradable> list = proto.getTradableList().stream()
-                .map(tradable -> {
-                    switch (tradable.getMessageCase()) {
-                        case OPEN_OFFER:
-                            return OpenOffer.fromProto(tradable.getOpenOffer());
-                        case BUYER_AS_MAKER_TRADE:
-                            return BuyerAsMakerTrade.fromProto(tradable.getBuyerAsMakerTrade(), btcWalletService, coreProtoResolver);
-                        case BUYER_AS_TAKER_TRADE:
-                            return BuyerAsTakerTrade.fromProto(tradable.getBuyerAsTakerTrade(), btcWalletService, coreProtoResolver);
-                        case SELLER_AS_MAKER_TRADE:
-                            return SellerAsMakerTrade.fromProto(tradable.getSellerAsMakerTrade(), btcWalletService, coreProtoResolver);
-                        case SELLER_AS_TAKER_TRADE:
-                            return SellerAsTakerTrade.fromProto(tradable.getSellerAsTakerTrade(), btcWalletService, coreProtoResolver);
-                        default:
-                            log.error("Unknown messageCase. tradable.getMessageCase() = " + tradable.getMessageCase());
-                            throw new ProtobufferRuntimeException("Unknown messageCase. tradable.getMessageCase() = " +
-                                    tradable.getMessageCase());
-                    }
-                })
+                .map(tradable -> fromProto(tradable, coreProtoResolver, btcWalletService))
                 .collect(Collectors.toList());
 
         return new TradableList<>(list);
     }
 
+    // Reads the tradables one by one from the stream, so only one tradable exists as protobuf object
+    public static TradableList<Tradable> fromProto(CodedInputStream input,
+                                                   CoreProtoResolver coreProtoResolver,
+                                                   BtcWalletService btcWalletService) throws IOException {
+        List<Tradable> list = new ArrayList<>();
+        ProtoUtil.readRepeated(input, protobuf.TradableList.TRADABLE_FIELD_NUMBER, protobuf.Tradable.parser(),
+                tradable -> list.add(fromProto(tradable, coreProtoResolver, btcWalletService)));
+        return new TradableList<>(list);
+    }
+
+    private static Tradable fromProto(protobuf.Tradable tradable,
+                                      CoreProtoResolver coreProtoResolver,
+                                      BtcWalletService btcWalletService) {
+        switch (tradable.getMessageCase()) {
+            case OPEN_OFFER:
+                return OpenOffer.fromProto(tradable.getOpenOffer());
+            case BUYER_AS_MAKER_TRADE:
+                return BuyerAsMakerTrade.fromProto(tradable.getBuyerAsMakerTrade(), btcWalletService, coreProtoResolver);
+            case BUYER_AS_TAKER_TRADE:
+                return BuyerAsTakerTrade.fromProto(tradable.getBuyerAsTakerTrade(), btcWalletService, coreProtoResolver);
+            case SELLER_AS_MAKER_TRADE:
+                return SellerAsMakerTrade.fromProto(tradable.getSellerAsMakerTrade(), btcWalletService, coreProtoResolver);
+            case SELLER_AS_TAKER_TRADE:
+                return SellerAsTakerTrade.fromProto(tradable.getSellerAsTakerTrade(), btcWalletService, coreProtoResolver);
+            default:
+                log.error("Unknown messageCase. tradable.getMessageCase() = " + tradable.getMessageCase());
+                throw new ProtobufferRuntimeException("Unknown messageCase. tradable.getMessageCase() = " +
+                        tradable.getMessageCase());
+        }
+    }
+
     @Override
     public String toString() {
         return "TradableList{" +
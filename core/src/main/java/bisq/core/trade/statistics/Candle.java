@@ -0,0 +1,103 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package bisq.core.trade.statistics;
+
+import bisq.common.util.MathUtils;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Aggregated trades of one market in one interval. Updated by the CandleRollupService when a trade gets added.
+ *
+ * Prices are the trade prices as long values, amount is in satoshi and volume is in the smallest unit of the
+ * currency (as in TradeStatistics3).
+ */
+@Getter
+public class Candle {
+    private final long intervalStart;
+    private long open;
+    private long openTime = Long.MAX_VALUE;
+    private long close;
+    private long closeTime = Long.MIN_VALUE;
+    private long high;
+    private long low;
+    private long accumulatedAmount;
+    private long accumulatedVolume;
+    private int numTrades;
+    // Prices of the trades for the median. We keep them as primitives as there are candles at all resolutions for
+    // each trade. The first numTrades values are used, they get sorted at the first median request after a change.
+    @Getter(AccessLevel.NONE)
+    private long[] tradePrices = new long[1];
+    @Getter(AccessLevel.NONE)
+    private boolean tradePricesSorted = true;
+
+    Candle(long intervalStart) {
+        this.intervalStart = intervalStart;
+    }
+
+    public static Candle of(long intervalStart, Collection<TradeStatistics3> tradeStatistics) {
+        Candle candle = new Candle(intervalStart);
+        tradeStatistics.forEach(candle::add);
+        return candle;
+    }
+
+    void add(TradeStatistics3 tradeStatistics) {
+        long price = tradeStatistics.getTradePrice().getValue();
+        long time = tradeStatistics.getDateAsLong();
+        if (time < openTime) {
+            open = price;
+            openTime = time;
+        }
+        if (time >= closeTime) {
+            close = price;
+            closeTime = time;
+        }
+        high = numTrades == 0 ? price : Math.max(high, price);
+        low = numTrades == 0 ? price : Math.min(low, price);
+        accumulatedAmount += tradeStatistics.getTradeAmount().getValue();
+        accumulatedVolume += tradeStatistics.getTradeVolume().getValue();
+        if (numTrades == tradePrices.length) {
+            tradePrices = Arrays.copyOf(tradePrices, numTrades * 2);
+        }
+        tradePrices[numTrades] = price;
+        numTrades++;
+        tradePricesSorted = false;
+    }
+
+    public long getMedianPrice() {
+        if (numTrades == 0) {
+            return 0;
+        }
+
+        if (!tradePricesSorted) {
+            Arrays.sort(tradePrices, 0, numTrades);
+            tradePricesSorted = true;
+        }
+        int middle = numTrades / 2;
+        if (numTrades % 2 == 1) {
+            return tradePrices[middle];
+        } else {
+            return MathUtils.roundDoubleToLong((tradePrices[middle - 1] + tradePrices[middle]) / 2.0);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package bisq.core.trade.statistics;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+
+import java.util.Date;
+
+/**
+ * Fixed resolutions of the candles maintained by the CandleRollupService. Intervals start at the local time of the
+ * system. Weeks start at Monday.
+ */
+public enum CandleResolution {
+    MINUTE_10,
+    HOUR,
+    DAY,
+    WEEK,
+    MONTH,
+    YEAR;
+
+    private static final ZoneId ZONE_ID = ZoneId.systemDefault();
+
+    /**
+     * @param time Time in ms
+     * @return Start of the interval containing the time in ms
+     */
+    public long getIntervalStart(long time) {
+        return getIntervalStart(new Date(time).toInstant().atZone(ZONE_ID).toLocalDateTime());
+    }
+
+    public long getIntervalStart(LocalDateTime localDate) {
+        LocalDateTime start;
+        switch (this) {
+            case YEAR:
+                start = localDate.withMonth(1).withDayOfYear(1).withHour(0).withMinute(0).withSecond(0).withNano(0);
+                break;
+            case MONTH:
+                start = localDate.withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0).withNano(0);
+                break;
+            case WEEK:
+                int dayOfWeek = localDate.getDayOfWeek().getValue();
+                LocalDateTime firstDayOfWeek = ChronoUnit.DAYS.addTo(localDate, 1 - dayOfWeek);
+                start = firstDayOfWeek.withHour(0).withMinute(0).withSecond(0).withNano(0);
+                break;
+            case DAY:
+                start = localDate.withHour(0).withMinute(0).withSecond(0).withNano(0);
+                break;
+            case HOUR:
+                start = localDate.withMinute(0).withSecond(0).withNano(0);
+                break;
+            case MINUTE_10:
+                start = localDate.withMinute(localDate.getMinute() - localDate.getMinute() % 10).withSecond(0).withNano(0);
+                break;
+            default:
+                start = localDate;
+        }
+        return start.atZone(ZONE_ID).toInstant().toEpochMilli();
+    }
+}
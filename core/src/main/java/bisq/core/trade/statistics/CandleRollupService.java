@@ -0,0 +1,159 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package bisq.core.trade.statistics;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import javafx.collections.SetChangeListener;
+
+import java.time.LocalDateTime;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maintains the candles (OHLC and volume) of all markets at the fixed CandleResolutions, as well as the trades per
+ * market. The candles are built once from all trade statistics and then updated with each added trade, so charts do
+ * not need to aggregate all trade statistics whenever the market or resolution changes or a trade arrives.
+ *
+ * Initialized at first use. Expected to be used from the UserThread.
+ */
+@Slf4j
+@Singleton
+public class CandleRollupService {
+    // Key for the candles and trades of all markets together. Not a valid currency code.
+    public static final String ALL_MARKETS = "*";
+    private static final CandleResolution[] RESOLUTIONS = CandleResolution.values();
+
+    private final TradeStatisticsManager tradeStatisticsManager;
+    private final Map<String, Map<CandleResolution, NavigableMap<Long, Candle>>> candlesByMarket = new HashMap<>();
+    private final Map<String, List<TradeStatistics3>> tradeStatisticsByMarket = new HashMap<>();
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+    private boolean initialized;
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Constructor
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    @Inject
+    public CandleRollupService(TradeStatisticsManager tradeStatisticsManager) {
+        this.tradeStatisticsManager = tradeStatisticsManager;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @param currencyCode Currency code of the market or ALL_MARKETS
+     * @return Candles by the start of their interval. Intervals without trades have no candle.
+     */
+    public NavigableMap<Long, Candle> getCandles(String currencyCode, CandleResolution resolution) {
+        maybeInitialize();
+        Map<CandleResolution, NavigableMap<Long, Candle>> candlesByResolution = candlesByMarket.get(currencyCode);
+        if (candlesByResolution == null) {
+            return Collections.emptyNavigableMap();
+        }
+        return Collections.unmodifiableNavigableMap(candlesByResolution.get(resolution));
+    }
+
+    /**
+     * @param currencyCode Currency code of the market or ALL_MARKETS
+     */
+    public List<TradeStatistics3> getTradeStatistics(String currencyCode) {
+        maybeInitialize();
+        return Collections.unmodifiableList(tradeStatisticsByMarket.getOrDefault(currencyCode, Collections.emptyList()));
+    }
+
+    /**
+     * @param listener Called after a new trade got applied to the candles
+     */
+    public void addListener(Runnable listener) {
+        maybeInitialize();
+        listeners.add(listener);
+    }
+
+    public void removeListener(Runnable listener) {
+        listeners.remove(listener);
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private void maybeInitialize() {
+        if (initialized) {
+            return;
+        }
+
+        initialized = true;
+        long ts = System.currentTimeMillis();
+        tradeStatisticsManager.getObservableTradeStatisticsSet().forEach(this::add);
+        tradeStatisticsManager.getObservableTradeStatisticsSet().addListener((SetChangeListener<TradeStatistics3>) change -> {
+            if (change.wasAdded()) {
+                add(change.getElementAdded());
+                listeners.forEach(Runnable::run);
+            }
+        });
+        log.info("Building candles of {} trades took {} ms",
+                tradeStatisticsManager.getObservableTradeStatisticsSet().size(), System.currentTimeMillis() - ts);
+    }
+
+    private void add(TradeStatistics3 tradeStatistics) {
+        // Same for all markets, so we compute it once
+        LocalDateTime localDateTime = tradeStatistics.getLocalDateTime();
+        long[] intervalStarts = new long[RESOLUTIONS.length];
+        for (int i = 0; i < RESOLUTIONS.length; i++) {
+            intervalStarts[i] = RESOLUTIONS[i].getIntervalStart(localDateTime);
+        }
+
+        add(tradeStatistics.getCurrency(), tradeStatistics, intervalStarts);
+        add(ALL_MARKETS, tradeStatistics, intervalStarts);
+    }
+
+    private void add(String market, TradeStatistics3 tradeStatistics, long[] intervalStarts) {
+        tradeStatisticsByMarket.computeIfAbsent(market, k -> new ArrayList<>()).add(tradeStatistics);
+        Map<CandleResolution, NavigableMap<Long, Candle>> candlesByResolution = candlesByMarket.computeIfAbsent(market,
+                k -> {
+                    Map<CandleResolution, NavigableMap<Long, Candle>> map = new EnumMap<>(CandleResolution.class);
+                    for (CandleResolution resolution : RESOLUTIONS) {
+                        map.put(resolution, new TreeMap<>());
+                    }
+                    return map;
+                });
+        for (int i = 0; i < RESOLUTIONS.length; i++) {
+            candlesByResolution.get(RESOLUTIONS[i])
+                    .computeIfAbsent(intervalStarts[i], Candle::new)
+                    .add(tradeStatistics);
+        }
+    }
+}
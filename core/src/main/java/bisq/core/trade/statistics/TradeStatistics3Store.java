@@ -20,8 +20,11 @@ package bisq.core.trade.statistics;
 import bisq.network.p2p.storage.P2PDataStorage;
 import bisq.network.p2p.storage.persistence.PersistableNetworkPayloadStore;
 
+import com.google.protobuf.CodedInputStream;
 import com.google.protobuf.Message;
 
+import java.io.IOException;
+
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -67,6 +70,13 @@ public class TradeStatistics3Store extends PersistableNetworkPayloadStore<TradeS
         return new TradeStatistics3Store(list);
     }
 
+    public static TradeStatistics3Store fromProto(CodedInputStream input) throws IOException {
+        TradeStatistics3Store store = new TradeStatistics3Store();
+        store.readItems(input, protobuf.TradeStatistics3Store.ITEMS_FIELD_NUMBER,
+                protobuf.TradeStatistics3.parser(), TradeStatistics3::fromProto);
+        return store;
+    }
+
     public boolean containsKey(P2PDataStorage.ByteArray hash) {
         return map.containsKey(hash);
     }
@@ -0,0 +1,66 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package bisq.core.trade.txproof;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+/**
+ * Delay until a pending tx proof request gets repeated. As long as the pending state reported by the service (e.g.
+ * the number of confirmations) does not change, the delay grows up to the max. delay. Once the state changes the
+ * delay is reset to the min. delay, so we are fast again when the tx makes progress.
+ * Not thread safe.
+ */
+public class AssetTxProofPollingBackoff {
+    public static final long MIN_DELAY = TimeUnit.SECONDS.toMillis(90);
+    public static final long MAX_DELAY = TimeUnit.MINUTES.toMillis(10);
+    private static final double FACTOR = 1.5;
+
+    private final long minDelay;
+    private final long maxDelay;
+    @Nullable
+    private Object lastState;
+    private long delay;
+
+    public AssetTxProofPollingBackoff() {
+        this(MIN_DELAY, MAX_DELAY);
+    }
+
+    public AssetTxProofPollingBackoff(long minDelay, long maxDelay) {
+        this.minDelay = minDelay;
+        this.maxDelay = maxDelay;
+        delay = minDelay;
+    }
+
+    /**
+     * @param state The pending state of the last response
+     * @return Delay in ms until the next request
+     */
+    public long nextDelay(Object state) {
+        if (lastState == null || !Objects.equals(lastState, state)) {
+            delay = minDelay;
+        } else {
+            delay = Math.min(maxDelay, (long) (delay * FACTOR));
+        }
+        lastState = state;
+        return delay;
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package bisq.core.trade.txproof;
+
+import bisq.network.Socks5ProxyProvider;
+import bisq.network.http.HttpClientImpl;
+
+import bisq.common.app.Version;
+import bisq.common.metrics.Counter;
+import bisq.common.metrics.Metrics;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nullable;
+
+/**
+ * Executes the requests of all AssetTxProofService implementations to the explorer services.
+ *
+ * Each service gets its own pool with a bounded number of http clients which keep their connections open, so the
+ * repeated requests of all trades to a service share a few connections instead of opening a new connection (and a
+ * new Tor circuit) per request. Requests exceeding the pool size are queued.
+ * Identical requests (same service and param) which are issued while such a request is in flight get the result of
+ * the in-flight request instead of sending it again.
+ */
+@Slf4j
+@Singleton
+public class AssetTxProofRequestEngine {
+    @VisibleForTesting
+    static final int MAX_CONNECTIONS_PER_SERVICE = 2;
+    private static final long IDLE_THREAD_TIMEOUT_SEC = 60;
+
+    private static final Counter coalescedRequests = Metrics.counter("txproof_coalesced_requests_total",
+            "Number of tx proof requests which got the result of an identical in-flight request");
+
+    @Nullable
+    private final Socks5ProxyProvider socks5ProxyProvider;
+    private final int maxConnectionsPerService;
+    private final Map<String, ServicePool> poolByServiceAddress = new ConcurrentHashMap<>();
+    private final Map<String, ListenableFuture<String>> inFlightRequests = new ConcurrentHashMap<>();
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Constructor
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    @Inject
+    public AssetTxProofRequestEngine(Socks5ProxyProvider socks5ProxyProvider) {
+        this(socks5ProxyProvider, MAX_CONNECTIONS_PER_SERVICE);
+    }
+
+    @VisibleForTesting
+    AssetTxProofRequestEngine(@Nullable Socks5ProxyProvider socks5ProxyProvider, int maxConnectionsPerService) {
+        this.socks5ProxyProvider = socks5ProxyProvider;
+        this.maxConnectionsPerService = maxConnectionsPerService;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @param serviceAddress Address of the service as set by the user. Addresses starting with http: are
+     *                       requested without Tor, others over Tor. Raw onion addresses get http:// prepended.
+     * @param param          Path and query of the request
+     * @return Future with the response body. Completes on a thread of the service pool.
+     */
+    public ListenableFuture<String> get(String serviceAddress, String param) {
+        String key = serviceAddress + param;
+        SettableFuture<String> future = SettableFuture.create();
+        ListenableFuture<String> inFlightFuture = inFlightRequests.putIfAbsent(key, future);
+        if (inFlightFuture != null) {
+            log.info("Request to {} with param {} is already in flight. We use the result of that request.",
+                    serviceAddress, param);
+            coalescedRequests.inc();
+            return inFlightFuture;
+        }
+
+        future.addListener(() -> inFlightRequests.remove(key, future), MoreExecutors.directExecutor());
+        try {
+            future.setFuture(poolByServiceAddress
+                    .computeIfAbsent(serviceAddress, ServicePool::new)
+                    .submit(param));
+        } catch (Throwable t) {
+            // E.g. RejectedExecutionException if we got shut down concurrently
+            future.setException(t);
+        }
+        return future;
+    }
+
+    public void shutDown() {
+        poolByServiceAddress.values().forEach(ServicePool::shutDown);
+        // Pools get created again at the next request, as the services can be re-enabled by the filter
+        poolByServiceAddress.clear();
+    }
+
+    @VisibleForTesting
+    int numInFlightRequests() {
+        return inFlightRequests.size();
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // ServicePool
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private class ServicePool {
+        private final ListeningExecutorService executor;
+        private final BlockingQueue<ProofHttpClient> idleClients;
+
+        private ServicePool(String serviceAddress) {
+            ThreadFactory threadFactory = new ThreadFactoryBuilder()
+                    .setNameFormat("AssetTxProofRequest-%d")
+                    .setDaemon(true)
+                    .build();
+            // Unbounded queue as we must not drop requests which exceed the pool size
+            ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(maxConnectionsPerService,
+                    maxConnectionsPerService, IDLE_THREAD_TIMEOUT_SEC, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                    threadFactory);
+            threadPoolExecutor.allowCoreThreadTimeOut(true);
+            executor = MoreExecutors.listeningDecorator(threadPoolExecutor);
+
+            // We have as many clients as threads, so a running task always finds an idle client
+            idleClients = new ArrayBlockingQueue<>(maxConnectionsPerService);
+            for (int i = 0; i < maxConnectionsPerService; i++) {
+                idleClients.add(new ProofHttpClient(socks5ProxyProvider, serviceAddress));
+            }
+        }
+
+        private ListenableFuture<String> submit(String param) {
+            return executor.submit(() -> {
+                ProofHttpClient httpClient = idleClients.take();
+                try {
+                    return httpClient.get(param, "User-Agent", "bisq/" + Version.VERSION);
+                } finally {
+                    idleClients.put(httpClient);
+                }
+            });
+        }
+
+        private void shutDown() {
+            // Queued requests would never complete otherwise
+            executor.shutdownNow().stream()
+                    .filter(runnable -> runnable instanceof Future)
+                    .forEach(runnable -> ((Future<?>) runnable).cancel(false));
+            idleClients.forEach(HttpClientImpl::shutDown);
+        }
+    }
+
+    private static class ProofHttpClient extends HttpClientImpl implements AssetTxProofHttpClient {
+        private ProofHttpClient(@Nullable Socks5ProxyProvider socks5ProxyProvider, String serviceAddress) {
+            super(socks5ProxyProvider);
+            setKeepConnectionsAlive(true);
+
+            // localhost, LAN address, or *.local FQDN starts with http://, don't use Tor
+            if (serviceAddress.regionMatches(0, "http:", 0, 5)) {
+                setBaseUrl(serviceAddress);
+                setIgnoreSocks5Proxy(true);
+                // any non-onion FQDN starts with https://, use Tor
+            } else if (serviceAddress.regionMatches(0, "https:", 0, 6)) {
+                setBaseUrl(serviceAddress);
+                setIgnoreSocks5Proxy(false);
+                // it's a raw onion so add http:// and use Tor proxy
+            } else {
+                setBaseUrl("http://" + serviceAddress);
+                setIgnoreSocks5Proxy(false);
+            }
+        }
+    }
+}
@@ -17,16 +17,13 @@
 
 package bisq.core.trade.txproof.xmr;
 
-import bisq.core.trade.txproof.AssetTxProofHttpClient;
 import bisq.core.trade.txproof.AssetTxProofParser;
+import bisq.core.trade.txproof.AssetTxProofPollingBackoff;
 import bisq.core.trade.txproof.AssetTxProofRequest;
-
-import bisq.network.Socks5ProxyProvider;
+import bisq.core.trade.txproof.AssetTxProofRequestEngine;
 
 import bisq.common.UserThread;
-import bisq.common.app.Version;
 import bisq.common.handlers.FaultHandler;
-import bisq.common.util.Utilities;
 
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonParser;
@@ -34,7 +31,6 @@ import com.google.gson.JsonParser;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
-import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
 
 import java.util.concurrent.TimeUnit;
@@ -50,7 +46,9 @@ import javax.annotation.Nullable;
 
 /**
  * Requests for the XMR tx proof for a particular trade from a particular service.
- * Repeats every 90 sec requests if tx is not confirmed or found yet until MAX_REQUEST_PERIOD of 12 hours is reached.
+ * Repeats requests if tx is not confirmed or found yet until MAX_REQUEST_PERIOD of 12 hours is reached. The delay
+ * between the requests starts at 90 sec and grows while the pending state does not change.
+ * The requests are executed by the shared AssetTxProofRequestEngine.
  */
 @Slf4j
 @EqualsAndHashCode
@@ -133,22 +131,20 @@ class XmrTxProofRequest implements AssetTxProofRequest<XmrTxProofRequest.Result>
     // Static fields
     ///////////////////////////////////////////////////////////////////////////////////////////
 
-    private static final long REPEAT_REQUEST_PERIOD = TimeUnit.SECONDS.toMillis(90);
     private static final long MAX_REQUEST_PERIOD = TimeUnit.HOURS.toMillis(12);
 
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Class fields
     ///////////////////////////////////////////////////////////////////////////////////////////
 
-    private final ListeningExecutorService executorService = Utilities.getListeningExecutorService(
-            "XmrTransferProofRequester", 3, 5, 10 * 60);
-
+    private final AssetTxProofRequestEngine requestEngine;
     private final AssetTxProofParser<XmrTxProofRequest.Result, XmrTxProofModel> parser;
     private final XmrTxProofModel model;
-    private final AssetTxProofHttpClient httpClient;
+    private final AssetTxProofPollingBackoff pollingBackoff = new AssetTxProofPollingBackoff();
     private final long firstRequest;
 
     private boolean terminated;
+    private volatile boolean hasPendingRequest;
     @Getter
     @Nullable
     private Result result;
@@ -158,27 +154,12 @@ class XmrTxProofRequest implements AssetTxProofRequest<XmrTxProofRequest.Result>
     // Constructor
     ///////////////////////////////////////////////////////////////////////////////////////////
 
-    XmrTxProofRequest(Socks5ProxyProvider socks5ProxyProvider,
+    XmrTxProofRequest(AssetTxProofRequestEngine requestEngine,
                       XmrTxProofModel model) {
+        this.requestEngine = requestEngine;
         this.parser = new XmrTxProofParser();
         this.model = model;
 
-        httpClient = new XmrTxProofHttpClient(socks5ProxyProvider);
-
-        // localhost, LAN address, or *.local FQDN starts with http://, don't use Tor
-        if (model.getServiceAddress().regionMatches(0, "http:", 0, 5)) {
-            httpClient.setBaseUrl(model.getServiceAddress());
-            httpClient.setIgnoreSocks5Proxy(true);
-        // any non-onion FQDN starts with https://, use Tor
-        } else if (model.getServiceAddress().regionMatches(0, "https:", 0, 6)) {
-            httpClient.setBaseUrl(model.getServiceAddress());
-            httpClient.setIgnoreSocks5Proxy(false);
-        // it's a raw onion so add http:// and use Tor proxy
-        } else {
-            httpClient.setBaseUrl("http://" + model.getServiceAddress());
-            httpClient.setIgnoreSocks5Proxy(false);
-        }
-
         terminated = false;
         firstRequest = System.currentTimeMillis();
     }
@@ -197,21 +178,20 @@ class XmrTxProofRequest implements AssetTxProofRequest<XmrTxProofRequest.Result>
             return;
         }
 
-        if (httpClient.hasPendingRequest()) {
-            log.warn("We have a pending request open. We ignore that request. httpClient {}", httpClient);
+        if (hasPendingRequest) {
+            log.warn("We have a pending request open. We ignore that request. {}", this);
             return;
         }
 
-        // Timeout handing is delegated to the connection timeout handling in httpClient.
+        // Timeout handing is delegated to the connection timeout handling in the http client of the requestEngine.
 
-        ListenableFuture<Result> future = executorService.submit(() -> {
-            Thread.currentThread().setName("XmrTransferProofRequest-" + this.getShortId());
-            String param = "/api/outputs?txhash=" + model.getTxHash() +
-                    "&address=" + model.getRecipientAddress() +
-                    "&viewkey=" + model.getTxKey() +
-                    "&txprove=1";
-            log.info("Param {} for {}", param, this);
-            String json = httpClient.get(param, "User-Agent", "bisq/" + Version.VERSION);
+        String param = "/api/outputs?txhash=" + model.getTxHash() +
+                "&address=" + model.getRecipientAddress() +
+                "&viewkey=" + model.getTxKey() +
+                "&txprove=1";
+        log.info("Param {} for {}", param, this);
+        hasPendingRequest = true;
+        ListenableFuture<Result> future = Futures.transform(requestEngine.get(model.getServiceAddress(), param), json -> {
             try {
                 String prettyJson = new GsonBuilder().setPrettyPrinting().create().toJson(new JsonParser().parse(json));
                 log.info("Response json from {}\n{}", this, prettyJson);
@@ -222,10 +202,11 @@ class XmrTxProofRequest implements AssetTxProofRequest<XmrTxProofRequest.Result>
             Result result = parser.parse(model, json);
             log.info("Result from {}\n{}", this, result);
             return result;
-        });
+        }, MoreExecutors.directExecutor());
 
         Futures.addCallback(future, new FutureCallback<>() {
             public void onSuccess(Result result) {
+                hasPendingRequest = false;
                 XmrTxProofRequest.this.result = result;
 
                 if (terminated) {
@@ -241,7 +222,12 @@ class XmrTxProofRequest implements AssetTxProofRequest<XmrTxProofRequest.Result>
                             // If we reached out timeout we return with an error.
                             UserThread.execute(() -> resultHandler.accept(XmrTxProofRequest.Result.ERROR.with(Detail.NO_RESULTS_TIMEOUT)));
                         } else {
-                            UserThread.runAfter(() -> requestFromService(resultHandler, faultHandler), REPEAT_REQUEST_PERIOD, TimeUnit.MILLISECONDS);
+                            Detail detail = result.getDetail();
+                            long delay = pollingBackoff.nextDelay(detail != null ?
+                                    detail.name() + detail.getNumConfirmations() :
+                                    result.name());
+                            log.info("We repeat the request of {} in {} sec", XmrTxProofRequest.this, delay / 1000);
+                            UserThread.runAfter(() -> requestFromService(resultHandler, faultHandler), delay, TimeUnit.MILLISECONDS);
                             // We update our listeners
                             UserThread.execute(() -> resultHandler.accept(result));
                         }
@@ -263,6 +249,7 @@ class XmrTxProofRequest implements AssetTxProofRequest<XmrTxProofRequest.Result>
             }
 
             public void onFailure(@NotNull Throwable throwable) {
+                hasPendingRequest = false;
                 String errorMessage = this + " failed with error " + throwable.toString();
                 faultHandler.handleFault(errorMessage, throwable);
                 UserThread.execute(() ->
@@ -286,10 +273,6 @@ class XmrTxProofRequest implements AssetTxProofRequest<XmrTxProofRequest.Result>
     // Private
     ///////////////////////////////////////////////////////////////////////////////////////////
 
-    private String getShortId() {
-        return Utilities.getShortId(model.getTradeId()) + " @ " + model.getServiceAddress().substring(0, 6);
-    }
-
     private boolean isTimeOutReached() {
         return System.currentTimeMillis() - firstRequest > MAX_REQUEST_PERIOD;
     }
@@ -23,12 +23,11 @@ import bisq.core.support.dispute.Dispute;
 import bisq.core.support.dispute.mediation.MediationManager;
 import bisq.core.support.dispute.refund.RefundManager;
 import bisq.core.trade.Trade;
+import bisq.core.trade.txproof.AssetTxProofRequestEngine;
 import bisq.core.trade.txproof.AssetTxProofRequestsPerTrade;
 import bisq.core.trade.txproof.AssetTxProofResult;
 import bisq.core.user.AutoConfirmSettings;
 
-import bisq.network.Socks5ProxyProvider;
-
 import bisq.common.handlers.FaultHandler;
 
 import org.bitcoinj.core.Coin;
@@ -57,7 +56,7 @@ class XmrTxProofRequestsPerTrade implements AssetTxProofRequestsPerTrade {
     private final MediationManager mediationManager;
     private final FilterManager filterManager;
     private final RefundManager refundManager;
-    private final Socks5ProxyProvider socks5ProxyProvider;
+    private final AssetTxProofRequestEngine requestEngine;
 
     private int numRequiredSuccessResults;
     private final Set<XmrTxProofRequest> requests = new HashSet<>();
@@ -72,13 +71,13 @@ class XmrTxProofRequestsPerTrade implements AssetTxProofRequestsPerTrade {
     // Constructor
     ///////////////////////////////////////////////////////////////////////////////////////////
 
-    XmrTxProofRequestsPerTrade(Socks5ProxyProvider socks5ProxyProvider,
+    XmrTxProofRequestsPerTrade(AssetTxProofRequestEngine requestEngine,
                                Trade trade,
                                AutoConfirmSettings autoConfirmSettings,
                                MediationManager mediationManager,
                                FilterManager filterManager,
                                RefundManager refundManager) {
-        this.socks5ProxyProvider = socks5ProxyProvider;
+        this.requestEngine = requestEngine;
         this.trade = trade;
         this.autoConfirmSettings = autoConfirmSettings;
         this.mediationManager = mediationManager;
@@ -149,7 +148,7 @@ class XmrTxProofRequestsPerTrade implements AssetTxProofRequestsPerTrade {
                 continue;  // #4683: filter for auto-confirm explorers
             }
             XmrTxProofModel model = new XmrTxProofModel(trade, serviceAddress, autoConfirmSettings);
-            XmrTxProofRequest request = new XmrTxProofRequest(socks5ProxyProvider, model);
+            XmrTxProofRequest request = new XmrTxProofRequest(requestEngine, model);
 
             log.info("{} created", request);
             requests.add(request);
@@ -28,12 +28,12 @@ import bisq.core.trade.TradeManager;
 import bisq.core.trade.closed.ClosedTradableManager;
 import bisq.core.trade.failed.FailedTradesManager;
 import bisq.core.trade.protocol.SellerProtocol;
+import bisq.core.trade.txproof.AssetTxProofRequestEngine;
 import bisq.core.trade.txproof.AssetTxProofResult;
 import bisq.core.trade.txproof.AssetTxProofService;
 import bisq.core.user.AutoConfirmSettings;
 import bisq.core.user.Preferences;
 
-import bisq.network.Socks5ProxyProvider;
 import bisq.network.p2p.BootstrapListener;
 import bisq.network.p2p.P2PService;
 
@@ -77,7 +77,7 @@ public class XmrTxProofService implements AssetTxProofService {
     private final RefundManager refundManager;
     private final P2PService p2PService;
     private final WalletsSetup walletsSetup;
-    private final Socks5ProxyProvider socks5ProxyProvider;
+    private final AssetTxProofRequestEngine requestEngine;
     private final Map<String, XmrTxProofRequestsPerTrade> servicesByTradeId = new HashMap<>();
     private AutoConfirmSettings autoConfirmSettings;
     private final Map<String, ChangeListener<Trade.State>> tradeStateListenerMap = new HashMap<>();
@@ -102,7 +102,7 @@ public class XmrTxProofService implements AssetTxProofService {
                              RefundManager refundManager,
                              P2PService p2PService,
                              WalletsSetup walletsSetup,
-                             Socks5ProxyProvider socks5ProxyProvider) {
+                             AssetTxProofRequestEngine requestEngine) {
         this.filterManager = filterManager;
         this.preferences = preferences;
         this.tradeManager = tradeManager;
@@ -112,7 +112,7 @@ public class XmrTxProofService implements AssetTxProofService {
         this.refundManager = refundManager;
         this.p2PService = p2PService;
         this.walletsSetup = walletsSetup;
-        this.socks5ProxyProvider = socks5ProxyProvider;
+        this.requestEngine = requestEngine;
     }
 
 
@@ -148,6 +148,7 @@ public class XmrTxProofService implements AssetTxProofService {
     public void shutDown() {
         servicesByTradeId.values().forEach(XmrTxProofRequestsPerTrade::terminate);
         servicesByTradeId.clear();
+        requestEngine.shutDown();
     }
 
 
@@ -250,7 +251,7 @@ public class XmrTxProofService implements AssetTxProofService {
     }
 
     private void startRequests(SellerTrade trade) {
-        XmrTxProofRequestsPerTrade service = new XmrTxProofRequestsPerTrade(socks5ProxyProvider,
+        XmrTxProofRequestsPerTrade service = new XmrTxProofRequestsPerTrade(requestEngine,
                 trade,
                 autoConfirmSettings,
                 mediationManager,
@@ -0,0 +1,99 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.btc.model;
+
+import bisq.common.persistence.PersistenceManager;
+
+import org.bitcoinj.crypto.ChildNumber;
+import org.bitcoinj.crypto.DeterministicKey;
+import org.bitcoinj.crypto.HDKeyDerivation;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class AddressEntryListTest {
+    private DeterministicKey masterKey;
+    private AddressEntryList addressEntryList;
+    private int keyIndex;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        masterKey = HDKeyDerivation.createMasterPrivateKey(new byte[32]);
+        addressEntryList = new AddressEntryList(mock(PersistenceManager.class));
+    }
+
+    @Test
+    public void testLookupByOfferIdAndContext() {
+        AddressEntry funding = new AddressEntry(nextKey(), AddressEntry.Context.OFFER_FUNDING, "offer1", true);
+        AddressEntry multiSig = new AddressEntry(nextKey(), AddressEntry.Context.MULTI_SIG, "offer1", true);
+        addressEntryList.addAddressEntry(funding);
+        addressEntryList.addAddressEntry(multiSig);
+
+        assertSame(funding, addressEntryList.findAddressEntryByOfferId("offer1", AddressEntry.Context.OFFER_FUNDING).get());
+        assertSame(multiSig, addressEntryList.findAddressEntryByOfferId("offer1", AddressEntry.Context.MULTI_SIG).get());
+        assertFalse(addressEntryList.findAddressEntryByOfferId("offer1", AddressEntry.Context.TRADE_PAYOUT).isPresent());
+        assertFalse(addressEntryList.findAddressEntryByOfferId("offer2", AddressEntry.Context.OFFER_FUNDING).isPresent());
+
+        // Entries with the same offer ID and context are not added
+        addressEntryList.addAddressEntry(new AddressEntry(nextKey(), AddressEntry.Context.OFFER_FUNDING, "offer1", true));
+        assertEquals(1, addressEntryList.getAddressEntries(AddressEntry.Context.OFFER_FUNDING).size());
+    }
+
+    @Test
+    public void testIndexesFollowSwaps() {
+        AddressEntry available = new AddressEntry(nextKey(), AddressEntry.Context.AVAILABLE, true);
+        addressEntryList.addAddressEntry(available);
+        String address = available.getAddressString();
+        assertSame(available, addressEntryList.findAddressEntryByAddress(address, AddressEntry.Context.AVAILABLE).get());
+
+        AddressEntry funding = addressEntryList.swapAvailableToAddressEntryWithOfferId(available,
+                AddressEntry.Context.OFFER_FUNDING, "offer1");
+        assertTrue(addressEntryList.getAddressEntries(AddressEntry.Context.AVAILABLE).isEmpty());
+        assertFalse(addressEntryList.findAddressEntryByAddress(address, AddressEntry.Context.AVAILABLE).isPresent());
+        assertSame(funding, addressEntryList.findAddressEntryByAddress(address, AddressEntry.Context.OFFER_FUNDING).get());
+        assertSame(funding, addressEntryList.findAddressEntryByOfferId("offer1", AddressEntry.Context.OFFER_FUNDING).get());
+
+        addressEntryList.swapToAvailable(funding);
+        assertFalse(addressEntryList.findAddressEntryByOfferId("offer1", AddressEntry.Context.OFFER_FUNDING).isPresent());
+        assertEquals(1, addressEntryList.getAddressEntries(AddressEntry.Context.AVAILABLE).size());
+        assertTrue(addressEntryList.findAddressEntryByAddress(address, AddressEntry.Context.AVAILABLE).isPresent());
+        assertEquals(1, addressEntryList.getAddressEntriesAsListImmutable().size());
+    }
+
+    @Test
+    public void testSetCoinLockedInMultiSig() {
+        AddressEntry multiSig = new AddressEntry(nextKey(), AddressEntry.Context.MULTI_SIG, "offer1", true);
+        addressEntryList.addAddressEntry(multiSig);
+
+        addressEntryList.setCoinLockedInMultiSigAddressEntry(multiSig, 1000);
+        assertEquals(1, addressEntryList.getAddressEntriesByOfferId("offer1", AddressEntry.Context.MULTI_SIG).size());
+        assertEquals(1000, addressEntryList.findAddressEntryByOfferId("offer1", AddressEntry.Context.MULTI_SIG).get()
+                .getCoinLockedInMultiSig());
+    }
+
+    private DeterministicKey nextKey() {
+        return HDKeyDerivation.deriveChildKey(masterKey, new ChildNumber(keyIndex++));
+    }
+}
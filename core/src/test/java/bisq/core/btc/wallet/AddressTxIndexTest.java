@@ -0,0 +1,181 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.btc.wallet;
+
+import org.bitcoinj.core.Address;
+import org.bitcoinj.core.Coin;
+import org.bitcoinj.core.Context;
+import org.bitcoinj.core.ECKey;
+import org.bitcoinj.core.LegacyAddress;
+import org.bitcoinj.core.NetworkParameters;
+import org.bitcoinj.core.Sha256Hash;
+import org.bitcoinj.core.Transaction;
+import org.bitcoinj.core.TransactionConfidence;
+import org.bitcoinj.core.TransactionInput;
+import org.bitcoinj.core.TransactionOutPoint;
+import org.bitcoinj.params.MainNetParams;
+import org.bitcoinj.wallet.Wallet;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AddressTxIndexTest {
+    private final NetworkParameters params = MainNetParams.get();
+    private final Set<Transaction> walletTxs = new HashSet<>();
+    private AddressTxIndex index;
+    private Wallet wallet;
+    private Address address1;
+    private Address address2;
+
+    @Before
+    public void setup() {
+        Context.propagate(new Context(params));
+        index = new AddressTxIndex();
+        wallet = mock(Wallet.class);
+        // The wallet lock must never be taken while the index holds its lock
+        when(wallet.getTransactions(true)).thenAnswer(invocation -> {
+            assertFalse(Thread.holdsLock(index));
+            return new HashSet<>(walletTxs);
+        });
+        address1 = LegacyAddress.fromKey(params, new ECKey());
+        address2 = LegacyAddress.fromKey(params, new ECKey());
+    }
+
+    @Test
+    public void testBuildFromWallet() {
+        Transaction tx = newTx(address1, address2);
+        walletTxs.add(tx);
+
+        assertEquals(Collections.singletonList(tx), index.getTransactions(wallet, address1));
+        assertEquals(1, index.getOutputs(wallet, address1).size());
+        assertEquals(1, index.getOutputs(wallet, address2).size());
+        verify(wallet, times(1)).getTransactions(true);
+    }
+
+    @Test
+    public void testTransactionChanged() {
+        assertTrue(index.getTransactions(wallet, address1).isEmpty());
+
+        Transaction tx = newTx(address1);
+        index.onTransactionChanged(tx);
+
+        assertEquals(Collections.singletonList(tx), index.getTransactions(wallet, address1));
+        assertEquals(1, index.getOutputs(wallet, address1).size());
+        // Updates must not rescan the wallet
+        verify(wallet, times(1)).getTransactions(true);
+
+        // Repeated notifications like confidence changes must not add duplicates
+        index.onTransactionChanged(tx);
+        assertEquals(1, index.getTransactions(wallet, address1).size());
+        assertEquals(1, index.getOutputs(wallet, address1).size());
+    }
+
+    @Test
+    public void testSpendingTxGetsIndexedAtConnect() {
+        Transaction parent = newTx(address1);
+        Transaction child = newTx(address2);
+        TransactionInput input = new TransactionInput(params, child, new byte[0],
+                new TransactionOutPoint(params, 0, parent.getTxId()));
+        child.addInput(input);
+
+        index.getTransactions(wallet, address1);
+        index.onTransactionChanged(child);
+        assertEquals(Collections.singletonList(child), index.getTransactions(wallet, address2));
+        assertTrue(index.getTransactions(wallet, address1).isEmpty());
+
+        // The parent arrives after the child, the child's input gets connected
+        Map<Sha256Hash, Transaction> txs = Collections.singletonMap(parent.getTxId(), parent);
+        input.connect(txs, TransactionInput.ConnectMode.ABORT_ON_CONFLICT);
+        index.onTransactionChanged(parent);
+
+        List<Transaction> transactions = index.getTransactions(wallet, address1);
+        assertEquals(2, transactions.size());
+        assertTrue(transactions.contains(parent));
+        assertTrue(transactions.contains(child));
+    }
+
+    @Test
+    public void testDeadTxIsFiltered() {
+        Transaction tx = newTx(address1);
+        index.getTransactions(wallet, address1);
+        index.onTransactionChanged(tx);
+
+        tx.getConfidence().setConfidenceType(TransactionConfidence.ConfidenceType.DEAD);
+        index.onTransactionChanged(tx);
+
+        assertTrue(index.getTransactions(wallet, address1).isEmpty());
+        assertTrue(index.getOutputs(wallet, address1).isEmpty());
+    }
+
+    @Test
+    public void testClearRebuilds() {
+        Transaction tx1 = newTx(address1);
+        walletTxs.add(tx1);
+        assertEquals(1, index.getTransactions(wallet, address1).size());
+
+        // At a reorg the wallet might have dropped or replaced txs
+        walletTxs.clear();
+        Transaction tx2 = newTx(address2);
+        walletTxs.add(tx2);
+        index.clear();
+
+        assertTrue(index.getTransactions(wallet, address1).isEmpty());
+        assertEquals(Collections.singletonList(tx2), index.getTransactions(wallet, address2));
+        verify(wallet, times(2)).getTransactions(true);
+    }
+
+    @Test
+    public void testSpendCandidates() {
+        when(wallet.isPubKeyHashMine(any(), any())).thenReturn(true);
+        when(wallet.canSignFor(any())).thenReturn(true);
+        Transaction parent = newTx(address1, address1);
+        walletTxs.add(parent);
+        assertEquals(2, index.getSpendCandidates(wallet, address1).size());
+
+        Transaction child = newTx(address2);
+        child.addInput(parent.getOutput(0));
+        parent.getOutput(0).markAsSpent(child.getInput(0));
+        index.onTransactionChanged(child);
+
+        assertEquals(Collections.singletonList(parent.getOutput(1)), index.getSpendCandidates(wallet, address1));
+        assertEquals(1, index.getSpendCandidates(wallet, address2).size());
+    }
+
+    private Transaction newTx(Address... addresses) {
+        Transaction tx = new Transaction(params);
+        for (Address address : addresses) {
+            tx.addOutput(Coin.COIN, address);
+        }
+        return tx;
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.btc.wallet;
+
+import org.bitcoinj.core.Sha256Hash;
+import org.bitcoinj.core.Transaction;
+import org.bitcoinj.core.TransactionConfidence;
+import org.bitcoinj.core.TransactionInput;
+import org.bitcoinj.core.TransactionOutPoint;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.bitcoinj.core.TransactionConfidence.ConfidenceType.BUILDING;
+import static org.bitcoinj.core.TransactionConfidence.ConfidenceType.PENDING;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Applies random wallet and DAO state changes and checks after each update that the running totals of the
+ * BsqBalanceEngine are the same as the full recalculation over all transactions.
+ */
+public class BsqBalanceEngineTest {
+    // State of our simulated txs, the balances of a tx are derived from it
+    private static class TxState {
+        private final int index;
+        private TransactionConfidence.ConfidenceType confidenceType = PENDING;
+        private long daoValue;
+        private long volatileValue;
+        private int numSpendingTxs;
+        private TxState parent;
+
+        private TxState(int index) {
+            this.index = index;
+        }
+
+        private boolean isBond() {
+            return index % 3 == 0;
+        }
+    }
+
+    private final Map<Transaction, TxState> txStates = new HashMap<>();
+    // Wallet txs which are not dead
+    private final Map<Transaction, TxState> walletTxs = new LinkedHashMap<>();
+    private Random random;
+    private BsqBalanceEngine engine;
+
+    @Before
+    public void setUp() {
+        random = new Random(42);
+        engine = new BsqBalanceEngine(this::calculateTxBalances);
+    }
+
+    @Test
+    public void testRunningTotalsMatchFullRecalculation() {
+        for (int i = 0; i < 20; i++) {
+            addTx();
+        }
+        updateAndCheck(Collections.emptySet());
+
+        for (int i = 0; i < 2000; i++) {
+            Set<String> affectedTxIds = new HashSet<>();
+            List<Transaction> txs = new ArrayList<>(walletTxs.keySet());
+            Transaction tx = txs.get(random.nextInt(txs.size()));
+            TxState state = walletTxs.get(tx);
+            switch (random.nextInt(5)) {
+                case 0:
+                    addTx();
+                    break;
+                case 1:
+                    state.confidenceType = state.confidenceType == PENDING ? BUILDING : PENDING;
+                    break;
+                case 2:
+                    // Changes of the DAO state are only applied by a parsed block, which reports the affected txs
+                    state.daoValue = random.nextInt(1000);
+                    affectedTxIds.add(tx.getTxId().toString());
+                    break;
+                case 3:
+                    if (walletTxs.size() > 5) {
+                        // Tx became dead
+                        walletTxs.remove(tx);
+                        if (state.parent != null) {
+                            state.parent.numSpendingTxs--;
+                        }
+                    }
+                    break;
+                case 4:
+                    // We do not get notified about changes of pending txs and bonds (e.g. lock time is over)
+                    if (state.confidenceType == PENDING || state.isBond()) {
+                        state.volatileValue = random.nextInt(1000);
+                    }
+                    break;
+            }
+            updateAndCheck(affectedTxIds);
+        }
+    }
+
+    @Test
+    public void testOnlyChangedTxsAreRecalculated() {
+        for (int i = 0; i < 100; i++) {
+            Transaction tx = addTx();
+            txStates.get(tx).confidenceType = BUILDING;
+        }
+        updateAndCheck(Collections.emptySet());
+        assertEquals(100, engine.getNumLastCalculatedTxs());
+
+        updateAndCheck(Collections.emptySet());
+        // Only the bonds get recalculated
+        long numBonds = walletTxs.values().stream().filter(TxState::isBond).count();
+        assertEquals(numBonds, engine.getNumLastCalculatedTxs());
+        assertTrue(numBonds < 100);
+    }
+
+    @Test
+    public void testClear() {
+        for (int i = 0; i < 10; i++) {
+            addTx();
+        }
+        updateAndCheck(Collections.emptySet());
+
+        engine.clear();
+        assertEquals(BsqBalanceEngine.Balances.ZERO, engine.getBalances());
+
+        updateAndCheck(Collections.emptySet());
+        assertEquals(10, engine.getNumLastCalculatedTxs());
+    }
+
+    private void updateAndCheck(Set<String> affectedTxIds) {
+        engine.update(new ArrayList<>(walletTxs.keySet()), affectedTxIds);
+        assertEquals(BsqBalanceEngine.calculateAll(walletTxs.keySet(), this::calculateTxBalances), engine.getBalances());
+    }
+
+    private BsqBalanceEngine.Balances calculateTxBalances(Transaction tx) {
+        TxState state = txStates.get(tx);
+        if (state.confidenceType == PENDING) {
+            return new BsqBalanceEngine.Balances(100 + state.volatileValue - 10 * state.numSpendingTxs, 0, 0, 0);
+        } else {
+            long lockedForVoting = Math.max(0, state.daoValue - 5 * state.numSpendingTxs);
+            long lockupBonds = state.isBond() ? 50 + state.volatileValue : 0;
+            return new BsqBalanceEngine.Balances(0, lockedForVoting, lockupBonds, 0);
+        }
+    }
+
+    private Transaction addTx() {
+        int index = txStates.size();
+        Transaction tx = mock(Transaction.class);
+        TxState state = new TxState(index);
+        when(tx.getTxId()).thenReturn(Sha256Hash.of(new byte[]{(byte) (index >> 8), (byte) index}));
+
+        TransactionConfidence confidence = mock(TransactionConfidence.class);
+        when(confidence.getConfidenceType()).thenAnswer(invocation -> state.confidenceType);
+        when(tx.getConfidence()).thenReturn(confidence);
+
+        List<TransactionInput> inputs = new ArrayList<>();
+        if (!walletTxs.isEmpty()) {
+            // We spend an output of one of our txs
+            List<Transaction> txs = new ArrayList<>(walletTxs.keySet());
+            Transaction parent = txs.get(random.nextInt(txs.size()));
+            state.parent = walletTxs.get(parent);
+            state.parent.numSpendingTxs++;
+            Sha256Hash parentTxId = parent.getTxId();
+            TransactionOutPoint outPoint = mock(TransactionOutPoint.class);
+            when(outPoint.getHash()).thenReturn(parentTxId);
+            TransactionInput input = mock(TransactionInput.class);
+            when(input.getOutpoint()).thenReturn(outPoint);
+            inputs.add(input);
+        }
+        when(tx.getInputs()).thenReturn(inputs);
+
+        txStates.put(tx, state);
+        walletTxs.put(tx, state);
+        return tx;
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.dao.node.full;
+
+import bisq.core.dao.state.model.blockchain.TxInput;
+
+import bisq.common.file.FileUtil;
+
+import com.google.common.collect.ImmutableList;
+
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RawBlockCacheTest {
+    private static final int MAX_BLOCKS = 8;
+
+    private File storageDir;
+    private RawBlockCache rawBlockCache;
+
+    @Before
+    public void setUp() throws IOException {
+        storageDir = Files.createTempDirectory("storage").toFile();
+        rawBlockCache = new RawBlockCache(storageDir, MAX_BLOCKS);
+        rawBlockCache.open();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        rawBlockCache.shutDown();
+        FileUtil.deleteDirectory(storageDir);
+    }
+
+    @Test
+    public void testAddAndReopen() {
+        RawBlock block100 = createBlock(100, "hash100", "hash99", 2);
+        rawBlockCache.add(block100);
+        rawBlockCache.add(createBlock(101, "hash101", "hash100", 0));
+        rawBlockCache.add(createBlock(102, "hash102", "hash101", 3));
+
+        assertEquals(102, rawBlockCache.getLastHeight());
+        assertEquals(block100, rawBlockCache.getBlock(100).get());
+
+        rawBlockCache.shutDown();
+        rawBlockCache = new RawBlockCache(storageDir, MAX_BLOCKS);
+        rawBlockCache.open();
+
+        assertEquals(102, rawBlockCache.getLastHeight());
+        assertEquals(block100, rawBlockCache.getBlock(100).get());
+        assertEquals(3, rawBlockCache.getBlock(102).get().getRawTxs().size());
+        assertFalse(rawBlockCache.getBlock(99).isPresent());
+        assertFalse(rawBlockCache.getBlock(103).isPresent());
+    }
+
+    @Test
+    public void testNotConnectingBlockStartsNewCache() {
+        rawBlockCache.add(createBlock(100, "hash100", "hash99", 1));
+        rawBlockCache.add(createBlock(101, "hash101", "hash100", 1));
+
+        // Gap, e.g. after starting from a newer snapshot
+        RawBlock block200 = createBlock(200, "hash200", "hash199", 1);
+        rawBlockCache.add(block200);
+        assertEquals(200, rawBlockCache.getLastHeight());
+        assertFalse(rawBlockCache.getBlock(100).isPresent());
+        assertEquals(block200, rawBlockCache.getBlock(200).get());
+
+        // Later blocks connect again
+        rawBlockCache.add(createBlock(201, "hash201", "hash200", 1));
+        assertEquals(201, rawBlockCache.getLastHeight());
+
+        // Other previous block hash
+        rawBlockCache.add(createBlock(202, "hash202", "otherHash", 1));
+        assertEquals(202, rawBlockCache.getLastHeight());
+        assertFalse(rawBlockCache.getBlock(201).isPresent());
+
+        // Older blocks get requested at a resync before the cached blocks, so they do not replace the cache
+        rawBlockCache.add(createBlock(50, "hash50", "hash49", 1));
+        assertEquals(202, rawBlockCache.getLastHeight());
+        assertFalse(rawBlockCache.getBlock(50).isPresent());
+    }
+
+    @Test
+    public void testPrune() {
+        for (int height = 100; height < 110; height++) {
+            rawBlockCache.add(createBlock(height, "hash" + height, "hash" + (height - 1), 2));
+        }
+        // We prune only once the limit is exceeded by a quarter
+        assertEquals(10, getNumBlocks());
+
+        RawBlock block110 = createBlock(110, "hash110", "hash109", 2);
+        rawBlockCache.add(block110);
+        assertEquals(MAX_BLOCKS, getNumBlocks());
+        assertEquals(110, rawBlockCache.getLastHeight());
+        assertFalse(rawBlockCache.getBlock(102).isPresent());
+        assertEquals(block110, rawBlockCache.getBlock(110).get());
+
+        // Blocks still connect after pruning
+        rawBlockCache.add(createBlock(111, "hash111", "hash110", 1));
+        assertEquals(111, rawBlockCache.getLastHeight());
+
+        rawBlockCache.shutDown();
+        rawBlockCache = new RawBlockCache(storageDir, 4);
+        rawBlockCache.open();
+
+        // A lowered limit gets applied at the start
+        assertEquals(4, getNumBlocks());
+        assertEquals(block110, rawBlockCache.getBlock(110).get());
+        assertEquals(2, rawBlockCache.getBlock(108).get().getRawTxs().size());
+    }
+
+    @Test
+    public void testDisabledCacheIsDeleted() {
+        rawBlockCache.add(createBlock(100, "hash100", "hash99", 1));
+        rawBlockCache.shutDown();
+        File storageFile = new File(storageDir, "RawBlockCache");
+        assertTrue(storageFile.exists());
+
+        rawBlockCache = new RawBlockCache(storageDir, 0);
+        rawBlockCache.open();
+        assertFalse(storageFile.exists());
+
+        rawBlockCache.add(createBlock(101, "hash101", "hash100", 1));
+        assertEquals(-1, rawBlockCache.getLastHeight());
+        assertFalse(rawBlockCache.getBlock(100).isPresent());
+    }
+
+    @Test
+    public void testReorgReplacesLaterBlocks() {
+        rawBlockCache.add(createBlock(100, "hash100", "hash99", 1));
+        rawBlockCache.add(createBlock(101, "hash101", "hash100", 1));
+        rawBlockCache.add(createBlock(102, "hash102", "hash101", 1));
+        // Same block again is ignored
+        rawBlockCache.add(createBlock(101, "hash101", "hash100", 1));
+        assertEquals(102, rawBlockCache.getLastHeight());
+
+        RawBlock reorgBlock = createBlock(101, "reorgHash101", "hash100", 2);
+        rawBlockCache.add(reorgBlock);
+        assertEquals(101, rawBlockCache.getLastHeight());
+        assertEquals(reorgBlock, rawBlockCache.getBlock(101).get());
+
+        rawBlockCache.shutDown();
+        rawBlockCache = new RawBlockCache(storageDir, MAX_BLOCKS);
+        rawBlockCache.open();
+
+        assertEquals(101, rawBlockCache.getLastHeight());
+        assertEquals(reorgBlock, rawBlockCache.getBlock(101).get());
+        rawBlockCache.add(createBlock(102, "reorgHash102", "reorgHash101", 1));
+        assertEquals(102, rawBlockCache.getLastHeight());
+    }
+
+    @Test
+    public void testIncompleteRecordIsDropped() throws IOException {
+        rawBlockCache.add(createBlock(100, "hash100", "hash99", 1));
+        rawBlockCache.add(createBlock(101, "hash101", "hash100", 1));
+        rawBlockCache.shutDown();
+
+        // Simulates a crash while writing the last record
+        File storageFile = new File(storageDir, "RawBlockCache");
+        long size = storageFile.length();
+        Files.newByteChannel(storageFile.toPath(), StandardOpenOption.WRITE).truncate(size - 20).close();
+
+        rawBlockCache = new RawBlockCache(storageDir, MAX_BLOCKS);
+        rawBlockCache.open();
+        assertEquals(100, rawBlockCache.getLastHeight());
+        rawBlockCache.add(createBlock(101, "hash101", "hash100", 1));
+        assertEquals(101, rawBlockCache.getLastHeight());
+    }
+
+    private int getNumBlocks() {
+        int numBlocks = 0;
+        for (int height = 0; height <= rawBlockCache.getLastHeight(); height++) {
+            if (rawBlockCache.getBlock(height).isPresent()) {
+                numBlocks++;
+            }
+        }
+        return numBlocks;
+    }
+
+    private static RawBlock createBlock(int height, String hash, String previousBlockHash, int numTxs) {
+        ImmutableList.Builder<RawTx> rawTxs = ImmutableList.builder();
+        for (int i = 0; i < numTxs; i++) {
+            String txId = hash + "_tx" + i;
+            rawTxs.add(new RawTx(txId,
+                    height,
+                    hash,
+                    1000L * height,
+                    ImmutableList.of(new TxInput("input" + i, 0, null)),
+                    ImmutableList.of(new RawTxOutput(0, 1000, txId, null, null, null, height))));
+        }
+        return new RawBlock(height, 1000L * height, hash, previousBlockHash, rawTxs.build());
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.dao.node.parser;
+
+import bisq.core.dao.governance.period.PeriodService;
+import bisq.core.dao.node.full.RawTx;
+import bisq.core.dao.node.full.RawTxOutput;
+import bisq.core.dao.state.DaoStateService;
+import bisq.core.dao.state.GenesisTxInfo;
+import bisq.core.dao.state.model.DaoState;
+import bisq.core.dao.state.model.blockchain.Tx;
+import bisq.core.dao.state.model.blockchain.TxInput;
+
+import org.bitcoinj.core.Coin;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Compares parsing the txs of a synthetic block by passing all txs to the TxParser, as the BlockParser did before,
+ * with first selecting the BSQ tx candidates with the BsqTxCandidateFilter. It also verifies that both result in the
+ * same BSQ txs. Not run as part of the tests, start it with the main method.
+ *
+ * Args: [number of txs, default 3000] [percentage of BSQ txs, default 5] [number of runs, default 50]
+ */
+public class BlockParserBenchmark {
+    private static final String GENESIS_TX_ID = "genesisTxId";
+    private static final int GENESIS_BLOCK_HEIGHT = 100;
+    private static final int BLOCK_HEIGHT = GENESIS_BLOCK_HEIGHT + 1;
+    private static final long BSQ_OUTPUT_VALUE = 10_000;
+
+    public static void main(String[] args) {
+        int numTxs = args.length > 0 ? Integer.parseInt(args[0]) : 3000;
+        int bsqTxPercentage = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        int numRuns = args.length > 2 ? Integer.parseInt(args[2]) : 50;
+        int numBsqTxs = numTxs * bsqTxPercentage / 100;
+
+        RawTx genesisTx = createGenesisTx(numBsqTxs);
+        Coin genesisTotalSupply = Coin.valueOf(numBsqTxs * BSQ_OUTPUT_VALUE);
+        List<RawTx> rawTxs = createBlockTxs(numTxs, numBsqTxs);
+
+        DaoStateService daoStateService = new DaoStateService(new DaoState(), mock(GenesisTxInfo.class), null);
+        daoStateService.onNewBlockHeight(BLOCK_HEIGHT);
+        TxParser txParser = new TxParser(new PeriodService(daoStateService), daoStateService);
+        BsqTxCandidateFilter bsqTxCandidateFilter = new BsqTxCandidateFilter(daoStateService);
+        Runnable resetDaoState = () -> {
+            daoStateService.getUnspentTxOutputMap().clear();
+            GenesisTxParser.getGenesisTx(genesisTx, genesisTotalSupply, daoStateService);
+        };
+
+        List<String> allTxsResult = new ArrayList<>();
+        List<String> candidatesResult = new ArrayList<>();
+        // Warm up
+        for (int i = 0; i < 5; i++) {
+            resetDaoState.run();
+            parse(txParser, rawTxs, genesisTotalSupply, allTxsResult);
+            resetDaoState.run();
+            parse(txParser, bsqTxCandidateFilter.getCandidates(rawTxs, GENESIS_TX_ID, GENESIS_BLOCK_HEIGHT),
+                    genesisTotalSupply, candidatesResult);
+        }
+        if (!allTxsResult.equals(candidatesResult)) {
+            throw new IllegalStateException("Parsing the candidates resulted in other BSQ txs than parsing all txs");
+        }
+
+        long allTxsNanos = 0;
+        long candidatesNanos = 0;
+        int numCandidates = 0;
+        for (int i = 0; i < numRuns; i++) {
+            resetDaoState.run();
+            long ts = System.nanoTime();
+            parse(txParser, rawTxs, genesisTotalSupply, allTxsResult);
+            allTxsNanos += System.nanoTime() - ts;
+
+            resetDaoState.run();
+            ts = System.nanoTime();
+            List<RawTx> candidates = bsqTxCandidateFilter.getCandidates(rawTxs, GENESIS_TX_ID, GENESIS_BLOCK_HEIGHT);
+            parse(txParser, candidates, genesisTotalSupply, candidatesResult);
+            candidatesNanos += System.nanoTime() - ts;
+            numCandidates = candidates.size();
+        }
+
+        System.out.printf("Block with %d txs, %d BSQ txs, %d BSQ tx candidates, %d runs%n",
+                numTxs, allTxsResult.size(), numCandidates, numRuns);
+        System.out.printf("Parse all txs:        %.2f ms per block%n", allTxsNanos / 1e6 / numRuns);
+        System.out.printf("Parse candidates:     %.2f ms per block%n", candidatesNanos / 1e6 / numRuns);
+    }
+
+    private static void parse(TxParser txParser, List<RawTx> rawTxs, Coin genesisTotalSupply, List<String> result) {
+        result.clear();
+        for (RawTx rawTx : rawTxs) {
+            txParser.findTx(rawTx, GENESIS_TX_ID, GENESIS_BLOCK_HEIGHT, genesisTotalSupply)
+                    .map(Tx::getId)
+                    .ifPresent(result::add);
+        }
+    }
+
+    private static RawTx createGenesisTx(int numOutputs) {
+        List<RawTxOutput> outputs = new ArrayList<>();
+        for (int i = 0; i < numOutputs; i++) {
+            outputs.add(new RawTxOutput(i, BSQ_OUTPUT_VALUE, GENESIS_TX_ID, null, null, null, GENESIS_BLOCK_HEIGHT));
+        }
+        return new RawTx(GENESIS_TX_ID,
+                GENESIS_BLOCK_HEIGHT,
+                "genesisBlockHash",
+                0,
+                ImmutableList.of(new TxInput("fundingTx", 0, null)),
+                ImmutableList.copyOf(outputs));
+    }
+
+    // BSQ txs spend one genesis output each. Some BTC txs spend outputs of earlier txs of the same block.
+    private static List<RawTx> createBlockTxs(int numTxs, int numBsqTxs) {
+        Random random = new Random(1);
+        int bsqTxInterval = numTxs / Math.max(1, numBsqTxs);
+        List<RawTx> rawTxs = new ArrayList<>();
+        int numCreatedBsqTxs = 0;
+        for (int i = 0; i < numTxs; i++) {
+            String txId = "tx" + i;
+            TxInput firstInput;
+            if (numCreatedBsqTxs < numBsqTxs && i % bsqTxInterval == 0) {
+                firstInput = new TxInput(GENESIS_TX_ID, numCreatedBsqTxs++, null);
+            } else if (i > 0 && random.nextInt(10) == 0) {
+                firstInput = new TxInput("tx" + random.nextInt(i), 1, null);
+            } else {
+                firstInput = new TxInput("btcTx" + i, 0, null);
+            }
+            rawTxs.add(new RawTx(txId,
+                    BLOCK_HEIGHT,
+                    "blockHash",
+                    0,
+                    ImmutableList.of(firstInput, new TxInput("btcTx" + i, 1, null)),
+                    ImmutableList.of(new RawTxOutput(0, BSQ_OUTPUT_VALUE, txId, null, null, null, BLOCK_HEIGHT),
+                            new RawTxOutput(1, 50_000, txId, null, null, null, BLOCK_HEIGHT))));
+        }
+        return rawTxs;
+    }
+}
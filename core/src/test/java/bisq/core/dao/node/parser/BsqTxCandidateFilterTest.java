@@ -0,0 +1,110 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.dao.node.parser;
+
+import bisq.core.dao.node.full.RawTx;
+import bisq.core.dao.node.full.RawTxOutput;
+import bisq.core.dao.state.DaoStateService;
+import bisq.core.dao.state.model.blockchain.TxInput;
+import bisq.core.dao.state.model.blockchain.TxOutputKey;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BsqTxCandidateFilterTest {
+    private static final String GENESIS_TX_ID = "genesis";
+    private static final int GENESIS_BLOCK_HEIGHT = 100;
+    private static final int BLOCK_HEIGHT = 200;
+
+    private DaoStateService daoStateService;
+
+    @Before
+    public void setUp() {
+        daoStateService = mock(DaoStateService.class);
+        when(daoStateService.isUnspent(new TxOutputKey("bsqTx", 0))).thenReturn(true);
+    }
+
+    @Test
+    public void testGetCandidates() {
+        List<RawTx> rawTxs = List.of(
+                createRawTx("tx1", BLOCK_HEIGHT, new TxInput("btcTx", 0, null)),
+                // Spends a BSQ output
+                createRawTx("tx2", BLOCK_HEIGHT, new TxInput("btcTx", 1, null), new TxInput("bsqTx", 0, null)),
+                // Spends an output of a tx of the same block
+                createRawTx("tx3", BLOCK_HEIGHT, new TxInput("tx2", 0, null)),
+                createRawTx("tx4", BLOCK_HEIGHT, new TxInput("bsqTx", 1, null)));
+
+        assertEquals(List.of("tx2", "tx3"), getCandidateIds(new BsqTxCandidateFilter(daoStateService, 1), rawTxs));
+    }
+
+    @Test
+    public void testGenesisTxIsCandidate() {
+        List<RawTx> rawTxs = List.of(
+                createRawTx("tx1", GENESIS_BLOCK_HEIGHT, new TxInput("btcTx", 0, null)),
+                createRawTx(GENESIS_TX_ID, GENESIS_BLOCK_HEIGHT, new TxInput("btcTx", 1, null)));
+
+        assertEquals(List.of(GENESIS_TX_ID), getCandidateIds(new BsqTxCandidateFilter(daoStateService, 1), rawTxs));
+    }
+
+    @Test
+    public void testParallelCheckKeepsBlockOrder() {
+        List<RawTx> rawTxs = new ArrayList<>();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < BsqTxCandidateFilter.MIN_TXS_FOR_PARALLEL_CHECK * 2; i++) {
+            String txId = "tx" + i;
+            if (i % 7 == 0) {
+                rawTxs.add(createRawTx(txId, BLOCK_HEIGHT, new TxInput("bsqTx", 0, null)));
+                expected.add(txId);
+            } else if (i % 11 == 0) {
+                // Spends an output of a tx at the end of the block, so it is in another slice
+                rawTxs.add(createRawTx(txId, BLOCK_HEIGHT, new TxInput("tx999", 0, null)));
+                expected.add(txId);
+            } else {
+                rawTxs.add(createRawTx(txId, BLOCK_HEIGHT, new TxInput("btcTx", i, null)));
+            }
+        }
+
+        assertEquals(expected, getCandidateIds(new BsqTxCandidateFilter(daoStateService, 3), rawTxs));
+        assertEquals(expected, getCandidateIds(new BsqTxCandidateFilter(daoStateService, 1), rawTxs));
+    }
+
+    private static List<String> getCandidateIds(BsqTxCandidateFilter filter, List<RawTx> rawTxs) {
+        return filter.getCandidates(rawTxs, GENESIS_TX_ID, GENESIS_BLOCK_HEIGHT).stream()
+                .map(RawTx::getId)
+                .collect(Collectors.toList());
+    }
+
+    private static RawTx createRawTx(String txId, int blockHeight, TxInput... txInputs) {
+        return new RawTx(txId,
+                blockHeight,
+                "blockHash",
+                0,
+                ImmutableList.copyOf(txInputs),
+                ImmutableList.of(new RawTxOutput(0, 1000, txId, null, null, null, blockHeight)));
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.dao.state;
+
+import bisq.core.dao.state.model.governance.Cycle;
+import bisq.core.dao.state.model.governance.DaoPhase;
+import bisq.core.dao.state.model.governance.ParamChange;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+public class GovernanceTimelineTest {
+    private static final String[] PARAM_NAMES = {"A", "B", "C"};
+
+    @Test
+    public void testParamValueMatchesLinearSearch() {
+        Random random = new Random(7);
+        GovernanceTimeline timeline = new GovernanceTimeline();
+        List<ParamChange> paramChangeList = new ArrayList<>();
+        assertNull(timeline.findParamValue(paramChangeList, "A", 100));
+
+        for (int i = 0; i < 50; i++) {
+            // Same activation heights are common as all changes of a cycle get activated at the next cycle
+            int activationHeight = random.nextInt(20) * 10;
+            paramChangeList.add(new ParamChange(PARAM_NAMES[random.nextInt(PARAM_NAMES.length)],
+                    String.valueOf(i), activationHeight));
+            paramChangeList.sort(Comparator.comparingInt(ParamChange::getActivationHeight));
+            timeline.onParamChangeListChanged(paramChangeList);
+
+            for (String paramName : PARAM_NAMES) {
+                for (int height = -1; height <= 200; height++) {
+                    assertEquals(findParamValueLinear(paramChangeList, paramName, height),
+                            timeline.findParamValue(paramChangeList, paramName, height));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testCycleLookup() {
+        GovernanceTimeline timeline = new GovernanceTimeline();
+        LinkedList<Cycle> cycles = new LinkedList<>();
+        assertFalse(timeline.findCycle(cycles, 100).isPresent());
+
+        int heightOfFirstBlock = 100;
+        for (int i = 0; i < 10; i++) {
+            Cycle cycle = new Cycle(heightOfFirstBlock,
+                    ImmutableList.of(new DaoPhase(DaoPhase.Phase.PROPOSAL, 5 + i), new DaoPhase(DaoPhase.Phase.RESULT, 2)));
+            cycles.add(cycle);
+            timeline.onCyclesChanged(cycles);
+            heightOfFirstBlock = cycle.getHeightOfLastBlock() + 1;
+        }
+
+        for (int height = 0; height < heightOfFirstBlock + 10; height++) {
+            assertEquals(findCycleLinear(cycles, height), timeline.findCycle(cycles, height));
+        }
+    }
+
+    @Test
+    public void testRebuildIfListChangedWithoutNotification() {
+        GovernanceTimeline timeline = new GovernanceTimeline();
+        List<ParamChange> paramChangeList = new ArrayList<>();
+        paramChangeList.add(new ParamChange("A", "1", 10));
+        assertEquals("1", timeline.findParamValue(paramChangeList, "A", 10));
+
+        LinkedList<Cycle> cycles = new LinkedList<>();
+        cycles.add(new Cycle(10, ImmutableList.of(new DaoPhase(DaoPhase.Phase.PROPOSAL, 5))));
+        assertEquals(cycles.getFirst(), timeline.findCycle(cycles, 14).get());
+    }
+
+    private static String findParamValueLinear(List<ParamChange> paramChangeList, String paramName, int height) {
+        for (int i = paramChangeList.size() - 1; i >= 0; i--) {
+            ParamChange paramChange = paramChangeList.get(i);
+            if (paramChange.getParamName().equals(paramName) && height >= paramChange.getActivationHeight()) {
+                return paramChange.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static Optional<Cycle> findCycleLinear(List<Cycle> cycles, int height) {
+        return cycles.stream()
+                .filter(cycle -> cycle.getHeightOfFirstBlock() <= height)
+                .filter(cycle -> cycle.getHeightOfLastBlock() >= height)
+                .findAny();
+    }
+}
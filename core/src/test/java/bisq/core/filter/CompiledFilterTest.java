@@ -0,0 +1,84 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.filter;
+
+import bisq.core.payment.payload.ClearXchangeAccountPayload;
+import bisq.core.payment.payload.PaymentMethod;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class CompiledFilterTest {
+    @Test
+    public void testEmptyFilter() {
+        assertFalse(CompiledFilter.EMPTY.isOfferIdBanned("offer1"));
+        assertFalse(CompiledFilter.EMPTY.isCurrencyBanned("EUR"));
+        assertFalse(CompiledFilter.EMPTY.arePaymentAccountDataBanned(createPayload("Alice")));
+    }
+
+    @Test
+    public void testBannedLists() {
+        Filter filter = mock(Filter.class);
+        when(filter.getBannedOfferIds()).thenReturn(List.of("offer1"));
+        when(filter.getNodeAddressesBannedFromTrading()).thenReturn(List.of("abc.onion:9999"));
+        when(filter.getNodeAddressesBannedFromNetwork()).thenReturn(Set.of("def.onion:9999"));
+        when(filter.getBannedCurrencies()).thenReturn(List.of("EUR"));
+        // Lists of old filters might be null
+        when(filter.getBannedPaymentMethods()).thenReturn(null);
+        CompiledFilter compiledFilter = new CompiledFilter(filter);
+
+        assertTrue(compiledFilter.isOfferIdBanned("offer1"));
+        assertFalse(compiledFilter.isOfferIdBanned("offer2"));
+        assertTrue(compiledFilter.isNodeAddressBannedFromTrading("abc.onion:9999"));
+        assertFalse(compiledFilter.isNodeAddressBannedFromTrading("def.onion:9999"));
+        assertTrue(compiledFilter.isNodeAddressBannedFromNetwork("def.onion:9999"));
+        assertTrue(compiledFilter.isCurrencyBanned("EUR"));
+        assertFalse(compiledFilter.isCurrencyBanned("USD"));
+        assertFalse(compiledFilter.isPaymentMethodBanned(PaymentMethod.CLEAR_X_CHANGE_ID));
+        assertFalse(compiledFilter.isWitnessSignerPubKeyBanned("00"));
+    }
+
+    @Test
+    public void testBannedPaymentAccounts() {
+        Filter filter = mock(Filter.class);
+        when(filter.getBannedPaymentAccounts()).thenReturn(List.of(
+                new PaymentAccountFilter(PaymentMethod.CLEAR_X_CHANGE_ID, "getHolderName", "alice"),
+                new PaymentAccountFilter(PaymentMethod.CLEAR_X_CHANGE_ID, "getNotExistingMethod", "bob"),
+                new PaymentAccountFilter(PaymentMethod.SEPA_ID, "getHolderName", "carol")));
+        CompiledFilter compiledFilter = new CompiledFilter(filter);
+
+        // Values are compared case insensitive
+        assertTrue(compiledFilter.arePaymentAccountDataBanned(createPayload("Alice")));
+        assertFalse(compiledFilter.arePaymentAccountDataBanned(createPayload("Bob")));
+        // Filter is for another payment method
+        assertFalse(compiledFilter.arePaymentAccountDataBanned(createPayload("Carol")));
+    }
+
+    private static ClearXchangeAccountPayload createPayload(String holderName) {
+        ClearXchangeAccountPayload payload = new ClearXchangeAccountPayload(PaymentMethod.CLEAR_X_CHANGE_ID, "id");
+        payload.setHolderName(holderName);
+        return payload;
+    }
+}
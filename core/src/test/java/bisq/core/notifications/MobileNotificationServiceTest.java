@@ -0,0 +1,82 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.notifications;
+
+import bisq.core.locale.Res;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class MobileNotificationServiceTest {
+    @Before
+    public void setup() {
+        Locale.setDefault(new Locale("en", "US"));
+        Res.setBaseCurrencyCode("BTC");
+        Res.setBaseCurrencyName("Bitcoin");
+    }
+
+    @Test
+    public void testGetBatchMessageWithSingleMessage() {
+        MobileMessage message = createMessage(0, MobileMessageType.MARKET);
+        assertSame(message, MobileNotificationService.getBatchMessage(List.of(message)));
+    }
+
+    @Test
+    public void testGetBatchMessage() {
+        List<MobileMessage> messages = createMessages(MobileNotificationService.MAX_MESSAGES_PER_NOTIFICATION);
+        MobileMessage batchMessage = MobileNotificationService.getBatchMessage(messages);
+
+        assertEquals("title", batchMessage.getTitle());
+        assertEquals("id0", batchMessage.getTxId());
+        assertEquals(MobileMessageType.MARKET, batchMessage.getMobileMessageType());
+        assertEquals("msg0\n\nmsg1\n\nmsg2\n\nmsg3\n\nmsg4", batchMessage.getMessage());
+    }
+
+    @Test
+    public void testGetBatchMessageListsOnlyMaxMessages() {
+        List<MobileMessage> messages = createMessages(MobileNotificationService.MAX_MESSAGES_PER_NOTIFICATION + 3);
+        MobileMessage batchMessage = MobileNotificationService.getBatchMessage(messages);
+
+        assertEquals("msg0\n\nmsg1\n\nmsg2\n\nmsg3\n\nmsg4\n\n" + Res.get("account.notifications.batch.more", 3),
+                batchMessage.getMessage());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetBatchMessageWithMixedTypes() {
+        MobileNotificationService.getBatchMessage(List.of(createMessage(0, MobileMessageType.MARKET),
+                createMessage(1, MobileMessageType.PRICE)));
+    }
+
+    private static List<MobileMessage> createMessages(int numMessages) {
+        return IntStream.range(0, numMessages)
+                .mapToObj(i -> createMessage(i, MobileMessageType.MARKET))
+                .collect(Collectors.toList());
+    }
+
+    private static MobileMessage createMessage(int index, MobileMessageType mobileMessageType) {
+        return new MobileMessage("title", "msg" + index, "id" + index, mobileMessageType);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package bisq.core.notifications.alerts.market;
+
+import bisq.core.offer.OfferPayload;
+import bisq.core.payment.PaymentAccount;
+import bisq.core.payment.payload.PaymentMethod;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class MarketAlertMatcherTest {
+    @Test
+    public void testGetTriggeredFilters() {
+        MarketAlertFilter sepaBuy100 = createFilter("SEPA", 100, true);
+        MarketAlertFilter sepaBuy200 = createFilter("SEPA", 200, true);
+        MarketAlertFilter sepaSell100 = createFilter("SEPA", 100, false);
+        MarketAlertFilter zelleBuy100 = createFilter("ZELLE", 100, true);
+        MarketAlertMatcher matcher = new MarketAlertMatcher(List.of(sepaBuy100, sepaBuy200, sepaSell100, zelleBuy100));
+
+        assertEquals(List.of(sepaBuy100, sepaBuy200),
+                matcher.getTriggeredFilters("SEPA", OfferPayload.Direction.BUY, -50));
+        assertEquals(List.of(sepaBuy100, sepaBuy200),
+                matcher.getTriggeredFilters("SEPA", OfferPayload.Direction.BUY, 100));
+        assertEquals(List.of(sepaBuy200),
+                matcher.getTriggeredFilters("SEPA", OfferPayload.Direction.BUY, 100.5));
+        assertEquals(List.of(),
+                matcher.getTriggeredFilters("SEPA", OfferPayload.Direction.BUY, 200.5));
+        assertEquals(List.of(sepaSell100),
+                matcher.getTriggeredFilters("SEPA", OfferPayload.Direction.SELL, 0));
+        assertEquals(List.of(),
+                matcher.getTriggeredFilters("SWIFT", OfferPayload.Direction.BUY, 0));
+        assertEquals(List.of(),
+                matcher.getTriggeredFilters("SEPA", OfferPayload.Direction.BUY, Double.NaN));
+        assertEquals(List.of(sepaBuy100, sepaBuy200),
+                matcher.getTriggeredFilters("SEPA", OfferPayload.Direction.BUY, Double.NEGATIVE_INFINITY));
+    }
+
+    @Test
+    public void testRemove() {
+        MarketAlertFilter filter = createFilter("SEPA", 100, true);
+        // Equal to filter but another instance
+        MarketAlertFilter equalFilter = new MarketAlertFilter(filter.getPaymentAccount(), 100, true);
+        MarketAlertMatcher matcher = new MarketAlertMatcher(List.of(filter, equalFilter));
+
+        matcher.remove(filter);
+        assertEquals(1, matcher.getTriggeredFilters("SEPA", OfferPayload.Direction.BUY, 0).size());
+        assertTrue(matcher.getTriggeredFilters("SEPA", OfferPayload.Direction.BUY, 0).get(0) == equalFilter);
+        assertFalse(matcher.isEmpty());
+
+        matcher.remove(equalFilter);
+        assertTrue(matcher.isEmpty());
+    }
+
+    private static MarketAlertFilter createFilter(String paymentMethodId, int triggerValue, boolean isBuyOffer) {
+        PaymentMethod paymentMethod = mock(PaymentMethod.class);
+        when(paymentMethod.getId()).thenReturn(paymentMethodId);
+        PaymentAccount paymentAccount = mock(PaymentAccount.class);
+        when(paymentAccount.getPaymentMethod()).thenReturn(paymentMethod);
+        return new MarketAlertFilter(paymentAccount, triggerValue, isBuyOffer);
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.notifications.alerts.market;
+
+import bisq.core.locale.Res;
+import bisq.core.monetary.Price;
+import bisq.core.notifications.MobileMessage;
+import bisq.core.notifications.MobileMessageType;
+import bisq.core.notifications.MobileNotificationService;
+import bisq.core.offer.Offer;
+import bisq.core.offer.OfferBookService;
+import bisq.core.offer.OfferPayload;
+import bisq.core.payment.PaymentAccount;
+import bisq.core.payment.payload.PaymentMethod;
+import bisq.core.provider.price.MarketPrice;
+import bisq.core.provider.price.PriceFeedService;
+import bisq.core.user.User;
+
+import bisq.common.FrameRateTimer;
+import bisq.common.Timer;
+import bisq.common.UserThread;
+import bisq.common.crypto.KeyRing;
+
+import com.google.common.util.concurrent.MoreExecutors;
+
+import java.time.Duration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.InvocationOnMock;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class MarketAlertsTest {
+    public static class ManualTimer implements Timer {
+        private static final List<ManualTimer> timers = new ArrayList<>();
+
+        private Runnable action;
+
+        @Override
+        public Timer runLater(Duration delay, Runnable action) {
+            this.action = action;
+            timers.add(this);
+            return this;
+        }
+
+        @Override
+        public Timer runPeriodically(Duration interval, Runnable runnable) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void stop() {
+            timers.remove(this);
+        }
+
+        private static void runAll() {
+            List<ManualTimer> dueTimers = new ArrayList<>(timers);
+            timers.clear();
+            dueTimers.forEach(timer -> timer.action.run());
+        }
+    }
+
+    private final List<Consumer<String>> resultHandlers = new ArrayList<>();
+    private final List<Consumer<Throwable>> errorHandlers = new ArrayList<>();
+    private MobileNotificationService mobileNotificationService;
+    private OfferBookService offerBookService;
+    private User user;
+    private MarketAlertFilter filter;
+    private MarketAlerts marketAlerts;
+
+    @Before
+    public void setup() throws Exception {
+        Locale.setDefault(new Locale("en", "US"));
+        Res.setBaseCurrencyCode("BTC");
+        Res.setBaseCurrencyName("Bitcoin");
+        UserThread.setExecutor(MoreExecutors.directExecutor());
+        UserThread.setTimerClass(ManualTimer.class);
+        ManualTimer.timers.clear();
+
+        PaymentMethod paymentMethod = mock(PaymentMethod.class);
+        when(paymentMethod.getId()).thenReturn("SEPA");
+        PaymentAccount paymentAccount = mock(PaymentAccount.class);
+        when(paymentAccount.getPaymentMethod()).thenReturn(paymentMethod);
+        filter = new MarketAlertFilter(paymentAccount, 0, false);
+
+        offerBookService = mock(OfferBookService.class);
+        user = mock(User.class);
+        when(user.getMarketAlertFilters()).thenReturn(List.of(filter));
+        PriceFeedService priceFeedService = mock(PriceFeedService.class);
+        when(priceFeedService.getMarketPrice("EUR")).thenReturn(new MarketPrice("EUR", 10000, 0, true));
+
+        mobileNotificationService = mock(MobileNotificationService.class);
+        when(mobileNotificationService.isEnabled(MobileMessageType.MARKET)).thenReturn(true);
+        doAnswer(this::onSendMessages).when(mobileNotificationService).sendMessages(anyList(), any(), any());
+
+        marketAlerts = new MarketAlerts(offerBookService, mobileNotificationService, user, priceFeedService,
+                mock(KeyRing.class));
+    }
+
+    @After
+    public void tearDown() {
+        UserThread.setTimerClass(FrameRateTimer.class);
+        ManualTimer.timers.clear();
+    }
+
+    @Test
+    public void testNextBatchIsSentAfterPreviousHasCompleted() throws Exception {
+        addOffers(7);
+        ManualTimer.runAll();
+
+        List<MobileMessage> firstBatch = captureSentMessages(1).get(0);
+        assertEquals(7, firstBatch.size());
+        assertTrue(filter.getAlertIds().isEmpty());
+
+        // Alerts added while the first notification is in progress must not trigger another notification
+        addOffers(7, 8);
+        ManualTimer.runAll();
+        verify(mobileNotificationService, times(1)).sendMessages(anyList(), any(), any());
+
+        resultHandlers.get(0).accept("success");
+        assertEquals(MobileNotificationService.MAX_MESSAGES_PER_NOTIFICATION, filter.getAlertIds().size());
+        List<MobileMessage> secondBatch = captureSentMessages(2).get(1);
+        assertEquals(3, secondBatch.size());
+
+        resultHandlers.get(1).accept("success");
+        assertEquals(8, filter.getAlertIds().size());
+        verify(user, times(2)).requestPersistence();
+        assertTrue(ManualTimer.timers.isEmpty());
+    }
+
+    @Test
+    public void testAlertsAreKeptIfNotificationServiceIsBusy() throws Exception {
+        doReturn(false).when(mobileNotificationService).sendMessages(anyList(), any(), any());
+        addOffers(3);
+        ManualTimer.runAll();
+
+        assertTrue(filter.getAlertIds().isEmpty());
+        assertEquals(1, ManualTimer.timers.size());
+
+        doAnswer(this::onSendMessages).when(mobileNotificationService).sendMessages(anyList(), any(), any());
+        ManualTimer.runAll();
+        assertEquals(3, captureSentMessages(2).get(1).size());
+
+        resultHandlers.get(0).accept("success");
+        assertEquals(3, filter.getAlertIds().size());
+    }
+
+    @Test
+    public void testFailedAlertsAreNotMarkedAsSent() throws Exception {
+        addOffers(3);
+        ManualTimer.runAll();
+
+        errorHandlers.get(0).accept(new RuntimeException("relay not available"));
+        assertTrue(filter.getAlertIds().isEmpty());
+        verify(user, never()).requestPersistence();
+        assertTrue(ManualTimer.timers.isEmpty());
+    }
+
+    @Test
+    public void testAlertsAreDroppedIfDisabled() throws Exception {
+        when(mobileNotificationService.isEnabled(MobileMessageType.MARKET)).thenReturn(false);
+        addOffers(3);
+        ManualTimer.runAll();
+
+        verify(mobileNotificationService, never()).sendMessages(anyList(), any(), any());
+        assertTrue(filter.getAlertIds().isEmpty());
+        assertTrue(ManualTimer.timers.isEmpty());
+    }
+
+    private void addOffers(int numOffers) {
+        addOffers(0, numOffers);
+    }
+
+    private void addOffers(int from, int to) {
+        when(offerBookService.getOffers()).thenReturn(IntStream.range(from, to)
+                .mapToObj(MarketAlertsTest::createOffer)
+                .collect(Collectors.toList()));
+        marketAlerts.onAllServicesInitialized();
+    }
+
+    private boolean onSendMessages(InvocationOnMock invocation) {
+        resultHandlers.add(invocation.getArgument(1));
+        errorHandlers.add(invocation.getArgument(2));
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<MobileMessage>> captureSentMessages(int numCalls) throws Exception {
+        ArgumentCaptor<List<MobileMessage>> captor = ArgumentCaptor.forClass(List.class);
+        verify(mobileNotificationService, times(numCalls)).sendMessages(captor.capture(), any(), any());
+        return captor.getAllValues();
+    }
+
+    private static Offer createOffer(int index) {
+        PaymentMethod paymentMethod = mock(PaymentMethod.class);
+        when(paymentMethod.getId()).thenReturn("SEPA");
+        Offer offer = mock(Offer.class);
+        when(offer.getId()).thenReturn("offer" + index);
+        when(offer.getShortId()).thenReturn("offer" + index);
+        when(offer.getCurrencyCode()).thenReturn("EUR");
+        when(offer.getDirection()).thenReturn(OfferPayload.Direction.SELL);
+        when(offer.getPaymentMethod()).thenReturn(paymentMethod);
+        when(offer.isUseMarketBasedPrice()).thenReturn(true);
+        when(offer.getPrice()).thenReturn(Price.valueOf("EUR", 99000000));
+        return offer;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.offer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class OfferRepublisherTest {
+    private final List<OpenOffer> published = new ArrayList<>();
+    private final List<Runnable> completeHandlers = new ArrayList<>();
+    private boolean completed;
+
+    @Before
+    public void setUp() {
+        published.clear();
+        completeHandlers.clear();
+        completed = false;
+    }
+
+    @Test
+    public void testBoundedInFlight() {
+        List<OpenOffer> openOffers = createOpenOffers(5);
+        OfferRepublisher offerRepublisher = createOfferRepublisher(openOffers, openOffer -> true);
+
+        offerRepublisher.start();
+        assertEquals(openOffers.subList(0, 2), published);
+
+        completeHandlers.get(1).run();
+        assertEquals(openOffers.subList(0, 3), published);
+
+        // Handlers called more than once do not free another slot
+        completeHandlers.get(1).run();
+        assertEquals(3, published.size());
+
+        completeHandlers.get(0).run();
+        completeHandlers.get(2).run();
+        assertEquals(openOffers, published);
+        assertFalse(completed);
+
+        completeHandlers.get(3).run();
+        completeHandlers.get(4).run();
+        assertTrue(completed);
+    }
+
+    @Test
+    public void testSkipsOffersNotToRepublish() {
+        List<OpenOffer> openOffers = createOpenOffers(3);
+        OfferRepublisher offerRepublisher = createOfferRepublisher(openOffers, openOffer -> openOffer != openOffers.get(0));
+
+        offerRepublisher.start();
+        assertEquals(openOffers.subList(1, 3), published);
+        completeHandlers.forEach(Runnable::run);
+        assertTrue(completed);
+    }
+
+    @Test
+    public void testPublisherCompletingImmediately() {
+        List<OpenOffer> openOffers = createOpenOffers(5);
+        new OfferRepublisher(openOffers, 2, openOffer -> true,
+                (openOffer, completeHandler) -> {
+                    published.add(openOffer);
+                    completeHandler.run();
+                },
+                () -> completed = true).start();
+
+        assertEquals(openOffers, published);
+        assertTrue(completed);
+    }
+
+    @Test
+    public void testStop() {
+        List<OpenOffer> openOffers = createOpenOffers(5);
+        OfferRepublisher offerRepublisher = createOfferRepublisher(openOffers, openOffer -> true);
+
+        offerRepublisher.start();
+        offerRepublisher.stop();
+        completeHandlers.forEach(Runnable::run);
+        assertEquals(2, published.size());
+        assertFalse(completed);
+    }
+
+    private OfferRepublisher createOfferRepublisher(List<OpenOffer> openOffers,
+                                                    Predicate<OpenOffer> isStillToRepublish) {
+        return new OfferRepublisher(openOffers, 2, isStillToRepublish,
+                (openOffer, completeHandler) -> {
+                    published.add(openOffer);
+                    completeHandlers.add(completeHandler);
+                },
+                () -> completed = true);
+    }
+
+    private static List<OpenOffer> createOpenOffers(int numOffers) {
+        List<OpenOffer> openOffers = new ArrayList<>();
+        for (int i = 0; i < numOffers; i++) {
+            openOffers.add(mock(OpenOffer.class));
+        }
+        return openOffers;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.offer;
+
+import bisq.core.monetary.Price;
+import bisq.core.provider.price.MarketPrice;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TriggerPriceIndexTest {
+    @Test
+    public void testTriggeredOffersMatchWasTriggered() {
+        Random random = new Random(3);
+        for (String currencyCode : List.of("EUR", "XMR")) {
+            TriggerPriceIndex triggerPriceIndex = new TriggerPriceIndex();
+            List<OpenOffer> openOffers = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                OfferPayload.Direction direction = random.nextBoolean() ? OfferPayload.Direction.BUY : OfferPayload.Direction.SELL;
+                OpenOffer openOffer = createOpenOffer(currencyCode, direction, random.nextInt(50) * 1000L);
+                openOffers.add(openOffer);
+                triggerPriceIndex.add(openOffer);
+            }
+
+            // We remove some offers again
+            for (int i = 0; i < 10; i++) {
+                triggerPriceIndex.remove(openOffers.remove(random.nextInt(openOffers.size())));
+            }
+
+            for (int i = 0; i < 60; i++) {
+                // Prices are scaled by 4 (fiat) or 8 (altcoins) decimals
+                double price = i * 1000 / (currencyCode.equals("EUR") ? 1e4 : 1e8);
+                MarketPrice marketPrice = new MarketPrice(currencyCode, price, 0, true);
+                long marketPriceAsLong = Math.round(price * (currencyCode.equals("EUR") ? 1e4 : 1e8));
+
+                Set<OpenOffer> expected = openOffers.stream()
+                        .filter(openOffer -> TriggerPriceService.wasTriggered(marketPrice, openOffer))
+                        .collect(Collectors.toSet());
+                assertEquals(expected, new HashSet<>(triggerPriceIndex.getTriggeredOffers(marketPriceAsLong)));
+            }
+        }
+    }
+
+    @Test
+    public void testOffersWithoutTriggerPriceAreNotIndexed() {
+        TriggerPriceIndex triggerPriceIndex = new TriggerPriceIndex();
+        assertFalse(triggerPriceIndex.add(createOpenOffer("EUR", OfferPayload.Direction.SELL, 0)));
+        assertTrue(triggerPriceIndex.isEmpty());
+
+        OpenOffer openOffer = createOpenOffer("EUR", OfferPayload.Direction.SELL, 1000);
+        assertTrue(triggerPriceIndex.add(openOffer));
+        assertFalse(triggerPriceIndex.isEmpty());
+        triggerPriceIndex.remove(openOffer);
+        assertTrue(triggerPriceIndex.isEmpty());
+    }
+
+    @Test
+    public void testRemoveAfterStateChange() {
+        TriggerPriceIndex triggerPriceIndex = new TriggerPriceIndex();
+        OpenOffer openOffer = new OpenOffer(createOffer("EUR", OfferPayload.Direction.SELL), 1000);
+        triggerPriceIndex.add(openOffer);
+
+        // The OpenOfferManager sets the state before it removes the offer
+        openOffer.setState(OpenOffer.State.CANCELED);
+        triggerPriceIndex.remove(openOffer);
+
+        assertTrue(triggerPriceIndex.isEmpty());
+        assertTrue(triggerPriceIndex.getTriggeredOffers(2000).isEmpty());
+    }
+
+    private static OpenOffer createOpenOffer(String currencyCode, OfferPayload.Direction direction, long triggerPrice) {
+        Offer offer = createOffer(currencyCode, direction);
+        OpenOffer openOffer = mock(OpenOffer.class);
+        when(openOffer.getId()).thenReturn(offer.getId());
+        when(openOffer.getOffer()).thenReturn(offer);
+        when(openOffer.getTriggerPrice()).thenReturn(triggerPrice);
+        return openOffer;
+    }
+
+    private static Offer createOffer(String currencyCode, OfferPayload.Direction direction) {
+        Offer offer = mock(Offer.class);
+        when(offer.getId()).thenReturn(UUID.randomUUID().toString());
+        when(offer.getCurrencyCode()).thenReturn(currencyCode);
+        when(offer.getDirection()).thenReturn(direction);
+        when(offer.getPrice()).thenReturn(mock(Price.class));
+        return offer;
+    }
+}
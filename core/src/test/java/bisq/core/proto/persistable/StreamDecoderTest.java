@@ -0,0 +1,71 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.core.proto.persistable;
+
+import bisq.core.account.witness.AccountAgeWitness;
+import bisq.core.account.witness.AccountAgeWitnessStore;
+import bisq.core.dao.monitoring.model.DaoStateHash;
+import bisq.core.dao.state.model.DaoState;
+import bisq.core.dao.state.model.blockchain.Block;
+import bisq.core.dao.state.model.governance.ParamChange;
+import bisq.core.dao.state.storage.DaoStateStore;
+
+import com.google.protobuf.CodedInputStream;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class StreamDecoderTest {
+    @Test
+    public void testAccountAgeWitnessStore() throws Exception {
+        List<protobuf.AccountAgeWitness> items = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            items.add(new AccountAgeWitness(new byte[]{(byte) i, 1, 2}, i).toProtoMessage().getAccountAgeWitness());
+        }
+        protobuf.AccountAgeWitnessStore proto = protobuf.AccountAgeWitnessStore.newBuilder().addAllItems(items).build();
+
+        AccountAgeWitnessStore store = AccountAgeWitnessStore.fromProto(CodedInputStream.newInstance(proto.toByteArray()));
+
+        assertEquals(AccountAgeWitnessStore.fromProto(proto).getMap(), store.getMap());
+    }
+
+    @Test
+    public void testDaoStateStore() throws Exception {
+        DaoState daoState = new DaoState();
+        daoState.setChainHeight(100);
+        daoState.getBlocks().add(new Block(99, 1000, "hash99", "hash98"));
+        daoState.getBlocks().add(new Block(100, 2000, "hash100", "hash99"));
+        daoState.getParamChangeList().add(new ParamChange("A", "1", 10));
+        protobuf.DaoStateStore proto = protobuf.DaoStateStore.newBuilder()
+                .setDaoState(daoState.getBsqStateBuilder())
+                .addDaoStateHash(new DaoStateHash(99, new byte[]{1}, new byte[]{0}).toProtoMessage())
+                .addDaoStateHash(new DaoStateHash(100, new byte[]{2}, new byte[]{1}).toProtoMessage())
+                .build();
+
+        DaoStateStore store = DaoStateStore.fromProto(CodedInputStream.newInstance(proto.toByteArray()));
+
+        DaoStateStore expected = DaoStateStore.fromProto(proto);
+        assertEquals(2, store.getDaoState().getBlocks().size());
+        assertEquals(expected.getDaoState().getBsqStateBuilder().build(),
+                store.getDaoState().getBsqStateBuilder().build());
+        assertEquals(expected.getDaoStateHashChain(), store.getDaoStateHashChain());
+    }
+}
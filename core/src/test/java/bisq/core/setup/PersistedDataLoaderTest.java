@@ -0,0 +1,122 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.setup;
+
+import bisq.common.proto.persistable.PersistedDataHost;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PersistedDataLoaderTest {
+    private final List<String> startedHosts = new ArrayList<>();
+    private boolean completed;
+
+    private abstract class TestHost implements PersistedDataHost {
+        private Runnable completeHandler;
+
+        @Override
+        public void readPersisted(Runnable completeHandler) {
+            this.completeHandler = completeHandler;
+            startedHosts.add(getClass().getSimpleName());
+        }
+
+        private void complete() {
+            completeHandler.run();
+        }
+    }
+
+    private class HostA extends TestHost {
+    }
+
+    private class HostB extends TestHost {
+    }
+
+    private class HostC extends TestHost {
+    }
+
+    @Before
+    public void setUp() {
+        startedHosts.clear();
+        completed = false;
+    }
+
+    @Test
+    public void testPriorityOrder() {
+        HostA hostA = new HostA();
+        HostB hostB = new HostB();
+        new PersistedDataLoader()
+                .add(hostA)
+                .add(hostB, PersistedDataLoader.Priority.HIGH)
+                .load(() -> completed = true);
+
+        assertEquals(List.of("HostB", "HostA"), startedHosts);
+        hostA.complete();
+        assertFalse(completed);
+        hostB.complete();
+        assertTrue(completed);
+    }
+
+    @Test
+    public void testDependencies() {
+        HostA hostA = new HostA();
+        HostB hostB = new HostB();
+        HostC hostC = new HostC();
+        new PersistedDataLoader()
+                .add(hostA, PersistedDataLoader.Priority.HIGH, HostB.class)
+                .add(hostB)
+                .add(hostC, PersistedDataLoader.Priority.NORMAL, HostA.class, HostB.class)
+                .load(() -> completed = true);
+
+        assertEquals(List.of("HostB"), startedHosts);
+        hostB.complete();
+        assertEquals(List.of("HostB", "HostA"), startedHosts);
+        hostA.complete();
+        assertEquals(List.of("HostB", "HostA", "HostC"), startedHosts);
+        assertFalse(completed);
+        hostC.complete();
+        assertTrue(completed);
+    }
+
+    @Test
+    public void testNoHosts() {
+        new PersistedDataLoader().load(() -> completed = true);
+        assertTrue(completed);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingDependency() {
+        new PersistedDataLoader()
+                .add(new HostA(), PersistedDataLoader.Priority.NORMAL, HostB.class)
+                .load(() -> completed = true);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testCyclicDependencies() {
+        new PersistedDataLoader()
+                .add(new HostA(), PersistedDataLoader.Priority.NORMAL, HostB.class)
+                .add(new HostB(), PersistedDataLoader.Priority.NORMAL, HostA.class)
+                .load(() -> completed = true);
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.support.dispute;
+
+import bisq.core.support.messages.ChatMessage;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+import java.util.Collections;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DisputeIndexTest {
+    private ObservableList<Dispute> disputes;
+    private DisputeIndex disputeIndex;
+
+    @Before
+    public void setup() {
+        disputes = FXCollections.observableArrayList();
+        disputeIndex = new DisputeIndex(disputes);
+    }
+
+    @Test
+    public void testTwoDisputesOfTrade() {
+        Dispute buyerDispute = createDispute("trade1", 1);
+        Dispute sellerDispute = createDispute("trade1", 2);
+        disputes.addAll(buyerDispute, sellerDispute);
+
+        assertEquals(2, disputeIndex.getDisputes("trade1").size());
+        assertSame(buyerDispute, disputeIndex.findDispute("trade1", 1).orElseThrow());
+        assertSame(sellerDispute, disputeIndex.findDispute("trade1", 2).orElseThrow());
+        assertEquals(Optional.empty(), disputeIndex.findDispute("trade1", 3));
+        assertEquals(Collections.singleton("trade1"), disputeIndex.getTradeIds());
+    }
+
+    @Test
+    public void testRemoveOneDisputeOfTrade() {
+        Dispute buyerDispute = createDispute("trade1", 1);
+        Dispute sellerDispute = createDispute("trade1", 2);
+        disputes.addAll(buyerDispute, sellerDispute);
+
+        disputes.remove(buyerDispute);
+
+        assertEquals(Collections.singletonList(sellerDispute), disputeIndex.getDisputes("trade1"));
+        assertSame(sellerDispute, disputeIndex.findDispute("trade1").orElseThrow());
+        assertEquals(Collections.singleton("trade1"), disputeIndex.getTradeIds());
+
+        disputes.remove(sellerDispute);
+
+        assertTrue(disputeIndex.getDisputes("trade1").isEmpty());
+        assertFalse(disputeIndex.findDispute("trade1").isPresent());
+        assertTrue(disputeIndex.getTradeIds().isEmpty());
+    }
+
+    @Test
+    public void testChatMessageLookupByUid() {
+        Dispute dispute = createDispute("trade1", 1);
+        ChatMessage existing = createChatMessage("uid1");
+        dispute.getChatMessages().add(existing);
+        disputes.add(dispute);
+
+        ChatMessage added = createChatMessage("uid2");
+        dispute.getChatMessages().add(added);
+
+        assertEquals(Collections.singletonList(existing), disputeIndex.getChatMessages("uid1"));
+        assertEquals(Collections.singletonList(added), disputeIndex.getChatMessages("uid2"));
+        assertTrue(disputeIndex.getChatMessages("uid3").isEmpty());
+
+        dispute.getChatMessages().remove(added);
+        assertTrue(disputeIndex.getChatMessages("uid2").isEmpty());
+
+        disputes.remove(dispute);
+        assertTrue(disputeIndex.getChatMessages("uid1").isEmpty());
+        // The index must not follow the messages of removed disputes anymore
+        dispute.getChatMessages().add(createChatMessage("uid4"));
+        assertTrue(disputeIndex.getChatMessages("uid4").isEmpty());
+    }
+
+    @Test
+    public void testContainsChatMessage() {
+        Dispute buyerDispute = createDispute("trade1", 1);
+        Dispute sellerDispute = createDispute("trade1", 2);
+        buyerDispute.getChatMessages().add(createChatMessage("uid1"));
+        disputes.addAll(buyerDispute, sellerDispute);
+
+        assertTrue(disputeIndex.containsChatMessage(buyerDispute, "uid1"));
+        // The uid is known, but it belongs to the other dispute of the trade
+        assertFalse(disputeIndex.containsChatMessage(sellerDispute, "uid1"));
+        assertFalse(disputeIndex.containsChatMessage(buyerDispute, "uid2"));
+    }
+
+    @Test
+    public void testSetAll() {
+        disputes.add(createDispute("trade1", 1));
+        Dispute dispute = createDispute("trade2", 1);
+        dispute.getChatMessages().add(createChatMessage("uid1"));
+
+        // Like reading the persisted DisputeList
+        disputes.setAll(dispute);
+
+        assertTrue(disputeIndex.getDisputes("trade1").isEmpty());
+        assertSame(dispute, disputeIndex.findDispute("trade2").orElseThrow());
+        assertEquals(1, disputeIndex.getChatMessages("uid1").size());
+    }
+
+    private static Dispute createDispute(String tradeId, int traderId) {
+        Dispute dispute = mock(Dispute.class);
+        ObservableList<ChatMessage> chatMessages = FXCollections.observableArrayList();
+        when(dispute.getTradeId()).thenReturn(tradeId);
+        when(dispute.getTraderId()).thenReturn(traderId);
+        when(dispute.getChatMessages()).thenReturn(chatMessages);
+        return dispute;
+    }
+
+    private static ChatMessage createChatMessage(String uid) {
+        ChatMessage chatMessage = mock(ChatMessage.class);
+        when(chatMessage.getUid()).thenReturn(uid);
+        return chatMessage;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package bisq.core.trade.statistics;
+
+import bisq.core.monetary.Price;
+import bisq.core.payment.payload.PaymentMethod;
+
+import org.bitcoinj.core.Coin;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableSet;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class CandleRollupServiceTest {
+    private static final LocalDateTime TIME = LocalDateTime.of(2021, 3, 10, 10, 5);
+
+    private final ObservableSet<TradeStatistics3> tradeStatisticsSet = FXCollections.observableSet();
+    private CandleRollupService service;
+
+    @Before
+    public void setUp() {
+        TradeStatisticsManager tradeStatisticsManager = mock(TradeStatisticsManager.class);
+        when(tradeStatisticsManager.getObservableTradeStatisticsSet()).thenReturn(tradeStatisticsSet);
+        service = new CandleRollupService(tradeStatisticsManager);
+    }
+
+    @Test
+    public void testCandles() {
+        tradeStatisticsSet.add(createTradeStatistics("EUR", "520", TIME));
+        tradeStatisticsSet.add(createTradeStatistics("EUR", "500", TIME.plusMinutes(1)));
+        tradeStatisticsSet.add(createTradeStatistics("EUR", "600", TIME.plusHours(1)));
+        tradeStatisticsSet.add(createTradeStatistics("USD", "700", TIME));
+
+        NavigableMap<Long, Candle> hourCandles = service.getCandles("EUR", CandleResolution.HOUR);
+        assertEquals(2, hourCandles.size());
+        Candle candle = hourCandles.firstEntry().getValue();
+        assertEquals(CandleResolution.HOUR.getIntervalStart(TIME), candle.getIntervalStart());
+        assertEquals(Price.parse("EUR", "520").getValue(), candle.getOpen());
+        assertEquals(Price.parse("EUR", "500").getValue(), candle.getClose());
+        assertEquals(Price.parse("EUR", "520").getValue(), candle.getHigh());
+        assertEquals(Price.parse("EUR", "500").getValue(), candle.getLow());
+        assertEquals(Price.parse("EUR", "510").getValue(), candle.getMedianPrice());
+        assertEquals(Coin.parseCoin("2").getValue(), candle.getAccumulatedAmount());
+        assertEquals(2, candle.getNumTrades());
+
+        Candle dayCandle = service.getCandles("EUR", CandleResolution.DAY).firstEntry().getValue();
+        assertEquals(3, dayCandle.getNumTrades());
+        assertEquals(Price.parse("EUR", "600").getValue(), dayCandle.getHigh());
+        assertEquals(Price.parse("EUR", "600").getValue(), dayCandle.getClose());
+
+        // 2021-03-10 is a Wednesday, weeks start at Monday
+        assertEquals(CandleResolution.DAY.getIntervalStart(TIME.minusDays(2)),
+                (long) service.getCandles("EUR", CandleResolution.WEEK).firstKey());
+
+        assertEquals(4, service.getCandles(CandleRollupService.ALL_MARKETS, CandleResolution.YEAR)
+                .firstEntry().getValue().getNumTrades());
+        assertEquals(3, service.getTradeStatistics("EUR").size());
+        assertTrue(service.getCandles("XMR", CandleResolution.DAY).isEmpty());
+    }
+
+    @Test
+    public void testIncrementalUpdate() {
+        tradeStatisticsSet.add(createTradeStatistics("EUR", "520", TIME));
+        AtomicInteger numUpdates = new AtomicInteger();
+        service.addListener(numUpdates::incrementAndGet);
+
+        // Trade with an earlier date arriving later changes the open price
+        tradeStatisticsSet.add(createTradeStatistics("EUR", "480", TIME.minusMinutes(1)));
+
+        assertEquals(1, numUpdates.get());
+        Candle candle = service.getCandles("EUR", CandleResolution.HOUR).firstEntry().getValue();
+        assertEquals(Price.parse("EUR", "480").getValue(), candle.getOpen());
+        assertEquals(Price.parse("EUR", "520").getValue(), candle.getClose());
+        assertEquals(2, candle.getNumTrades());
+        assertEquals(Price.parse("EUR", "500").getValue(), candle.getMedianPrice());
+        assertEquals(2, service.getTradeStatistics(CandleRollupService.ALL_MARKETS).size());
+
+        // The median reflects trades added after it has been requested
+        tradeStatisticsSet.add(createTradeStatistics("EUR", "490", TIME.plusMinutes(1)));
+        assertEquals(Price.parse("EUR", "490").getValue(), candle.getMedianPrice());
+    }
+
+    private static TradeStatistics3 createTradeStatistics(String currencyCode, String price, LocalDateTime time) {
+        return new TradeStatistics3(currencyCode,
+                Price.parse(currencyCode, price).getValue(),
+                Coin.parseCoin("1").getValue(),
+                PaymentMethod.SEPA_ID,
+                time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(),
+                null,
+                null,
+                (Map<String, String>) null);
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package bisq.core.trade.txproof;
+
+import bisq.network.Socks5ProxyProvider;
+
+import com.google.common.util.concurrent.ListenableFuture;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AssetTxProofRequestEngineTest {
+    private StubExplorer explorer;
+    private AssetTxProofRequestEngine engine;
+
+    @Before
+    public void setUp() throws Exception {
+        explorer = new StubExplorer();
+        explorer.setResponse("{\"status\":\"success\"}");
+        engine = new AssetTxProofRequestEngine(null, 2);
+    }
+
+    @After
+    public void tearDown() {
+        engine.shutDown();
+        explorer.close();
+    }
+
+    @Test
+    public void testGet() throws Exception {
+        String response = engine.get(explorer.getServiceAddress(), "/api/outputs?txhash=1").get(10, TimeUnit.SECONDS);
+
+        assertEquals("{\"status\":\"success\"}", response);
+        assertEquals(1, explorer.getNumRequests().get());
+        assertEquals(0, engine.numInFlightRequests());
+    }
+
+    @Test
+    public void testIdenticalInFlightRequestsAreCoalesced() throws Exception {
+        CountDownLatch releaseLatch = new CountDownLatch(1);
+        explorer.setReleaseLatch(releaseLatch);
+
+        ListenableFuture<String> first = engine.get(explorer.getServiceAddress(), "/api/outputs?txhash=1");
+        ListenableFuture<String> second = engine.get(explorer.getServiceAddress(), "/api/outputs?txhash=1");
+        releaseLatch.countDown();
+
+        assertEquals("{\"status\":\"success\"}", first.get(10, TimeUnit.SECONDS));
+        assertEquals("{\"status\":\"success\"}", second.get(10, TimeUnit.SECONDS));
+        assertEquals(1, explorer.getNumRequests().get());
+
+        // Once completed the request is sent again
+        engine.get(explorer.getServiceAddress(), "/api/outputs?txhash=1").get(10, TimeUnit.SECONDS);
+        assertEquals(2, explorer.getNumRequests().get());
+    }
+
+    @Test
+    public void testConnectionsPerServiceAreBounded() throws Exception {
+        CountDownLatch releaseLatch = new CountDownLatch(1);
+        explorer.setReleaseLatch(releaseLatch);
+
+        List<ListenableFuture<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            futures.add(engine.get(explorer.getServiceAddress(), "/api/outputs?txhash=" + i));
+        }
+        // Give the pool the chance to send more requests than allowed
+        Thread.sleep(200);
+        releaseLatch.countDown();
+
+        for (ListenableFuture<String> future : futures) {
+            assertEquals("{\"status\":\"success\"}", future.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(6, explorer.getNumRequests().get());
+        assertTrue(explorer.getMaxOpenRequests().get() <= 2);
+    }
+
+    @Test
+    public void testClientIsReusableAfterFailedProxyLookup() throws Exception {
+        Socks5ProxyProvider socks5ProxyProvider = mock(Socks5ProxyProvider.class);
+        when(socks5ProxyProvider.getSocks5ProxyHttp())
+                .thenThrow(new IllegalStateException("Tor not ready"))
+                .thenReturn(null);
+        engine.shutDown();
+        // Only one client, so the second request uses the client of the failed one
+        engine = new AssetTxProofRequestEngine(socks5ProxyProvider, 1);
+
+        try {
+            engine.get(explorer.getServiceAddress(), "/api/outputs?txhash=1").get(10, TimeUnit.SECONDS);
+            fail("Expected the request to fail");
+        } catch (ExecutionException expected) {
+        }
+
+        String response = engine.get(explorer.getServiceAddress(), "/api/outputs?txhash=2").get(10, TimeUnit.SECONDS);
+        assertEquals("{\"status\":\"success\"}", response);
+        assertEquals(1, explorer.getNumRequests().get());
+    }
+
+    @Test
+    public void testPollingBackoff() {
+        AssetTxProofPollingBackoff backoff = new AssetTxProofPollingBackoff(1000, 3000);
+
+        assertEquals(1000, backoff.nextDelay("TX_NOT_FOUND"));
+        assertEquals(1500, backoff.nextDelay("TX_NOT_FOUND"));
+        assertEquals(2250, backoff.nextDelay("TX_NOT_FOUND"));
+        assertEquals(3000, backoff.nextDelay("TX_NOT_FOUND"));
+        // Progress resets the delay
+        assertEquals(1000, backoff.nextDelay("PENDING_CONFIRMATIONS1"));
+        assertEquals(1500, backoff.nextDelay("PENDING_CONFIRMATIONS1"));
+        assertEquals(1000, backoff.nextDelay("PENDING_CONFIRMATIONS2"));
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package bisq.core.trade.txproof;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.net.InetSocketAddress;
+
+import java.nio.charset.StandardCharsets;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Local explorer service for tests. Answers all requests with the configured response. Requests are held until the
+ * release latch is counted down, so tests can control how many requests are in flight.
+ */
+public class StubExplorer implements AutoCloseable {
+    private final HttpServer server;
+    @Getter
+    private final AtomicInteger numRequests = new AtomicInteger();
+    private final AtomicInteger numOpenRequests = new AtomicInteger();
+    @Getter
+    private final AtomicInteger maxOpenRequests = new AtomicInteger();
+    @Setter
+    private volatile String response = "{}";
+    @Setter
+    private volatile CountDownLatch releaseLatch = new CountDownLatch(0);
+
+    public StubExplorer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", exchange -> {
+            numRequests.incrementAndGet();
+            int numOpen = numOpenRequests.incrementAndGet();
+            maxOpenRequests.accumulateAndGet(numOpen, Math::max);
+            try {
+                releaseLatch.await(10, TimeUnit.SECONDS);
+                byte[] body = response.getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream outputStream = exchange.getResponseBody()) {
+                    outputStream.write(body);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                numOpenRequests.decrementAndGet();
+                exchange.close();
+            }
+        });
+        server.start();
+    }
+
+    // Addresses starting with http: are requested without Tor
+    public String getServiceAddress() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -104,6 +104,8 @@ public class BisqDaemonMain extends BisqHeadlessAppMain implements BisqSetup.Bis
 
         grpcServer = injector.getInstance(GrpcServer.class);
         grpcServer.start();
+
+        maybeStartMetricsServer();
     }
 
     @Override
@@ -111,5 +113,6 @@ public class BisqDaemonMain extends BisqHeadlessAppMain implements BisqSetup.Bis
         super.gracefulShutDown(resultHandler);
 
         grpcServer.shutdown();
+        shutDownMetricsServer();
     }
 }
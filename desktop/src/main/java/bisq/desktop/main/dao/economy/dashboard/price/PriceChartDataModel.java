@@ -18,7 +18,11 @@
 package bisq.desktop.main.dao.economy.dashboard.price;
 
 import bisq.desktop.components.chart.ChartDataModel;
+import bisq.desktop.components.chart.TemporalAdjusterModel;
 
+import bisq.core.trade.statistics.Candle;
+import bisq.core.trade.statistics.CandleResolution;
+import bisq.core.trade.statistics.CandleRollupService;
 import bisq.core.trade.statistics.TradeStatistics3;
 import bisq.core.trade.statistics.TradeStatisticsManager;
 
@@ -27,20 +31,30 @@ import bisq.common.util.MathUtils;
 import javax.inject.Inject;
 
 import java.time.Instant;
+import java.time.temporal.TemporalAdjuster;
 
 import java.util.AbstractMap;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
 
+import javax.annotation.Nullable;
+
 @Slf4j
 public class PriceChartDataModel extends ChartDataModel {
     private final TradeStatisticsManager tradeStatisticsManager;
+    private final CandleRollupService candleRollupService;
     private Map<Long, Double> bsqUsdPriceByInterval, bsqBtcPriceByInterval, btcUsdPriceByInterval;
 
 
@@ -49,10 +63,12 @@ public class PriceChartDataModel extends ChartDataModel {
     ///////////////////////////////////////////////////////////////////////////////////////////
 
     @Inject
-    public PriceChartDataModel(TradeStatisticsManager tradeStatisticsManager) {
+    public PriceChartDataModel(TradeStatisticsManager tradeStatisticsManager,
+                               CandleRollupService candleRollupService) {
         super();
 
         this.tradeStatisticsManager = tradeStatisticsManager;
+        this.candleRollupService = candleRollupService;
     }
 
 
@@ -92,9 +108,10 @@ public class PriceChartDataModel extends ChartDataModel {
         if (bsqUsdPriceByInterval != null) {
             return bsqUsdPriceByInterval;
         }
-        bsqUsdPriceByInterval = getPriceByInterval(tradeStatistics -> tradeStatistics.getCurrency().equals("BSQ") ||
-                        tradeStatistics.getCurrency().equals("USD"),
-                PriceChartDataModel::getAverageBsqUsdPrice);
+        bsqUsdPriceByInterval = getPriceByIntervalFromCandles(PriceChartDataModel::getAverageBsqUsdPrice)
+                .orElseGet(() -> getPriceByInterval(tradeStatistics -> tradeStatistics.getCurrency().equals("BSQ") ||
+                                tradeStatistics.getCurrency().equals("USD"),
+                        PriceChartDataModel::getAverageBsqUsdPrice));
         return bsqUsdPriceByInterval;
     }
 
@@ -103,8 +120,9 @@ public class PriceChartDataModel extends ChartDataModel {
             return bsqBtcPriceByInterval;
         }
 
-        bsqBtcPriceByInterval = getPriceByInterval(tradeStatistics -> tradeStatistics.getCurrency().equals("BSQ"),
-                PriceChartDataModel::getAverageBsqBtcPrice);
+        bsqBtcPriceByInterval = getPriceByIntervalFromCandles(PriceChartDataModel::getAverageBsqBtcPrice)
+                .orElseGet(() -> getPriceByInterval(tradeStatistics -> tradeStatistics.getCurrency().equals("BSQ"),
+                        PriceChartDataModel::getAverageBsqBtcPrice));
         return bsqBtcPriceByInterval;
     }
 
@@ -113,8 +131,9 @@ public class PriceChartDataModel extends ChartDataModel {
             return btcUsdPriceByInterval;
         }
 
-        btcUsdPriceByInterval = getPriceByInterval(tradeStatistics -> tradeStatistics.getCurrency().equals("USD"),
-                PriceChartDataModel::getAverageBtcUsdPrice);
+        btcUsdPriceByInterval = getPriceByIntervalFromCandles(PriceChartDataModel::getAverageBtcUsdPrice)
+                .orElseGet(() -> getPriceByInterval(tradeStatistics -> tradeStatistics.getCurrency().equals("USD"),
+                        PriceChartDataModel::getAverageBtcUsdPrice));
         return btcUsdPriceByInterval;
     }
 
@@ -137,6 +156,13 @@ public class PriceChartDataModel extends ChartDataModel {
                 sumBtcFromUsdTrades += getBtcAmount(tradeStatistics);
             }
         }
+        return getAverageBsqUsdPrice(sumBsq, sumBtcFromBsqTrades, sumUsd, sumBtcFromUsdTrades);
+    }
+
+    private static double getAverageBsqUsdPrice(double sumBsq,
+                                                double sumBtcFromBsqTrades,
+                                                double sumUsd,
+                                                double sumBtcFromUsdTrades) {
         if (sumBsq == 0 || sumBtcFromBsqTrades == 0 || sumBtcFromUsdTrades == 0 || sumUsd == 0) {
             return 0d;
         }
@@ -151,6 +177,10 @@ public class PriceChartDataModel extends ChartDataModel {
             sumBsq += getBsqAmount(tradeStatistics);
             sumBtc += getBtcAmount(tradeStatistics);
         }
+        return getAverageBsqBtcPrice(sumBsq, sumBtc);
+    }
+
+    private static double getAverageBsqBtcPrice(double sumBsq, double sumBtc) {
         if (sumBsq == 0 || sumBtc == 0) {
             return 0d;
         }
@@ -164,12 +194,43 @@ public class PriceChartDataModel extends ChartDataModel {
             sumUsd += getUsdAmount(tradeStatistics);
             sumBtc += getBtcAmount(tradeStatistics);
         }
+        return getAverageBtcUsdPrice(sumUsd, sumBtc);
+    }
+
+    private static double getAverageBtcUsdPrice(double sumUsd, double sumBtc) {
         if (sumUsd == 0 || sumBtc == 0) {
             return 0d;
         }
         return sumUsd / sumBtc;
     }
 
+    // Candles of the BSQ and USD market of the same interval. Either might be null.
+
+    private static double getAverageBsqUsdPrice(@Nullable Candle bsqCandle, @Nullable Candle usdCandle) {
+        if (bsqCandle == null || usdCandle == null) {
+            return 0d;
+        }
+        return getAverageBsqUsdPrice(bsqCandle.getAccumulatedVolume(),
+                bsqCandle.getAccumulatedAmount(),
+                MathUtils.scaleUpByPowerOf10(usdCandle.getAccumulatedVolume(), 4),
+                usdCandle.getAccumulatedAmount());
+    }
+
+    private static double getAverageBsqBtcPrice(@Nullable Candle bsqCandle, @Nullable Candle usdCandle) {
+        if (bsqCandle == null) {
+            return 0d;
+        }
+        return getAverageBsqBtcPrice(bsqCandle.getAccumulatedVolume(), bsqCandle.getAccumulatedAmount());
+    }
+
+    private static double getAverageBtcUsdPrice(@Nullable Candle bsqCandle, @Nullable Candle usdCandle) {
+        if (usdCandle == null) {
+            return 0d;
+        }
+        return getAverageBtcUsdPrice(MathUtils.scaleUpByPowerOf10(usdCandle.getAccumulatedVolume(), 4),
+                usdCandle.getAccumulatedAmount());
+    }
+
     private static long getBtcAmount(TradeStatistics3 tradeStatistics) {
         return tradeStatistics.getAmount();
     }
@@ -186,6 +247,44 @@ public class PriceChartDataModel extends ChartDataModel {
     // Aggregated collection data by interval
     ///////////////////////////////////////////////////////////////////////////////////////////
 
+    // The candles of the candleRollupService are already aggregated per interval. Returns empty if the selected
+    // interval is not one of the candle resolutions.
+    private Optional<Map<Long, Double>> getPriceByIntervalFromCandles(BiFunction<Candle, Candle, Double> getAveragePriceFunction) {
+        Optional<CandleResolution> resolution = getCandleResolution();
+        if (resolution.isEmpty()) {
+            return Optional.empty();
+        }
+
+        NavigableMap<Long, Candle> bsqCandles = candleRollupService.getCandles("BSQ", resolution.get());
+        NavigableMap<Long, Candle> usdCandles = candleRollupService.getCandles("USD", resolution.get());
+        Set<Long> intervalStarts = new TreeSet<>(bsqCandles.keySet());
+        intervalStarts.addAll(usdCandles.keySet());
+        Map<Long, Double> priceByInterval = new HashMap<>();
+        intervalStarts.forEach(intervalStart -> {
+            // The start of the candle interval is mapped to the same time interval as all trades of the candle
+            long timeInterval = toTimeInterval(Instant.ofEpochMilli(intervalStart));
+            if (!dateFilter.test(timeInterval)) {
+                return;
+            }
+
+            double price = getAveragePriceFunction.apply(bsqCandles.get(intervalStart), usdCandles.get(intervalStart));
+            if (price > 0d) {
+                priceByInterval.put(timeInterval, price);
+            }
+        });
+        return Optional.of(priceByInterval);
+    }
+
+    private Optional<CandleResolution> getCandleResolution() {
+        TemporalAdjuster temporalAdjuster = temporalAdjusterModel.getTemporalAdjuster();
+        for (TemporalAdjusterModel.Interval interval : TemporalAdjusterModel.Interval.values()) {
+            if (interval.getAdjuster() == temporalAdjuster) {
+                return Optional.of(CandleResolution.valueOf(interval.name()));
+            }
+        }
+        return Optional.empty();
+    }
+
     private Map<Long, Double> getPriceByInterval(Predicate<TradeStatistics3> collectionFilter,
                                                  Function<List<TradeStatistics3>, Double> getAveragePriceFunction) {
         return getPriceByInterval(tradeStatisticsManager.getObservableTradeStatisticsSet(),
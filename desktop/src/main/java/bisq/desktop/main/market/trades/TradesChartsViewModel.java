@@ -34,6 +34,9 @@ import bisq.core.locale.GlobalSettings;
 import bisq.core.locale.TradeCurrency;
 import bisq.core.monetary.Altcoin;
 import bisq.core.provider.price.PriceFeedService;
+import bisq.core.trade.statistics.Candle;
+import bisq.core.trade.statistics.CandleResolution;
+import bisq.core.trade.statistics.CandleRollupService;
 import bisq.core.trade.statistics.TradeStatistics3;
 import bisq.core.trade.statistics.TradeStatisticsManager;
 import bisq.core.user.Preferences;
@@ -55,25 +58,17 @@ import javafx.beans.property.SimpleObjectProperty;
 
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
-import javafx.collections.SetChangeListener;
-
-import javafx.util.Pair;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
-import java.time.temporal.ChronoUnit;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
-import java.util.Set;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
@@ -98,11 +93,12 @@ class TradesChartsViewModel extends ActivatableViewModel {
     }
 
     private final TradeStatisticsManager tradeStatisticsManager;
+    private final CandleRollupService candleRollupService;
     final Preferences preferences;
     private final PriceFeedService priceFeedService;
     private final Navigation navigation;
 
-    private final SetChangeListener<TradeStatistics3> setChangeListener;
+    private final Runnable tradeStatisticsListener;
     final ObjectProperty<TradeCurrency> selectedTradeCurrencyProperty = new SimpleObjectProperty<>();
     final BooleanProperty showAllTradeCurrenciesProperty = new SimpleBooleanProperty(false);
     private final CurrencyList currencyListItems;
@@ -111,12 +107,12 @@ class TradesChartsViewModel extends ActivatableViewModel {
     final ObservableList<XYChart.Data<Number, Number>> priceItems = FXCollections.observableArrayList();
     final ObservableList<XYChart.Data<Number, Number>> volumeItems = FXCollections.observableArrayList();
     final ObservableList<XYChart.Data<Number, Number>> volumeInUsdItems = FXCollections.observableArrayList();
-    private Map<Long, Pair<Date, Set<TradeStatistics3>>> itemsPerInterval;
+    // Start of the interval by tick index
+    private Map<Long, Date> intervalStartPerTick;
 
     TickUnit tickUnit;
     final int maxTicks = 90;
     private int selectedTabIndex;
-    final Map<TickUnit, Map<Long, Long>> usdPriceMapsPerTickUnit = new HashMap<>();
     private boolean fillTradeCurrenciesOnActivateCalled;
 
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -124,14 +120,15 @@ class TradesChartsViewModel extends ActivatableViewModel {
     ///////////////////////////////////////////////////////////////////////////////////////////
 
     @Inject
-    TradesChartsViewModel(TradeStatisticsManager tradeStatisticsManager, Preferences preferences,
-                          PriceFeedService priceFeedService, Navigation navigation) {
+    TradesChartsViewModel(TradeStatisticsManager tradeStatisticsManager, CandleRollupService candleRollupService,
+                          Preferences preferences, PriceFeedService priceFeedService, Navigation navigation) {
         this.tradeStatisticsManager = tradeStatisticsManager;
+        this.candleRollupService = candleRollupService;
         this.preferences = preferences;
         this.priceFeedService = priceFeedService;
         this.navigation = navigation;
 
-        setChangeListener = change -> {
+        tradeStatisticsListener = () -> {
             updateSelectedTradeStatistics(getCurrencyCode());
             updateChartData();
             fillTradeCurrencies();
@@ -151,12 +148,11 @@ class TradesChartsViewModel extends ActivatableViewModel {
 
     @Override
     protected void activate() {
-        tradeStatisticsManager.getObservableTradeStatisticsSet().addListener(setChangeListener);
+        candleRollupService.addListener(tradeStatisticsListener);
         if (!fillTradeCurrenciesOnActivateCalled) {
             fillTradeCurrencies();
             fillTradeCurrenciesOnActivateCalled = true;
         }
-        buildUsdPricesPerDay();
         updateSelectedTradeStatistics(getCurrencyCode());
         updateChartData();
         syncPriceFeedCurrency();
@@ -165,7 +161,7 @@ class TradesChartsViewModel extends ActivatableViewModel {
 
     @Override
     protected void deactivate() {
-        tradeStatisticsManager.getObservableTradeStatisticsSet().removeListener(setChangeListener);
+        candleRollupService.removeListener(tradeStatisticsListener);
     }
 
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -252,83 +248,42 @@ class TradesChartsViewModel extends ActivatableViewModel {
             priceFeedService.setCurrencyCode(selectedTradeCurrencyProperty.get().getCode());
     }
 
-    private void buildUsdPricesPerDay() {
-        if (usdPriceMapsPerTickUnit.isEmpty()) {
-            Map<TickUnit, Map<Long, List<TradeStatistics3>>> dateMapsPerTickUnit = new HashMap<>();
-            for (TickUnit tick : TickUnit.values()) {
-                dateMapsPerTickUnit.put(tick, new HashMap<>());
-            }
-
-            tradeStatisticsManager.getObservableTradeStatisticsSet().stream()
-                    .filter(e -> e.getCurrency().equals("USD"))
-                    .forEach(tradeStatistics -> {
-                        for (TickUnit tick : TickUnit.values()) {
-                            long time = roundToTick(tradeStatistics.getLocalDateTime(), tick).getTime();
-                            Map<Long, List<TradeStatistics3>> map = dateMapsPerTickUnit.get(tick);
-                            map.putIfAbsent(time, new ArrayList<>());
-                            map.get(time).add(tradeStatistics);
-                        }
-                    });
-
-            dateMapsPerTickUnit.forEach((tick, map) -> {
-                HashMap<Long, Long> priceMap = new HashMap<>();
-                map.forEach((date, tradeStatisticsList) -> priceMap.put(date, getAveragePrice(tradeStatisticsList)));
-                usdPriceMapsPerTickUnit.put(tick, priceMap);
-            });
-        }
-    }
-
-    private long getAveragePrice(List<TradeStatistics3> tradeStatisticsList) {
-        long accumulatedAmount = 0;
-        long accumulatedVolume = 0;
-        for (TradeStatistics3 tradeStatistics : tradeStatisticsList) {
-            accumulatedAmount += tradeStatistics.getAmount();
-            accumulatedVolume += tradeStatistics.getTradeVolume().getValue();
-        }
-
-        double accumulatedVolumeAsDouble = MathUtils.scaleUpByPowerOf10((double) accumulatedVolume, Coin.SMALLEST_UNIT_EXPONENT);
-        return MathUtils.roundDoubleToLong(accumulatedVolumeAsDouble / (double) accumulatedAmount);
+    // Average price of a fiat market
+    private static long getAveragePrice(Candle candle) {
+        double accumulatedVolumeAsDouble = MathUtils.scaleUpByPowerOf10((double) candle.getAccumulatedVolume(), Coin.SMALLEST_UNIT_EXPONENT);
+        return MathUtils.roundDoubleToLong(accumulatedVolumeAsDouble / (double) candle.getAccumulatedAmount());
     }
 
     private void updateChartData() {
-        // Generate date range and create sets for all ticks
-        itemsPerInterval = new HashMap<>();
+        // Generate date range of all ticks
+        intervalStartPerTick = new HashMap<>();
         Date time = new Date();
         for (long i = maxTicks + 1; i >= 0; --i) {
-            Pair<Date, Set<TradeStatistics3>> pair = new Pair<>((Date) time.clone(), new HashSet<>());
-            itemsPerInterval.put(i, pair);
+            intervalStartPerTick.put(i, (Date) time.clone());
             // We adjust the time for the next iteration
             time.setTime(time.getTime() - 1);
             time = roundToTick(time, tickUnit);
         }
 
-        // Get all entries for the defined time interval
-        selectedTradeStatistics.forEach(tradeStatistics -> {
-            for (long i = maxTicks; i > 0; --i) {
-                Pair<Date, Set<TradeStatistics3>> pair = itemsPerInterval.get(i);
-                if (tradeStatistics.getDate().after(pair.getKey())) {
-                    pair.getValue().add(tradeStatistics);
-                    break;
-                }
+        // The candles are maintained by the candleRollupService, so we only pick the ones of the displayed ticks
+        CandleResolution resolution = toCandleResolution(tickUnit);
+        String market = showAllTradeCurrenciesProperty.get() ? CandleRollupService.ALL_MARKETS : getCurrencyCode();
+        NavigableMap<Long, Candle> candles = candleRollupService.getCandles(market, resolution);
+        NavigableMap<Long, Candle> usdCandles = candleRollupService.getCandles("USD", resolution);
+        long averageUsdPrice = 0;
+        List<CandleData> candleDataList = new ArrayList<>();
+        for (long i = 1; i <= maxTicks; i++) {
+            long tickStartDate = intervalStartPerTick.get(i).getTime();
+            // If we don't have a price we take the previous one
+            Candle usdCandle = usdCandles.get(tickStartDate);
+            if (usdCandle != null) {
+                averageUsdPrice = getAveragePrice(usdCandle);
             }
-        });
-
-        Map<Long, Long> map = usdPriceMapsPerTickUnit.get(tickUnit);
-        AtomicLong averageUsdPrice = new AtomicLong(0);
-
-        // create CandleData for defined time interval
-        List<CandleData> candleDataList = itemsPerInterval.entrySet().stream()
-                .filter(entry -> entry.getKey() >= 0 && !entry.getValue().getValue().isEmpty())
-                .map(entry -> {
-                    long tickStartDate = entry.getValue().getKey().getTime();
-                    // If we don't have a price we take the previous one
-                    if (map.containsKey(tickStartDate)) {
-                        averageUsdPrice.set(map.get(tickStartDate));
-                    }
-                    return getCandleData(entry.getKey(), entry.getValue().getValue(), averageUsdPrice.get());
-                })
-                .sorted(Comparator.comparingLong(o -> o.tick))
-                .collect(Collectors.toList());
+            Candle candle = candles.get(tickStartDate);
+            if (candle != null) {
+                candleDataList.add(getCandleData(i, candle, averageUsdPrice));
+            }
+        }
 
         priceItems.setAll(candleDataList.stream()
                 .map(e -> new XYChart.Data<Number, Number>(e.tick, e.open, e))
@@ -344,44 +299,22 @@ class TradesChartsViewModel extends ActivatableViewModel {
     }
 
     private void updateSelectedTradeStatistics(String currencyCode) {
-        selectedTradeStatistics.setAll(tradeStatisticsManager.getObservableTradeStatisticsSet().stream()
-                .filter(e -> showAllTradeCurrenciesProperty.get() || e.getCurrency().equals(currencyCode))
-                .collect(Collectors.toList()));
+        selectedTradeStatistics.setAll(candleRollupService.getTradeStatistics(showAllTradeCurrenciesProperty.get() ?
+                CandleRollupService.ALL_MARKETS :
+                currencyCode));
     }
 
     @VisibleForTesting
-    CandleData getCandleData(long tick, Set<TradeStatistics3> set, long averageUsdPrice) {
-        long open = 0;
-        long close = 0;
-        long high = 0;
-        long low = 0;
-        long accumulatedVolume = 0;
-        long accumulatedAmount = 0;
-        long numTrades = set.size();
-        List<Long> tradePrices = new ArrayList<>();
-        for (TradeStatistics3 item : set) {
-            long tradePriceAsLong = item.getTradePrice().getValue();
-            // Previously a check was done which inverted the low and high for cryptocurrencies.
-            low = (low != 0) ? Math.min(low, tradePriceAsLong) : tradePriceAsLong;
-            high = (high != 0) ? Math.max(high, tradePriceAsLong) : tradePriceAsLong;
-
-            accumulatedVolume += item.getTradeVolume().getValue();
-            accumulatedAmount += item.getTradeAmount().getValue();
-            tradePrices.add(tradePriceAsLong);
-        }
-        Collections.sort(tradePrices);
-
-        List<TradeStatistics3> list = new ArrayList<>(set);
-        list.sort(Comparator.comparingLong(TradeStatistics3::getDateAsLong));
-        if (list.size() > 0) {
-            open = list.get(0).getTradePrice().getValue();
-            close = list.get(list.size() - 1).getTradePrice().getValue();
-        }
-
+    CandleData getCandleData(long tick, Candle candle, long averageUsdPrice) {
+        long open = candle.getOpen();
+        long close = candle.getClose();
+        long high = candle.getHigh();
+        long low = candle.getLow();
+        long accumulatedVolume = candle.getAccumulatedVolume();
+        long accumulatedAmount = candle.getAccumulatedAmount();
+        long numTrades = candle.getNumTrades();
+        long medianPrice = candle.getMedianPrice();
         long averagePrice;
-        Long[] prices = new Long[tradePrices.size()];
-        tradePrices.toArray(prices);
-        long medianPrice = MathUtils.getMedian(prices);
         boolean isBullish;
         if (CurrencyUtil.isCryptoCurrency(getCurrencyCode())) {
             isBullish = close < open;
@@ -389,8 +322,7 @@ class TradesChartsViewModel extends ActivatableViewModel {
             averagePrice = MathUtils.roundDoubleToLong(accumulatedAmountAsDouble / (double) accumulatedVolume);
         } else {
             isBullish = close > open;
-            double accumulatedVolumeAsDouble = MathUtils.scaleUpByPowerOf10((double) accumulatedVolume, Coin.SMALLEST_UNIT_EXPONENT);
-            averagePrice = MathUtils.roundDoubleToLong(accumulatedVolumeAsDouble / (double) accumulatedAmount);
+            averagePrice = getAveragePrice(candle);
         }
 
         Date dateFrom = new Date(getTimeFromTickIndex(tick));
@@ -413,29 +345,16 @@ class TradesChartsViewModel extends ActivatableViewModel {
     }
 
     Date roundToTick(LocalDateTime localDate, TickUnit tickUnit) {
-        switch (tickUnit) {
-            case YEAR:
-                return Date.from(localDate.withMonth(1).withDayOfYear(1).withHour(0).withMinute(0).withSecond(0).withNano(0).atZone(ZONE_ID).toInstant());
-            case MONTH:
-                return Date.from(localDate.withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0).withNano(0).atZone(ZONE_ID).toInstant());
-            case WEEK:
-                int dayOfWeek = localDate.getDayOfWeek().getValue();
-                LocalDateTime firstDayOfWeek = ChronoUnit.DAYS.addTo(localDate, 1 - dayOfWeek);
-                return Date.from(firstDayOfWeek.withHour(0).withMinute(0).withSecond(0).withNano(0).atZone(ZONE_ID).toInstant());
-            case DAY:
-                return Date.from(localDate.withHour(0).withMinute(0).withSecond(0).withNano(0).atZone(ZONE_ID).toInstant());
-            case HOUR:
-                return Date.from(localDate.withMinute(0).withSecond(0).withNano(0).atZone(ZONE_ID).toInstant());
-            case MINUTE_10:
-                return Date.from(localDate.withMinute(localDate.getMinute() - localDate.getMinute() % 10).withSecond(0).withNano(0).atZone(ZONE_ID).toInstant());
-            default:
-                return Date.from(localDate.atZone(ZONE_ID).toInstant());
-        }
+        return new Date(toCandleResolution(tickUnit).getIntervalStart(localDate));
+    }
+
+    private static CandleResolution toCandleResolution(TickUnit tickUnit) {
+        return CandleResolution.valueOf(tickUnit.name());
     }
 
     private long getTimeFromTick(long tick) {
-        if (itemsPerInterval == null || itemsPerInterval.get(tick) == null) return 0;
-        return itemsPerInterval.get(tick).getKey().getTime();
+        if (intervalStartPerTick == null || intervalStartPerTick.get(tick) == null) return 0;
+        return intervalStartPerTick.get(tick).getTime();
     }
 
     long getTimeFromTickIndex(long index) {
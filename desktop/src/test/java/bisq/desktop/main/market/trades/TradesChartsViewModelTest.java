@@ -25,6 +25,8 @@ import bisq.core.monetary.Price;
 import bisq.core.offer.OfferPayload;
 import bisq.core.payment.payload.PaymentMethod;
 import bisq.core.provider.price.PriceFeedService;
+import bisq.core.trade.statistics.Candle;
+import bisq.core.trade.statistics.CandleRollupService;
 import bisq.core.trade.statistics.TradeStatistics3;
 import bisq.core.trade.statistics.TradeStatisticsManager;
 import bisq.core.user.Preferences;
@@ -103,8 +105,8 @@ public class TradesChartsViewModelTest {
     @Before
     public void setup() throws IOException {
         tradeStatisticsManager = mock(TradeStatisticsManager.class);
-        model = new TradesChartsViewModel(tradeStatisticsManager, mock(Preferences.class), mock(PriceFeedService.class),
-                mock(Navigation.class));
+        model = new TradesChartsViewModel(tradeStatisticsManager, mock(CandleRollupService.class),
+                mock(Preferences.class), mock(PriceFeedService.class), mock(Navigation.class));
         dir = File.createTempFile("temp_tests1", "");
         //noinspection ResultOfMethodCallIgnored
         dir.delete();
@@ -167,7 +169,8 @@ public class TradesChartsViewModelTest {
                 null,
                 null));
 
-        CandleData candleData = model.getCandleData(model.roundToTick(now, TradesChartsViewModel.TickUnit.DAY).getTime(), set, 0);
+        long tick = model.roundToTick(now, TradesChartsViewModel.TickUnit.DAY).getTime();
+        CandleData candleData = model.getCandleData(tick, Candle.of(tick, set), 0);
         assertEquals(open, candleData.open);
         assertEquals(close, candleData.close);
         assertEquals(high, candleData.high);
@@ -0,0 +1,41 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.network.http;
+
+import lombok.Value;
+
+import javax.annotation.Nullable;
+
+/**
+ * Response of a conditional GET request. If the server responded with 304 Not Modified the body is null and the data
+ * of the previous response with that ETag is still valid.
+ */
+@Value
+public class ConditionalGetResponse {
+    @Nullable
+    String body;
+    @Nullable
+    String eTag;
+
+    public static ConditionalGetResponse notModified(@Nullable String eTag) {
+        return new ConditionalGetResponse(null, eTag);
+    }
+
+    public boolean isNotModified() {
+        return body == null;
+    }
+}
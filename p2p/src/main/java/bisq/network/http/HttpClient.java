@@ -30,6 +30,17 @@ public interface HttpClient {
                @Nullable String headerKey,
                @Nullable String headerValue) throws IOException;
 
+    /**
+     * GET request which the server answers with 304 Not Modified if the data did not change since the response with
+     * the given ETag. Implementations without support for it deliver the full response.
+     */
+    default ConditionalGetResponse getIfNoneMatch(String param,
+                                                  @Nullable String headerKey,
+                                                  @Nullable String headerValue,
+                                                  @Nullable String eTag) throws IOException {
+        return new ConditionalGetResponse(get(param, headerKey, headerValue), null);
+    }
+
     String post(String param,
                 @Nullable String headerKey,
                 @Nullable String headerValue) throws IOException;
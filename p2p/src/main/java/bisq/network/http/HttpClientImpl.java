@@ -22,6 +22,7 @@ import bisq.network.Socks5ProxyProvider;
 import bisq.common.app.Version;
 import bisq.common.util.Utilities;
 
+import org.apache.http.Header;
 import org.apache.http.HttpEntity;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
@@ -33,6 +34,7 @@ import org.apache.http.config.RegistryBuilder;
 import org.apache.http.conn.socket.ConnectionSocketFactory;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.client.HttpClients;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.ssl.SSLContexts;
@@ -55,6 +57,7 @@ import java.io.UnsupportedEncodingException;
 
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
 
 import lombok.Getter;
 import lombok.Setter;
@@ -68,6 +71,9 @@ import static com.google.common.base.Preconditions.checkNotNull;
 // TODO close connection if failing
 @Slf4j
 public class HttpClientImpl implements HttpClient {
+    // Idle connections are closed after that time if keepConnectionsAlive is set
+    private static final long IDLE_CONNECTION_TIMEOUT_SEC = 60;
+
     @Nullable
     private Socks5ProxyProvider socks5ProxyProvider;
     @Nullable
@@ -80,6 +86,10 @@ public class HttpClientImpl implements HttpClient {
     private String baseUrl;
     @Setter
     private boolean ignoreSocks5Proxy;
+    // If set we keep the connections open after a request, so repeated requests to the same host can reuse them.
+    // Connections get closed after a failed request, if idle for some time or at shutDown.
+    @Setter
+    private boolean keepConnectionsAlive;
     @Getter
     private final String uid;
     private boolean hasPendingRequest;
@@ -118,37 +128,49 @@ public class HttpClientImpl implements HttpClient {
     public String get(String param,
                       @Nullable String headerKey,
                       @Nullable String headerValue) throws IOException {
-        return doRequest(param, HttpMethod.GET, headerKey, headerValue);
+        return doRequest(param, HttpMethod.GET, headerKey, headerValue, null).getBody();
+    }
+
+    @Override
+    public ConditionalGetResponse getIfNoneMatch(String param,
+                                                 @Nullable String headerKey,
+                                                 @Nullable String headerValue,
+                                                 @Nullable String eTag) throws IOException {
+        return doRequest(param, HttpMethod.GET, headerKey, headerValue, eTag);
     }
 
     @Override
     public String post(String param,
                        @Nullable String headerKey,
                        @Nullable String headerValue) throws IOException {
-        return doRequest(param, HttpMethod.POST, headerKey, headerValue);
+        return doRequest(param, HttpMethod.POST, headerKey, headerValue, null).getBody();
     }
 
-    private String doRequest(String param,
-                             HttpMethod httpMethod,
-                             @Nullable String headerKey,
-                             @Nullable String headerValue) throws IOException {
+    private ConditionalGetResponse doRequest(String param,
+                                             HttpMethod httpMethod,
+                                             @Nullable String headerKey,
+                                             @Nullable String headerValue,
+                                             @Nullable String eTag) throws IOException {
         checkNotNull(baseUrl, "baseUrl must be set before calling doRequest");
         checkArgument(!hasPendingRequest, "We got called on the same HttpClient again while a request is still open.");
 
-        hasPendingRequest = true;
         Socks5Proxy socks5Proxy = getSocks5Proxy(socks5ProxyProvider);
+        // Set after getting the proxy, so the flag gets reset by the request methods in any case. Otherwise an
+        // exception would leave the client unusable, which matters for clients reused from a pool.
+        hasPendingRequest = true;
         if (ignoreSocks5Proxy || socks5Proxy == null || baseUrl.contains("localhost")) {
-            return requestWithoutProxy(baseUrl, param, httpMethod, headerKey, headerValue);
+            return requestWithoutProxy(baseUrl, param, httpMethod, headerKey, headerValue, eTag);
         } else {
-            return doRequestWithProxy(baseUrl, param, httpMethod, socks5Proxy, headerKey, headerValue);
+            return doRequestWithProxy(baseUrl, param, httpMethod, socks5Proxy, headerKey, headerValue, eTag);
         }
     }
 
-    private String requestWithoutProxy(String baseUrl,
-                                       String param,
-                                       HttpMethod httpMethod,
-                                       @Nullable String headerKey,
-                                       @Nullable String headerValue) throws IOException {
+    private ConditionalGetResponse requestWithoutProxy(String baseUrl,
+                                                       String param,
+                                                       HttpMethod httpMethod,
+                                                       @Nullable String headerKey,
+                                                       @Nullable String headerValue,
+                                                       @Nullable String eTag) throws IOException {
         long ts = System.currentTimeMillis();
         log.debug("requestWithoutProxy: URL={}, param={}, httpMethod={}", baseUrl, param, httpMethod);
         try {
@@ -162,6 +184,11 @@ public class HttpClientImpl implements HttpClient {
             if (headerKey != null && headerValue != null) {
                 connection.setRequestProperty(headerKey, headerValue);
             }
+            if (eTag != null) {
+                connection.setRequestProperty("If-None-Match", eTag);
+            }
+            // HttpURLConnection does not decompress responses, so we only ask for compressed ones if we decompress
+            connection.setRequestProperty("Accept-Encoding", "gzip");
 
             if (httpMethod == HttpMethod.POST) {
                 connection.setDoOutput(true);
@@ -169,19 +196,24 @@ public class HttpClientImpl implements HttpClient {
             }
 
             int responseCode = connection.getResponseCode();
-            if (responseCode == 200) {
-                String response = convertInputStreamToString(connection.getInputStream());
+            if (responseCode == HttpURLConnection.HTTP_NOT_MODIFIED && eTag != null) {
+                log.debug("Response from {} with param {} took {} ms. Not modified since ETag {}",
+                        baseUrl, param, System.currentTimeMillis() - ts, eTag);
+                return ConditionalGetResponse.notModified(eTag);
+            } else if (responseCode == 200) {
+                String response = convertInputStreamToString(
+                        decode(connection.getInputStream(), connection.getContentEncoding()));
                 log.debug("Response from {} with param {} took {} ms. Data size:{}, response: {}",
                         baseUrl,
                         param,
                         System.currentTimeMillis() - ts,
                         Utilities.readableFileSize(response.getBytes().length),
                         Utilities.toTruncatedString(response));
-                return response;
+                return new ConditionalGetResponse(response, connection.getHeaderField("ETag"));
             } else {
                 InputStream errorStream = connection.getErrorStream();
                 if (errorStream != null) {
-                    String error = convertInputStreamToString(errorStream);
+                    String error = convertInputStreamToString(decode(errorStream, connection.getContentEncoding()));
                     errorStream.close();
                     log.info("Received errorMsg '{}' with responseCode {} from {}. Response took: {} ms. param: {}",
                             error,
@@ -207,7 +239,10 @@ public class HttpClientImpl implements HttpClient {
             try {
                 if (connection != null) {
                     connection.getInputStream().close();
-                    connection.disconnect();
+                    // Without disconnect the JDK keeps the connection open for reuse
+                    if (!keepConnectionsAlive) {
+                        connection.disconnect();
+                    }
                     connection = null;
                 }
             } catch (Throwable ignore) {
@@ -216,30 +251,23 @@ public class HttpClientImpl implements HttpClient {
         }
     }
 
-    private String doRequestWithProxy(String baseUrl,
-                                      String param,
-                                      HttpMethod httpMethod,
-                                      Socks5Proxy socks5Proxy,
-                                      @Nullable String headerKey,
-                                      @Nullable String headerValue) throws IOException {
+    private ConditionalGetResponse doRequestWithProxy(String baseUrl,
+                                                      String param,
+                                                      HttpMethod httpMethod,
+                                                      Socks5Proxy socks5Proxy,
+                                                      @Nullable String headerKey,
+                                                      @Nullable String headerValue,
+                                                      @Nullable String eTag) throws IOException {
         long ts = System.currentTimeMillis();
         log.debug("doRequestWithProxy: baseUrl={}, param={}, httpMethod={}", baseUrl, param, httpMethod);
         // This code is adapted from:
         //  http://stackoverflow.com/a/25203021/5616248
 
-        // Register our own SocketFactories to override createSocket() and connectSocket().
-        // connectSocket does NOT resolve hostname before passing it to proxy.
-        Registry<ConnectionSocketFactory> reg = RegistryBuilder.<ConnectionSocketFactory>create()
-                .register("http", new SocksConnectionSocketFactory())
-                .register("https", new SocksSSLConnectionSocketFactory(SSLContexts.createSystemDefault())).build();
-
-        // Use FakeDNSResolver if not resolving DNS locally.
-        // This prevents a local DNS lookup (which would be ignored anyway)
-        PoolingHttpClientConnectionManager cm = socks5Proxy.resolveAddrLocally() ?
-                new PoolingHttpClientConnectionManager(reg) :
-                new PoolingHttpClientConnectionManager(reg, new FakeDnsResolver());
+        boolean success = false;
         try {
-            closeableHttpClient = checkNotNull(HttpClients.custom().setConnectionManager(cm).build());
+            if (closeableHttpClient == null) {
+                closeableHttpClient = createCloseableHttpClient(socks5Proxy);
+            }
             InetSocketAddress socksAddress = new InetSocketAddress(socks5Proxy.getInetAddress(), socks5Proxy.getPort());
 
             // remove me: Use this to test with system-wide Tor proxy, or change port for another proxy.
@@ -252,10 +280,23 @@ public class HttpClientImpl implements HttpClient {
             if (headerKey != null && headerValue != null) {
                 request.setHeader(headerKey, headerValue);
             }
+            if (eTag != null) {
+                request.setHeader("If-None-Match", eTag);
+            }
 
+            // The Apache client requests compressed responses and decompresses them by default
             try (CloseableHttpResponse httpResponse = closeableHttpClient.execute(request, context)) {
-                String response = convertInputStreamToString(httpResponse.getEntity().getContent());
                 int statusCode = httpResponse.getStatusLine().getStatusCode();
+                if (statusCode == HttpURLConnection.HTTP_NOT_MODIFIED && eTag != null) {
+                    log.debug("Response from {} took {} ms. Not modified since ETag {}, param: {}",
+                            baseUrl, System.currentTimeMillis() - ts, eTag, param);
+                    success = true;
+                    return ConditionalGetResponse.notModified(eTag);
+                }
+
+                String response = httpResponse.getEntity() != null ?
+                        convertInputStreamToString(httpResponse.getEntity().getContent()) :
+                        "";
                 if (statusCode == 200) {
                     log.debug("Response from {} took {} ms. Data size:{}, response: {}, param: {}",
                             baseUrl,
@@ -263,7 +304,9 @@ public class HttpClientImpl implements HttpClient {
                             Utilities.readableFileSize(response.getBytes().length),
                             Utilities.toTruncatedString(response),
                             param);
-                    return response;
+                    Header eTagHeader = httpResponse.getFirstHeader("ETag");
+                    success = true;
+                    return new ConditionalGetResponse(response, eTagHeader != null ? eTagHeader.getValue() : null);
                 } else {
                     log.info("Received errorMsg '{}' with statusCode {} from {}. Response took: {} ms. param: {}",
                             response,
@@ -279,7 +322,7 @@ public class HttpClientImpl implements HttpClient {
                     ". Throwable=" + t.getMessage();
             throw new IOException(message, t);
         } finally {
-            if (closeableHttpClient != null) {
+            if (closeableHttpClient != null && (!keepConnectionsAlive || !success)) {
                 closeableHttpClient.close();
                 closeableHttpClient = null;
             }
@@ -287,6 +330,25 @@ public class HttpClientImpl implements HttpClient {
         }
     }
 
+    private CloseableHttpClient createCloseableHttpClient(Socks5Proxy socks5Proxy) {
+        // Register our own SocketFactories to override createSocket() and connectSocket().
+        // connectSocket does NOT resolve hostname before passing it to proxy.
+        Registry<ConnectionSocketFactory> reg = RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", new SocksConnectionSocketFactory())
+                .register("https", new SocksSSLConnectionSocketFactory(SSLContexts.createSystemDefault())).build();
+
+        // Use FakeDNSResolver if not resolving DNS locally.
+        // This prevents a local DNS lookup (which would be ignored anyway)
+        PoolingHttpClientConnectionManager cm = socks5Proxy.resolveAddrLocally() ?
+                new PoolingHttpClientConnectionManager(reg) :
+                new PoolingHttpClientConnectionManager(reg, new FakeDnsResolver());
+        HttpClientBuilder builder = HttpClients.custom().setConnectionManager(cm);
+        if (keepConnectionsAlive) {
+            builder.evictIdleConnections(IDLE_CONNECTION_TIMEOUT_SEC, TimeUnit.SECONDS);
+        }
+        return checkNotNull(builder.build());
+    }
+
     private HttpUriRequest getHttpUriRequest(HttpMethod httpMethod, String baseUrl, String param)
             throws UnsupportedEncodingException {
         switch (httpMethod) {
@@ -320,6 +382,10 @@ public class HttpClientImpl implements HttpClient {
         return socks5ProxyProvider.getSocks5Proxy();
     }
 
+    private static InputStream decode(InputStream inputStream, @Nullable String contentEncoding) throws IOException {
+        return "gzip".equalsIgnoreCase(contentEncoding) ? new GZIPInputStream(inputStream) : inputStream;
+    }
+
     private String convertInputStreamToString(InputStream inputStream) throws IOException {
         BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(inputStream));
         StringBuilder stringBuilder = new StringBuilder();
@@ -53,6 +53,12 @@ public final class BundleOfEnvelopes extends BroadcastMessage implements Extende
         envelopes.add(networkEnvelope);
     }
 
+    // Envelopes can be added to a bundle, so we must not cache the size
+    @Override
+    public int getSerializedSize() {
+        return toProtoNetworkEnvelope().getSerializedSize();
+    }
+
     ///////////////////////////////////////////////////////////////////////////////////////////
     // PROTO BUFFER
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -20,4 +20,9 @@ package bisq.network.p2p;
 // Marker interface for initial data response
 public interface InitialDataResponse {
     Class<? extends InitialDataRequest> associatedRequest();
+
+    // Responses delivered in chunks complete the associated request only with the last chunk
+    default boolean isFinalResponse() {
+        return true;
+    }
 }
@@ -26,6 +26,7 @@ import bisq.network.p2p.network.ConnectionListener;
 import bisq.network.p2p.network.MessageListener;
 import bisq.network.p2p.network.NetworkNode;
 import bisq.network.p2p.network.SetupListener;
+import bisq.network.p2p.peers.BroadcastHandler;
 import bisq.network.p2p.peers.Broadcaster;
 import bisq.network.p2p.peers.PeerManager;
 import bisq.network.p2p.peers.getdata.RequestDataManager;
@@ -44,14 +45,18 @@ import bisq.common.app.Capabilities;
 import bisq.common.crypto.CryptoException;
 import bisq.common.crypto.KeyRing;
 import bisq.common.crypto.PubKeyRing;
+import bisq.common.handlers.ErrorMessageHandler;
 import bisq.common.proto.ProtobufferException;
 import bisq.common.proto.network.NetworkEnvelope;
+import bisq.common.util.Utilities;
 
 import com.google.inject.Inject;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.SettableFuture;
 
@@ -65,6 +70,7 @@ import javafx.beans.property.ReadOnlyIntegerProperty;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -85,6 +91,8 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 public class P2PService implements SetupListener, MessageListener, ConnectionListener, RequestDataManager.Listener {
     private static final Logger log = LoggerFactory.getLogger(P2PService.class);
+    // Number of threads used for signing the TTL refreshes of many offers
+    private static final int REFRESH_TTL_SIGNING_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
 
     private final EncryptionService encryptionService;
     private final KeyRing keyRing;
@@ -112,6 +120,8 @@ public class P2PService implements SetupListener, MessageListener, ConnectionLis
     private boolean isBootstrapped;
     private final KeepAliveManager keepAliveManager;
     private final Socks5ProxyProvider socks5ProxyProvider;
+    private final ListeningExecutorService refreshTTLExecutor = Utilities.getListeningExecutorService("RefreshTTL",
+            REFRESH_TTL_SIGNING_THREADS, REFRESH_TTL_SIGNING_THREADS, 60);
 
     @Getter
     private static NodeAddress myNodeAddress;
@@ -218,6 +228,8 @@ public class P2PService implements SetupListener, MessageListener, ConnectionLis
             keepAliveManager.shutDown();
         }
 
+        refreshTTLExecutor.shutdownNow();
+
         if (networkReadySubscription != null) {
             networkReadySubscription.unsubscribe();
         }
@@ -468,10 +480,15 @@ public class P2PService implements SetupListener, MessageListener, ConnectionLis
     }
 
     public boolean addProtectedStorageEntry(ProtectedStoragePayload protectedStoragePayload) {
+        return addProtectedStorageEntry(protectedStoragePayload, null);
+    }
+
+    public boolean addProtectedStorageEntry(ProtectedStoragePayload protectedStoragePayload,
+                                            @Nullable BroadcastHandler.Listener listener) {
         if (isBootstrapped()) {
             try {
                 ProtectedStorageEntry protectedStorageEntry = p2PDataStorage.getProtectedStorageEntry(protectedStoragePayload, keyRing.getSignatureKeyPair());
-                return p2PDataStorage.addProtectedStorageEntry(protectedStorageEntry, networkNode.getNodeAddress(), null);
+                return p2PDataStorage.addProtectedStorageEntry(protectedStorageEntry, networkNode.getNodeAddress(), listener);
             } catch (CryptoException e) {
                 log.error("Signing at getDataWithSignedSeqNr failed. That should never happen.");
                 return false;
@@ -495,6 +512,36 @@ public class P2PService implements SetupListener, MessageListener, ConnectionLis
         }
     }
 
+    /**
+     * Refreshes the TTL of many payloads. The signing is done in parallel off the user thread, the refreshes are
+     * applied and broadcast on the user thread.
+     *
+     * @param resultHandler called with the number of successfully refreshed payloads
+     */
+    public void refreshTTL(List<? extends ProtectedStoragePayload> protectedStoragePayloads,
+                           Consumer<Integer> resultHandler,
+                           ErrorMessageHandler errorMessageHandler) {
+        if (!isBootstrapped()) {
+            throw new NetworkNotReadyException();
+        }
+
+        ListenableFuture<List<RefreshOfferMessage>> future = p2PDataStorage.getRefreshTTLMessages(protectedStoragePayloads,
+                keyRing.getSignatureKeyPair(), refreshTTLExecutor, REFRESH_TTL_SIGNING_THREADS);
+        Futures.addCallback(future, new FutureCallback<>() {
+            @Override
+            public void onSuccess(List<RefreshOfferMessage> refreshTTLMessages) {
+                UserThread.execute(() ->
+                        resultHandler.accept(p2PDataStorage.refreshTTL(refreshTTLMessages, networkNode.getNodeAddress())));
+            }
+
+            @Override
+            public void onFailure(@NotNull Throwable throwable) {
+                log.error("Signing at getRefreshTTLMessages failed. That should never happen. {}", throwable.toString());
+                UserThread.execute(() -> errorMessageHandler.handleErrorMessage(throwable.toString()));
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
     public boolean removeData(ProtectedStoragePayload protectedStoragePayload) {
         if (isBootstrapped()) {
             try {
@@ -17,12 +17,16 @@
 
 package bisq.network.p2p.mailbox;
 
+import bisq.common.proto.ProtoUtil;
 import bisq.common.proto.ProtobufferException;
 import bisq.common.proto.network.NetworkProtoResolver;
 import bisq.common.proto.persistable.PersistableList;
 
+import com.google.protobuf.CodedInputStream;
 import com.google.protobuf.Message;
 
+import java.io.IOException;
+
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -31,6 +35,8 @@ import java.util.stream.Collectors;
 import lombok.EqualsAndHashCode;
 import lombok.extern.slf4j.Slf4j;
 
+import javax.annotation.Nullable;
+
 @Slf4j
 @EqualsAndHashCode(callSuper = true)
 public class MailboxMessageList extends PersistableList<MailboxItem> {
@@ -61,16 +67,33 @@ public class MailboxMessageList extends PersistableList<MailboxItem> {
     public static MailboxMessageList fromProto(protobuf.MailboxMessageList proto,
                                                NetworkProtoResolver networkProtoResolver) {
         return new MailboxMessageList(new ArrayList<>(proto.getMailboxItemList().stream()
-                .map(e -> {
-                    try {
-                        return MailboxItem.fromProto(e, networkProtoResolver);
-                    } catch (ProtobufferException protobufferException) {
-                        protobufferException.printStackTrace();
-                        log.error("Error at MailboxItem.fromProto: {}", protobufferException.toString());
-                        return null;
-                    }
-                })
+                .map(e -> toMailboxItem(e, networkProtoResolver))
                 .filter(Objects::nonNull)
                 .collect(Collectors.toList())));
     }
+
+    // Reads the items one by one from the stream, so only one item exists as protobuf object
+    public static MailboxMessageList fromProto(CodedInputStream input,
+                                               NetworkProtoResolver networkProtoResolver) throws IOException {
+        List<MailboxItem> list = new ArrayList<>();
+        ProtoUtil.readRepeated(input, protobuf.MailboxMessageList.MAILBOX_ITEM_FIELD_NUMBER,
+                protobuf.MailboxItem.parser(), proto -> {
+                    MailboxItem mailboxItem = toMailboxItem(proto, networkProtoResolver);
+                    if (mailboxItem != null) {
+                        list.add(mailboxItem);
+                    }
+                });
+        return new MailboxMessageList(list);
+    }
+
+    @Nullable
+    private static MailboxItem toMailboxItem(protobuf.MailboxItem proto, NetworkProtoResolver networkProtoResolver) {
+        try {
+            return MailboxItem.fromProto(proto, networkProtoResolver);
+        } catch (ProtobufferException protobufferException) {
+            protobufferException.printStackTrace();
+            log.error("Error at MailboxItem.fromProto: {}", protobufferException.toString());
+            return null;
+        }
+    }
 }
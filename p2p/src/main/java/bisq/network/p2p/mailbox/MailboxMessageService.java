@@ -43,6 +43,9 @@ import bisq.common.crypto.CryptoException;
 import bisq.common.crypto.KeyRing;
 import bisq.common.crypto.PubKeyRing;
 import bisq.common.crypto.SealedAndSigned;
+import bisq.common.metrics.Counter;
+import bisq.common.metrics.Histogram;
+import bisq.common.metrics.Metrics;
 import bisq.common.persistence.PersistenceManager;
 import bisq.common.proto.ProtobufferException;
 import bisq.common.proto.network.NetworkEnvelope;
@@ -112,6 +115,10 @@ import static com.google.common.base.Preconditions.checkNotNull;
 @Slf4j
 public class MailboxMessageService implements HashMapChangedListener, PersistedDataHost {
     private static final long REPUBLISH_DELAY_SEC = TimeUnit.MINUTES.toSeconds(2);
+    private static final Counter decryptedEntries = Metrics.counter("p2p_mailbox_decrypt_total",
+            "Number of processed mailbox entries by decryption result", "result");
+    private static final Histogram decryptDuration = Metrics.histogram("p2p_mailbox_decrypt_seconds",
+            "Time for the decryption attempt of a mailbox entry");
 
     private final NetworkNode networkNode;
     private final PeerManager peerManager;
@@ -431,19 +438,26 @@ public class MailboxMessageService implements HashMapChangedListener, PersistedD
         String uid = prefixedSealedAndSignedMessage.getUid();
         if (ignoredMailboxService.isIgnored(uid)) {
             // We had persisted a past failed decryption attempt on that message so we don't try again and return early
+            decryptedEntries.labels("ignored").inc();
             return new MailboxItem(protectedMailboxStorageEntry, null);
         }
+        long ts = System.nanoTime();
         try {
             DecryptedMessageWithPubKey decryptedMessageWithPubKey = encryptionService.decryptAndVerify(sealedAndSigned);
             checkArgument(decryptedMessageWithPubKey.getNetworkEnvelope() instanceof MailboxMessage);
+            decryptedEntries.labels("mine").inc();
             return new MailboxItem(protectedMailboxStorageEntry, decryptedMessageWithPubKey);
         } catch (CryptoException ignore) {
             // Expected if message was not intended for us
             // We persist those entries so at the next startup we do not need to try to decrypt it anymore
             ignoredMailboxService.ignore(uid, protectedMailboxStorageEntry.getCreationTimeStamp());
+            decryptedEntries.labels("not_mine").inc();
         } catch (ProtobufferException e) {
             log.error(e.toString());
             e.getStackTrace();
+            decryptedEntries.labels("error").inc();
+        } finally {
+            decryptDuration.observeNanos(System.nanoTime() - ts);
         }
         return new MailboxItem(protectedMailboxStorageEntry, null);
     }
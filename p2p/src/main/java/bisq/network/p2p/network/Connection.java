@@ -27,6 +27,7 @@ import bisq.network.p2p.peers.keepalive.messages.KeepAliveMessage;
 import bisq.network.p2p.storage.P2PDataStorage;
 import bisq.network.p2p.storage.messages.AddDataMessage;
 import bisq.network.p2p.storage.messages.AddPersistableNetworkPayloadMessage;
+import bisq.network.p2p.storage.messages.BroadcastMessage;
 import bisq.network.p2p.storage.payload.CapabilityRequiringPayload;
 import bisq.network.p2p.storage.payload.PersistableNetworkPayload;
 import bisq.network.p2p.storage.payload.ProtectedStoragePayload;
@@ -38,6 +39,10 @@ import bisq.common.app.Capability;
 import bisq.common.app.HasCapabilities;
 import bisq.common.app.Version;
 import bisq.common.config.Config;
+import bisq.common.jfr.ConnectionReadEvent;
+import bisq.common.jfr.ConnectionWriteEvent;
+import bisq.common.metrics.Histogram;
+import bisq.common.metrics.Metrics;
 import bisq.common.proto.ProtobufferException;
 import bisq.common.proto.network.NetworkEnvelope;
 import bisq.common.proto.network.NetworkProtoResolver;
@@ -113,6 +118,10 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
     //TODO decrease limits again after testing
     private static final int SOCKET_TIMEOUT = (int) TimeUnit.SECONDS.toMillis(180);
 
+    private static final Histogram messageHandlingDuration = Metrics.histogram("p2p_message_handling_seconds",
+            "Time from receiving a network message until all message listeners have processed it on the user thread",
+            "type");
+
     public static int getPermittedMessageSize() {
         return PERMITTED_MESSAGE_SIZE;
     }
@@ -246,7 +255,7 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
             log.debug("Capability for networkEnvelope is required but not supported");
             return;
         }
-        int networkEnvelopeSize = networkEnvelope.toProtoNetworkEnvelope().getSerializedSize();
+        int networkEnvelopeSize = getSerializedSize(networkEnvelope);
         try {
             // Throttle outbound network_messages
             long now = System.currentTimeMillis();
@@ -280,13 +289,13 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
                                             int msgSize;
                                             if (bundle.getEnvelopes().size() == 1) {
                                                 envelope = bundle.getEnvelopes().get(0);
-                                                msgSize = envelope.toProtoNetworkEnvelope().getSerializedSize();
+                                                msgSize = getSerializedSize(envelope);
                                             } else {
                                                 envelope = bundle;
                                                 msgSize = networkEnvelopeSize;
                                             }
                                             try {
-                                                protoOutputStream.writeEnvelope(envelope);
+                                                writeEnvelope(envelope, msgSize);
                                                 UserThread.execute(() -> messageListeners.forEach(e -> e.onMessageSent(envelope, this)));
                                                 UserThread.execute(() -> connectionStatistics.addSendMsgMetrics(System.currentTimeMillis() - ts, msgSize));
                                             } catch (Throwable t) {
@@ -315,7 +324,7 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
             lastSendTimeStamp = now;
 
             if (!stopped) {
-                protoOutputStream.writeEnvelope(networkEnvelope);
+                writeEnvelope(networkEnvelope, networkEnvelopeSize);
                 UserThread.execute(() -> messageListeners.forEach(e -> e.onMessageSent(networkEnvelope, this)));
                 UserThread.execute(() -> connectionStatistics.addSendMsgMetrics(System.currentTimeMillis() - ts, networkEnvelopeSize));
             }
@@ -324,6 +333,30 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
         }
     }
 
+    // Broadcast messages get sent to many peers, so we use their cached size
+    private static int getSerializedSize(NetworkEnvelope networkEnvelope) {
+        return networkEnvelope instanceof BroadcastMessage ?
+                ((BroadcastMessage) networkEnvelope).getSerializedSize() :
+                networkEnvelope.toProtoNetworkEnvelope().getSerializedSize();
+    }
+
+    private void writeEnvelope(NetworkEnvelope networkEnvelope, int size) {
+        ConnectionWriteEvent event = new ConnectionWriteEvent();
+        event.begin();
+        protoOutputStream.writeEnvelope(networkEnvelope);
+        event.end();
+        if (event.shouldCommit()) {
+            event.peer = getPeerInfo();
+            event.messageType = networkEnvelope.getClass().getSimpleName();
+            event.size = size;
+            event.commit();
+        }
+    }
+
+    private String getPeerInfo() {
+        return peersNodeAddressOptional.map(NodeAddress::getFullAddress).orElse("connection UID " + uid);
+    }
+
     // TODO: If msg is BundleOfEnvelopes we should check each individual message for capability and filter out those
     //  which fail.
     public boolean noCapabilityRequiredOrCapabilityIsSupported(Proto msg) {
@@ -433,10 +466,20 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
         if (networkEnvelope instanceof BundleOfEnvelopes) {
             onBundleOfEnvelopes((BundleOfEnvelopes) networkEnvelope, connection);
         } else {
-            UserThread.execute(() -> messageListeners.forEach(e -> e.onMessage(networkEnvelope, connection)));
+            dispatchMessage(networkEnvelope, connection);
         }
     }
 
+    private void dispatchMessage(NetworkEnvelope networkEnvelope, Connection connection) {
+        long ts = System.nanoTime();
+        String messageClassName = networkEnvelope.getClass().getSimpleName();
+        // All messages get dispatched from here, so we use the message class as origin of the task
+        UserThread.execute(() -> {
+            messageListeners.forEach(e -> e.onMessage(networkEnvelope, connection));
+            messageHandlingDuration.labels(messageClassName).observeNanos(System.nanoTime() - ts);
+        }, "Connection.onMessage:" + messageClassName);
+    }
+
     private void onBundleOfEnvelopes(BundleOfEnvelopes bundleOfEnvelopes, Connection connection) {
         Map<P2PDataStorage.ByteArray, Set<NetworkEnvelope>> itemsByHash = new HashMap<>();
         Set<NetworkEnvelope> envelopesToProcess = new HashSet<>();
@@ -466,8 +509,7 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
                 envelopesToProcess.add(networkEnvelope);
             }
         }
-        envelopesToProcess.forEach(envelope -> UserThread.execute(() ->
-                messageListeners.forEach(listener -> listener.onMessage(envelope, connection))));
+        envelopesToProcess.forEach(envelope -> dispatchMessage(envelope, connection));
     }
 
 
@@ -768,6 +810,8 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
                     protobuf.NetworkEnvelope proto = protobuf.NetworkEnvelope.parseDelimitedFrom(protoInputStream);
 
                     long ts = System.currentTimeMillis();
+                    ConnectionReadEvent readEvent = new ConnectionReadEvent();
+                    readEvent.begin();
 
                     if (socket != null &&
                             socket.isClosed()) {
@@ -881,6 +925,14 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
 
                         onMessage(networkEnvelope, this);
                         UserThread.execute(() -> connectionStatistics.addReceivedMsgMetrics(System.currentTimeMillis() - ts, size));
+
+                        readEvent.end();
+                        if (readEvent.shouldCommit()) {
+                            readEvent.peer = getPeerInfo();
+                            readEvent.messageType = networkEnvelope.getClass().getSimpleName();
+                            readEvent.size = size;
+                            readEvent.commit();
+                        }
                     }
                 } catch (InvalidClassException e) {
                     log.error(e.getMessage());
@@ -153,7 +153,8 @@ public class ConnectionStatistics implements MessageListener {
 
         if (networkEnvelope instanceof InitialDataRequest) {
             rrtMap.putIfAbsent(key, System.currentTimeMillis());
-        } else if (networkEnvelope instanceof InitialDataResponse) {
+        } else if (networkEnvelope instanceof InitialDataResponse &&
+                ((InitialDataResponse) networkEnvelope).isFinalResponse()) {
             String associatedRequest = ((InitialDataResponse) networkEnvelope).associatedRequest().getSimpleName();
             if (rrtMap.containsKey(associatedRequest)) {
                 rrtMap.put(associatedRequest, System.currentTimeMillis() - rrtMap.get(associatedRequest));
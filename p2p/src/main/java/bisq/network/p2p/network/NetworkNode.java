@@ -221,14 +221,15 @@ public abstract class NetworkNode implements MessageListener {
                 }
             });
 
+            String origin = getSendResultOrigin(networkEnvelope);
             Futures.addCallback(future, new FutureCallback<>() {
                 public void onSuccess(Connection connection) {
-                    UserThread.execute(() -> resultFuture.set(connection));
+                    UserThread.execute(() -> resultFuture.set(connection), origin);
                 }
 
                 public void onFailure(@NotNull Throwable throwable) {
                     log.debug("onFailure at sendMessage: peersNodeAddress={}\n\tmessage={}\n\tthrowable={}", peersNodeAddress, networkEnvelope.getClass().getSimpleName(), throwable.toString());
-                    UserThread.execute(() -> resultFuture.setException(throwable));
+                    UserThread.execute(() -> resultFuture.setException(throwable), origin);
                 }
             }, MoreExecutors.directExecutor());
 
@@ -287,18 +288,24 @@ public abstract class NetworkNode implements MessageListener {
             return connection;
         });
         final SettableFuture<Connection> resultFuture = SettableFuture.create();
+        String origin = getSendResultOrigin(networkEnvelope);
         Futures.addCallback(future, new FutureCallback<Connection>() {
             public void onSuccess(Connection connection) {
-                UserThread.execute(() -> resultFuture.set(connection));
+                UserThread.execute(() -> resultFuture.set(connection), origin);
             }
 
             public void onFailure(@NotNull Throwable throwable) {
-                UserThread.execute(() -> resultFuture.setException(throwable));
+                UserThread.execute(() -> resultFuture.setException(throwable), origin);
             }
         }, MoreExecutors.directExecutor());
         return resultFuture;
     }
 
+    // The send results of all messages are handled from here, so we use the message class as origin of the task
+    private static String getSendResultOrigin(NetworkEnvelope networkEnvelope) {
+        return "NetworkNode.onMessageSent:" + networkEnvelope.getClass().getSimpleName();
+    }
+
     public ReadOnlyObjectProperty<NodeAddress> nodeAddressProperty() {
         return nodeAddressProperty;
     }
@@ -17,31 +17,25 @@
 
 package bisq.network.p2p.peers;
 
-import bisq.network.p2p.BundleOfEnvelopes;
 import bisq.network.p2p.NodeAddress;
 import bisq.network.p2p.network.Connection;
 import bisq.network.p2p.network.NetworkNode;
-import bisq.network.p2p.storage.messages.BroadcastMessage;
-
-import bisq.common.Timer;
-import bisq.common.UserThread;
-
-import com.google.common.util.concurrent.FutureCallback;
-import com.google.common.util.concurrent.Futures;
-import com.google.common.util.concurrent.MoreExecutors;
-import com.google.common.util.concurrent.SettableFuture;
+import bisq.network.p2p.storage.messages.RefreshOffersMessage;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import lombok.extern.slf4j.Slf4j;
 
-import org.jetbrains.annotations.NotNull;
-
 @Slf4j
 public class BroadcastHandler implements PeerManager.Listener {
     private static final long BASE_TIMEOUT_MS = TimeUnit.SECONDS.toMillis(120);
@@ -69,21 +63,31 @@ public class BroadcastHandler implements PeerManager.Listener {
     private final NetworkNode networkNode;
     private final PeerManager peerManager;
     private final ResultHandler resultHandler;
+    private final Function<Connection, PeerSendQueue> peerSendQueueProvider;
     private final String uid;
 
     private boolean stopped, timeoutTriggered;
     private int numOfCompletedBroadcasts, numOfFailedBroadcasts, numPeersForBroadcast;
-    private Timer timeoutTimer;
+    private List<Broadcaster.BroadcastRequest> broadcastRequests = new ArrayList<>();
+    // Requests for the individual RefreshOfferMessages of a RefreshOffersMessage. Created once for all peers not
+    // supporting the RefreshOffersMessage.
+    private final Map<Broadcaster.BroadcastRequest, List<Broadcaster.BroadcastRequest>> unbundledRequests = new IdentityHashMap<>();
+    private long timeoutTs = Long.MAX_VALUE;
+    private long timeoutDelay;
 
 
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Constructor
     ///////////////////////////////////////////////////////////////////////////////////////////
 
-    BroadcastHandler(NetworkNode networkNode, PeerManager peerManager, ResultHandler resultHandler) {
+    BroadcastHandler(NetworkNode networkNode,
+                     PeerManager peerManager,
+                     ResultHandler resultHandler,
+                     Function<Connection, PeerSendQueue> peerSendQueueProvider) {
         this.networkNode = networkNode;
         this.peerManager = peerManager;
         this.resultHandler = resultHandler;
+        this.peerSendQueueProvider = peerSendQueueProvider;
         uid = UUID.randomUUID().toString();
 
         peerManager.addListener(this);
@@ -116,46 +120,57 @@ public class BroadcastHandler implements PeerManager.Listener {
             }
         }
 
-        setupTimeoutHandler(broadcastRequests, delay, shutDownRequested);
+        this.broadcastRequests = broadcastRequests;
+        setupTimeout(delay, shutDownRequested);
 
+        // Each peer has its own send queue, so a slow peer does not delay the broadcast to the other peers.
+        // The delay is only used as max. time for collecting more messages into the bundle for that peer.
+        int numSkippedPeers = 0;
         int iterations = numPeersForBroadcast;
         for (int i = 0; i < iterations; i++) {
-            long minDelay = (i + 1) * delay;
-            long maxDelay = (i + 2) * delay;
             Connection connection = confirmedConnections.get(i);
-            UserThread.runAfterRandomDelay(() -> {
-                if (stopped) {
-                    return;
-                }
 
-                // We use broadcastRequests which have excluded the requests for messages the connection has
-                // originated to avoid sending back the message we received. We also remove messages not satisfying
-                // capability checks.
-                List<Broadcaster.BroadcastRequest> broadcastRequestsForConnection = getBroadcastRequestsForConnection(connection, broadcastRequests);
-
-                // Could be empty list...
-                if (broadcastRequestsForConnection.isEmpty()) {
-                    // We decrease numPeers in that case for making completion checks correct.
-                    if (numPeersForBroadcast > 0) {
-                        numPeersForBroadcast--;
-                    }
-                    checkForCompletion();
-                    return;
-                }
+            // We use broadcastRequests which have excluded the requests for messages the connection has
+            // originated to avoid sending back the message we received. We also remove messages not satisfying
+            // capability checks.
+            List<Broadcaster.BroadcastRequest> broadcastRequestsForConnection = getBroadcastRequestsForConnection(connection, broadcastRequests);
 
-                if (connection.isStopped()) {
-                    // Connection has died in the meantime. We skip it.
-                    // We decrease numPeers in that case for making completion checks correct.
-                    if (numPeersForBroadcast > 0) {
-                        numPeersForBroadcast--;
-                    }
-                    checkForCompletion();
-                    return;
-                }
+            // Could be empty list or connection has died in the meantime. We skip it.
+            if (broadcastRequestsForConnection.isEmpty() || connection.isStopped()) {
+                numSkippedPeers++;
+                continue;
+            }
 
-                sendToPeer(connection, broadcastRequestsForConnection);
-            }, minDelay, maxDelay, TimeUnit.MILLISECONDS);
+            sendToPeer(connection, broadcastRequestsForConnection, delay + ThreadLocalRandom.current().nextInt(delay));
         }
+
+        if (numSkippedPeers > 0) {
+            // We decrease numPeers in that case for making completion checks correct.
+            numPeersForBroadcast = Math.max(0, numPeersForBroadcast - numSkippedPeers);
+            checkForCompletion();
+        }
+    }
+
+    // Called periodically by the Broadcaster
+    void checkTimeout(long now) {
+        if (stopped || now < timeoutTs) {
+            return;
+        }
+
+        timeoutTriggered = true;
+
+        log.warn("Broadcast did not complete after {} sec.\n" +
+                        "numPeersForBroadcast={}\n" +
+                        "numOfCompletedBroadcasts={}\n" +
+                        "numOfFailedBroadcasts={}",
+                timeoutDelay / 1000d,
+                numPeersForBroadcast,
+                numOfCompletedBroadcasts,
+                numOfFailedBroadcasts);
+
+        maybeNotifyListeners(broadcastRequests);
+
+        cleanup();
     }
 
     public void cancel() {
@@ -195,54 +210,50 @@ public class BroadcastHandler implements PeerManager.Listener {
         return broadcastRequests.stream().anyMatch(e -> myAddress.equals(e.getSender()));
     }
 
-    private void setupTimeoutHandler(List<Broadcaster.BroadcastRequest> broadcastRequests,
-                                     int delay,
-                                     boolean shutDownRequested) {
+    private void setupTimeout(int delay, boolean shutDownRequested) {
         // In case of shutdown we try to complete fast and set a short 1 second timeout
         long baseTimeoutMs = shutDownRequested ? TimeUnit.SECONDS.toMillis(1) : BASE_TIMEOUT_MS;
-        long timeoutDelay = baseTimeoutMs + delay * (numPeersForBroadcast + 1); // We added 1 in the loop
-        timeoutTimer = UserThread.runAfter(() -> {
-            if (stopped) {
-                return;
-            }
-
-            timeoutTriggered = true;
-
-            log.warn("Broadcast did not complete after {} sec.\n" +
-                            "numPeersForBroadcast={}\n" +
-                            "numOfCompletedBroadcasts={}\n" +
-                            "numOfFailedBroadcasts={}",
-                    timeoutDelay / 1000d,
-                    numPeersForBroadcast,
-                    numOfCompletedBroadcasts,
-                    numOfFailedBroadcasts);
-
-            maybeNotifyListeners(broadcastRequests);
-
-            cleanup();
-
-        }, timeoutDelay, TimeUnit.MILLISECONDS);
+        timeoutDelay = baseTimeoutMs + delay * (numPeersForBroadcast + 1);
+        timeoutTs = System.currentTimeMillis() + timeoutDelay;
     }
 
     // We exclude the requests containing a message we received from that connection
-    // Also we filter out messages which requires a capability but peer does not support it.
+    // Also we filter out messages which requires a capability but peer does not support it. A RefreshOffersMessage
+    // gets replaced by its individual RefreshOfferMessages in that case.
     private List<Broadcaster.BroadcastRequest> getBroadcastRequestsForConnection(Connection connection,
                                                                                  List<Broadcaster.BroadcastRequest> broadcastRequests) {
         return broadcastRequests.stream()
                 .filter(broadcastRequest -> !connection.getPeersNodeAddressOptional().isPresent() ||
                         !connection.getPeersNodeAddressOptional().get().equals(broadcastRequest.getSender()))
+                .flatMap(broadcastRequest -> maybeUnbundle(connection, broadcastRequest))
                 .filter(broadcastRequest -> connection.noCapabilityRequiredOrCapabilityIsSupported(broadcastRequest.getMessage()))
                 .collect(Collectors.toList());
     }
 
-    private void sendToPeer(Connection connection, List<Broadcaster.BroadcastRequest> broadcastRequestsForConnection) {
-        // Can be BundleOfEnvelopes or a single BroadcastMessage
-        BroadcastMessage broadcastMessage = getMessage(broadcastRequestsForConnection);
-        SettableFuture<Connection> future = networkNode.sendMessage(connection, broadcastMessage);
+    private Stream<Broadcaster.BroadcastRequest> maybeUnbundle(Connection connection,
+                                                              Broadcaster.BroadcastRequest broadcastRequest) {
+        if (!(broadcastRequest.getMessage() instanceof RefreshOffersMessage) ||
+                connection.noCapabilityRequiredOrCapabilityIsSupported(broadcastRequest.getMessage())) {
+            return Stream.of(broadcastRequest);
+        }
 
-        Futures.addCallback(future, new FutureCallback<>() {
+        return unbundledRequests.computeIfAbsent(broadcastRequest, request -> {
+            List<Broadcaster.BroadcastRequest> requests = new ArrayList<>();
+            ((RefreshOffersMessage) request.getMessage()).getRefreshOfferMessages().forEach(refreshOfferMessage ->
+                    // We only pass the listener with the first request to not notify it multiple times
+                    requests.add(new Broadcaster.BroadcastRequest(refreshOfferMessage,
+                            request.getSender(),
+                            requests.isEmpty() ? request.getListener() : null)));
+            return requests;
+        }).stream();
+    }
+
+    private void sendToPeer(Connection connection,
+                            List<Broadcaster.BroadcastRequest> broadcastRequestsForConnection,
+                            long lingerMs) {
+        PeerSendQueue.Delivery delivery = new PeerSendQueue.Delivery(new PeerSendQueue.DeliveryHandler() {
             @Override
-            public void onSuccess(Connection connection) {
+            public void onSuccess() {
                 numOfCompletedBroadcasts++;
 
                 if (stopped) {
@@ -254,9 +265,7 @@ public class BroadcastHandler implements PeerManager.Listener {
             }
 
             @Override
-            public void onFailure(@NotNull Throwable throwable) {
-                log.warn("Broadcast to {} failed. ErrorMessage={}", connection.getPeersNodeAddressOptional(),
-                        throwable.getMessage());
+            public void onFailure(Throwable throwable) {
                 numOfFailedBroadcasts++;
 
                 if (stopped) {
@@ -266,18 +275,8 @@ public class BroadcastHandler implements PeerManager.Listener {
                 maybeNotifyListeners(broadcastRequestsForConnection);
                 checkForCompletion();
             }
-        }, MoreExecutors.directExecutor());
-    }
-
-    private BroadcastMessage getMessage(List<Broadcaster.BroadcastRequest> broadcastRequests) {
-        if (broadcastRequests.size() == 1) {
-            // If we only have 1 message we avoid the overhead of the BundleOfEnvelopes and send the message directly
-            return broadcastRequests.get(0).getMessage();
-        } else {
-            return new BundleOfEnvelopes(broadcastRequests.stream()
-                    .map(Broadcaster.BroadcastRequest::getMessage)
-                    .collect(Collectors.toList()));
-        }
+        });
+        peerSendQueueProvider.apply(connection).enqueue(broadcastRequestsForConnection, delivery, lingerMs);
     }
 
     private void maybeNotifyListeners(List<Broadcaster.BroadcastRequest> broadcastRequests) {
@@ -307,17 +306,13 @@ public class BroadcastHandler implements PeerManager.Listener {
     }
 
     private void checkForCompletion() {
-        if (numOfCompletedBroadcasts + numOfFailedBroadcasts == numPeersForBroadcast) {
+        if (!stopped && numOfCompletedBroadcasts + numOfFailedBroadcasts == numPeersForBroadcast) {
             cleanup();
         }
     }
 
     private void cleanup() {
         stopped = true;
-        if (timeoutTimer != null) {
-            timeoutTimer.stop();
-            timeoutTimer = null;
-        }
         peerManager.removeListener(this);
         resultHandler.onCompleted(this);
     }
@@ -18,6 +18,7 @@
 package bisq.network.p2p.peers;
 
 import bisq.network.p2p.NodeAddress;
+import bisq.network.p2p.network.Connection;
 import bisq.network.p2p.network.NetworkNode;
 import bisq.network.p2p.storage.messages.BroadcastMessage;
 
@@ -27,7 +28,9 @@ import bisq.common.UserThread;
 import javax.inject.Inject;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.TimeUnit;
@@ -39,14 +42,19 @@ import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.Nullable;
 
 @Slf4j
-public class Broadcaster implements BroadcastHandler.ResultHandler {
+public class Broadcaster implements BroadcastHandler.ResultHandler, PeerSendQueue.Listener {
     private static final long BROADCAST_INTERVAL_MS = 2000;
+    private static final long TIMEOUT_CHECK_INTERVAL_MS = 1000;
 
     private final NetworkNode networkNode;
     private final PeerManager peerManager;
     private final Set<BroadcastHandler> broadcastHandlers = new CopyOnWriteArraySet<>();
     private final List<BroadcastRequest> broadcastRequests = new ArrayList<>();
+    private final Map<String, PeerSendQueue> peerSendQueues = new HashMap<>();
+    private int broadcastRequestsBytes;
     private Timer timer;
+    @Nullable
+    private Timer timeoutCheckTimer;
     private boolean shutDownRequested;
     private Runnable shutDownResultHandler;
 
@@ -79,9 +87,10 @@ public class Broadcaster implements BroadcastHandler.ResultHandler {
 
     private void doShutDown() {
         broadcastHandlers.forEach(BroadcastHandler::cancel);
-        if (timer != null) {
-            timer.stop();
-        }
+        peerSendQueues.values().forEach(PeerSendQueue::cancel);
+        peerSendQueues.clear();
+        stopTimer();
+        stopTimeoutCheckTimer();
         shutDownResultHandler.run();
     }
 
@@ -99,27 +108,67 @@ public class Broadcaster implements BroadcastHandler.ResultHandler {
     public void broadcast(BroadcastMessage message,
                           @Nullable NodeAddress sender,
                           @Nullable BroadcastHandler.Listener listener) {
-        broadcastRequests.add(new BroadcastRequest(message, sender, listener));
+        BroadcastRequest broadcastRequest = new BroadcastRequest(message, sender, listener);
+        broadcastRequests.add(broadcastRequest);
+        broadcastRequestsBytes += broadcastRequest.getSize();
         // Keep that log on INFO for better debugging if the feature works as expected. Later it can
         // be remove or set to DEBUG
         log.debug("Broadcast requested for {}. We queue it up for next bundled broadcast.",
                 message.getClass().getSimpleName());
 
-        if (timer == null) {
-            timer = UserThread.runAfter(this::maybeBroadcastBundle, BROADCAST_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        // If we have collected a full bundle (e.g. at a burst of offer refreshes) we do not wait for the interval
+        if (broadcastRequests.size() >= PeerSendQueue.MAX_BATCH_MESSAGES ||
+                broadcastRequestsBytes >= PeerSendQueue.MAX_BATCH_BYTES) {
+            maybeBroadcastBundle();
+        } else if (timer == null) {
+            timer = UserThread.runAfter(this::maybeBroadcastBundle, BROADCAST_INTERVAL_MS, TimeUnit.MILLISECONDS,
+                    "Broadcaster.broadcastBundle");
         }
     }
 
     private void maybeBroadcastBundle() {
+        stopTimer();
         if (!broadcastRequests.isEmpty()) {
             log.debug("Broadcast bundled requests of {} messages. Message types: {}",
                     broadcastRequests.size(),
                     broadcastRequests.stream().map(e -> e.getMessage().getClass().getSimpleName()).collect(Collectors.toList()));
-            BroadcastHandler broadcastHandler = new BroadcastHandler(networkNode, peerManager, this);
+            BroadcastHandler broadcastHandler = new BroadcastHandler(networkNode, peerManager, this, this::getPeerSendQueue);
             broadcastHandlers.add(broadcastHandler);
+            maybeStartTimeoutCheckTimer();
             broadcastHandler.broadcast(new ArrayList<>(broadcastRequests), shutDownRequested);
             broadcastRequests.clear();
+            broadcastRequestsBytes = 0;
+        }
+    }
+
+    private PeerSendQueue getPeerSendQueue(Connection connection) {
+        return peerSendQueues.computeIfAbsent(connection.getUid(),
+                uid -> new PeerSendQueue(networkNode, connection, this));
+    }
+
+    // We use one timer for the timeout checks of all broadcastHandlers instead of one timer per broadcast
+    private void maybeStartTimeoutCheckTimer() {
+        if (timeoutCheckTimer == null) {
+            timeoutCheckTimer = UserThread.runPeriodically(() -> {
+                long now = System.currentTimeMillis();
+                broadcastHandlers.forEach(broadcastHandler -> broadcastHandler.checkTimeout(now));
+                if (broadcastHandlers.isEmpty()) {
+                    stopTimeoutCheckTimer();
+                }
+            }, TIMEOUT_CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS, "Broadcaster.checkTimeouts");
+        }
+    }
+
+    private void stopTimeoutCheckTimer() {
+        if (timeoutCheckTimer != null) {
+            timeoutCheckTimer.stop();
+            timeoutCheckTimer = null;
+        }
+    }
 
+    private void stopTimer() {
+        if (timer != null) {
+            timer.stop();
             timer = null;
         }
     }
@@ -138,6 +187,17 @@ public class Broadcaster implements BroadcastHandler.ResultHandler {
     }
 
 
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // PeerSendQueue.Listener implementation
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    public void onIdle(PeerSendQueue peerSendQueue) {
+        // We remove idle queues so we do not keep queues of closed connections
+        peerSendQueues.remove(peerSendQueue.getConnection().getUid(), peerSendQueue);
+    }
+
+
     ///////////////////////////////////////////////////////////////////////////////////////////
     // BroadcastRequest class
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -149,13 +209,19 @@ public class Broadcaster implements BroadcastHandler.ResultHandler {
         private NodeAddress sender;
         @Nullable
         private BroadcastHandler.Listener listener;
-
-        private BroadcastRequest(BroadcastMessage message,
-                                 @Nullable NodeAddress sender,
-                                 @Nullable BroadcastHandler.Listener listener) {
+        // Serialized size, used for limiting the size of bundles. The message caches it, so the connections reuse it.
+        private int size;
+        // System.nanoTime() at the broadcast request, used for the fan-out latency metrics
+        private long timestamp;
+
+        BroadcastRequest(BroadcastMessage message,
+                         @Nullable NodeAddress sender,
+                         @Nullable BroadcastHandler.Listener listener) {
             this.message = message;
             this.sender = sender;
             this.listener = listener;
+            size = message.getSerializedSize();
+            timestamp = System.nanoTime();
         }
     }
 }
@@ -0,0 +1,326 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.peers;
+
+import bisq.network.p2p.BundleOfEnvelopes;
+import bisq.network.p2p.network.Connection;
+import bisq.network.p2p.network.NetworkNode;
+import bisq.network.p2p.storage.messages.BroadcastMessage;
+
+import bisq.common.Timer;
+import bisq.common.UserThread;
+import bisq.common.metrics.Counter;
+import bisq.common.metrics.Histogram;
+import bisq.common.metrics.Metrics;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Outbound queue for broadcast messages to a single connection. There is at most one send in flight per
+ * connection. Messages which arrive in the meantime are queued and sent as one bundle as soon as the previous
+ * send has completed, so slow peers get larger bundles while fast peers are not held back by slow ones.
+ * A message which is already queued for the peer is not added a second time.
+ *
+ * All methods are expected to be called on the user thread.
+ */
+@Slf4j
+class PeerSendQueue {
+    // Limits for a single bundle. If the queue exceeds one of those we send without waiting for the linger delay.
+    static final int MAX_BATCH_MESSAGES = 500;
+    static final int MAX_BATCH_BYTES = 1024 * 1024;
+    // Limits for the messages queued up while a send is in flight. If a peer is too slow to keep up with those we
+    // drop further messages and report the delivery to that peer as failed.
+    static final int MAX_QUEUED_MESSAGES = 4 * MAX_BATCH_MESSAGES;
+    static final int MAX_QUEUED_BYTES = 4 * MAX_BATCH_BYTES;
+
+    private static final AtomicInteger numQueuedMessages = new AtomicInteger();
+    private static final Histogram fanOutLatency = Metrics.histogram("p2p_broadcast_fanout_seconds",
+            "Time from the broadcast request until the message was sent to a peer");
+    private static final Histogram batchSize = Metrics.histogram("p2p_broadcast_batch_messages",
+            "Number of messages sent in one bundle to a peer",
+            new double[]{1, 2, 5, 10, 20, 50, 100, 200, 500});
+    private static final Counter deduplicated = Metrics.counter("p2p_broadcast_deduplicated_total",
+            "Number of broadcast messages which were already queued for a peer");
+    private static final Counter dropped = Metrics.counter("p2p_broadcast_dropped_total",
+            "Number of broadcast messages which were dropped because the queue for a peer was full");
+
+    static {
+        Metrics.gauge("p2p_broadcast_queued_messages", "Number of broadcast messages waiting in the per peer queues",
+                numQueuedMessages::get);
+    }
+
+    interface Listener {
+        // Called when the queue is empty and no send is in flight
+        void onIdle(PeerSendQueue peerSendQueue);
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Delivery
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    interface DeliveryHandler {
+        void onSuccess();
+
+        void onFailure(Throwable throwable);
+    }
+
+    // Tracks the messages of one broadcast to one peer. The handler is called once all messages have been sent or
+    // at the first failure.
+    static class Delivery {
+        private final DeliveryHandler handler;
+        private int numPending;
+        private boolean completed;
+
+        Delivery(DeliveryHandler handler) {
+            this.handler = handler;
+        }
+
+        private void onSent() {
+            if (!completed && --numPending == 0) {
+                completed = true;
+                handler.onSuccess();
+            }
+        }
+
+        private void onFailure(Throwable throwable) {
+            if (!completed) {
+                completed = true;
+                handler.onFailure(throwable);
+            }
+        }
+    }
+
+    private static class Entry {
+        private final Broadcaster.BroadcastRequest broadcastRequest;
+        private final List<Delivery> deliveries = new ArrayList<>(1);
+
+        private Entry(Broadcaster.BroadcastRequest broadcastRequest) {
+            this.broadcastRequest = broadcastRequest;
+        }
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Instance fields
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private final NetworkNode networkNode;
+    @Getter
+    private final Connection connection;
+    private final Listener listener;
+    private final Map<BroadcastMessage, Entry> entries = new LinkedHashMap<>();
+
+    private int queuedBytes;
+    private boolean sending;
+    @Nullable
+    private Timer lingerTimer;
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Constructor
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    PeerSendQueue(NetworkNode networkNode, Connection connection, Listener listener) {
+        this.networkNode = networkNode;
+        this.connection = connection;
+        this.listener = listener;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @param broadcastRequests The requests to send to that peer
+     * @param delivery          Gets notified once all messages are sent or if sending failed
+     * @param lingerMs          Max. delay for collecting more messages into the bundle if the queue is not full
+     */
+    void enqueue(List<Broadcaster.BroadcastRequest> broadcastRequests, Delivery delivery, long lingerMs) {
+        delivery.numPending += broadcastRequests.size();
+        int numDropped = 0;
+        for (Broadcaster.BroadcastRequest broadcastRequest : broadcastRequests) {
+            Entry entry = entries.get(broadcastRequest.getMessage());
+            if (entry == null) {
+                if (isFull(broadcastRequest.getSize())) {
+                    numDropped++;
+                    continue;
+                }
+                entry = new Entry(broadcastRequest);
+                entries.put(broadcastRequest.getMessage(), entry);
+                queuedBytes += broadcastRequest.getSize();
+                numQueuedMessages.incrementAndGet();
+            } else {
+                deduplicated.inc();
+            }
+            entry.deliveries.add(delivery);
+        }
+
+        if (numDropped > 0) {
+            log.warn("Send queue to {} is full. We drop {} broadcast messages.",
+                    connection.getPeersNodeAddressOptional(), numDropped);
+            dropped.inc(numDropped);
+            delivery.onFailure(new IllegalStateException("Send queue is full"));
+        }
+
+        if (sending) {
+            // We send the queue after the current send has completed
+            return;
+        }
+
+        if (entries.size() >= MAX_BATCH_MESSAGES || queuedBytes >= MAX_BATCH_BYTES) {
+            stopLingerTimer();
+            send();
+        } else if (lingerTimer == null) {
+            lingerTimer = UserThread.runAfter(() -> {
+                lingerTimer = null;
+                send();
+            }, lingerMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    void cancel() {
+        stopLingerTimer();
+        numQueuedMessages.addAndGet(-entries.size());
+        entries.clear();
+        queuedBytes = 0;
+    }
+
+    boolean isIdle() {
+        return !sending && entries.isEmpty();
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private void send() {
+        if (sending || entries.isEmpty()) {
+            return;
+        }
+
+        List<Entry> batch = pollBatch();
+        if (connection.isStopped()) {
+            // Connection has died in the meantime. We fail all queued messages.
+            batch.addAll(entries.values());
+            cancel();
+            Throwable throwable = new IllegalStateException("Connection is stopped");
+            batch.forEach(entry -> entry.deliveries.forEach(delivery -> delivery.onFailure(throwable)));
+            listener.onIdle(this);
+            return;
+        }
+
+        sending = true;
+        batchSize.observe(batch.size());
+        SettableFuture<Connection> future = networkNode.sendMessage(connection, getMessage(batch));
+        Futures.addCallback(future, new FutureCallback<>() {
+            @Override
+            public void onSuccess(Connection connection) {
+                long now = System.nanoTime();
+                batch.forEach(entry -> {
+                    fanOutLatency.observeNanos(now - entry.broadcastRequest.getTimestamp());
+                    entry.deliveries.forEach(Delivery::onSent);
+                });
+                onSendCompleted();
+            }
+
+            @Override
+            public void onFailure(@NotNull Throwable throwable) {
+                log.warn("Broadcast to {} failed. ErrorMessage={}", connection.getPeersNodeAddressOptional(),
+                        throwable.getMessage());
+                batch.forEach(entry -> entry.deliveries.forEach(delivery -> delivery.onFailure(throwable)));
+                onSendCompleted();
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    private void onSendCompleted() {
+        sending = false;
+        if (entries.isEmpty()) {
+            listener.onIdle(this);
+        } else {
+            // The messages have been queued up while we were sending, so there is no need to wait any longer
+            stopLingerTimer();
+            send();
+        }
+    }
+
+    private boolean isFull(int size) {
+        // We always accept a message into an empty queue even if it exceeds the limit
+        return !entries.isEmpty() &&
+                (entries.size() >= MAX_QUEUED_MESSAGES || queuedBytes + size > MAX_QUEUED_BYTES);
+    }
+
+    private List<Entry> pollBatch() {
+        List<Entry> batch = new ArrayList<>();
+        int batchBytes = 0;
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext() && batch.size() < MAX_BATCH_MESSAGES) {
+            Entry entry = iterator.next();
+            int size = entry.broadcastRequest.getSize();
+            // We always take at least one message even if it exceeds the limit
+            if (!batch.isEmpty() && batchBytes + size > MAX_BATCH_BYTES) {
+                break;
+            }
+            batch.add(entry);
+            batchBytes += size;
+            iterator.remove();
+        }
+        queuedBytes -= batchBytes;
+        numQueuedMessages.addAndGet(-batch.size());
+        return batch;
+    }
+
+    private BroadcastMessage getMessage(List<Entry> batch) {
+        if (batch.size() == 1) {
+            // If we only have 1 message we avoid the overhead of the BundleOfEnvelopes and send the message directly
+            return batch.get(0).broadcastRequest.getMessage();
+        } else {
+            return new BundleOfEnvelopes(batch.stream()
+                    .map(entry -> entry.broadcastRequest.getMessage())
+                    .collect(Collectors.toList()));
+        }
+    }
+
+    private void stopLingerTimer() {
+        if (lingerTimer != null) {
+            lingerTimer.stop();
+            lingerTimer = null;
+        }
+    }
+}
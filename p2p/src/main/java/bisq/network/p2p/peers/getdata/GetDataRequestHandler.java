@@ -20,18 +20,28 @@ package bisq.network.p2p.peers.getdata;
 import bisq.network.p2p.network.CloseConnectionReason;
 import bisq.network.p2p.network.Connection;
 import bisq.network.p2p.network.NetworkNode;
+import bisq.network.p2p.peers.getdata.messages.GetDataChunkRequest;
 import bisq.network.p2p.peers.getdata.messages.GetDataRequest;
 import bisq.network.p2p.peers.getdata.messages.GetDataResponse;
+import bisq.network.p2p.peers.getdata.messages.GetUpdatedDataRequest;
 import bisq.network.p2p.storage.P2PDataStorage;
+import bisq.network.p2p.storage.payload.PersistableNetworkPayload;
 
 import bisq.common.Timer;
 import bisq.common.UserThread;
+import bisq.common.app.Capability;
+import bisq.common.metrics.Histogram;
+import bisq.common.metrics.Metrics;
+import bisq.common.util.Tuple2;
 
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.SettableFuture;
 
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -39,12 +49,32 @@ import lombok.extern.slf4j.Slf4j;
 
 import org.jetbrains.annotations.NotNull;
 
+import javax.annotation.Nullable;
+
+/**
+ * Handles a GetDataRequest of a peer. The response is built on the executor passed by the RequestDataManager from a
+ * snapshot of the P2PDataStorage, so a burst of requests does not block the UserThread. All state of the handler is
+ * only accessed on the UserThread, the chunker is only used by the build tasks which never run concurrently.
+ */
 @Slf4j
 public class GetDataRequestHandler {
     private static final long TIMEOUT = 180;
 
     private static final int MAX_ENTRIES = 10000;
 
+    // Limits for responses to peers supporting chunked responses. The chunk size stays well below
+    // Connection.MAX_PERMITTED_MESSAGE_SIZE so a chunk never gets rejected by the peer.
+    private static final int MAX_ENTRIES_PER_CHUNK = 5000;
+    private static final int MAX_CHUNK_SIZE = 2_000_000;
+    // How long we keep the state of a chunked response while waiting for the request of the next chunk
+    static final long CHUNK_REQUEST_TIMEOUT = 60;
+
+    static final Histogram BUILD_DURATION = Metrics.histogram("p2p_get_data_build_seconds",
+            "Time for building GetData requests and responses", "type");
+    private static final Histogram RESPONSE_LATENCY = Metrics.histogram("p2p_get_data_response_latency_seconds",
+            "Time from receiving a GetData request until the response got sent, including waiting for a build thread",
+            "type");
+
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Listener
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -62,18 +92,28 @@ public class GetDataRequestHandler {
 
     private final NetworkNode networkNode;
     private final P2PDataStorage dataStorage;
+    private final ListeningExecutorService executor;
     private final Listener listener;
     private Timer timeoutTimer;
     private boolean stopped;
+    @Nullable
+    private GetDataResponseChunker chunker;
+    // Continuation token of the last sent chunk
+    @Nullable
+    private String expectedContinuationToken;
 
 
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Constructor
     ///////////////////////////////////////////////////////////////////////////////////////////
 
-    public GetDataRequestHandler(NetworkNode networkNode, P2PDataStorage dataStorage, Listener listener) {
+    public GetDataRequestHandler(NetworkNode networkNode,
+                                 P2PDataStorage dataStorage,
+                                 ListeningExecutorService executor,
+                                 Listener listener) {
         this.networkNode = networkNode;
         this.dataStorage = dataStorage;
+        this.executor = executor;
         this.listener = listener;
     }
 
@@ -84,9 +124,58 @@ public class GetDataRequestHandler {
 
     public void handle(GetDataRequest getDataRequest, final Connection connection) {
         long ts = System.currentTimeMillis();
-        String connectionInfo = "connectionInfo" + connection.getPeersNodeAddressOptional()
-                .map(e -> "node address " + e.getFullAddress())
-                .orElseGet(() -> "connection UID " + connection.getUid());
+        String requestType = getDataRequest.getClass().getSimpleName();
+        // Setup before building so a request waiting too long for a build thread is covered as well
+        startTimeoutTimer(connection);
+
+        ListenableFuture<GetDataResponse> future;
+        if (connection.getCapabilities().containsAll(Capability.GET_DATA_CHUNKS)) {
+            future = executor.submit(() -> buildFirstChunk(getDataRequest, connection));
+        } else {
+            future = executor.submit(() -> buildResponse(getDataRequest, connection));
+        }
+        onResponseBuilt(future, connection, requestType, ts);
+    }
+
+    /**
+     * Sends the next chunk of a chunked response if the request matches the last delivered chunk.
+     */
+    public void handleChunkRequest(GetDataChunkRequest getDataChunkRequest, Connection connection) {
+        if (stopped || chunker == null) {
+            log.warn("We got a GetDataChunkRequest but have no chunked response in progress. We ignore it. " +
+                    "The peer will request the remaining data again.");
+            return;
+        }
+
+        if (!getDataChunkRequest.getContinuationToken().equals(expectedContinuationToken)) {
+            log.warn("We got a GetDataChunkRequest with an unexpected continuation token from peer with {}. " +
+                    "We ignore it.", getConnectionInfo(connection));
+            return;
+        }
+
+        long ts = System.currentTimeMillis();
+        expectedContinuationToken = null;
+        stopTimeoutTimer();
+        startTimeoutTimer(connection);
+        GetDataResponseChunker chunker = this.chunker;
+        onResponseBuilt(executor.submit(() -> buildNextChunk(chunker, connection)),
+                connection,
+                getDataChunkRequest.getClass().getSimpleName(),
+                ts);
+    }
+
+    public void stop() {
+        cleanup();
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Build tasks, executed on the executor
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private GetDataResponse buildResponse(GetDataRequest getDataRequest, Connection connection) {
+        long ts = System.currentTimeMillis();
+        String connectionInfo = getConnectionInfo(connection);
 
         AtomicBoolean wasPersistableNetworkPayloadsTruncated = new AtomicBoolean(false);
         AtomicBoolean wasProtectedStorageEntriesTruncated = new AtomicBoolean(false);
@@ -96,6 +185,8 @@ public class GetDataRequestHandler {
                 wasPersistableNetworkPayloadsTruncated,
                 wasProtectedStorageEntriesTruncated,
                 connection.getCapabilities());
+        BUILD_DURATION.labels(getDataResponse.getClass().getSimpleName())
+                .observeMillis(System.currentTimeMillis() - ts);
 
         if (wasPersistableNetworkPayloadsTruncated.get()) {
             log.warn("The getData request from peer with {} caused too much PersistableNetworkPayload " +
@@ -113,16 +204,80 @@ public class GetDataRequestHandler {
                 connectionInfo,
                 getDataResponse.getDataSet().size(),
                 getDataResponse.getPersistableNetworkPayloadSet().size());
+        return getDataResponse;
+    }
 
-        if (timeoutTimer == null) {
-            timeoutTimer = UserThread.runAfter(() -> {  // setup before sending to avoid race conditions
-                        String errorMessage = "A timeout occurred for getDataResponse " +
-                                " on connection:" + connection;
-                        handleFault(errorMessage, CloseConnectionReason.SEND_MSG_TIMEOUT, connection);
-                    },
-                    TIMEOUT, TimeUnit.SECONDS);
-        }
+    private GetDataResponse buildFirstChunk(GetDataRequest getDataRequest, Connection connection) {
+        long ts = System.currentTimeMillis();
+        Tuple2<List<P2PDataStorage.ByteArray>, List<PersistableNetworkPayload>> missingData =
+                dataStorage.getMissingDataForChunkedResponse(getDataRequest, connection.getCapabilities());
+        GetDataResponseChunker chunker = new GetDataResponseChunker(dataStorage.getMap(),
+                missingData.first,
+                missingData.second,
+                getDataRequest.getNonce(),
+                getDataRequest instanceof GetUpdatedDataRequest,
+                MAX_ENTRIES_PER_CHUNK,
+                MAX_CHUNK_SIZE);
+        BUILD_DURATION.labels(GetDataResponseChunker.class.getSimpleName())
+                .observeMillis(System.currentTimeMillis() - ts);
+        // Applied on the UserThread after the build completed
+        UserThread.execute(() -> {
+            if (!stopped) {
+                this.chunker = chunker;
+            }
+        });
+        return buildNextChunk(chunker, connection);
+    }
 
+    private GetDataResponse buildNextChunk(GetDataResponseChunker chunker, Connection connection) {
+        long ts = System.currentTimeMillis();
+        GetDataResponse getDataResponse = chunker.nextChunk();
+        BUILD_DURATION.labels(getDataResponse.getClass().getSimpleName())
+                .observeMillis(System.currentTimeMillis() - ts);
+        log.info("Chunk {} of the getDataResponse to peer with {} contains {} ProtectedStorageEntries and {} " +
+                        "PersistableNetworkPayloads. {} entries remain for further chunks.",
+                chunker.getNumChunks(),
+                getConnectionInfo(connection),
+                getDataResponse.getDataSet().size(),
+                getDataResponse.getPersistableNetworkPayloadSet().size(),
+                chunker.getNumRemainingEntries());
+        return getDataResponse;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private void onResponseBuilt(ListenableFuture<GetDataResponse> future,
+                                 Connection connection,
+                                 String requestType,
+                                 long requestTs) {
+        Futures.addCallback(future, new FutureCallback<>() {
+            @Override
+            public void onSuccess(GetDataResponse getDataResponse) {
+                UserThread.execute(() -> {
+                    if (!stopped) {
+                        sendResponse(getDataResponse, connection, requestType, requestTs);
+                    } else {
+                        log.trace("We have stopped already. We ignore the built getDataResponse.");
+                    }
+                });
+            }
+
+            @Override
+            public void onFailure(@NotNull Throwable throwable) {
+                UserThread.execute(() -> handleFault("Building the getDataResponse for " + connection +
+                                " failed. Exception: " + throwable.getMessage(),
+                        CloseConnectionReason.UNKNOWN_EXCEPTION, connection));
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    private void sendResponse(GetDataResponse getDataResponse,
+                              Connection connection,
+                              String requestType,
+                              long requestTs) {
         SettableFuture<Connection> future = networkNode.sendMessage(connection, getDataResponse);
         Futures.addCallback(future, new FutureCallback<>() {
             @Override
@@ -130,8 +285,15 @@ public class GetDataRequestHandler {
                 if (!stopped) {
                     log.trace("Send DataResponse to {} succeeded. getDataResponse={}",
                             connection.getPeersNodeAddressOptional(), getDataResponse);
-                    cleanup();
-                    listener.onComplete();
+                    long latency = System.currentTimeMillis() - requestTs;
+                    RESPONSE_LATENCY.labels(requestType).observeMillis(latency);
+                    log.info("Handling {} took {} ms", requestType, latency);
+                    if (getDataResponse.hasMoreChunks()) {
+                        awaitChunkRequest(getDataResponse.getContinuationToken());
+                    } else {
+                        cleanup();
+                        listener.onComplete();
+                    }
                 } else {
                     log.trace("We have stopped already. We ignore that networkNode.sendMessage.onSuccess call.");
                 }
@@ -149,17 +311,36 @@ public class GetDataRequestHandler {
                 }
             }
         }, MoreExecutors.directExecutor());
-        log.info("handle GetDataRequest took {} ms", System.currentTimeMillis() - ts);
     }
 
-    public void stop() {
-        cleanup();
+    private void awaitChunkRequest(String continuationToken) {
+        expectedContinuationToken = continuationToken;
+        stopTimeoutTimer();
+        timeoutTimer = UserThread.runAfter(() -> {
+                    // Not a fault as the peer might have got the remaining data from another seed node already
+                    log.info("We did not receive a GetDataChunkRequest in time. We drop the remaining chunks.");
+                    cleanup();
+                    listener.onComplete();
+                },
+                CHUNK_REQUEST_TIMEOUT, TimeUnit.SECONDS);
     }
 
+    private void startTimeoutTimer(Connection connection) {
+        if (timeoutTimer == null) {
+            timeoutTimer = UserThread.runAfter(() -> {  // setup before sending to avoid race conditions
+                        String errorMessage = "A timeout occurred for getDataResponse " +
+                                " on connection:" + connection;
+                        handleFault(errorMessage, CloseConnectionReason.SEND_MSG_TIMEOUT, connection);
+                    },
+                    TIMEOUT, TimeUnit.SECONDS);
+        }
+    }
 
-    ///////////////////////////////////////////////////////////////////////////////////////////
-    // Private
-    ///////////////////////////////////////////////////////////////////////////////////////////
+    private String getConnectionInfo(Connection connection) {
+        return "connectionInfo" + connection.getPeersNodeAddressOptional()
+                .map(e -> "node address " + e.getFullAddress())
+                .orElseGet(() -> "connection UID " + connection.getUid());
+    }
 
     private void handleFault(String errorMessage, CloseConnectionReason closeConnectionReason, Connection connection) {
         if (!stopped) {
@@ -173,6 +354,12 @@ public class GetDataRequestHandler {
 
     private void cleanup() {
         stopped = true;
+        chunker = null;
+        expectedContinuationToken = null;
+        stopTimeoutTimer();
+    }
+
+    private void stopTimeoutTimer() {
         if (timeoutTimer != null) {
             timeoutTimer.stop();
             timeoutTimer = null;
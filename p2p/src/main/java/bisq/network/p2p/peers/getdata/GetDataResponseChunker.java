@@ -0,0 +1,130 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.peers.getdata;
+
+import bisq.network.p2p.peers.getdata.messages.GetDataResponse;
+import bisq.network.p2p.storage.P2PDataStorage;
+import bisq.network.p2p.storage.payload.PersistableNetworkPayload;
+import bisq.network.p2p.storage.payload.ProtectedStorageEntry;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import lombok.Getter;
+
+import javax.annotation.Nullable;
+
+/**
+ * Splits the data missing at a peer into GetDataResponses of bounded size. The missing data is determined once when
+ * the request is received, so the order of the chunks is stable while the peer requests them one by one.
+ * ProtectedStorageEntries are delivered first as they contain the offers and are looked up again when the chunk is
+ * built, so entries removed in the meantime are not delivered.
+ */
+class GetDataResponseChunker {
+    private final Map<P2PDataStorage.ByteArray, ProtectedStorageEntry> protectedStorageEntryMap;
+    private final List<P2PDataStorage.ByteArray> protectedStorageEntryKeys;
+    private final List<PersistableNetworkPayload> persistableNetworkPayloads;
+    private final int requestNonce;
+    private final boolean isGetUpdatedDataResponse;
+    private final int maxEntriesPerChunk;
+    private final int maxChunkSize;
+
+    private int protectedStorageEntryIndex;
+    private int persistableNetworkPayloadIndex;
+    @Getter
+    private int numChunks;
+    // Token of the last delivered chunk. Null before the first chunk and after the last chunk.
+    @Nullable
+    @Getter
+    private String continuationToken;
+
+    GetDataResponseChunker(Map<P2PDataStorage.ByteArray, ProtectedStorageEntry> protectedStorageEntryMap,
+                           List<P2PDataStorage.ByteArray> protectedStorageEntryKeys,
+                           List<PersistableNetworkPayload> persistableNetworkPayloads,
+                           int requestNonce,
+                           boolean isGetUpdatedDataResponse,
+                           int maxEntriesPerChunk,
+                           int maxChunkSize) {
+        this.protectedStorageEntryMap = protectedStorageEntryMap;
+        this.protectedStorageEntryKeys = protectedStorageEntryKeys;
+        this.persistableNetworkPayloads = persistableNetworkPayloads;
+        this.requestNonce = requestNonce;
+        this.isGetUpdatedDataResponse = isGetUpdatedDataResponse;
+        this.maxEntriesPerChunk = maxEntriesPerChunk;
+        this.maxChunkSize = maxChunkSize;
+    }
+
+    boolean hasMoreChunks() {
+        return protectedStorageEntryIndex < protectedStorageEntryKeys.size() ||
+                persistableNetworkPayloadIndex < persistableNetworkPayloads.size();
+    }
+
+    int getNumRemainingEntries() {
+        return protectedStorageEntryKeys.size() - protectedStorageEntryIndex +
+                persistableNetworkPayloads.size() - persistableNetworkPayloadIndex;
+    }
+
+    GetDataResponse nextChunk() {
+        Set<ProtectedStorageEntry> dataSet = new HashSet<>();
+        Set<PersistableNetworkPayload> persistableNetworkPayloadSet = new HashSet<>();
+        int size = 0;
+        while (protectedStorageEntryIndex < protectedStorageEntryKeys.size()) {
+            ProtectedStorageEntry entry = protectedStorageEntryMap.get(protectedStorageEntryKeys.get(protectedStorageEntryIndex));
+            if (entry == null) {
+                // Got removed since we have received the request
+                protectedStorageEntryIndex++;
+                continue;
+            }
+            int entrySize = entry.toProtoMessage().getSerializedSize();
+            if (isChunkFull(dataSet.size(), size, entrySize)) {
+                break;
+            }
+            dataSet.add(entry);
+            size += entrySize;
+            protectedStorageEntryIndex++;
+        }
+
+        while (persistableNetworkPayloadIndex < persistableNetworkPayloads.size()) {
+            PersistableNetworkPayload payload = persistableNetworkPayloads.get(persistableNetworkPayloadIndex);
+            int payloadSize = payload.toProtoMessage().getSerializedSize();
+            int numEntries = dataSet.size() + persistableNetworkPayloadSet.size();
+            if (isChunkFull(numEntries, size, payloadSize)) {
+                break;
+            }
+            persistableNetworkPayloadSet.add(payload);
+            size += payloadSize;
+            persistableNetworkPayloadIndex++;
+        }
+
+        numChunks++;
+        continuationToken = hasMoreChunks() ? UUID.randomUUID().toString() : null;
+        return new GetDataResponse(dataSet,
+                persistableNetworkPayloadSet,
+                requestNonce,
+                isGetUpdatedDataResponse,
+                continuationToken);
+    }
+
+    // We always add at least one entry so a single large entry cannot block the response
+    private boolean isChunkFull(int numEntries, int size, int entrySize) {
+        return numEntries > 0 && (numEntries >= maxEntriesPerChunk || size + entrySize > maxChunkSize);
+    }
+}
@@ -23,6 +23,7 @@ import bisq.network.p2p.network.Connection;
 import bisq.network.p2p.network.MessageListener;
 import bisq.network.p2p.network.NetworkNode;
 import bisq.network.p2p.peers.PeerManager;
+import bisq.network.p2p.peers.getdata.messages.GetDataChunkRequest;
 import bisq.network.p2p.peers.getdata.messages.GetDataRequest;
 import bisq.network.p2p.peers.getdata.messages.GetDataResponse;
 import bisq.network.p2p.storage.P2PDataStorage;
@@ -55,6 +56,8 @@ import org.jetbrains.annotations.Nullable;
 @Slf4j
 class RequestDataHandler implements MessageListener {
     private static final long TIMEOUT = 180;
+    // Protects us from a peer which never stops sending chunks. Enough for far more data than the network has.
+    static final int MAX_CHUNKS = 500;
 
     private NodeAddress peersNodeAddress;
     private String getDataRequestType;
@@ -91,6 +94,7 @@ class RequestDataHandler implements MessageListener {
     private Timer timeoutTimer;
     private final int nonce = new Random().nextInt();
     private boolean stopped;
+    private int numReceivedChunks;
 
 
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -121,25 +125,15 @@ class RequestDataHandler implements MessageListener {
         if (!stopped) {
             GetDataRequest getDataRequest;
 
+            long ts = System.currentTimeMillis();
             if (isPreliminaryDataRequest)
                 getDataRequest = dataStorage.buildPreliminaryGetDataRequest(nonce);
             else
                 getDataRequest = dataStorage.buildGetUpdatedDataRequest(networkNode.getNodeAddress(), nonce);
+            GetDataRequestHandler.BUILD_DURATION.labels(getDataRequest.getClass().getSimpleName())
+                    .observeMillis(System.currentTimeMillis() - ts);
 
-            if (timeoutTimer == null) {
-                timeoutTimer = UserThread.runAfter(() -> {  // setup before sending to avoid race conditions
-                            if (!stopped) {
-                                String errorMessage = "A timeout occurred at sending getDataRequest:" + getDataRequest +
-                                        " on nodeAddress:" + nodeAddress;
-                                log.debug(errorMessage + " / RequestDataHandler=" + RequestDataHandler.this);
-                                handleFault(errorMessage, nodeAddress, CloseConnectionReason.SEND_MSG_TIMEOUT);
-                            } else {
-                                log.trace("We have stopped already. We ignore that timeoutTimer.run call. " +
-                                        "Might be caused by a previous networkNode.sendMessage.onFailure.");
-                            }
-                        },
-                        TIMEOUT);
-            }
+            startTimeoutTimer(getDataRequest, nodeAddress);
 
             getDataRequestType = getDataRequest.getClass().getSimpleName();
             log.info("We send a {} to peer {}. ", getDataRequestType, nodeAddress);
@@ -200,8 +194,14 @@ class RequestDataHandler implements MessageListener {
                         dataStorage.processGetDataResponse(getDataResponse,
                                 connection.getPeersNodeAddressOptional().get());
 
-                        cleanup();
-                        listener.onComplete();
+                        if (getDataResponse.hasMoreChunks()) {
+                            // We have applied the chunk already, so if the remaining chunks fail a new request will
+                            // exclude the received data.
+                            requestNextChunk(getDataResponse.getContinuationToken(), connection);
+                        } else {
+                            cleanup();
+                            listener.onComplete();
+                        }
                         // firstRequest = false;
                     } else {
                         log.warn("Nonce not matching. That can happen rarely if we get a response after a canceled " +
@@ -228,6 +228,53 @@ class RequestDataHandler implements MessageListener {
     // Private
     ///////////////////////////////////////////////////////////////////////////////////////////
 
+    private void requestNextChunk(String continuationToken, Connection connection) {
+        numReceivedChunks++;
+        if (numReceivedChunks >= MAX_CHUNKS) {
+            handleFault("We received more than " + MAX_CHUNKS + " chunks from peer " + peersNodeAddress +
+                    ". We stop requesting more.", peersNodeAddress, CloseConnectionReason.RULE_VIOLATION);
+            return;
+        }
+
+        GetDataChunkRequest getDataChunkRequest = new GetDataChunkRequest(nonce, continuationToken);
+        startTimeoutTimer(getDataChunkRequest, peersNodeAddress);
+        log.info("We request chunk {} from peer {}.", numReceivedChunks + 1, peersNodeAddress);
+        SettableFuture<Connection> future = networkNode.sendMessage(connection, getDataChunkRequest);
+        //noinspection UnstableApiUsage
+        Futures.addCallback(future, new FutureCallback<>() {
+            @Override
+            public void onSuccess(Connection connection) {
+                log.trace("Send {} to {} succeeded.", getDataChunkRequest, peersNodeAddress);
+            }
+
+            @Override
+            public void onFailure(@NotNull Throwable throwable) {
+                if (!stopped) {
+                    String errorMessage = "Sending getDataChunkRequest to " + peersNodeAddress +
+                            " failed.\n\tException=" + throwable.getMessage();
+                    handleFault(errorMessage, peersNodeAddress, CloseConnectionReason.SEND_MSG_FAILURE);
+                }
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    private void startTimeoutTimer(NetworkEnvelope request, NodeAddress nodeAddress) {
+        if (timeoutTimer == null) {
+            timeoutTimer = UserThread.runAfter(() -> {  // setup before sending to avoid race conditions
+                        if (!stopped) {
+                            String errorMessage = "A timeout occurred at sending " + request.getClass().getSimpleName() +
+                                    ":" + request + " on nodeAddress:" + nodeAddress;
+                            log.debug(errorMessage + " / RequestDataHandler=" + RequestDataHandler.this);
+                            handleFault(errorMessage, nodeAddress, CloseConnectionReason.SEND_MSG_TIMEOUT);
+                        } else {
+                            log.trace("We have stopped already. We ignore that timeoutTimer.run call. " +
+                                    "Might be caused by a previous networkNode.sendMessage.onFailure.");
+                        }
+                    },
+                    TIMEOUT);
+        }
+    }
+
     private void logContents(GetDataResponse getDataResponse) {
         Set<ProtectedStorageEntry> dataSet = getDataResponse.getDataSet();
         Set<PersistableNetworkPayload> persistableNetworkPayloadSet = getDataResponse.getPersistableNetworkPayloadSet();
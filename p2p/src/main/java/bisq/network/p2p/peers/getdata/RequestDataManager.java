@@ -24,6 +24,7 @@ import bisq.network.p2p.network.ConnectionListener;
 import bisq.network.p2p.network.MessageListener;
 import bisq.network.p2p.network.NetworkNode;
 import bisq.network.p2p.peers.PeerManager;
+import bisq.network.p2p.peers.getdata.messages.GetDataChunkRequest;
 import bisq.network.p2p.peers.getdata.messages.GetDataRequest;
 import bisq.network.p2p.peers.peerexchange.Peer;
 import bisq.network.p2p.seed.SeedNodeRepository;
@@ -34,6 +35,10 @@ import bisq.common.UserThread;
 import bisq.common.app.Version;
 import bisq.common.proto.network.NetworkEnvelope;
 
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 import javax.inject.Inject;
 
 import java.util.ArrayList;
@@ -43,6 +48,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -61,6 +68,8 @@ public class RequestDataManager implements MessageListener, ConnectionListener,
     private static int NUM_SEEDS_FOR_PRELIMINARY_REQUEST = 2;
     // how many seeds additional to the first responding PreliminaryGetDataRequest seed we request the GetUpdatedDataRequest from
     private static int NUM_ADDITIONAL_SEEDS_FOR_UPDATE_REQUEST = 1;
+    // Max. number of GetDataResponses built in parallel. Requests exceeding it wait in the queue of the executor.
+    private static final int MAX_PARALLEL_RESPONSE_BUILDS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
     private boolean isPreliminaryDataRequest = true;
 
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -97,6 +106,7 @@ public class RequestDataManager implements MessageListener, ConnectionListener,
 
     private final Map<NodeAddress, RequestDataHandler> handlerMap = new HashMap<>();
     private final Map<String, GetDataRequestHandler> getDataRequestHandlers = new HashMap<>();
+    private final ListeningExecutorService getDataResponseExecutor;
     private Optional<NodeAddress> nodeAddressOfPreliminaryDataRequest = Optional.empty();
     private Timer retryTimer;
     private boolean dataUpdateRequested;
@@ -116,6 +126,12 @@ public class RequestDataManager implements MessageListener, ConnectionListener,
         this.dataStorage = dataStorage;
         this.peerManager = peerManager;
 
+        ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(MAX_PARALLEL_RESPONSE_BUILDS,
+                MAX_PARALLEL_RESPONSE_BUILDS, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                new ThreadFactoryBuilder().setNameFormat("GetDataResponse-%d").setDaemon(true).build());
+        threadPoolExecutor.allowCoreThreadTimeOut(true);
+        getDataResponseExecutor = MoreExecutors.listeningDecorator(threadPoolExecutor);
+
         this.networkNode.addMessageListener(this);
         this.networkNode.addConnectionListener(this);
         this.peerManager.addListener(this);
@@ -142,6 +158,7 @@ public class RequestDataManager implements MessageListener, ConnectionListener,
         networkNode.removeConnectionListener(this);
         peerManager.removeListener(this);
         closeAllHandlers();
+        getDataResponseExecutor.shutdownNow();
     }
 
 
@@ -274,7 +291,7 @@ public class RequestDataManager implements MessageListener, ConnectionListener,
                 final String uid = connection.getUid();
                 if (!getDataRequestHandlers.containsKey(uid)) {
                     GetDataRequestHandler getDataRequestHandler = new GetDataRequestHandler(networkNode, dataStorage,
-                            new GetDataRequestHandler.Listener() {
+                            getDataResponseExecutor, new GetDataRequestHandler.Listener() {
                                 @Override
                                 public void onComplete() {
                                     getDataRequestHandlers.remove(uid);
@@ -310,6 +327,14 @@ public class RequestDataManager implements MessageListener, ConnectionListener,
             } else {
                 log.warn("We have stopped already. We ignore that onMessage call.");
             }
+        } else if (networkEnvelope instanceof GetDataChunkRequest) {
+            GetDataRequestHandler getDataRequestHandler = getDataRequestHandlers.get(connection.getUid());
+            if (!stopped && getDataRequestHandler != null) {
+                getDataRequestHandler.handleChunkRequest((GetDataChunkRequest) networkEnvelope, connection);
+            } else {
+                log.warn("We got a GetDataChunkRequest but have no GetDataRequestHandler for that connection. " +
+                        "We ignore it.");
+            }
         }
     }
 
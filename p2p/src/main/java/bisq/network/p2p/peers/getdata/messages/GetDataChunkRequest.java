@@ -0,0 +1,66 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.peers.getdata.messages;
+
+import bisq.common.app.Version;
+import bisq.common.proto.network.NetworkEnvelope;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+
+/**
+ * Requests the next chunk of a GetDataResponse. The continuation token is the one of the last received chunk, so the
+ * peer only continues with the chunk we expect.
+ *
+ * Not an InitialDataRequest as it continues the exchange of the initial GetDataRequest. As such it would be tracked as
+ * a new request in ConnectionState and ConnectionStatistics, but there is no InitialDataResponse associated with it.
+ */
+@EqualsAndHashCode(callSuper = true)
+@Value
+public final class GetDataChunkRequest extends NetworkEnvelope {
+    private final int nonce;
+    private final String continuationToken;
+
+    public GetDataChunkRequest(int nonce, String continuationToken) {
+        this(nonce, continuationToken, Version.getP2PMessageVersion());
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // PROTO BUFFER
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private GetDataChunkRequest(int nonce, String continuationToken, int messageVersion) {
+        super(messageVersion);
+        this.nonce = nonce;
+        this.continuationToken = continuationToken;
+    }
+
+    @Override
+    public protobuf.NetworkEnvelope toProtoNetworkEnvelope() {
+        return getNetworkEnvelopeBuilder()
+                .setGetDataChunkRequest(protobuf.GetDataChunkRequest.newBuilder()
+                        .setNonce(nonce)
+                        .setContinuationToken(continuationToken))
+                .build();
+    }
+
+    public static GetDataChunkRequest fromProto(protobuf.GetDataChunkRequest proto, int messageVersion) {
+        return new GetDataChunkRequest(proto.getNonce(), proto.getContinuationToken(), messageVersion);
+    }
+}
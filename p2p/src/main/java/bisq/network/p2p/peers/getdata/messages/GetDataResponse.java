@@ -27,10 +27,12 @@ import bisq.network.p2p.storage.payload.ProtectedStorageEntry;
 
 import bisq.common.app.Capabilities;
 import bisq.common.app.Version;
+import bisq.common.proto.ProtoUtil;
 import bisq.common.proto.network.NetworkEnvelope;
 import bisq.common.proto.network.NetworkProtoResolver;
 import bisq.common.util.Utilities;
 
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -40,6 +42,8 @@ import lombok.extern.slf4j.Slf4j;
 
 import org.jetbrains.annotations.NotNull;
 
+import javax.annotation.Nullable;
+
 @Slf4j
 @EqualsAndHashCode(callSuper = true)
 @Value
@@ -56,15 +60,33 @@ public final class GetDataResponse extends NetworkEnvelope implements SupportedC
     private final boolean isGetUpdatedDataResponse;
     private final Capabilities supportedCapabilities;
 
+    // Added at v1.5.10
+    // Set if the response is a chunk and more chunks can be requested with a GetDataChunkRequest
+    @Nullable
+    private final String continuationToken;
+
     public GetDataResponse(@NotNull Set<ProtectedStorageEntry> dataSet,
                            @NotNull Set<PersistableNetworkPayload> persistableNetworkPayloadSet,
                            int requestNonce,
                            boolean isGetUpdatedDataResponse) {
+        this(dataSet,
+                persistableNetworkPayloadSet,
+                requestNonce,
+                isGetUpdatedDataResponse,
+                null);
+    }
+
+    public GetDataResponse(@NotNull Set<ProtectedStorageEntry> dataSet,
+                           @NotNull Set<PersistableNetworkPayload> persistableNetworkPayloadSet,
+                           int requestNonce,
+                           boolean isGetUpdatedDataResponse,
+                           @Nullable String continuationToken) {
         this(dataSet,
                 persistableNetworkPayloadSet,
                 requestNonce,
                 isGetUpdatedDataResponse,
                 Capabilities.app,
+                continuationToken,
                 Version.getP2PMessageVersion());
     }
 
@@ -77,6 +99,7 @@ public final class GetDataResponse extends NetworkEnvelope implements SupportedC
                             int requestNonce,
                             boolean isGetUpdatedDataResponse,
                             @NotNull Capabilities supportedCapabilities,
+                            @Nullable String continuationToken,
                             int messageVersion) {
         super(messageVersion);
 
@@ -85,6 +108,7 @@ public final class GetDataResponse extends NetworkEnvelope implements SupportedC
         this.requestNonce = requestNonce;
         this.isGetUpdatedDataResponse = isGetUpdatedDataResponse;
         this.supportedCapabilities = supportedCapabilities;
+        this.continuationToken = continuationToken;
     }
 
     @Override
@@ -106,6 +130,7 @@ public final class GetDataResponse extends NetworkEnvelope implements SupportedC
                 .setRequestNonce(requestNonce)
                 .setIsGetUpdatedDataResponse(isGetUpdatedDataResponse)
                 .addAllSupportedCapabilities(Capabilities.toIntList(supportedCapabilities));
+        Optional.ofNullable(continuationToken).ifPresent(builder::setContinuationToken);
 
         protobuf.NetworkEnvelope proto = getNetworkEnvelopeBuilder()
                 .setGetDataResponse(builder)
@@ -127,11 +152,21 @@ public final class GetDataResponse extends NetworkEnvelope implements SupportedC
                 proto.getRequestNonce(),
                 proto.getIsGetUpdatedDataResponse(),
                 Capabilities.fromIntList(proto.getSupportedCapabilitiesList()),
+                ProtoUtil.stringOrNullFromProto(proto.getContinuationToken()),
                 messageVersion);
     }
 
+    public boolean hasMoreChunks() {
+        return continuationToken != null;
+    }
+
     @Override
     public Class<? extends InitialDataRequest> associatedRequest() {
         return isGetUpdatedDataResponse ? GetUpdatedDataRequest.class : PreliminaryGetDataRequest.class;
     }
+
+    @Override
+    public boolean isFinalResponse() {
+        return !hasMoreChunks();
+    }
 }
@@ -34,6 +34,7 @@ import bisq.network.p2p.storage.messages.AddOncePayload;
 import bisq.network.p2p.storage.messages.AddPersistableNetworkPayloadMessage;
 import bisq.network.p2p.storage.messages.BroadcastMessage;
 import bisq.network.p2p.storage.messages.RefreshOfferMessage;
+import bisq.network.p2p.storage.messages.RefreshOffersMessage;
 import bisq.network.p2p.storage.messages.RemoveDataMessage;
 import bisq.network.p2p.storage.messages.RemoveMailboxDataMessage;
 import bisq.network.p2p.storage.payload.CapabilityRequiringPayload;
@@ -61,6 +62,8 @@ import bisq.common.app.Capabilities;
 import bisq.common.crypto.CryptoException;
 import bisq.common.crypto.Hash;
 import bisq.common.crypto.Sig;
+import bisq.common.jfr.AddProtectedStorageEntryEvent;
+import bisq.common.jfr.BuildGetDataResponseEvent;
 import bisq.common.persistence.PersistenceManager;
 import bisq.common.proto.network.NetworkEnvelope;
 import bisq.common.proto.network.NetworkPayload;
@@ -77,7 +80,12 @@ import com.google.inject.name.Named;
 import javax.inject.Inject;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
 
 import org.fxmisc.easybind.EasyBind;
 import org.fxmisc.easybind.monadic.MonadicBinding;
@@ -105,6 +113,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -135,6 +144,12 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
 
     @Getter
     private final Map<ByteArray, ProtectedStorageEntry> map = new ConcurrentHashMap<>();
+    // Incremented at each change of the map or of the append-only stores to detect outdated snapshots
+    private final AtomicLong protectedStorageEntriesVersion = new AtomicLong();
+    private final AtomicLong persistableNetworkPayloadsVersion = new AtomicLong();
+    private final Object snapshotLock = new Object();
+    @Nullable
+    private P2PDataStorageSnapshot snapshot;
     private final Set<HashMapChangedListener> hashMapChangedListeners = new CopyOnWriteArraySet<>();
     private Timer removeExpiredEntriesTimer;
 
@@ -223,9 +238,13 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
             }
         });
 
-        appendOnlyDataStoreService.readFromResources(postFix, () -> appendOnlyDataStoreServiceReady.set(true));
+        appendOnlyDataStoreService.readFromResources(postFix, () -> {
+            persistableNetworkPayloadsVersion.incrementAndGet();
+            appendOnlyDataStoreServiceReady.set(true);
+        });
         protectedDataStoreService.readFromResources(postFix, () -> {
             map.putAll(protectedDataStoreService.getMap());
+            protectedStorageEntriesVersion.incrementAndGet();
             protectedDataStoreServiceReady.set(true);
         });
         resourceDataStoreService.readFromResources(postFix, () -> resourceDataStoreServiceReady.set(true));
@@ -239,6 +258,8 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
         resourceDataStoreService.readFromResourcesSync(postFix);
 
         map.putAll(protectedDataStoreService.getMap());
+        protectedStorageEntriesVersion.incrementAndGet();
+        persistableNetworkPayloadsVersion.incrementAndGet();
     }
 
     // We get added mailbox message data from MailboxMessageService. We want to add those early so we can get it added
@@ -247,6 +268,7 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
         ProtectedStoragePayload protectedStoragePayload = protectedStorageEntry.getProtectedStoragePayload();
         ByteArray hashOfPayload = get32ByteHashAsByteArray(protectedStoragePayload);
         map.put(hashOfPayload, protectedStorageEntry);
+        protectedStorageEntriesVersion.incrementAndGet();
         log.trace("## addProtectedMailboxStorageEntryToMap hashOfPayload={}, map={}", hashOfPayload, printMap());
     }
 
@@ -293,8 +315,39 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
         return excludedKeys;
     }
 
+    /**
+     * Returns a snapshot of the current data. The snapshot is shared as long as the data has not changed, so
+     * concurrent requests do not copy the maps again. Can be called from any thread.
+     */
+    public P2PDataStorageSnapshot getSnapshot() {
+        synchronized (snapshotLock) {
+            // We read the versions before copying. If the data changes while copying, the next call sees a newer
+            // version and creates a new snapshot.
+            long currentProtectedStorageEntriesVersion = protectedStorageEntriesVersion.get();
+            long currentPersistableNetworkPayloadsVersion = persistableNetworkPayloadsVersion.get();
+            P2PDataStorageSnapshot previous = snapshot;
+            boolean protectedStorageEntriesChanged = previous == null ||
+                    previous.getProtectedStorageEntriesVersion() != currentProtectedStorageEntriesVersion;
+            boolean persistableNetworkPayloadsChanged = previous == null ||
+                    previous.getPersistableNetworkPayloadsVersion() != currentPersistableNetworkPayloadsVersion;
+            if (!protectedStorageEntriesChanged && !persistableNetworkPayloadsChanged) {
+                return previous;
+            }
+
+            snapshot = new P2PDataStorageSnapshot(currentProtectedStorageEntriesVersion,
+                    protectedStorageEntriesChanged ?
+                            Collections.unmodifiableMap(new HashMap<>(map)) :
+                            previous.getProtectedStorageEntries(),
+                    currentPersistableNetworkPayloadsVersion,
+                    persistableNetworkPayloadsChanged ? new ConcurrentHashMap<>() : previous.getMapsForDataResponse(),
+                    this::getMapForDataResponse);
+            return snapshot;
+        }
+    }
+
     /**
      * Returns a GetDataResponse object that contains the Payloads known locally, but not remotely.
+     * Uses a snapshot of the data, so it can be called from any thread.
      */
     public GetDataResponse buildGetDataResponse(
             GetDataRequest getDataRequest,
@@ -303,6 +356,9 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
             AtomicBoolean wasProtectedStorageEntriesTruncated,
             Capabilities peerCapabilities) {
 
+        BuildGetDataResponseEvent event = new BuildGetDataResponseEvent();
+        event.begin();
+
         Set<P2PDataStorage.ByteArray> excludedKeysAsByteArray =
                 P2PDataStorage.ByteArray.convertBytesSetToByteArraySet(getDataRequest.getExcludedKeys());
 
@@ -310,7 +366,9 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
         // The methods in HistoricalDataStoreService will return all historical data in that case.
         // mapForDataResponse contains the filtered by version data from HistoricalDataStoreService as well as all other
         // maps of the remaining appendOnlyDataStoreServices.
-        Map<ByteArray, PersistableNetworkPayload> mapForDataResponse = getMapForDataResponse(getDataRequest.getVersion());
+        P2PDataStorageSnapshot snapshot = getSnapshot();
+        Map<ByteArray, PersistableNetworkPayload> mapForDataResponse = snapshot.getMapForDataResponse(getDataRequest.getVersion());
+        Map<ByteArray, ProtectedStorageEntry> protectedStorageEntries = snapshot.getProtectedStorageEntries();
         Set<PersistableNetworkPayload> filteredPersistableNetworkPayloads =
                 filterKnownHashes(
                         mapForDataResponse,
@@ -329,7 +387,7 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
 
         Set<ProtectedStorageEntry> filteredProtectedStorageEntries =
                 filterKnownHashes(
-                        map,
+                        protectedStorageEntries,
                         ProtectedStorageEntry::getProtectedStoragePayload,
                         excludedKeysAsByteArray,
                         peerCapabilities,
@@ -337,17 +395,64 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
                         wasProtectedStorageEntriesTruncated);
         log.info("{} ProtectedStorageEntry entries remained after filtered by excluded keys. " +
                         "Original map had {} entries.",
-                filteredProtectedStorageEntries.size(), map.size());
+                filteredProtectedStorageEntries.size(), protectedStorageEntries.size());
         log.trace("## buildGetDataResponse filteredProtectedStorageEntryHashes={}",
                 filteredProtectedStorageEntries.stream()
                         .map(e -> get32ByteHashAsByteArray((e.getProtectedStoragePayload())))
                         .toArray());
 
-        return new GetDataResponse(
+        GetDataResponse getDataResponse = new GetDataResponse(
                 filteredProtectedStorageEntries,
                 filteredPersistableNetworkPayloads,
                 getDataRequest.getNonce(),
                 getDataRequest instanceof GetUpdatedDataRequest);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.requestType = getDataRequest.getClass().getSimpleName();
+            event.numPersistableNetworkPayloads = filteredPersistableNetworkPayloads.size();
+            event.numProtectedStorageEntries = filteredProtectedStorageEntries.size();
+            event.truncated = wasPersistableNetworkPayloadsTruncated.get() || wasProtectedStorageEntriesTruncated.get();
+            event.commit();
+        }
+        return getDataResponse;
+    }
+
+    /**
+     * Returns the keys of the ProtectedStorageEntries and the PersistableNetworkPayloads known locally, but not
+     * remotely, in the order they get delivered in chunked GetDataResponses. Other than at buildGetDataResponse the
+     * result is not truncated, so peers which are far behind get all missing data over several chunks.
+     * We return the PersistableNetworkPayloads instead of their keys as they never get removed and looking them up
+     * again would require to rebuild the map for the requesters version.
+     * Uses a snapshot of the data, so it can be called from any thread.
+     */
+    public Tuple2<List<ByteArray>, List<PersistableNetworkPayload>> getMissingDataForChunkedResponse(
+            GetDataRequest getDataRequest,
+            Capabilities peerCapabilities) {
+        Set<P2PDataStorage.ByteArray> excludedKeysAsByteArray =
+                P2PDataStorage.ByteArray.convertBytesSetToByteArraySet(getDataRequest.getExcludedKeys());
+
+        P2PDataStorageSnapshot snapshot = getSnapshot();
+        Map<ByteArray, PersistableNetworkPayload> mapForDataResponse = snapshot.getMapForDataResponse(getDataRequest.getVersion());
+        List<PersistableNetworkPayload> persistableNetworkPayloads = getUnknownEntries(
+                mapForDataResponse,
+                Function.identity(),
+                excludedKeysAsByteArray,
+                peerCapabilities).stream()
+                .map(Map.Entry::getValue)
+                .collect(Collectors.toList());
+
+        List<ByteArray> protectedStorageEntryKeys = getUnknownEntries(
+                snapshot.getProtectedStorageEntries(),
+                ProtectedStorageEntry::getProtectedStoragePayload,
+                excludedKeysAsByteArray,
+                peerCapabilities).stream()
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+
+        log.info("{} ProtectedStorageEntry and {} PersistableNetworkPayload entries are missing at the peer",
+                protectedStorageEntryKeys.size(), persistableNetworkPayloads.size());
+        return new Tuple2<>(protectedStorageEntryKeys, persistableNetworkPayloads);
     }
 
 
@@ -404,20 +509,47 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
             Capabilities peerCapabilities,
             int maxEntries,
             AtomicBoolean outTruncated) {
+        List<Map.Entry<ByteArray, T>> filteredResults = getUnknownEntries(toFilter,
+                objToPayload,
+                knownHashes,
+                peerCapabilities);
+
+        if (filteredResults.size() > maxEntries) {
+            filteredResults = filteredResults.subList(0, maxEntries);
+            outTruncated.set(true);
+            log.info("Num truncated filteredResults {}", filteredResults.size());
+        } else {
+            log.info("Num filteredResults {}", filteredResults.size());
+        }
+
+        return filteredResults.stream()
+                .map(Map.Entry::getValue)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Returns the entries not contained in knownHashes which can be transmitted to the peer. The
+     * non-dateSortedTruncatablePayloads come first, followed by the most recent dateSortedTruncatablePayloads
+     * sorted by date.
+     */
+    static private <T extends NetworkPayload> List<Map.Entry<ByteArray, T>> getUnknownEntries(
+            Map<ByteArray, T> toFilter,
+            Function<T, ? extends NetworkPayload> objToPayload,
+            Set<ByteArray> knownHashes,
+            Capabilities peerCapabilities) {
 
         log.info("Num knownHashes {}", knownHashes.size());
 
         Set<Map.Entry<ByteArray, T>> entries = toFilter.entrySet();
-        List<T> dateSortedTruncatablePayloads = entries.stream()
+        List<Map.Entry<ByteArray, T>> dateSortedTruncatablePayloads = entries.stream()
                 .filter(entry -> entry.getValue() instanceof DateSortedTruncatablePayload)
                 .filter(entry -> !knownHashes.contains(entry.getKey()))
-                .map(Map.Entry::getValue)
-                .filter(payload -> shouldTransmitPayloadToPeer(peerCapabilities, objToPayload.apply(payload)))
-                .sorted(Comparator.comparing(payload -> ((DateSortedTruncatablePayload) payload).getDate()))
+                .filter(entry -> shouldTransmitPayloadToPeer(peerCapabilities, objToPayload.apply(entry.getValue())))
+                .sorted(Comparator.comparing(entry -> ((DateSortedTruncatablePayload) entry.getValue()).getDate()))
                 .collect(Collectors.toList());
         log.info("Num filtered dateSortedTruncatablePayloads {}", dateSortedTruncatablePayloads.size());
         if (!dateSortedTruncatablePayloads.isEmpty()) {
-            int maxItems = ((DateSortedTruncatablePayload) dateSortedTruncatablePayloads.get(0)).maxItems();
+            int maxItems = ((DateSortedTruncatablePayload) dateSortedTruncatablePayloads.get(0).getValue()).maxItems();
             if (dateSortedTruncatablePayloads.size() > maxItems) {
                 int fromIndex = dateSortedTruncatablePayloads.size() - maxItems;
                 int toIndex = dateSortedTruncatablePayloads.size();
@@ -426,27 +558,17 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
             }
         }
 
-        List<T> filteredResults = entries.stream()
+        List<Map.Entry<ByteArray, T>> filteredResults = entries.stream()
                 .filter(entry -> !(entry.getValue() instanceof DateSortedTruncatablePayload))
                 .filter(entry -> !knownHashes.contains(entry.getKey()))
-                .map(Map.Entry::getValue)
-                .filter(payload -> shouldTransmitPayloadToPeer(peerCapabilities, objToPayload.apply(payload)))
+                .filter(entry -> shouldTransmitPayloadToPeer(peerCapabilities, objToPayload.apply(entry.getValue())))
                 .collect(Collectors.toList());
         log.info("Num filtered non-dateSortedTruncatablePayloads {}", filteredResults.size());
 
         // The non-dateSortedTruncatablePayloads have higher prio, so we added dateSortedTruncatablePayloads
         // after those so in case we need to truncate we first truncate the dateSortedTruncatablePayloads.
         filteredResults.addAll(dateSortedTruncatablePayloads);
-
-        if (filteredResults.size() > maxEntries) {
-            filteredResults = filteredResults.subList(0, maxEntries);
-            outTruncated.set(true);
-            log.info("Num truncated filteredResults {}", filteredResults.size());
-        } else {
-            log.info("Num filteredResults {}", filteredResults.size());
-        }
-
-        return new HashSet<>(filteredResults);
+        return filteredResults;
     }
 
 
@@ -520,8 +642,10 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
 
         // We only process PersistableNetworkPayloads implementing ProcessOncePersistableNetworkPayload once. It can cause performance
         // issues and since the data is rarely out of sync it is not worth it to apply them from multiple peers during
-        // startup.
-        initialRequestApplied = true;
+        // startup. If the response is delivered in chunks we apply them from all chunks.
+        if (!getDataResponse.hasMoreChunks()) {
+            initialRequestApplied = true;
+        }
     }
 
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -589,6 +713,8 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
                     remove(((RemoveMailboxDataMessage) networkEnvelope).getProtectedMailboxStorageEntry(), peersNodeAddress);
                 } else if (networkEnvelope instanceof RefreshOfferMessage) {
                     refreshTTL((RefreshOfferMessage) networkEnvelope, peersNodeAddress);
+                } else if (networkEnvelope instanceof RefreshOffersMessage) {
+                    refreshTTL((RefreshOffersMessage) networkEnvelope, peersNodeAddress);
                 } else if (networkEnvelope instanceof AddPersistableNetworkPayloadMessage) {
                     addPersistableNetworkPayload(((AddPersistableNetworkPayloadMessage) networkEnvelope).getPersistableNetworkPayload(),
                             peersNodeAddress, true, false, true);
@@ -695,6 +821,7 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
         // Add the payload and publish the state update to the appendOnlyDataStoreListeners
         if (!payloadHashAlreadyInStore) {
             appendOnlyDataStoreService.put(hashAsByteArray, payload);
+            persistableNetworkPayloadsVersion.incrementAndGet();
             appendOnlyDataStoreListeners.forEach(e -> e.onAdded(payload));
         }
 
@@ -715,6 +842,7 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
         if (payload.verifyHashSize()) {
             ByteArray hashAsByteArray = new ByteArray(hash);
             appendOnlyDataStoreService.put(hashAsByteArray, payload);
+            persistableNetworkPayloadsVersion.incrementAndGet();
         } else {
             log.warn("We got a hash exceeding our permitted size");
         }
@@ -739,6 +867,22 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
                                              @Nullable NodeAddress sender,
                                              @Nullable BroadcastHandler.Listener listener,
                                              boolean allowBroadcast) {
+        AddProtectedStorageEntryEvent event = new AddProtectedStorageEntryEvent();
+        event.begin();
+        boolean added = doAddProtectedStorageEntry(protectedStorageEntry, sender, listener, allowBroadcast);
+        event.end();
+        if (event.shouldCommit()) {
+            event.payloadType = protectedStorageEntry.getProtectedStoragePayload().getClass().getSimpleName();
+            event.added = added;
+            event.commit();
+        }
+        return added;
+    }
+
+    private boolean doAddProtectedStorageEntry(ProtectedStorageEntry protectedStorageEntry,
+                                               @Nullable NodeAddress sender,
+                                               @Nullable BroadcastHandler.Listener listener,
+                                               boolean allowBroadcast) {
         ProtectedStoragePayload protectedStoragePayload = protectedStorageEntry.getProtectedStoragePayload();
         ByteArray hashOfPayload = get32ByteHashAsByteArray(protectedStoragePayload);
 
@@ -789,6 +933,7 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
 
         // This is an updated entry. Record it and signal listeners.
         map.put(hashOfPayload, protectedStorageEntry);
+        protectedStorageEntriesVersion.incrementAndGet();
         hashMapChangedListeners.forEach(e -> e.onAdded(Collections.singletonList(protectedStorageEntry)));
 
         // Record the updated sequence number and persist it. Higher delay so we can batch more items.
@@ -849,7 +994,66 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
      */
     public boolean refreshTTL(RefreshOfferMessage refreshTTLMessage,
                               @Nullable NodeAddress sender) {
+        if (!applyRefreshTTL(refreshTTLMessage))
+            return false;
+
+        requestPersistence();
+
+        // Always broadcast refreshes
+        broadcaster.broadcast(refreshTTLMessage, sender);
 
+        return true;
+    }
+
+    /**
+     * Updates the TTL of all RefreshOffers contained in the message and broadcasts the successful updates
+     *
+     * @param refreshOffersMessage refreshOffersMessage containing the updates
+     * @param sender senders NodeAddress, if available
+     * @return number of RefreshOffers which were successfully updated
+     */
+    public int refreshTTL(RefreshOffersMessage refreshOffersMessage,
+                          @Nullable NodeAddress sender) {
+        List<RefreshOfferMessage> refreshOfferMessages = refreshOffersMessage.getRefreshOfferMessages();
+        if (refreshOfferMessages.size() > RefreshOffersMessage.MAX_REFRESH_OFFER_MESSAGES) {
+            log.warn("We received a RefreshOffersMessage with {} entries from {}. We ignore it.",
+                    refreshOfferMessages.size(), sender);
+            return 0;
+        }
+
+        return refreshTTL(refreshOfferMessages, sender);
+    }
+
+    /**
+     * Updates the TTL of many RefreshOffers and broadcasts the successful updates. Peers supporting it receive the
+     * updates bundled in RefreshOffersMessages.
+     *
+     * @param refreshOfferMessages refreshOfferMessages containing the updates
+     * @param sender local NodeAddress, if available
+     * @return number of RefreshOffers which were successfully updated
+     */
+    public int refreshTTL(List<RefreshOfferMessage> refreshOfferMessages,
+                          @Nullable NodeAddress sender) {
+        List<RefreshOfferMessage> refreshed = refreshOfferMessages.stream()
+                .filter(this::applyRefreshTTL)
+                .collect(Collectors.toList());
+        if (refreshed.isEmpty())
+            return 0;
+
+        requestPersistence();
+
+        Lists.partition(refreshed, RefreshOffersMessage.MAX_REFRESH_OFFER_MESSAGES).forEach(partition -> {
+            if (partition.size() == 1) {
+                broadcaster.broadcast(partition.get(0), sender);
+            } else {
+                broadcaster.broadcast(new RefreshOffersMessage(new ArrayList<>(partition)), sender);
+            }
+        });
+
+        return refreshed.size();
+    }
+
+    private boolean applyRefreshTTL(RefreshOfferMessage refreshTTLMessage) {
         ByteArray hashOfPayload = new ByteArray(refreshTTLMessage.getHashOfPayload());
         ProtectedStorageEntry storedData = map.get(hashOfPayload);
 
@@ -878,13 +1082,10 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
 
         // Update the hash map with the updated entry
         map.put(hashOfPayload, updatedEntry);
+        protectedStorageEntriesVersion.incrementAndGet();
 
-        // Record the latest sequence number and persist it
+        // Record the latest sequence number. Persisting is requested by the caller.
         sequenceNumberMap.put(hashOfPayload, new MapValue(updatedEntry.getSequenceNumber(), this.clock.millis()));
-        requestPersistence();
-
-        // Always broadcast refreshes
-        broadcaster.broadcast(refreshTTLMessage, sender);
 
         return true;
     }
@@ -962,12 +1163,61 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
                                                     KeyPair ownerStoragePubKey)
             throws CryptoException {
         ByteArray hashOfPayload = get32ByteHashAsByteArray(protectedStoragePayload);
-        int sequenceNumber;
-        if (sequenceNumberMap.containsKey(hashOfPayload))
-            sequenceNumber = sequenceNumberMap.get(hashOfPayload).sequenceNr + 1;
-        else
-            sequenceNumber = 1;
+        return getRefreshTTLMessage(protectedStoragePayload, hashOfPayload, getNextSequenceNumber(hashOfPayload),
+                ownerStoragePubKey);
+    }
 
+    /**
+     * Creates the RefreshOfferMessages for many payloads. The sequence numbers are taken on the calling thread, the
+     * hashing and signing, which make up most of the costs, is done in parallel on the given executor.
+     *
+     * @param protectedStoragePayloads payloads to refresh
+     * @param ownerStoragePubKey key pair used for signing
+     * @param executor executor for signing. Must accept numTasks tasks without rejection.
+     * @param numTasks number of tasks the payloads get split into
+     * @return future completing with the messages in the order of the payloads
+     */
+    public ListenableFuture<List<RefreshOfferMessage>> getRefreshTTLMessages(List<? extends ProtectedStoragePayload> protectedStoragePayloads,
+                                                                             KeyPair ownerStoragePubKey,
+                                                                             ListeningExecutorService executor,
+                                                                             int numTasks) {
+        List<Tuple2<ProtectedStoragePayload, ByteArray>> payloadsWithHash = protectedStoragePayloads.stream()
+                .map(payload -> new Tuple2<ProtectedStoragePayload, ByteArray>(payload, get32ByteHashAsByteArray(payload)))
+                .collect(Collectors.toList());
+        List<Integer> sequenceNumbers = payloadsWithHash.stream()
+                .map(tuple -> getNextSequenceNumber(tuple.second))
+                .collect(Collectors.toList());
+
+        int partitionSize = Math.max(1, (payloadsWithHash.size() + numTasks - 1) / numTasks);
+        List<ListenableFuture<List<RefreshOfferMessage>>> futures = new ArrayList<>();
+        for (int start = 0; start < payloadsWithHash.size(); start += partitionSize) {
+            int from = start;
+            int to = Math.min(start + partitionSize, payloadsWithHash.size());
+            futures.add(executor.submit(() -> {
+                List<RefreshOfferMessage> messages = new ArrayList<>(to - from);
+                for (int i = from; i < to; i++) {
+                    Tuple2<ProtectedStoragePayload, ByteArray> tuple = payloadsWithHash.get(i);
+                    messages.add(getRefreshTTLMessage(tuple.first, tuple.second, sequenceNumbers.get(i), ownerStoragePubKey));
+                }
+                return messages;
+            }));
+        }
+
+        return Futures.transform(Futures.allAsList(futures),
+                partitions -> partitions.stream().flatMap(List::stream).collect(Collectors.toList()),
+                MoreExecutors.directExecutor());
+    }
+
+    private int getNextSequenceNumber(ByteArray hashOfPayload) {
+        MapValue mapValue = sequenceNumberMap.get(hashOfPayload);
+        return mapValue != null ? mapValue.sequenceNr + 1 : 1;
+    }
+
+    private static RefreshOfferMessage getRefreshTTLMessage(ProtectedStoragePayload protectedStoragePayload,
+                                                            ByteArray hashOfPayload,
+                                                            int sequenceNumber,
+                                                            KeyPair ownerStoragePubKey)
+            throws CryptoException {
         byte[] hashOfDataAndSeqNr = P2PDataStorage.get32ByteHash(new DataAndSeqNrPair(protectedStoragePayload, sequenceNumber));
         byte[] signature = Sig.sign(ownerStoragePubKey.getPrivate(), hashOfDataAndSeqNr);
         return new RefreshOfferMessage(hashOfDataAndSeqNr, signature, hashOfPayload.bytes, sequenceNumber);
@@ -1025,6 +1275,7 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
 
             log.trace("## removeFromMapAndDataStore: hashOfPayload={}, map before remove={}", hashOfPayload, printMap());
             map.remove(hashOfPayload);
+            protectedStorageEntriesVersion.incrementAndGet();
             log.trace("## removeFromMapAndDataStore: map after remove={}", printMap());
 
             // We inform listeners even the entry was not found in our map
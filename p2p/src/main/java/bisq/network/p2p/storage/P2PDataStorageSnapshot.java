@@ -0,0 +1,72 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.storage;
+
+import bisq.network.p2p.storage.payload.PersistableNetworkPayload;
+import bisq.network.p2p.storage.payload.ProtectedStorageEntry;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Function;
+
+import lombok.Getter;
+
+import javax.annotation.Nullable;
+
+/**
+ * Read only view of the data of the P2PDataStorage at a given version, which can be used from any thread.
+ *
+ * The ProtectedStorageEntries are copied when the snapshot is created. The PersistableNetworkPayloads are append only
+ * and the stores are large, so the map for a requesters version is only created once it is requested and then shared
+ * by all snapshots of the same PersistableNetworkPayload version.
+ */
+public final class P2PDataStorageSnapshot {
+    @Getter
+    private final long protectedStorageEntriesVersion;
+    @Getter
+    private final long persistableNetworkPayloadsVersion;
+    @Getter
+    private final Map<P2PDataStorage.ByteArray, ProtectedStorageEntry> protectedStorageEntries;
+    // Maps for the data response by requesters version. Keys are the version as string as null is a valid version.
+    private final Map<String, Map<P2PDataStorage.ByteArray, PersistableNetworkPayload>> mapsForDataResponse;
+    private final Function<String, Map<P2PDataStorage.ByteArray, PersistableNetworkPayload>> mapForDataResponseFactory;
+
+    // The protectedStorageEntries must be an unmodifiable copy. It gets passed on unchanged to the next snapshot if only
+    // the PersistableNetworkPayloads changed, so we must not wrap it again here.
+    P2PDataStorageSnapshot(long protectedStorageEntriesVersion,
+                           Map<P2PDataStorage.ByteArray, ProtectedStorageEntry> protectedStorageEntries,
+                           long persistableNetworkPayloadsVersion,
+                           Map<String, Map<P2PDataStorage.ByteArray, PersistableNetworkPayload>> mapsForDataResponse,
+                           Function<String, Map<P2PDataStorage.ByteArray, PersistableNetworkPayload>> mapForDataResponseFactory) {
+        this.protectedStorageEntriesVersion = protectedStorageEntriesVersion;
+        this.protectedStorageEntries = protectedStorageEntries;
+        this.persistableNetworkPayloadsVersion = persistableNetworkPayloadsVersion;
+        this.mapsForDataResponse = mapsForDataResponse;
+        this.mapForDataResponseFactory = mapForDataResponseFactory;
+    }
+
+    public Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> getMapForDataResponse(@Nullable String requestersVersion) {
+        return mapsForDataResponse.computeIfAbsent(String.valueOf(requestersVersion),
+                key -> Collections.unmodifiableMap(mapForDataResponseFactory.apply(requestersVersion)));
+    }
+
+    // Package private as the cache must only be shared with snapshots of the same PersistableNetworkPayload version
+    Map<String, Map<P2PDataStorage.ByteArray, PersistableNetworkPayload>> getMapsForDataResponse() {
+        return mapsForDataResponse;
+    }
+}
@@ -23,7 +23,21 @@ import lombok.EqualsAndHashCode;
 
 @EqualsAndHashCode(callSuper = true)
 public abstract class BroadcastMessage extends NetworkEnvelope {
+    // Broadcast messages are immutable and get sent to many peers, so we calculate the serialized size only once.
+    // Concurrent calls might calculate it twice, but always get the same result.
+    @EqualsAndHashCode.Exclude
+    transient private int serializedSize = -1;
+
     protected BroadcastMessage(int messageVersion) {
         super(messageVersion);
     }
+
+    public int getSerializedSize() {
+        int size = serializedSize;
+        if (size < 0) {
+            size = toProtoNetworkEnvelope().getSerializedSize();
+            serializedSize = size;
+        }
+        return size;
+    }
 }
@@ -20,6 +20,7 @@ package bisq.network.p2p.storage.persistence;
 import bisq.network.p2p.storage.P2PDataStorage;
 import bisq.network.p2p.storage.payload.PersistableNetworkPayload;
 
+import bisq.common.UserThread;
 import bisq.common.app.DevEnv;
 import bisq.common.app.Version;
 import bisq.common.persistence.PersistenceManager;
@@ -30,6 +31,7 @@ import java.io.File;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import lombok.extern.slf4j.Slf4j;
@@ -148,9 +150,10 @@ public abstract class HistoricalDataStoreService<T extends PersistableNetworkPay
             log.info("We have created the {} store for the live data and filled it with {} entries from the persisted data.",
                     getFileName(), getMapOfLiveData().size());
 
-            // Now we add our historical data stores.
-            Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> allHistoricalPayloads = new HashMap<>();
-            Map<String, PersistableNetworkPayloadStore<? extends PersistableNetworkPayload>> storesByVersion = new HashMap<>();
+            // Now we add our historical data stores. They are read and merged in parallel on the read threads of the
+            // persistenceManager, only the result gets applied on the UserThread.
+            Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> allHistoricalPayloads = new ConcurrentHashMap<>();
+            Map<String, PersistableNetworkPayloadStore<? extends PersistableNetworkPayload>> storesByVersion = new ConcurrentHashMap<>();
             AtomicInteger numFiles = new AtomicInteger(Version.HISTORICAL_RESOURCE_FILE_VERSION_TAGS.size());
             Version.HISTORICAL_RESOURCE_FILE_VERSION_TAGS.forEach(version -> readHistoricalStoreFromResources(version,
                     postFix,
@@ -159,9 +162,17 @@ public abstract class HistoricalDataStoreService<T extends PersistableNetworkPay
                     () -> {
                         if (numFiles.decrementAndGet() == 0) {
                             // At last iteration we set the immutable map
-                            this.allHistoricalPayloads = ImmutableMap.copyOf(allHistoricalPayloads);
-                            this.storesByVersion = ImmutableMap.copyOf(storesByVersion);
-                            completeHandler.run();
+                            ImmutableMap<P2PDataStorage.ByteArray, PersistableNetworkPayload> immutableAllHistoricalPayloads =
+                                    ImmutableMap.copyOf(allHistoricalPayloads);
+                            ImmutableMap<String, PersistableNetworkPayloadStore<? extends PersistableNetworkPayload>> immutableStoresByVersion =
+                                    ImmutableMap.copyOf(storesByVersion);
+                            UserThread.execute(() -> {
+                                this.allHistoricalPayloads = immutableAllHistoricalPayloads;
+                                this.storesByVersion = immutableStoresByVersion;
+                                // Pruning might have changed the live data
+                                requestPersistence();
+                                completeHandler.run();
+                            });
                         }
                     }));
         });
@@ -182,7 +193,8 @@ public abstract class HistoricalDataStoreService<T extends PersistableNetworkPay
         boolean wasCreatedFromResources = makeFileFromResourceFile(fileName, postFix);
 
         // If resource file does not exist we do not create a new store as it would never get filled.
-        persistenceManager.readPersisted(fileName, persisted -> {
+        // Handlers are called on the read thread.
+        persistenceManager.readPersistedInBackground(fileName, persisted -> {
                     storesByVersion.put(version, persisted);
                     allHistoricalPayloads.putAll(persisted.getMap());
                     log.info("We have read from {} {} historical items.", fileName, persisted.getMap().size());
@@ -205,7 +217,6 @@ public abstract class HistoricalDataStoreService<T extends PersistableNetworkPay
         } else {
             log.info("No pruning from historical data store with version {} was applied", version);
         }
-        requestPersistence();
     }
 
     private boolean anyMapContainsKey(P2PDataStorage.ByteArray hash) {
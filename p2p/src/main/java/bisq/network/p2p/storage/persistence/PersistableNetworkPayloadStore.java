@@ -20,11 +20,19 @@ package bisq.network.p2p.storage.persistence;
 import bisq.network.p2p.storage.P2PDataStorage;
 import bisq.network.p2p.storage.payload.PersistableNetworkPayload;
 
+import bisq.common.proto.ProtoUtil;
 import bisq.common.proto.persistable.PersistableEnvelope;
 
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.Parser;
+
+import java.io.IOException;
+
 import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
@@ -48,4 +56,15 @@ public abstract class PersistableNetworkPayloadStore<T extends PersistableNetwor
     public boolean containsKey(P2PDataStorage.ByteArray hash) {
         return map.containsKey(hash);
     }
+
+    // Adds the items of the store message from the stream one by one, so only one item exists as protobuf object
+    protected <P extends MessageLite> void readItems(CodedInputStream input,
+                                                     int fieldNumber,
+                                                     Parser<P> parser,
+                                                     Function<P, T> fromProto) throws IOException {
+        ProtoUtil.readRepeated(input, fieldNumber, parser, proto -> {
+            T item = fromProto.apply(proto);
+            map.put(new P2PDataStorage.ByteArray(item.getHash()), item);
+        });
+    }
 }
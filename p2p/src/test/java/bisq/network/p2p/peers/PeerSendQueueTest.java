@@ -0,0 +1,174 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.peers;
+
+import bisq.network.p2p.BundleOfEnvelopes;
+import bisq.network.p2p.network.Connection;
+import bisq.network.p2p.network.NetworkNode;
+import bisq.network.p2p.storage.messages.BroadcastMessage;
+import bisq.network.p2p.storage.messages.RefreshOfferMessage;
+
+import bisq.common.proto.network.NetworkEnvelope;
+
+import com.google.common.util.concurrent.SettableFuture;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class PeerSendQueueTest {
+    private NetworkNode networkNode;
+    private Connection connection;
+    private PeerSendQueue peerSendQueue;
+    private final List<NetworkEnvelope> sentMessages = new ArrayList<>();
+    private final List<SettableFuture<Connection>> futures = new ArrayList<>();
+    private int numIdleCalls;
+
+    @Before
+    public void setUp() {
+        networkNode = mock(NetworkNode.class);
+        connection = mock(Connection.class);
+        when(networkNode.sendMessage(eq(connection), any())).thenAnswer(invocation -> {
+            sentMessages.add(invocation.getArgument(1));
+            SettableFuture<Connection> future = SettableFuture.create();
+            futures.add(future);
+            return future;
+        });
+        peerSendQueue = new PeerSendQueue(networkNode, connection, queue -> numIdleCalls++);
+    }
+
+    @Test
+    public void testFullQueueIsSentWithoutDelayAndPipelined() {
+        List<Broadcaster.BroadcastRequest> requests = createRequests(0, PeerSendQueue.MAX_BATCH_MESSAGES);
+        TestHandler handler = new TestHandler();
+        peerSendQueue.enqueue(requests, new PeerSendQueue.Delivery(handler), 100_000);
+
+        assertEquals(1, sentMessages.size());
+        assertEquals(PeerSendQueue.MAX_BATCH_MESSAGES, ((BundleOfEnvelopes) sentMessages.get(0)).getEnvelopes().size());
+
+        // While the first bundle is in flight new messages get queued
+        TestHandler secondHandler = new TestHandler();
+        peerSendQueue.enqueue(createRequests(1000, 3), new PeerSendQueue.Delivery(secondHandler), 100_000);
+        assertEquals(1, sentMessages.size());
+        assertFalse(peerSendQueue.isIdle());
+
+        // After completion the queued messages are sent at once
+        futures.get(0).set(connection);
+        assertEquals(1, handler.numSuccess);
+        assertEquals(2, sentMessages.size());
+        assertEquals(3, ((BundleOfEnvelopes) sentMessages.get(1)).getEnvelopes().size());
+        assertEquals(0, secondHandler.numSuccess);
+
+        futures.get(1).set(connection);
+        assertEquals(1, secondHandler.numSuccess);
+        assertTrue(peerSendQueue.isIdle());
+        assertEquals(1, numIdleCalls);
+    }
+
+    @Test
+    public void testQueuedMessageIsNotAddedTwice() {
+        peerSendQueue.enqueue(createRequests(0, PeerSendQueue.MAX_BATCH_MESSAGES), new PeerSendQueue.Delivery(new TestHandler()), 100_000);
+
+        TestHandler handler1 = new TestHandler();
+        TestHandler handler2 = new TestHandler();
+        peerSendQueue.enqueue(createRequests(1000, 2), new PeerSendQueue.Delivery(handler1), 100_000);
+        peerSendQueue.enqueue(createRequests(1001, 2), new PeerSendQueue.Delivery(handler2), 100_000);
+
+        futures.get(0).set(connection);
+        // 1000, 1001 and 1002
+        assertEquals(3, ((BundleOfEnvelopes) sentMessages.get(1)).getEnvelopes().size());
+
+        futures.get(1).set(connection);
+        assertEquals(1, handler1.numSuccess);
+        assertEquals(1, handler2.numSuccess);
+    }
+
+    @Test
+    public void testFailureIsReportedOnce() {
+        TestHandler handler = new TestHandler();
+        peerSendQueue.enqueue(createRequests(0, PeerSendQueue.MAX_BATCH_MESSAGES + 1), new PeerSendQueue.Delivery(handler), 100_000);
+
+        futures.get(0).setException(new RuntimeException("test"));
+        futures.get(1).setException(new RuntimeException("test"));
+
+        assertEquals(0, handler.numSuccess);
+        assertEquals(1, handler.numFailure);
+    }
+
+    @Test
+    public void testMessagesAreDroppedIfQueueIsFull() {
+        peerSendQueue.enqueue(createRequests(0, PeerSendQueue.MAX_BATCH_MESSAGES), new PeerSendQueue.Delivery(new TestHandler()), 100_000);
+
+        // While the first bundle is in flight we queue up to the limit
+        TestHandler handler = new TestHandler();
+        peerSendQueue.enqueue(createRequests(1000, PeerSendQueue.MAX_QUEUED_MESSAGES), new PeerSendQueue.Delivery(handler), 100_000);
+        assertEquals(0, handler.numFailure);
+
+        TestHandler droppedHandler = new TestHandler();
+        peerSendQueue.enqueue(createRequests(10000, 2), new PeerSendQueue.Delivery(droppedHandler), 100_000);
+        assertEquals(1, droppedHandler.numFailure);
+
+        // Messages which are queued already are not affected
+        TestHandler duplicateHandler = new TestHandler();
+        peerSendQueue.enqueue(createRequests(1000, 1), new PeerSendQueue.Delivery(duplicateHandler), 100_000);
+        assertEquals(0, duplicateHandler.numFailure);
+
+        futures.get(0).set(connection);
+        assertEquals(2, sentMessages.size());
+        assertEquals(PeerSendQueue.MAX_BATCH_MESSAGES, ((BundleOfEnvelopes) sentMessages.get(1)).getEnvelopes().size());
+        futures.get(1).set(connection);
+        assertEquals(1, duplicateHandler.numSuccess);
+        assertEquals(0, droppedHandler.numSuccess);
+    }
+
+    private static List<Broadcaster.BroadcastRequest> createRequests(int from, int num) {
+        return IntStream.range(from, from + num)
+                .mapToObj(i -> {
+                    BroadcastMessage message = new RefreshOfferMessage(new byte[]{(byte) (i >> 8), (byte) i},
+                            new byte[]{1}, new byte[]{2}, i);
+                    return new Broadcaster.BroadcastRequest(message, null, null);
+                })
+                .collect(Collectors.toList());
+    }
+
+    private static class TestHandler implements PeerSendQueue.DeliveryHandler {
+        private int numSuccess, numFailure;
+
+        @Override
+        public void onSuccess() {
+            numSuccess++;
+        }
+
+        @Override
+        public void onFailure(Throwable throwable) {
+            numFailure++;
+        }
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.peers.getdata;
+
+import bisq.network.p2p.NodeAddress;
+import bisq.network.p2p.network.Connection;
+import bisq.network.p2p.network.NetworkNode;
+import bisq.network.p2p.peers.PeerManager;
+import bisq.network.p2p.peers.getdata.messages.GetDataChunkRequest;
+import bisq.network.p2p.peers.getdata.messages.GetDataResponse;
+import bisq.network.p2p.peers.getdata.messages.GetUpdatedDataRequest;
+import bisq.network.p2p.storage.P2PDataStorage;
+import bisq.network.p2p.storage.payload.PersistableNetworkPayload;
+
+import bisq.common.FrameRateTimer;
+import bisq.common.Timer;
+import bisq.common.UserThread;
+import bisq.common.app.Capabilities;
+import bisq.common.app.Capability;
+import bisq.common.util.Tuple2;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+
+import java.time.Duration;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.mockito.ArgumentCaptor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests the exchange of a chunked GetDataResponse between the GetDataRequestHandler of the responding peer and the
+ * RequestDataHandler of the requesting peer. Build tasks, the UserThread and the timers run synchronously.
+ */
+public class GetDataChunkExchangeTest {
+    // Timer which only runs its action when the test fires it
+    public static class ManualTimer implements Timer {
+        private static final List<ManualTimer> timers = new ArrayList<>();
+
+        private Duration delay;
+        private Runnable action;
+
+        @Override
+        public Timer runLater(Duration delay, Runnable action) {
+            this.delay = delay;
+            this.action = action;
+            timers.add(this);
+            return this;
+        }
+
+        @Override
+        public Timer runPeriodically(Duration interval, Runnable runnable) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void stop() {
+            timers.remove(this);
+        }
+    }
+
+    private final NodeAddress peersNodeAddress = new NodeAddress("peer.onion", 9999);
+    private NetworkNode networkNode;
+    private P2PDataStorage dataStorage;
+    private Connection connection;
+
+    @Before
+    public void setup() {
+        UserThread.setExecutor(MoreExecutors.directExecutor());
+        UserThread.setTimerClass(ManualTimer.class);
+        ManualTimer.timers.clear();
+
+        networkNode = mock(NetworkNode.class);
+        dataStorage = mock(P2PDataStorage.class);
+        connection = mock(Connection.class);
+        when(connection.getCapabilities()).thenReturn(new Capabilities(Capability.GET_DATA_CHUNKS));
+        when(connection.getPeersNodeAddressOptional()).thenReturn(Optional.of(peersNodeAddress));
+        when(networkNode.sendMessage(eq(connection), any())).thenAnswer(invocation -> {
+            SettableFuture<Connection> future = SettableFuture.create();
+            future.set(connection);
+            return future;
+        });
+    }
+
+    @After
+    public void tearDown() {
+        UserThread.setTimerClass(FrameRateTimer.class);
+        ManualTimer.timers.clear();
+    }
+
+    @Test
+    public void testChunkRequestWithWrongTokenIsIgnored() {
+        GetDataRequestHandler.Listener listener = mock(GetDataRequestHandler.Listener.class);
+        GetDataRequestHandler handler = createGetDataRequestHandler(listener);
+
+        GetDataResponse firstChunk = handleGetDataRequest(handler);
+        assertTrue(firstChunk.hasMoreChunks());
+
+        handler.handleChunkRequest(new GetDataChunkRequest(1, "wrong token"), connection);
+        verify(networkNode, times(1)).sendMessage(eq(connection), any(GetDataResponse.class));
+
+        handler.handleChunkRequest(new GetDataChunkRequest(1, firstChunk.getContinuationToken()), connection);
+        ArgumentCaptor<GetDataResponse> captor = ArgumentCaptor.forClass(GetDataResponse.class);
+        verify(networkNode, times(2)).sendMessage(eq(connection), captor.capture());
+        assertFalse(captor.getValue().hasMoreChunks());
+        verify(listener).onComplete();
+        verify(listener, never()).onFault(anyString(), any());
+
+        // A repeated request for a delivered chunk must not be answered
+        handler.handleChunkRequest(new GetDataChunkRequest(1, firstChunk.getContinuationToken()), connection);
+        verify(networkNode, times(2)).sendMessage(eq(connection), any(GetDataResponse.class));
+    }
+
+    @Test
+    public void testChunkRequestTimeout() {
+        GetDataRequestHandler.Listener listener = mock(GetDataRequestHandler.Listener.class);
+        GetDataRequestHandler handler = createGetDataRequestHandler(listener);
+
+        GetDataResponse firstChunk = handleGetDataRequest(handler);
+
+        // Only the timer for the chunk request is left, the timeout for building and sending got stopped
+        assertEquals(1, ManualTimer.timers.size());
+        ManualTimer timer = ManualTimer.timers.get(0);
+        assertEquals(Duration.ofSeconds(GetDataRequestHandler.CHUNK_REQUEST_TIMEOUT), timer.delay);
+        timer.action.run();
+
+        // Not a fault as the peer might have got the data from another peer
+        verify(listener).onComplete();
+        verify(listener, never()).onFault(anyString(), any());
+
+        // The remaining chunks got dropped
+        handler.handleChunkRequest(new GetDataChunkRequest(1, firstChunk.getContinuationToken()), connection);
+        verify(networkNode, times(1)).sendMessage(eq(connection), any(GetDataResponse.class));
+    }
+
+    @Test
+    public void testMaxChunks() {
+        PeerManager peerManager = mock(PeerManager.class);
+        RequestDataHandler.Listener listener = mock(RequestDataHandler.Listener.class);
+        AtomicInteger nonce = new AtomicInteger();
+        when(dataStorage.buildGetUpdatedDataRequest(any(), anyInt())).thenAnswer(invocation -> {
+            nonce.set(invocation.getArgument(1));
+            return mock(GetUpdatedDataRequest.class);
+        });
+        when(networkNode.sendMessage(eq(peersNodeAddress), any())).thenReturn(SettableFuture.create());
+        RequestDataHandler handler = new RequestDataHandler(networkNode, dataStorage, peerManager, listener);
+        handler.requestData(peersNodeAddress, false);
+
+        // A peer which never stops sending chunks
+        for (int i = 0; i < RequestDataHandler.MAX_CHUNKS + 10; i++) {
+            GetDataResponse chunk = new GetDataResponse(Collections.emptySet(),
+                    Collections.emptySet(),
+                    nonce.get(),
+                    true,
+                    "token" + i);
+            handler.onMessage(chunk, connection);
+        }
+
+        verify(dataStorage, times(RequestDataHandler.MAX_CHUNKS)).processGetDataResponse(any(), eq(peersNodeAddress));
+        verify(networkNode, times(RequestDataHandler.MAX_CHUNKS - 1))
+                .sendMessage(eq(connection), any(GetDataChunkRequest.class));
+        verify(peerManager).handleConnectionFault(peersNodeAddress);
+        verify(listener).onFault(anyString(), any());
+        verify(listener, never()).onComplete();
+    }
+
+    private GetDataRequestHandler createGetDataRequestHandler(GetDataRequestHandler.Listener listener) {
+        // Two payloads which do not fit into one chunk
+        List<PersistableNetworkPayload> payloads = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            PersistableNetworkPayload payload = mock(PersistableNetworkPayload.class);
+            protobuf.PersistableNetworkPayload proto = mock(protobuf.PersistableNetworkPayload.class);
+            when(proto.getSerializedSize()).thenReturn(1_500_000);
+            when(payload.toProtoMessage()).thenReturn(proto);
+            payloads.add(payload);
+        }
+        when(dataStorage.getMissingDataForChunkedResponse(any(), any()))
+                .thenReturn(new Tuple2<>(Collections.emptyList(), payloads));
+        when(dataStorage.getMap()).thenReturn(Collections.emptyMap());
+        return new GetDataRequestHandler(networkNode,
+                dataStorage,
+                MoreExecutors.newDirectExecutorService(),
+                listener);
+    }
+
+    private GetDataResponse handleGetDataRequest(GetDataRequestHandler handler) {
+        GetUpdatedDataRequest getDataRequest = mock(GetUpdatedDataRequest.class);
+        when(getDataRequest.getNonce()).thenReturn(1);
+        handler.handle(getDataRequest, connection);
+
+        ArgumentCaptor<GetDataResponse> captor = ArgumentCaptor.forClass(GetDataResponse.class);
+        verify(networkNode, times(1)).sendMessage(eq(connection), captor.capture());
+        return captor.getValue();
+    }
+}
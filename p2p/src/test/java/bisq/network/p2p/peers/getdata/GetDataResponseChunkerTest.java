@@ -0,0 +1,168 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.peers.getdata;
+
+import bisq.network.p2p.peers.getdata.messages.GetDataResponse;
+import bisq.network.p2p.storage.P2PDataStorage;
+import bisq.network.p2p.storage.payload.PersistableNetworkPayload;
+import bisq.network.p2p.storage.payload.ProtectedStorageEntry;
+
+import com.google.protobuf.Message;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class GetDataResponseChunkerTest {
+    private Map<P2PDataStorage.ByteArray, ProtectedStorageEntry> protectedStorageEntryMap;
+    private List<P2PDataStorage.ByteArray> protectedStorageEntryKeys;
+    private List<PersistableNetworkPayload> persistableNetworkPayloads;
+
+    @Before
+    public void setUp() {
+        protectedStorageEntryMap = new HashMap<>();
+        protectedStorageEntryKeys = new ArrayList<>();
+        persistableNetworkPayloads = new ArrayList<>();
+    }
+
+    @Test
+    public void testEmpty() {
+        GetDataResponseChunker chunker = createChunker(10, 1000);
+        assertFalse(chunker.hasMoreChunks());
+
+        // We always deliver one response, also if nothing is missing
+        GetDataResponse response = chunker.nextChunk();
+        assertTrue(response.getDataSet().isEmpty());
+        assertTrue(response.getPersistableNetworkPayloadSet().isEmpty());
+        assertFalse(response.hasMoreChunks());
+        assertEquals(1, chunker.getNumChunks());
+    }
+
+    @Test
+    public void testChunksByNumEntries() {
+        addProtectedStorageEntries(3, 10);
+        addPersistableNetworkPayloads(4, 10);
+        GetDataResponseChunker chunker = createChunker(2, 1000);
+
+        Set<ProtectedStorageEntry> receivedEntries = new HashSet<>();
+        Set<PersistableNetworkPayload> receivedPayloads = new HashSet<>();
+        String lastToken = null;
+        while (chunker.hasMoreChunks()) {
+            GetDataResponse response = chunker.nextChunk();
+            assertTrue(response.getDataSet().size() + response.getPersistableNetworkPayloadSet().size() <= 2);
+            assertEquals(1, response.getRequestNonce());
+            if (response.hasMoreChunks()) {
+                assertNotNull(response.getContinuationToken());
+                assertNotEquals(lastToken, response.getContinuationToken());
+                assertEquals(response.getContinuationToken(), chunker.getContinuationToken());
+            }
+            lastToken = response.getContinuationToken();
+            receivedEntries.addAll(response.getDataSet());
+            receivedPayloads.addAll(response.getPersistableNetworkPayloadSet());
+        }
+
+        assertNull(lastToken);
+        assertEquals(4, chunker.getNumChunks());
+        assertEquals(new HashSet<>(protectedStorageEntryMap.values()), receivedEntries);
+        assertEquals(new HashSet<>(persistableNetworkPayloads), receivedPayloads);
+    }
+
+    @Test
+    public void testChunksBySize() {
+        addProtectedStorageEntries(2, 400);
+        addPersistableNetworkPayloads(3, 300);
+        GetDataResponseChunker chunker = createChunker(100, 1000);
+
+        GetDataResponse response = chunker.nextChunk();
+        assertEquals(2, response.getDataSet().size());
+        assertTrue(response.getPersistableNetworkPayloadSet().isEmpty());
+
+        response = chunker.nextChunk();
+        assertEquals(3, response.getPersistableNetworkPayloadSet().size());
+        assertFalse(response.hasMoreChunks());
+        assertEquals(0, chunker.getNumRemainingEntries());
+    }
+
+    @Test
+    public void testLargeEntryIsDelivered() {
+        addPersistableNetworkPayloads(2, 5000);
+        GetDataResponseChunker chunker = createChunker(100, 1000);
+
+        assertEquals(1, chunker.nextChunk().getPersistableNetworkPayloadSet().size());
+        assertEquals(1, chunker.nextChunk().getPersistableNetworkPayloadSet().size());
+        assertFalse(chunker.hasMoreChunks());
+    }
+
+    @Test
+    public void testRemovedEntryIsSkipped() {
+        addProtectedStorageEntries(3, 10);
+        GetDataResponseChunker chunker = createChunker(100, 1000);
+        protectedStorageEntryMap.remove(protectedStorageEntryKeys.get(1));
+
+        GetDataResponse response = chunker.nextChunk();
+        assertEquals(2, response.getDataSet().size());
+        assertFalse(response.hasMoreChunks());
+    }
+
+    private GetDataResponseChunker createChunker(int maxEntriesPerChunk, int maxChunkSize) {
+        return new GetDataResponseChunker(protectedStorageEntryMap,
+                protectedStorageEntryKeys,
+                persistableNetworkPayloads,
+                1,
+                true,
+                maxEntriesPerChunk,
+                maxChunkSize);
+    }
+
+    private void addProtectedStorageEntries(int numEntries, int size) {
+        for (int i = 0; i < numEntries; i++) {
+            ProtectedStorageEntry entry = mock(ProtectedStorageEntry.class);
+            Message proto = mock(Message.class);
+            when(proto.getSerializedSize()).thenReturn(size);
+            when(entry.toProtoMessage()).thenReturn(proto);
+            P2PDataStorage.ByteArray key = new P2PDataStorage.ByteArray(new byte[]{(byte) i});
+            protectedStorageEntryMap.put(key, entry);
+            protectedStorageEntryKeys.add(key);
+        }
+    }
+
+    private void addPersistableNetworkPayloads(int numPayloads, int size) {
+        for (int i = 0; i < numPayloads; i++) {
+            PersistableNetworkPayload payload = mock(PersistableNetworkPayload.class);
+            protobuf.PersistableNetworkPayload proto = mock(protobuf.PersistableNetworkPayload.class);
+            when(proto.getSerializedSize()).thenReturn(size);
+            when(payload.toProtoMessage()).thenReturn(proto);
+            persistableNetworkPayloads.add(payload);
+        }
+    }
+}
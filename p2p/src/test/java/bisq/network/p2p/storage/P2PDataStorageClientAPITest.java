@@ -20,7 +20,10 @@ package bisq.network.p2p.storage;
 import bisq.network.p2p.TestUtils;
 import bisq.network.p2p.network.Connection;
 import bisq.network.p2p.storage.messages.AddDataMessage;
+import bisq.network.p2p.NodeAddress;
+import bisq.network.p2p.storage.messages.BroadcastMessage;
 import bisq.network.p2p.storage.messages.RefreshOfferMessage;
+import bisq.network.p2p.storage.messages.RefreshOffersMessage;
 import bisq.network.p2p.storage.mocks.ExpirableProtectedStoragePayloadStub;
 import bisq.network.p2p.storage.payload.MailboxStoragePayload;
 import bisq.network.p2p.storage.payload.ProtectedMailboxStorageEntry;
@@ -30,16 +33,24 @@ import bisq.network.p2p.storage.payload.ProtectedStoragePayload;
 import bisq.common.app.Version;
 import bisq.common.crypto.CryptoException;
 
+import com.google.common.util.concurrent.MoreExecutors;
+
 import java.security.KeyPair;
 import java.security.NoSuchAlgorithmException;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.mockito.ArgumentCaptor;
+
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import static org.mockito.ArgumentMatchers.nullable;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import static bisq.network.p2p.storage.TestState.*;
@@ -174,6 +185,41 @@ public class P2PDataStorageClientAPITest {
         this.testState.verifyRefreshTTL(beforeState, refreshOfferMessage, true);
     }
 
+    // TESTCASE: Refreshing many entries from the getRefreshTTLMessages API refreshes all items and broadcasts them
+    // in one RefreshOffersMessage
+    @Test
+    public void getRefreshTTLMessages() throws Exception {
+        KeyPair ownerKeys = TestUtils.generateKeyPair();
+
+        ProtectedStoragePayload payload1 = new ExpirableProtectedStoragePayloadStub(ownerKeys.getPublic());
+        // Payload with the same owner but another hash
+        ProtectedStoragePayload payload2 = new ExpirableProtectedStoragePayloadStub(ownerKeys.getPublic()) {
+            {
+                when(messageMock.toByteArray()).thenReturn(new byte[]{1, 2, 3});
+            }
+        };
+        for (ProtectedStoragePayload payload : List.of(payload1, payload2)) {
+            ProtectedStorageEntry protectedStorageEntry = this.testState.mockedStorage.getProtectedStorageEntry(payload, ownerKeys);
+            this.testState.mockedStorage.addProtectedStorageEntry(protectedStorageEntry, TestState.getTestNodeAddress(), null);
+        }
+
+        List<RefreshOfferMessage> refreshOfferMessages = this.testState.mockedStorage.getRefreshTTLMessages(
+                List.of(payload1, payload2), ownerKeys, MoreExecutors.newDirectExecutorService(), 2).get();
+        Assert.assertEquals(2, refreshOfferMessages.size());
+        Assert.assertEquals(2, refreshOfferMessages.get(0).getSequenceNumber());
+
+        this.testState.incrementClock();
+        reset(this.testState.mockBroadcaster);
+        Assert.assertEquals(2, this.testState.mockedStorage.refreshTTL(refreshOfferMessages, TestState.getTestNodeAddress()));
+
+        ArgumentCaptor<BroadcastMessage> captor = ArgumentCaptor.forClass(BroadcastMessage.class);
+        verify(this.testState.mockBroadcaster).broadcast(captor.capture(), nullable(NodeAddress.class));
+        Assert.assertEquals(new RefreshOffersMessage(refreshOfferMessages), captor.getValue());
+
+        // Applying the same refreshes again fails as the sequence numbers have not increased
+        Assert.assertEquals(0, this.testState.mockedStorage.refreshTTL(refreshOfferMessages, TestState.getTestNodeAddress()));
+    }
+
     // TESTCASE: Removing a non-existent mailbox entry from the getMailboxDataWithSignedSeqNr API
     @Test
     public void getMailboxDataWithSignedSeqNr_RemoveNoExist() throws NoSuchAlgorithmException, CryptoException {
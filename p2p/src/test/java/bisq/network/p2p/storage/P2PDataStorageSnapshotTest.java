@@ -0,0 +1,102 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.storage;
+
+import bisq.network.p2p.NodeAddress;
+import bisq.network.p2p.storage.mocks.PersistableNetworkPayloadStub;
+import bisq.network.p2p.storage.payload.PersistableNetworkPayload;
+import bisq.network.p2p.storage.payload.ProtectedStorageEntry;
+import bisq.network.p2p.storage.payload.ProtectedStoragePayload;
+
+import com.google.protobuf.Message;
+
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class P2PDataStorageSnapshotTest {
+    private P2PDataStorage storage;
+    private NodeAddress localNodeAddress;
+
+    @Before
+    public void setUp() {
+        storage = new TestState().mockedStorage;
+        localNodeAddress = new NodeAddress("localhost", 8080);
+    }
+
+    @Test
+    public void testSnapshotIsSharedIfUnchanged() {
+        P2PDataStorageSnapshot snapshot = storage.getSnapshot();
+        assertSame(snapshot, storage.getSnapshot());
+    }
+
+    @Test
+    public void testNewSnapshotAfterAddedProtectedStorageEntry() {
+        P2PDataStorageSnapshot snapshot = storage.getSnapshot();
+        Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> mapForDataResponse =
+                snapshot.getMapForDataResponse("1.5.0");
+
+        ProtectedStorageEntry entry = createProtectedStorageEntry(new byte[]{1});
+        storage.addProtectedMailboxStorageEntryToMap(entry);
+
+        P2PDataStorageSnapshot newSnapshot = storage.getSnapshot();
+        assertNotSame(snapshot, newSnapshot);
+        assertTrue(snapshot.getProtectedStorageEntries().isEmpty());
+        assertTrue(newSnapshot.getProtectedStorageEntries().containsValue(entry));
+        // The PersistableNetworkPayloads have not changed so the map is shared
+        assertSame(mapForDataResponse, newSnapshot.getMapForDataResponse("1.5.0"));
+    }
+
+    @Test
+    public void testNewSnapshotAfterAddedPersistableNetworkPayload() {
+        P2PDataStorageSnapshot snapshot = storage.getSnapshot();
+        assertTrue(snapshot.getMapForDataResponse("1.5.0").isEmpty());
+
+        PersistableNetworkPayload payload = new PersistableNetworkPayloadStub(new byte[]{1});
+        storage.addPersistableNetworkPayload(payload, localNodeAddress, false);
+
+        P2PDataStorageSnapshot newSnapshot = storage.getSnapshot();
+        assertNotSame(snapshot, newSnapshot);
+        assertTrue(snapshot.getMapForDataResponse("1.5.0").isEmpty());
+        assertEquals(1, newSnapshot.getMapForDataResponse("1.5.0").size());
+        assertSame(snapshot.getProtectedStorageEntries(), newSnapshot.getProtectedStorageEntries());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSnapshotIsReadOnly() {
+        storage.getSnapshot().getProtectedStorageEntries().clear();
+    }
+
+    private static ProtectedStorageEntry createProtectedStorageEntry(byte[] payloadBytes) {
+        Message message = mock(Message.class);
+        when(message.toByteArray()).thenReturn(payloadBytes);
+        ProtectedStoragePayload payload = mock(ProtectedStoragePayload.class);
+        when(payload.toProtoMessage()).thenReturn(message);
+        ProtectedStorageEntry entry = mock(ProtectedStorageEntry.class);
+        when(entry.getProtectedStoragePayload()).thenReturn(payload);
+        return entry;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.price;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import com.google.common.hash.Hashing;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
+
+import javax.annotation.Nullable;
+
+/**
+ * A JSON response which gets serialized and compressed once and is then served to all
+ * requests until the underlying data changes. Supports conditional requests by ETag
+ * and gzip content encoding, so clients which poll for unchanged data get a 304
+ * without body and others a compressed body.
+ */
+public final class CachedJsonResponse {
+
+    // Same output as the Spring configured mapper (see spring.jackson.* in
+    // application.properties)
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final byte[] json;
+    private final byte[] gzippedJson;
+    private final String eTag;
+
+    private CachedJsonResponse(byte[] json) {
+        this.json = json;
+        this.gzippedJson = gzip(json);
+        this.eTag = "\"" + Hashing.sha256().hashBytes(json).toString().substring(0, 32) + "\"";
+    }
+
+    public static CachedJsonResponse of(Object value) {
+        try {
+            return new CachedJsonResponse(OBJECT_MAPPER.writeValueAsBytes(value));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize response", e);
+        }
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+    public ResponseEntity<byte[]> toResponseEntity(@Nullable String ifNoneMatch,
+                                                   @Nullable String acceptEncoding) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(eTag);
+        headers.set(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (matches(ifNoneMatch)) {
+            return new ResponseEntity<>(headers, HttpStatus.NOT_MODIFIED);
+        }
+
+        headers.setContentType(MediaType.APPLICATION_JSON_UTF8);
+        if (acceptsGzip(acceptEncoding)) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            return new ResponseEntity<>(gzippedJson, headers, HttpStatus.OK);
+        }
+        return new ResponseEntity<>(json, headers, HttpStatus.OK);
+    }
+
+    private boolean matches(@Nullable String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        // We ignore weak validator prefixes as the body is identical for all encodings
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .anyMatch(tag -> tag.equals("*") || tag.equals(eTag));
+    }
+
+    private static boolean acceptsGzip(@Nullable String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        return Arrays.stream(acceptEncoding.split(","))
+                .map(encoding -> encoding.trim().toLowerCase())
+                .anyMatch(encoding -> encoding.equals("gzip") || encoding.startsWith("gzip;") &&
+                        !encoding.replace(" ", "").endsWith("q=0"));
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(data.length / 4);
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+            gzipOutputStream.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return outputStream.toByteArray();
+    }
+}
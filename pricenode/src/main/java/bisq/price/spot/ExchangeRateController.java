@@ -19,11 +19,12 @@ package bisq.price.spot;
 
 import bisq.price.PriceController;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.Map;
-
 @RestController
 class ExchangeRateController extends PriceController {
 
@@ -34,7 +35,9 @@ class ExchangeRateController extends PriceController {
     }
 
     @GetMapping(path = "/getAllMarketPrices")
-    public Map<String, Object> getAllMarketPrices() {
-        return exchangeRateService.getAllMarketPrices();
+    public ResponseEntity<byte[]> getAllMarketPrices(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return exchangeRateService.getAllMarketPricesResponse().toResponseEntity(ifNoneMatch, acceptEncoding);
     }
 }
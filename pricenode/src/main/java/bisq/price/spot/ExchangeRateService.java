@@ -17,11 +17,14 @@
 
 package bisq.price.spot;
 
+import bisq.price.CachedJsonResponse;
+
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
@@ -30,6 +33,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.OptionalDouble;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -45,6 +49,33 @@ class ExchangeRateService {
 
     private final List<ExchangeRateProvider> providers;
 
+    private volatile CachedMarketPrices cachedMarketPrices;
+
+    /**
+     * The response for all market prices, valid as long as no provider refreshed its
+     * rates.
+     */
+    private static class CachedMarketPrices {
+        private final List<Set<ExchangeRate>> providerRates;
+        private final Map<String, Object> marketPrices;
+        private final CachedJsonResponse response;
+
+        private CachedMarketPrices(List<Set<ExchangeRate>> providerRates, Map<String, Object> marketPrices) {
+            this.providerRates = providerRates;
+            this.marketPrices = Collections.unmodifiableMap(marketPrices);
+            this.response = CachedJsonResponse.of(marketPrices);
+        }
+
+        private boolean isValid(List<Set<ExchangeRate>> currentProviderRates) {
+            // Providers replace their set of rates at each refresh, so identity is sufficient
+            for (int i = 0; i < currentProviderRates.size(); i++) {
+                if (currentProviderRates.get(i) != providerRates.get(i))
+                    return false;
+            }
+            return true;
+        }
+    }
+
     /**
      * Construct an {@link ExchangeRateService} with a list of all
      * {@link ExchangeRateProvider} implementations discovered via classpath scanning.
@@ -57,6 +88,36 @@ class ExchangeRateService {
     }
 
     public Map<String, Object> getAllMarketPrices() {
+        return getCachedMarketPrices().marketPrices;
+    }
+
+    /**
+     * @return The serialized response for {@link #getAllMarketPrices()}, only rebuilt
+     * after a provider refreshed its rates
+     */
+    public CachedJsonResponse getAllMarketPricesResponse() {
+        return getCachedMarketPrices().response;
+    }
+
+    private CachedMarketPrices getCachedMarketPrices() {
+        List<Set<ExchangeRate>> providerRates = providers.stream()
+                .map(ExchangeRateProvider::get)
+                .collect(Collectors.toList());
+        CachedMarketPrices cached = cachedMarketPrices;
+        if (cached != null && cached.isValid(providerRates))
+            return cached;
+
+        synchronized (this) {
+            cached = cachedMarketPrices;
+            if (cached == null || !cached.isValid(providerRates)) {
+                cached = new CachedMarketPrices(providerRates, buildAllMarketPrices());
+                cachedMarketPrices = cached;
+            }
+            return cached;
+        }
+    }
+
+    private Map<String, Object> buildAllMarketPrices() {
         Map<String, Object> metadata = new LinkedHashMap<>();
         Map<String, ExchangeRate> aggregateExchangeRates = getAggregateExchangeRates();
 
@@ -0,0 +1,79 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+package bisq.price;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class CachedJsonResponseTest {
+
+    private final CachedJsonResponse response = CachedJsonResponse.of(Map.of("btcAverageTs", 1L));
+
+    @Test
+    public void plainResponse() {
+        ResponseEntity<byte[]> entity = response.toResponseEntity(null, null);
+
+        assertEquals(HttpStatus.OK, entity.getStatusCode());
+        assertEquals(response.getETag(), entity.getHeaders().getETag());
+        assertNull(entity.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("{\n  \"btcAverageTs\" : 1\n}", new String(entity.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void gzippedResponse() throws IOException {
+        ResponseEntity<byte[]> entity = response.toResponseEntity(null, "deflate, gzip");
+
+        assertEquals("gzip", entity.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        try (InputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(entity.getBody()))) {
+            assertEquals(new String(response.toResponseEntity(null, null).getBody(), StandardCharsets.UTF_8),
+                    new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void notModifiedIfETagMatches() {
+        ResponseEntity<byte[]> entity = response.toResponseEntity(response.getETag(), "gzip");
+
+        assertEquals(HttpStatus.NOT_MODIFIED, entity.getStatusCode());
+        assertEquals(response.getETag(), entity.getHeaders().getETag());
+        assertNull(entity.getBody());
+
+        assertEquals(HttpStatus.OK, response.toResponseEntity("\"other\"", "gzip").getStatusCode());
+    }
+
+    @Test
+    public void eTagChangesWithContent() {
+        assertEquals(response.getETag(), CachedJsonResponse.of(Map.of("btcAverageTs", 1L)).getETag());
+        assertNotEquals(response.getETag(), CachedJsonResponse.of(Map.of("btcAverageTs", 2L)).getETag());
+    }
+}
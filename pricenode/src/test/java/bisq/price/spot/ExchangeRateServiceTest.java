@@ -17,6 +17,8 @@
 
 package bisq.price.spot;
 
+import bisq.price.CachedJsonResponse;
+
 import com.google.common.collect.Sets;
 
 import org.apache.commons.lang3.RandomStringUtils;
@@ -49,6 +51,7 @@ import static java.util.Arrays.asList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class ExchangeRateServiceTest {
@@ -131,6 +134,17 @@ public class ExchangeRateServiceTest {
         assertNotEquals(0L, retrievedData.get(dummyProvider2.getPrefix() + "Ts"));
     }
 
+    @Test
+    public void getAllMarketPricesResponse_isReusedWhileProvidersDoNotRefresh() {
+        ExchangeRateProvider dummyProvider = buildDummyExchangeRateProvider(2);
+        ExchangeRateService service = new ExchangeRateService(Collections.singletonList(dummyProvider));
+
+        CachedJsonResponse response = service.getAllMarketPricesResponse();
+
+        assertSame(response, service.getAllMarketPricesResponse());
+        assertSame(service.getAllMarketPrices(), service.getAllMarketPrices());
+    }
+
     /**
      * Tests the scenario when multiple providers have rates for the same currencies
      */